@@ -0,0 +1,277 @@
+package org.metalib.papifly.fx.api.ribbon;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Declares which parts of a {@link RibbonContext} a {@link RibbonProvider}
+ * reads when it computes its tabs.
+ *
+ * <p>Hosts use the declaration to memoize provider output: when a context
+ * change leaves every declared value untouched, the previous tabs are reused
+ * without calling {@link RibbonProvider#getTabs(RibbonContext)} again. The
+ * declaration must therefore cover everything the provider and the
+ * {@link RibbonTabSpec#visibleWhen() visibility predicates} of its tabs look
+ * at. Providers that cannot describe their inputs keep the default
+ * {@link #all()}, which treats any context change as relevant.</p>
+ *
+ * <p>Attribute values are compared with {@code equals}; capability instances
+ * are compared with the instance's own {@code equals}, which is identity for
+ * most content nodes.</p>
+ *
+ * @since Ribbon 6
+ */
+public final class RibbonContextDependencies {
+
+    private static final RibbonContextDependencies ALL =
+        new RibbonContextDependencies(true, false, false, false, Set.of(), Set.of());
+    private static final RibbonContextDependencies NONE =
+        new RibbonContextDependencies(false, false, false, false, Set.of(), Set.of());
+
+    private final boolean wholeContext;
+    private final boolean activeDockId;
+    private final boolean activeContentId;
+    private final boolean activeContentTypeKey;
+    private final Set<String> attributeKeys;
+    private final Set<Class<?>> capabilityTypes;
+
+    private RibbonContextDependencies(
+        boolean wholeContext,
+        boolean activeDockId,
+        boolean activeContentId,
+        boolean activeContentTypeKey,
+        Set<String> attributeKeys,
+        Set<Class<?>> capabilityTypes
+    ) {
+        this.wholeContext = wholeContext;
+        this.activeDockId = activeDockId;
+        this.activeContentId = activeContentId;
+        this.activeContentTypeKey = activeContentTypeKey;
+        this.attributeKeys = attributeKeys;
+        this.capabilityTypes = capabilityTypes;
+    }
+
+    /**
+     * Returns the declaration that depends on the whole context.
+     *
+     * @return whole-context dependency declaration
+     */
+    public static RibbonContextDependencies all() {
+        return ALL;
+    }
+
+    /**
+     * Returns the declaration for providers whose tabs never depend on the
+     * context.
+     *
+     * @return empty dependency declaration
+     */
+    public static RibbonContextDependencies none() {
+        return NONE;
+    }
+
+    /**
+     * Returns a declaration that depends only on the active content type key.
+     *
+     * @return content-type dependency declaration
+     */
+    public static RibbonContextDependencies activeContentTypeKeyOnly() {
+        return builder().activeContentTypeKey().build();
+    }
+
+    /**
+     * Creates a builder for a selective declaration.
+     *
+     * @return dependency builder
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns whether the declaration depends on the whole context.
+     *
+     * @return {@code true} for {@link #all()}
+     */
+    public boolean dependsOnWholeContext() {
+        return wholeContext;
+    }
+
+    /**
+     * Returns the attribute keys the declaration depends on.
+     *
+     * @return unmodifiable attribute key set
+     */
+    public Set<String> attributeKeys() {
+        return attributeKeys;
+    }
+
+    /**
+     * Returns the capability types the declaration depends on.
+     *
+     * @return unmodifiable capability type set
+     */
+    public Set<Class<?>> capabilityTypes() {
+        return capabilityTypes;
+    }
+
+    /**
+     * Projects a context onto the declared dependencies.
+     *
+     * <p>Two contexts produce equal keys exactly when every declared value is
+     * equal, so the key can be used directly as a memoization key.</p>
+     *
+     * @param context context to project; {@code null} is treated as empty
+     * @return memoization key for the context
+     */
+    public Object keyFor(RibbonContext context) {
+        RibbonContext resolved = context == null ? RibbonContext.empty() : context;
+        if (wholeContext) {
+            return resolved;
+        }
+        List<Object> values = new ArrayList<>(3 + attributeKeys.size() + capabilityTypes.size());
+        values.add(activeDockId ? resolved.activeDockId() : null);
+        values.add(activeContentId ? resolved.activeContentId() : null);
+        values.add(activeContentTypeKey ? resolved.activeContentTypeKey() : null);
+        for (String key : attributeKeys) {
+            values.add(resolved.attributes().get(key));
+        }
+        for (Class<?> type : capabilityTypes) {
+            values.add(resolved.capability(type).orElse(null));
+        }
+        return values;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RibbonContextDependencies that)) {
+            return false;
+        }
+        return wholeContext == that.wholeContext
+            && activeDockId == that.activeDockId
+            && activeContentId == that.activeContentId
+            && activeContentTypeKey == that.activeContentTypeKey
+            && attributeKeys.equals(that.attributeKeys)
+            && capabilityTypes.equals(that.capabilityTypes);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(wholeContext, activeDockId, activeContentId, activeContentTypeKey, attributeKeys, capabilityTypes);
+    }
+
+    @Override
+    public String toString() {
+        if (wholeContext) {
+            return "RibbonContextDependencies[all]";
+        }
+        return "RibbonContextDependencies[activeDockId=" + activeDockId
+            + ", activeContentId=" + activeContentId
+            + ", activeContentTypeKey=" + activeContentTypeKey
+            + ", attributes=" + attributeKeys
+            + ", capabilities=" + capabilityTypes + "]";
+    }
+
+    /**
+     * Builder for selective dependency declarations.
+     */
+    public static final class Builder {
+
+        private boolean activeDockId;
+        private boolean activeContentId;
+        private boolean activeContentTypeKey;
+        private final Set<String> attributeKeys = new LinkedHashSet<>();
+        private final Set<Class<?>> capabilityTypes = new LinkedHashSet<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a dependency on {@link RibbonContext#activeDockId()}.
+         *
+         * @return this builder
+         */
+        public Builder activeDockId() {
+            activeDockId = true;
+            return this;
+        }
+
+        /**
+         * Adds a dependency on {@link RibbonContext#activeContentId()}.
+         *
+         * @return this builder
+         */
+        public Builder activeContentId() {
+            activeContentId = true;
+            return this;
+        }
+
+        /**
+         * Adds a dependency on {@link RibbonContext#activeContentTypeKey()}.
+         *
+         * @return this builder
+         */
+        public Builder activeContentTypeKey() {
+            activeContentTypeKey = true;
+            return this;
+        }
+
+        /**
+         * Adds a dependency on a raw attribute key.
+         *
+         * @param key attribute key
+         * @return this builder
+         */
+        public Builder attribute(String key) {
+            Objects.requireNonNull(key, "key");
+            attributeKeys.add(key);
+            return this;
+        }
+
+        /**
+         * Adds a dependency on a typed attribute key.
+         *
+         * @param key typed attribute key
+         * @return this builder
+         */
+        public Builder attribute(RibbonAttributeKey<?> key) {
+            Objects.requireNonNull(key, "key");
+            return attribute(key.id());
+        }
+
+        /**
+         * Adds a dependency on the capability resolved for a type.
+         *
+         * @param type capability type
+         * @return this builder
+         */
+        public Builder capability(Class<?> type) {
+            Objects.requireNonNull(type, "type");
+            capabilityTypes.add(type);
+            return this;
+        }
+
+        /**
+         * Creates the declaration.
+         *
+         * @return immutable dependency declaration
+         */
+        public RibbonContextDependencies build() {
+            return new RibbonContextDependencies(
+                false,
+                activeDockId,
+                activeContentId,
+                activeContentTypeKey,
+                Collections.unmodifiableSet(new LinkedHashSet<>(attributeKeys)),
+                Collections.unmodifiableSet(new LinkedHashSet<>(capabilityTypes))
+            );
+        }
+    }
+}
@@ -26,6 +26,11 @@ import java.util.List;
  * {@link #getTabs(RibbonContext)} failures so one broken provider does not
  * remove healthy provider tabs, and to surface the failure through logging or
  * telemetry.</p>
+ *
+ * <p>Providers may declare the context values they read through
+ * {@link #contextDependencies()}. Hosts then reuse the previous
+ * {@link #getTabs(RibbonContext)} result while those values are unchanged, so
+ * focus changes between unrelated content do not re-run every provider.</p>
  */
 public interface RibbonProvider {
 
@@ -56,4 +61,19 @@ public interface RibbonProvider {
      *     exception only for unrecoverable provider defects
      */
     List<RibbonTabSpec> getTabs(RibbonContext context);
+
+    /**
+     * Returns the context values this provider and the visibility predicates
+     * of its tabs depend on.
+     *
+     * <p>Hosts may skip {@link #getTabs(RibbonContext)} and reuse the previous
+     * result while the declared values are unchanged. Undeclared reads make
+     * the provider show stale tabs, so keep the declaration complete.</p>
+     *
+     * @return context dependency declaration, defaulting to the whole context
+     * @since Ribbon 6
+     */
+    default RibbonContextDependencies contextDependencies() {
+        return RibbonContextDependencies.all();
+    }
 }
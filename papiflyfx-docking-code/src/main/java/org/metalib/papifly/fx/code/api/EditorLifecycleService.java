@@ -75,6 +75,7 @@ final class EditorLifecycleService {
         document.addChangeListener(gutterWidthListener);
         document.addChangeListener(searchRefreshListener);
         markerModel.addChangeListener(markerModelChangeListener);
+        markerModel.attachDocument(document);
         verticalScrollOffset.addListener(scrollOffsetListener);
         horizontalScrollOffset.addListener(horizontalScrollOffsetListener);
         wordWrap.addListener(wordWrapListener);
@@ -104,6 +105,7 @@ final class EditorLifecycleService {
         document.removeChangeListener(gutterWidthListener);
         document.removeChangeListener(searchRefreshListener);
         markerModel.removeChangeListener(markerModelChangeListener);
+        markerModel.detachDocument();
         verticalScrollOffset.removeListener(scrollOffsetListener);
         horizontalScrollOffset.removeListener(horizontalScrollOffsetListener);
         wordWrap.removeListener(wordWrapListener);
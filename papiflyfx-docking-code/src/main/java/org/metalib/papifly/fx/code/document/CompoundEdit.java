@@ -1,5 +1,6 @@
 package org.metalib.papifly.fx.code.document;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -48,4 +49,13 @@ final class CompoundEdit implements EditCommand {
         }
         return true;
     }
+
+    @Override
+    public List<RangeEdit> edits() {
+        List<RangeEdit> flattened = new ArrayList<>(edits.size());
+        for (EditCommand edit : edits) {
+            flattened.addAll(edit.edits());
+        }
+        return flattened;
+    }
 }
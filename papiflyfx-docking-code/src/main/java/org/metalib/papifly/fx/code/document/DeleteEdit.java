@@ -3,7 +3,7 @@ package org.metalib.papifly.fx.code.document;
 /**
  * Delete text command.
  */
-public final class DeleteEdit implements EditCommand {
+public final class DeleteEdit implements RangeEdit {
 
     private final int startOffset;
     private final int endOffset;
@@ -37,6 +37,21 @@ public final class DeleteEdit implements EditCommand {
         textSource.insert(startOffset, deletedText);
     }
 
+    @Override
+    public int offset() {
+        return startOffset;
+    }
+
+    @Override
+    public int removedLength() {
+        return deletedLength();
+    }
+
+    @Override
+    public int insertedLength() {
+        return 0;
+    }
+
     @Override
     public boolean applyLineIndex(LineIndex lineIndex) {
         int length = deletedLength();
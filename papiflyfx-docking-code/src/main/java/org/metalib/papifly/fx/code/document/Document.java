@@ -154,6 +154,16 @@ public class Document {
         return lineIndex.getLineEndOffset(line, length());
     }
 
+    /**
+     * Returns line length without materializing the line text.
+     *
+     * @param line zero-based line index
+     * @return number of characters in the line, excluding the trailing newline
+     */
+    public int getLineLength(int line) {
+        return getLineEndOffset(line) - getLineStartOffset(line);
+    }
+
     /**
      * Returns line text without trailing newline.
      *
@@ -276,6 +286,10 @@ public class Document {
 
     /**
      * Undoes the last edit.
+     * <p>
+     * Fires one {@link DocumentChangeEvent.ChangeType#UNDO} event per reverted
+     * edit, with the offset and lengths of that edit, so listeners can track
+     * positions the same way as for the original edit.
      *
      * @return {@code true} when an edit was undone
      */
@@ -283,18 +297,23 @@ public class Document {
         if (undoStack.isEmpty()) {
             return false;
         }
-        int lengthBefore = textSource.length();
         EditCommand command = undoStack.pop();
-        command.undo(textSource);
-        applyUndoIndexOrRebuild(command);
         redoStack.push(command);
-        fireChange(new DocumentChangeEvent(0, lengthBefore, textSource.length(),
-            DocumentChangeEvent.ChangeType.UNDO));
+        List<RangeEdit> edits = command.edits();
+        for (int i = edits.size() - 1; i >= 0; i--) {
+            RangeEdit edit = edits.get(i);
+            edit.undo(textSource);
+            applyUndoIndexOrRebuild(edit);
+            fireChange(new DocumentChangeEvent(edit.offset(), edit.insertedLength(), edit.removedLength(),
+                DocumentChangeEvent.ChangeType.UNDO));
+        }
         return true;
     }
 
     /**
      * Redoes the last undone edit.
+     * <p>
+     * Fires one {@link DocumentChangeEvent.ChangeType#REDO} event per reapplied edit.
      *
      * @return {@code true} when an edit was redone
      */
@@ -302,13 +321,14 @@ public class Document {
         if (redoStack.isEmpty()) {
             return false;
         }
-        int lengthBefore = textSource.length();
         EditCommand command = redoStack.pop();
-        command.apply(textSource);
-        applyRedoIndexOrRebuild(command);
         undoStack.push(command);
-        fireChange(new DocumentChangeEvent(0, lengthBefore, textSource.length(),
-            DocumentChangeEvent.ChangeType.REDO));
+        for (RangeEdit edit : command.edits()) {
+            edit.apply(textSource);
+            applyRedoIndexOrRebuild(edit);
+            fireChange(new DocumentChangeEvent(edit.offset(), edit.removedLength(), edit.insertedLength(),
+                DocumentChangeEvent.ChangeType.REDO));
+        }
         return true;
     }
 
@@ -1,5 +1,7 @@
 package org.metalib.papifly.fx.code.document;
 
+import java.util.List;
+
 /**
  * Internal command contract for document undo/redo operations.
  */
@@ -32,4 +34,9 @@ interface EditCommand {
     default boolean undoLineIndex(LineIndex lineIndex) {
         return false;
     }
+
+    /**
+     * Returns the single-range edits of this command in apply order.
+     */
+    List<RangeEdit> edits();
 }
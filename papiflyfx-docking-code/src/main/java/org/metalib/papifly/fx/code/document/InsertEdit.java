@@ -5,7 +5,7 @@ import java.util.Objects;
 /**
  * Insert text command.
  */
-public final class InsertEdit implements EditCommand {
+public final class InsertEdit implements RangeEdit {
 
     private final int offset;
     private final String text;
@@ -34,6 +34,21 @@ public final class InsertEdit implements EditCommand {
         textSource.delete(offset, offset + text.length());
     }
 
+    @Override
+    public int offset() {
+        return offset;
+    }
+
+    @Override
+    public int removedLength() {
+        return 0;
+    }
+
+    @Override
+    public int insertedLength() {
+        return text.length();
+    }
+
     @Override
     public boolean applyLineIndex(LineIndex lineIndex) {
         if (text.isEmpty()) {
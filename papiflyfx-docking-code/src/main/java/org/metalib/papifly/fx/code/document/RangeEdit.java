@@ -0,0 +1,29 @@
+package org.metalib.papifly.fx.code.document;
+
+import java.util.List;
+
+/**
+ * Edit command that replaces one contiguous range of the document.
+ */
+interface RangeEdit extends EditCommand {
+
+    @Override
+    default List<RangeEdit> edits() {
+        return List.of(this);
+    }
+
+    /**
+     * Returns the start offset of the range this command replaces.
+     */
+    int offset();
+
+    /**
+     * Returns the length of text removed when the command is applied.
+     */
+    int removedLength();
+
+    /**
+     * Returns the length of text inserted when the command is applied.
+     */
+    int insertedLength();
+}
@@ -5,7 +5,7 @@ import java.util.Objects;
 /**
  * Replace text command.
  */
-public final class ReplaceEdit implements EditCommand {
+public final class ReplaceEdit implements RangeEdit {
 
     private final int startOffset;
     private final int endOffset;
@@ -42,6 +42,21 @@ public final class ReplaceEdit implements EditCommand {
         textSource.replace(startOffset, startOffset + replacement.length(), originalText);
     }
 
+    @Override
+    public int offset() {
+        return startOffset;
+    }
+
+    @Override
+    public int removedLength() {
+        return originalLength();
+    }
+
+    @Override
+    public int insertedLength() {
+        return replacement.length();
+    }
+
     @Override
     public boolean applyLineIndex(LineIndex lineIndex) {
         int oldLength = originalLength();
@@ -45,6 +45,10 @@ public final class IncrementalFoldingPipeline implements AutoCloseable {
     private PendingRequest pendingRequest;
     private ScheduledFuture<?> scheduledTask;
 
+    // Worker-thread only: the fold provider this pipeline owns for its current language.
+    private String resolvedLanguageId;
+    private FoldProvider resolvedProvider;
+
     public IncrementalFoldingPipeline(
         Document document,
         Supplier<TokenMap> tokenMapSupplier,
@@ -222,7 +226,7 @@ public final class IncrementalFoldingPipeline implements AutoCloseable {
         List<String> lines = IncrementalLexerEngine.splitLines(textSnapshot);
         FoldMap computed;
         try {
-            FoldProvider provider = providerResolver.apply(request.languageId());
+            FoldProvider provider = providerFor(request.languageId());
             computed = provider.recompute(
                 lines,
                 tokenMapSupplier.get(),
@@ -231,9 +235,11 @@ public final class IncrementalFoldingPipeline implements AutoCloseable {
                 Thread.currentThread()::isInterrupted
             );
         } catch (CancellationException cancellationException) {
+            resolvedProvider = null;
             scheduleNextIfNeeded();
             return;
         } catch (Exception exception) {
+            resolvedProvider = null;
             computed = FoldMap.empty();
         }
         computed = computed.withCollapsedHeaders(collapsedHeaderLines);
@@ -246,6 +252,15 @@ public final class IncrementalFoldingPipeline implements AutoCloseable {
         scheduleNextIfNeeded();
     }
 
+    // Re-resolves only on a language change or after a failure, so providers are never shared between pipelines.
+    private FoldProvider providerFor(String languageId) {
+        if (resolvedProvider == null || !Objects.equals(resolvedLanguageId, languageId)) {
+            resolvedProvider = providerResolver.apply(languageId);
+            resolvedLanguageId = languageId;
+        }
+        return resolvedProvider;
+    }
+
     private void applyIfCurrent(PendingRequest request, FoldMap computed) {
         if (disposed) {
             return;
@@ -0,0 +1,213 @@
+package org.metalib.papifly.fx.code.gutter;
+
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.scene.transform.Transform;
+import org.metalib.papifly.fx.code.theme.CodeEditorTheme;
+import org.metalib.papifly.fx.ui.UiMetrics;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Pre-rasterized gutter glyphs: line-number digits in the regular and active
+ * colors, fold chevrons, and marker dots.
+ * <p>
+ * All glyphs are drawn once into a single image per theme, font metrics and
+ * output scale, so the gutter paints rows with image copies instead of
+ * formatting and laying out line-number text for every visible line. Atlases
+ * are shared between gutters with the same key. Must be used on the FX
+ * application thread.
+ */
+final class GutterGlyphAtlas {
+
+    static final int FOLD_NONE = 0;
+    static final int FOLD_EXPANDED = 1;
+    static final int FOLD_COLLAPSED = 2;
+
+    private static final int MAX_CACHED_ATLASES = 8;
+    private static final double DIGIT_PAD = 1.0;
+    private static final double FOLD_PAD = 2.0;
+    private static final double GLYPH_HALF_STEP = UiMetrics.SPACE_1 * 0.5;
+    private static final int DIGIT_ROW = 0;
+    private static final int ACTIVE_DIGIT_ROW = 1;
+    private static final int FOLD_ROW = 2;
+    private static final int MARKER_ROW = 3;
+    private static final int ROW_COUNT = 4;
+
+    private static final Map<Key, GutterGlyphAtlas> CACHE = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, GutterGlyphAtlas> eldest) {
+            return size() > MAX_CACHED_ATLASES;
+        }
+    };
+
+    private final Key key;
+    private final double cellHeight;
+    private final double digitCellWidth;
+    private final double foldCellWidth;
+    private final double markerCellWidth;
+    private final Image image;
+
+    private GutterGlyphAtlas(Key key) {
+        this.key = key;
+        this.cellHeight = Math.ceil(key.lineHeight());
+        this.digitCellWidth = Math.ceil(key.charWidth()) + (DIGIT_PAD * 2);
+        this.foldCellWidth = Math.ceil(UiMetrics.SPACE_2) + (FOLD_PAD * 2);
+        this.markerCellWidth = Math.ceil(key.markerLaneWidth());
+        this.image = rasterize();
+    }
+
+    /**
+     * Returns the shared atlas for the given theme and metrics, building it on first use.
+     *
+     * @param font line-number font
+     * @param theme gutter theme palette
+     * @param charWidth monospace character width
+     * @param lineHeight line height
+     * @param baseline baseline offset within a line
+     * @param markerLaneWidth width of the marker lane
+     * @param scale output render scale
+     * @return glyph atlas for the key
+     */
+    static GutterGlyphAtlas forMetrics(
+        Font font,
+        CodeEditorTheme theme,
+        double charWidth,
+        double lineHeight,
+        double baseline,
+        double markerLaneWidth,
+        double scale
+    ) {
+        Key key = new Key(font, theme, charWidth, lineHeight, baseline, markerLaneWidth, scale);
+        return CACHE.computeIfAbsent(key, GutterGlyphAtlas::new);
+    }
+
+    /**
+     * Draws one digit whose text origin would be {@code x} on a row starting at {@code y}.
+     */
+    void drawDigit(GraphicsContext gc, int digit, boolean active, double x, double y) {
+        double sx = digit * digitCellWidth;
+        copy(gc, sx, active ? ACTIVE_DIGIT_ROW : DIGIT_ROW, digitCellWidth, x - DIGIT_PAD, y);
+    }
+
+    /**
+     * Draws a fold chevron anchored at {@code x} on a row starting at {@code y}.
+     */
+    void drawFoldGlyph(GraphicsContext gc, int foldGlyph, boolean active, double x, double y) {
+        if (foldGlyph == FOLD_NONE) {
+            return;
+        }
+        int cell = ((foldGlyph == FOLD_COLLAPSED) ? 2 : 0) + (active ? 1 : 0);
+        copy(gc, cell * foldCellWidth, FOLD_ROW, foldCellWidth, x - FOLD_PAD, y);
+    }
+
+    /**
+     * Draws the marker dot for {@code type} in the marker lane of a row starting at {@code y}.
+     */
+    void drawMarker(GraphicsContext gc, MarkerType type, double y) {
+        copy(gc, type.ordinal() * markerCellWidth, MARKER_ROW, markerCellWidth, 0.0, y);
+    }
+
+    private void copy(GraphicsContext gc, double sx, int row, double width, double dx, double dy) {
+        double scale = key.scale();
+        gc.drawImage(
+            image,
+            sx * scale,
+            row * cellHeight * scale,
+            width * scale,
+            cellHeight * scale,
+            dx,
+            dy,
+            width,
+            cellHeight
+        );
+    }
+
+    private Image rasterize() {
+        MarkerType[] markerTypes = MarkerType.values();
+        double width = Math.max(
+            10 * digitCellWidth,
+            Math.max(4 * foldCellWidth, markerTypes.length * markerCellWidth)
+        );
+        Canvas canvas = new Canvas(width, ROW_COUNT * cellHeight);
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        CodeEditorTheme theme = key.theme();
+
+        gc.setFont(key.font());
+        for (int digit = 0; digit < 10; digit++) {
+            String text = String.valueOf((char) ('0' + digit));
+            double x = digit * digitCellWidth + DIGIT_PAD;
+            gc.setFill(theme.lineNumberColor());
+            gc.fillText(text, x, DIGIT_ROW * cellHeight + key.baseline());
+            gc.setFill(theme.lineNumberActiveColor());
+            gc.fillText(text, x, ACTIVE_DIGIT_ROW * cellHeight + key.baseline());
+        }
+
+        gc.setLineWidth(1.5);
+        double foldCenterY = FOLD_ROW * cellHeight + (key.lineHeight() * 0.5);
+        for (int cell = 0; cell < 4; cell++) {
+            boolean collapsed = cell >= 2;
+            boolean active = (cell & 1) != 0;
+            gc.setStroke(active ? theme.lineNumberActiveColor() : theme.lineNumberColor());
+            strokeChevron(gc, collapsed, cell * foldCellWidth + FOLD_PAD, foldCenterY);
+        }
+
+        double markerSize = Math.min(key.lineHeight() - UiMetrics.SPACE_1, key.markerLaneWidth() - UiMetrics.SPACE_1);
+        double markerY = MARKER_ROW * cellHeight + (key.lineHeight() - markerSize) / 2;
+        for (MarkerType type : markerTypes) {
+            double markerX = type.ordinal() * markerCellWidth + (key.markerLaneWidth() - markerSize) / 2;
+            gc.setFill(markerColor(theme, type));
+            gc.fillOval(markerX, markerY, markerSize, markerSize);
+        }
+
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(key.scale(), key.scale()));
+        return canvas.snapshot(parameters, null);
+    }
+
+    private static void strokeChevron(GraphicsContext gc, boolean collapsed, double x, double centerY) {
+        if (collapsed) {
+            // Chevron Right
+            gc.strokePolyline(
+                new double[]{x + GLYPH_HALF_STEP, x + UiMetrics.SPACE_1 + GLYPH_HALF_STEP, x + GLYPH_HALF_STEP},
+                new double[]{centerY - UiMetrics.SPACE_1, centerY, centerY + UiMetrics.SPACE_1},
+                3
+            );
+            return;
+        }
+        // Chevron Down
+        gc.strokePolyline(
+            new double[]{x, x + UiMetrics.SPACE_1, x + UiMetrics.SPACE_2},
+            new double[]{centerY - GLYPH_HALF_STEP, centerY + GLYPH_HALF_STEP, centerY - GLYPH_HALF_STEP},
+            3
+        );
+    }
+
+    private static Paint markerColor(CodeEditorTheme theme, MarkerType type) {
+        return switch (type) {
+            case ERROR -> theme.markerErrorColor();
+            case WARNING -> theme.markerWarningColor();
+            case INFO -> theme.markerInfoColor();
+            case BREAKPOINT -> theme.markerBreakpointColor();
+            case BOOKMARK -> theme.markerBookmarkColor();
+        };
+    }
+
+    private record Key(
+        Font font,
+        CodeEditorTheme theme,
+        double charWidth,
+        double lineHeight,
+        double baseline,
+        double markerLaneWidth,
+        double scale
+    ) {
+    }
+}
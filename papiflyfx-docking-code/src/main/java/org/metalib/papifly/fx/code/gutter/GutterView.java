@@ -1,11 +1,12 @@
 package org.metalib.papifly.fx.code.gutter;
 
+import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
-import javafx.scene.paint.Paint;
+import javafx.stage.Window;
 import org.metalib.papifly.fx.code.document.Document;
 import org.metalib.papifly.fx.code.folding.FoldMap;
 import org.metalib.papifly.fx.code.folding.VisibleLineMap;
@@ -14,20 +15,24 @@ import org.metalib.papifly.fx.code.render.WrapMap;
 import org.metalib.papifly.fx.code.theme.CodeEditorTheme;
 import org.metalib.papifly.fx.ui.UiMetrics;
 
+import java.util.Arrays;
 import java.util.function.IntConsumer;
 
 /**
  * Canvas-based gutter rendering line numbers and a marker lane.
  * <p>
  * Draws alongside the {@link org.metalib.papifly.fx.code.render.Viewport}
- * and synchronizes scroll position with it.
+ * and synchronizes scroll position with it. Digits, fold chevrons and marker
+ * dots are copied from a shared {@link GutterGlyphAtlas}, and rows whose line
+ * number, marker, fold glyph and active state are unchanged since the last
+ * paint are skipped unless the scroll position, size, or theme changed.
  */
 public class GutterView extends Region {
 
     private static final double MARKER_LANE_WIDTH = UiMetrics.SPACE_3;
     private static final double FOLD_LANE_WIDTH = UiMetrics.SPACE_3;
     private static final double LINE_NUMBER_RIGHT_PADDING = UiMetrics.SPACE_2;
-    private static final double GLYPH_HALF_STEP = UiMetrics.SPACE_1 * 0.5;
+    private static final int MARKER_RANGE_QUERY_LIMIT = 4096;
 
     private final Canvas canvas;
     private final GlyphCache glyphCache;
@@ -45,6 +50,17 @@ public class GutterView extends Region {
     private VisibleLineMap visibleLineMap = new VisibleLineMap();
     private IntConsumer foldToggleHandler;
     private boolean mouseOverGutter;
+    private MarkerType[] markerTypesInRange = new MarkerType[0];
+    private int markerRangeFirstLine;
+    private int markerRangeLastLine = -1;
+    private GutterGlyphAtlas glyphAtlas;
+    private boolean fullRepaintRequired = true;
+    private double paintedScrollOffset = Double.NaN;
+    private int paintedDigits;
+    private long[] paintedRowStates = new long[0];
+    private int paintedRowCount;
+    private int lastRepaintedRowCount;
+    private final int[] digitBuffer = new int[10];
 
     /**
      * Creates a gutter view backed by the provided glyph cache.
@@ -75,7 +91,7 @@ public class GutterView extends Region {
         this.document = document;
         visibleLineMap.rebuild(document == null ? 0 : document.getLineCount(), foldMap);
         recomputeWidth();
-        markDirty();
+        markFullRepaint();
     }
 
     /**
@@ -85,7 +101,7 @@ public class GutterView extends Region {
      */
     public void setTheme(CodeEditorTheme theme) {
         this.theme = theme == null ? CodeEditorTheme.dark() : theme;
-        markDirty();
+        markFullRepaint();
     }
 
     /**
@@ -136,7 +152,7 @@ public class GutterView extends Region {
             return;
         }
         this.wordWrap = wordWrap;
-        markDirty();
+        markFullRepaint();
     }
 
     /**
@@ -146,7 +162,7 @@ public class GutterView extends Region {
      */
     public void setWrapMap(WrapMap wrapMap) {
         this.wrapMap = wrapMap;
-        markDirty();
+        markFullRepaint();
     }
 
     public void setFoldMap(FoldMap foldMap) {
@@ -193,8 +209,7 @@ public class GutterView extends Region {
             computedWidth = 0;
             return;
         }
-        int lineCount = document.getLineCount();
-        int digits = Math.max(2, String.valueOf(lineCount).length());
+        int digits = lineNumberDigits(document.getLineCount());
         double charWidth = glyphCache.getCharWidth();
         computedWidth = MARKER_LANE_WIDTH + (digits * charWidth) + LINE_NUMBER_RIGHT_PADDING + FOLD_LANE_WIDTH;
         setPrefWidth(computedWidth);
@@ -204,12 +219,28 @@ public class GutterView extends Region {
 
     /**
      * Marks gutter render cache dirty and requests layout.
+     * <p>
+     * Only rows whose painted state changed are repainted on the next pass.
      */
     public void markDirty() {
         dirty = true;
         requestLayout();
     }
 
+    /**
+     * Returns how many gutter rows the last paint pass repainted.
+     *
+     * @return number of rows repainted by the last redraw
+     */
+    int getLastRepaintedRowCount() {
+        return lastRepaintedRowCount;
+    }
+
+    private void markFullRepaint() {
+        fullRepaintRequired = true;
+        markDirty();
+    }
+
     @Override
     protected void layoutChildren() {
         double w = getWidth();
@@ -217,6 +248,7 @@ public class GutterView extends Region {
         if (w != canvas.getWidth() || h != canvas.getHeight()) {
             canvas.setWidth(w);
             canvas.setHeight(h);
+            fullRepaintRequired = true;
             dirty = true;
         }
         if (dirty) {
@@ -234,101 +266,195 @@ public class GutterView extends Region {
 
         GraphicsContext gc = canvas.getGraphicsContext2D();
         double lineHeight = glyphCache.getLineHeight();
-        double baseline = glyphCache.getBaselineOffset();
-        // Clear
-        gc.setFill(theme.gutterBackground());
-        gc.fillRect(0, 0, w, h);
-
-        gc.setFont(glyphCache.getFont());
+        int digits = lineNumberDigits(document.getLineCount());
+        GutterGlyphAtlas atlas = GutterGlyphAtlas.forMetrics(
+            glyphCache.getFont(),
+            theme,
+            glyphCache.getCharWidth(),
+            lineHeight,
+            glyphCache.getBaselineOffset(),
+            MARKER_LANE_WIDTH,
+            outputScale()
+        );
+        boolean fullRepaint = fullRepaintRequired
+            || atlas != glyphAtlas
+            || digits != paintedDigits
+            || Double.compare(scrollOffset, paintedScrollOffset) != 0;
+        fullRepaintRequired = false;
+        glyphAtlas = atlas;
+        paintedDigits = digits;
+        paintedScrollOffset = scrollOffset;
+        lastRepaintedRowCount = 0;
+        if (fullRepaint) {
+            gc.setFill(theme.gutterBackground());
+            gc.fillRect(0, 0, w, h);
+            paintedRowCount = 0;
+        }
 
-        if (wordWrap && wrapMap != null && wrapMap.hasData() && wrapMap.totalVisualRows() > 0) {
-            int totalRows = wrapMap.totalVisualRows();
-            int firstRow = Math.max(0, (int) (scrollOffset / lineHeight));
-            int lastRow = Math.min(totalRows - 1, (int) ((scrollOffset + h) / lineHeight) + 1);
-            for (int row = firstRow; row <= lastRow; row++) {
+        boolean wrapRows = wordWrap && wrapMap != null && wrapMap.hasData() && wrapMap.totalVisualRows() > 0;
+        int totalRows = wrapRows ? wrapMap.totalVisualRows() : Math.max(0, visibleLineMap.visibleCount());
+        int firstRow = Math.max(0, (int) (scrollOffset / lineHeight));
+        int lastRow = Math.min(totalRows - 1, (int) ((scrollOffset + h) / lineHeight) + 1);
+        int rowCount = Math.max(0, lastRow - firstRow + 1);
+        if (rowCount > 0) {
+            if (wrapRows) {
+                collectMarkerTypes(wrapMap.visualRow(firstRow).lineIndex(), wrapMap.visualRow(lastRow).lineIndex());
+            } else {
+                collectMarkerTypes(
+                    visibleLineMap.visibleToLogical(firstRow),
+                    visibleLineMap.visibleToLogical(lastRow)
+                );
+            }
+        }
+        if (paintedRowStates.length < rowCount) {
+            paintedRowStates = Arrays.copyOf(paintedRowStates, rowCount);
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            int line;
+            if (wrapRows) {
                 WrapMap.VisualRow visualRow = wrapMap.visualRow(row);
-                if (visualRow.startColumn() != 0) {
-                    continue;
-                }
-                int line = visualRow.lineIndex();
-                double y = row * lineHeight - scrollOffset;
-                paintGutterLine(gc, w, baseline, lineHeight, line, y);
+                // Continuation rows of a wrapped line carry no number.
+                line = visualRow.startColumn() == 0 ? visualRow.lineIndex() : -1;
+            } else {
+                line = visibleLineMap.visibleToLogical(row);
             }
-            return;
+            double y = row * lineHeight - scrollOffset;
+            paintGutterRow(gc, w, lineHeight, row - firstRow, line, y, digits, fullRepaint);
         }
+        if (!fullRepaint && paintedRowCount > rowCount) {
+            // Rows that scrolled out of the document (e.g. after deleting lines) are cleared.
+            gc.setFill(theme.gutterBackground());
+            double top = (firstRow + rowCount) * lineHeight - scrollOffset;
+            gc.fillRect(0, top, w, (paintedRowCount - rowCount) * lineHeight);
+        }
+        paintedRowCount = rowCount;
+    }
 
-        int totalVisibleLines = Math.max(0, visibleLineMap.visibleCount());
-        if (totalVisibleLines == 0) {
+    private void paintGutterRow(
+        GraphicsContext gc,
+        double width,
+        double lineHeight,
+        int slot,
+        int line,
+        double y,
+        int digits,
+        boolean fullRepaint
+    ) {
+        MarkerType type = line < 0 ? null : markerTypeAt(line);
+        int foldGlyph = line < 0 ? GutterGlyphAtlas.FOLD_NONE : foldGlyphAt(line);
+        boolean active = line >= 0 && line == activeLineIndex;
+        long state = rowState(line, type, foldGlyph, active);
+        if (!fullRepaint && slot < paintedRowCount && paintedRowStates[slot] == state) {
+            return;
+        }
+        paintedRowStates[slot] = state;
+        lastRepaintedRowCount++;
+        if (!fullRepaint) {
+            gc.setFill(theme.gutterBackground());
+            gc.fillRect(0, y, width, lineHeight);
+        }
+        if (line < 0) {
             return;
         }
-        int firstVisibleLine = Math.max(0, (int) (scrollOffset / lineHeight));
-        int lastVisibleLine = Math.min(totalVisibleLines - 1, (int) ((scrollOffset + h) / lineHeight) + 1);
-        for (int visibleLine = firstVisibleLine; visibleLine <= lastVisibleLine; visibleLine++) {
-            int line = visibleLineMap.visibleToLogical(visibleLine);
-            double y = visibleLine * lineHeight - scrollOffset;
-            paintGutterLine(gc, w, baseline, lineHeight, line, y);
+        if (type != null) {
+            glyphAtlas.drawMarker(gc, type, y);
         }
+
+        double charWidth = glyphCache.getCharWidth();
+        int numberDigits = fillDigits(line + 1);
+        double x = MARKER_LANE_WIDTH + (digits - numberDigits) * charWidth;
+        for (int i = numberDigits - 1; i >= 0; i--) {
+            glyphAtlas.drawDigit(gc, digitBuffer[i], active, x, y);
+            x += charWidth;
+        }
+
+        double foldX = MARKER_LANE_WIDTH + (digits * charWidth) + (LINE_NUMBER_RIGHT_PADDING / 2.0);
+        glyphAtlas.drawFoldGlyph(gc, foldGlyph, active, foldX, y);
     }
 
-    private void paintGutterLine(GraphicsContext gc, double width, double baseline, double lineHeight, int line, double y) {
-        if (markerModel != null && markerModel.hasMarkers(line)) {
-            MarkerType type = markerModel.getHighestPriorityType(line);
-            if (type != null) {
-                gc.setFill(markerColor(type));
-                double markerSize = Math.min(lineHeight - UiMetrics.SPACE_1, MARKER_LANE_WIDTH - UiMetrics.SPACE_1);
-                double markerX = (MARKER_LANE_WIDTH - markerSize) / 2;
-                double markerY = y + (lineHeight - markerSize) / 2;
-                gc.fillOval(markerX, markerY, markerSize, markerSize);
-            }
+    /**
+     * Writes the decimal digits of {@code value} into {@link #digitBuffer}, least significant first.
+     */
+    private int fillDigits(int value) {
+        int count = 0;
+        int remaining = value;
+        do {
+            digitBuffer[count++] = remaining % 10;
+            remaining /= 10;
+        } while (remaining > 0);
+        return count;
+    }
+
+    private int foldGlyphAt(int line) {
+        if (!mouseOverGutter || !foldMap.hasRegionStartingAt(line)) {
+            return GutterGlyphAtlas.FOLD_NONE;
         }
+        return foldMap.isCollapsedHeader(line) ? GutterGlyphAtlas.FOLD_COLLAPSED : GutterGlyphAtlas.FOLD_EXPANDED;
+    }
+
+    private static long rowState(int line, MarkerType type, int foldGlyph, boolean active) {
+        long state = line + 1L;
+        state = (state << 3) | (type == null ? 0 : type.ordinal() + 1);
+        state = (state << 2) | foldGlyph;
+        return (state << 1) | (active ? 1 : 0);
+    }
 
-        String lineNum = String.valueOf(line + 1);
-        double lineNumberWidth = lineNum.length() * glyphCache.getCharWidth();
-        double textX = MARKER_LANE_WIDTH + lineNumberWidth; // Right edge of number
-        // We want to align numbers, so we should actually calculate based on max digits
-        int maxDigits = Math.max(2, String.valueOf(document.getLineCount()).length());
-        double maxNumberWidth = maxDigits * glyphCache.getCharWidth();
-        
-        double actualTextX = MARKER_LANE_WIDTH + maxNumberWidth - lineNumberWidth;
-        gc.setFill(line == activeLineIndex ? theme.lineNumberActiveColor() : theme.lineNumberColor());
-        gc.fillText(lineNum, actualTextX, y + baseline);
-
-        double foldX = MARKER_LANE_WIDTH + maxNumberWidth + (LINE_NUMBER_RIGHT_PADDING / 2.0);
-        if (mouseOverGutter) {
-            paintFoldGlyph(gc, lineHeight, line, y, foldX);
+    private static int lineNumberDigits(int lineCount) {
+        int digits = 1;
+        for (int remaining = Math.max(1, lineCount); remaining >= 10; remaining /= 10) {
+            digits++;
         }
+        return Math.max(2, digits);
+    }
+
+    private double outputScale() {
+        Scene scene = getScene();
+        Window window = scene == null ? null : scene.getWindow();
+        return window == null ? 1.0 : Math.max(1.0, window.getOutputScaleX());
     }
 
-    private void paintFoldGlyph(GraphicsContext gc, double lineHeight, int line, double y, double x) {
-        if (!foldMap.hasRegionStartingAt(line)) {
+    /**
+     * Resolves marker types for the painted logical line range with one range query,
+     * so painting does not search the marker tree once per row.
+     */
+    private void collectMarkerTypes(int firstLine, int lastLine) {
+        markerRangeLastLine = -1;
+        if (markerModel == null || lastLine < firstLine || lastLine - firstLine >= MARKER_RANGE_QUERY_LIMIT) {
             return;
         }
-        double centerY = y + (lineHeight * 0.5);
-        gc.setStroke(line == activeLineIndex ? theme.lineNumberActiveColor() : theme.lineNumberColor());
-        gc.setLineWidth(1.5);
-        if (foldMap.isCollapsedHeader(line)) {
-            // Chevron Right
-            gc.strokePolyline(
-                new double[]{x + GLYPH_HALF_STEP, x + UiMetrics.SPACE_1 + GLYPH_HALF_STEP, x + GLYPH_HALF_STEP},
-                new double[]{centerY - UiMetrics.SPACE_1, centerY, centerY + UiMetrics.SPACE_1},
-                3
-            );
-            return;
+        int span = lastLine - firstLine + 1;
+        if (markerTypesInRange.length < span) {
+            markerTypesInRange = new MarkerType[span];
+        } else {
+            Arrays.fill(markerTypesInRange, 0, span, null);
         }
-        // Chevron Down
-        gc.strokePolyline(
-            new double[]{x, x + UiMetrics.SPACE_1, x + UiMetrics.SPACE_2},
-            new double[]{centerY - GLYPH_HALF_STEP, centerY + GLYPH_HALF_STEP, centerY - GLYPH_HALF_STEP},
-            3
-        );
+        MarkerType[] types = markerTypesInRange;
+        markerModel.forEachMarkerInRange(firstLine, lastLine, marker -> {
+            int index = marker.line() - firstLine;
+            MarkerType current = types[index];
+            if (current == null || marker.type().priority() < current.priority()) {
+                types[index] = marker.type();
+            }
+        });
+        markerRangeFirstLine = firstLine;
+        markerRangeLastLine = lastLine;
+    }
+
+    private MarkerType markerTypeAt(int line) {
+        if (markerModel == null) {
+            return null;
+        }
+        if (line >= markerRangeFirstLine && line <= markerRangeLastLine) {
+            return markerTypesInRange[line - markerRangeFirstLine];
+        }
+        return markerModel.getHighestPriorityType(line);
     }
 
     private void handleMousePressed(MouseEvent event) {
         if (event == null || event.getButton() != MouseButton.PRIMARY || foldToggleHandler == null) {
             return;
         }
-        int maxDigits = Math.max(2, String.valueOf(document.getLineCount()).length());
-        double maxNumberWidth = maxDigits * glyphCache.getCharWidth();
+        double maxNumberWidth = lineNumberDigits(document.getLineCount()) * glyphCache.getCharWidth();
         double foldXStart = MARKER_LANE_WIDTH + maxNumberWidth;
         double foldXEnd = foldXStart + LINE_NUMBER_RIGHT_PADDING + FOLD_LANE_WIDTH;
 
@@ -366,14 +492,4 @@ public class GutterView extends Region {
         int safeVisibleLine = Math.max(0, Math.min(visibleLine, visibleLineMap.visibleCount() - 1));
         return visibleLineMap.visibleToLogical(safeVisibleLine);
     }
-
-    private Paint markerColor(MarkerType type) {
-        return switch (type) {
-            case ERROR -> theme.markerErrorColor();
-            case WARNING -> theme.markerWarningColor();
-            case INFO -> theme.markerInfoColor();
-            case BREAKPOINT -> theme.markerBreakpointColor();
-            case BOOKMARK -> theme.markerBookmarkColor();
-        };
-    }
 }
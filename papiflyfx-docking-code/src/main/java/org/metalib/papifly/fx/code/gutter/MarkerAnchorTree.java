@@ -0,0 +1,308 @@
+package org.metalib.papifly.fx.code.gutter;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Line-ordered treap of marker anchors with lazy line shifting.
+ * <p>
+ * Each node holds one marker. Line shifts caused by document edits are applied
+ * to whole subtrees through lazy "add" and "assign" tags, so an edit that moves
+ * every marker below it costs {@code O(log n)} instead of touching each marker.
+ * Marker records are re-materialized with their current line when read.
+ * <p>
+ * Not thread-safe; {@link MarkerModel} guards access.
+ */
+final class MarkerAnchorTree {
+
+    private static final class Node {
+        private Marker marker;
+        private int line;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size = 1;
+        private int lazyAdd;
+        private boolean lazyAssign;
+        private int lazyAssignLine;
+
+        private Node(Marker marker, int priority) {
+            this.marker = marker;
+            this.line = marker.line();
+            this.priority = priority;
+        }
+    }
+
+    private Node root;
+    private int seed = 0x2545F491;
+
+    int size() {
+        return size(root);
+    }
+
+    boolean isEmpty() {
+        return root == null;
+    }
+
+    void clear() {
+        root = null;
+    }
+
+    /**
+     * Inserts the marker after any existing markers on the same line.
+     */
+    void insert(Marker marker) {
+        Node[] parts = splitAfter(root, marker.line());
+        root = merge(merge(parts[0], new Node(marker, nextPriority())), parts[1]);
+    }
+
+    /**
+     * Removes the first marker on its line that equals {@code marker}.
+     */
+    boolean remove(Marker marker) {
+        int line = marker.line();
+        Node[] head = splitBefore(root, line);
+        Node[] tail = splitAfter(head[1], line);
+        Node[] result = {null};
+        Node lineTree = removeFirstEqual(tail[0], marker, result);
+        root = merge(head[0], merge(lineTree, tail[1]));
+        return result[0] != null;
+    }
+
+    /**
+     * Removes every marker on the given line.
+     */
+    boolean removeLine(int line) {
+        Node[] head = splitBefore(root, line);
+        Node[] tail = splitAfter(head[1], line);
+        root = merge(head[0], tail[1]);
+        return tail[0] != null;
+    }
+
+    /**
+     * Adds {@code delta} to every marker on a line {@code >= fromLine}.
+     */
+    void shiftFrom(int fromLine, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        Node[] parts = splitBefore(root, fromLine);
+        applyAdd(parts[1], delta);
+        root = merge(parts[0], parts[1]);
+    }
+
+    /**
+     * Moves markers on lines {@code (line, line + removedLines]} onto {@code line} and shifts
+     * markers after that range by {@code delta}.
+     */
+    void collapseAndShift(int line, int removedLines, int delta) {
+        Node[] head = splitAfter(root, line);
+        Node[] tail = splitAfter(head[1], line + Math.max(0, removedLines));
+        applyAssign(tail[0], line);
+        applyAdd(tail[1], delta);
+        root = merge(head[0], merge(tail[0], tail[1]));
+    }
+
+    /**
+     * Moves markers past {@code lastLine} onto {@code lastLine}.
+     */
+    void clampTo(int lastLine) {
+        Node[] parts = splitAfter(root, Math.max(0, lastLine));
+        applyAssign(parts[1], Math.max(0, lastLine));
+        root = merge(parts[0], parts[1]);
+    }
+
+    /**
+     * Visits markers whose line is within {@code [firstLine, lastLine]}, in line order.
+     */
+    void forEachInRange(int firstLine, int lastLine, Consumer<Marker> action) {
+        visitRange(root, firstLine, lastLine, action);
+    }
+
+    /**
+     * Returns the highest-priority marker type on the line, or {@code null}.
+     */
+    MarkerType highestPriorityType(int line) {
+        MarkerType[] best = {null};
+        visitRange(root, line, line, marker -> {
+            if (best[0] == null || marker.type().priority() < best[0].priority()) {
+                best[0] = marker.type();
+            }
+        });
+        return best[0];
+    }
+
+    boolean containsLine(int line) {
+        Node node = root;
+        while (node != null) {
+            push(node);
+            if (line < node.line) {
+                node = node.left;
+            } else if (line > node.line) {
+                node = node.right;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void collectAll(List<Marker> target) {
+        visitAll(root, target::add);
+    }
+
+    private void visitRange(Node node, int firstLine, int lastLine, Consumer<Marker> action) {
+        if (node == null) {
+            return;
+        }
+        push(node);
+        if (firstLine <= node.line) {
+            visitRange(node.left, firstLine, lastLine, action);
+        }
+        if (node.line >= firstLine && node.line <= lastLine) {
+            action.accept(materialize(node));
+        }
+        if (lastLine >= node.line) {
+            visitRange(node.right, firstLine, lastLine, action);
+        }
+    }
+
+    private void visitAll(Node node, Consumer<Marker> action) {
+        if (node == null) {
+            return;
+        }
+        push(node);
+        visitAll(node.left, action);
+        action.accept(materialize(node));
+        visitAll(node.right, action);
+    }
+
+    private Node removeFirstEqual(Node node, Marker marker, Node[] removed) {
+        if (node == null) {
+            return null;
+        }
+        push(node);
+        node.left = removeFirstEqual(node.left, marker, removed);
+        if (removed[0] != null) {
+            update(node);
+            return node;
+        }
+        if (materialize(node).equals(marker)) {
+            removed[0] = node;
+            return merge(node.left, node.right);
+        }
+        node.right = removeFirstEqual(node.right, marker, removed);
+        update(node);
+        return node;
+    }
+
+    /**
+     * Splits into markers with line {@code < line} and {@code >= line}.
+     */
+    private Node[] splitBefore(Node node, int line) {
+        return split(node, line - 1);
+    }
+
+    /**
+     * Splits into markers with line {@code <= line} and {@code > line}.
+     */
+    private Node[] splitAfter(Node node, int line) {
+        return split(node, line);
+    }
+
+    private Node[] split(Node node, int maxLeftLine) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        push(node);
+        if (node.line <= maxLeftLine) {
+            Node[] parts = split(node.right, maxLeftLine);
+            node.right = parts[0];
+            update(node);
+            parts[0] = node;
+            return parts;
+        }
+        Node[] parts = split(node.left, maxLeftLine);
+        node.left = parts[1];
+        update(node);
+        parts[1] = node;
+        return parts;
+    }
+
+    private Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            push(left);
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        push(right);
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static void applyAdd(Node node, int delta) {
+        if (node == null || delta == 0) {
+            return;
+        }
+        node.line += delta;
+        if (node.lazyAssign) {
+            node.lazyAssignLine += delta;
+        } else {
+            node.lazyAdd += delta;
+        }
+    }
+
+    private static void applyAssign(Node node, int line) {
+        if (node == null) {
+            return;
+        }
+        node.line = line;
+        node.lazyAssign = true;
+        node.lazyAssignLine = line;
+        node.lazyAdd = 0;
+    }
+
+    private static void push(Node node) {
+        if (node.lazyAssign) {
+            applyAssign(node.left, node.lazyAssignLine);
+            applyAssign(node.right, node.lazyAssignLine);
+            node.lazyAssign = false;
+        } else if (node.lazyAdd != 0) {
+            applyAdd(node.left, node.lazyAdd);
+            applyAdd(node.right, node.lazyAdd);
+            node.lazyAdd = 0;
+        }
+    }
+
+    private static Marker materialize(Node node) {
+        if (node.marker.line() != node.line) {
+            node.marker = new Marker(node.line, node.marker.type(), node.marker.message());
+        }
+        return node.marker;
+    }
+
+    private static void update(Node node) {
+        node.size = 1 + size(node.left) + size(node.right);
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private int nextPriority() {
+        int x = seed;
+        x ^= x << 13;
+        x ^= x >>> 17;
+        x ^= x << 5;
+        seed = x;
+        return x;
+    }
+}
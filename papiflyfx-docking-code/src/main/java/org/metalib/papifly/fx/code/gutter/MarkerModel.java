@@ -1,15 +1,27 @@
 package org.metalib.papifly.fx.code.gutter;
 
+import org.metalib.papifly.fx.code.document.Document;
+import org.metalib.papifly.fx.code.document.DocumentChangeEvent;
+import org.metalib.papifly.fx.code.document.DocumentChangeListener;
+
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 /**
  * Model holding line markers (errors, breakpoints, bookmarks, etc.).
  * Thread-safe for concurrent add/remove from background threads.
+ * <p>
+ * Markers are stored as sticky line anchors in a balanced tree. When a
+ * {@link Document} is attached, inserted or deleted lines shift the anchors
+ * below the edit in {@code O(log n)}, and markers on deleted lines collapse
+ * onto the line where the edit started. Undo and redo report the range of
+ * each reverted or reapplied edit, so they shift markers the same way. Only
+ * {@code setText} carries no line range, so it clamps markers to the new line
+ * count.
  */
 public class MarkerModel {
 
@@ -31,8 +43,12 @@ public class MarkerModel {
         void markersChanged();
     }
 
-    private final Map<Integer, List<Marker>> markersByLine = new ConcurrentHashMap<>();
+    private final Object lock = new Object();
+    private final MarkerAnchorTree anchors = new MarkerAnchorTree();
     private final List<MarkerChangeListener> listeners = new CopyOnWriteArrayList<>();
+    private final DocumentChangeListener documentListener = this::documentChanged;
+    private Document document;
+    private int documentLineCount;
 
     /**
      * Adds a marker change listener.
@@ -52,27 +68,85 @@ public class MarkerModel {
         listeners.remove(listener);
     }
 
+    /**
+     * Attaches a document whose edits shift marker anchors.
+     * <p>
+     * Replaces any previously attached document.
+     *
+     * @param document document to track, or {@code null} to detach
+     */
+    public void attachDocument(Document document) {
+        if (this.document == document) {
+            return;
+        }
+        detachDocument();
+        if (document == null) {
+            return;
+        }
+        synchronized (lock) {
+            this.document = document;
+            this.documentLineCount = document.getLineCount();
+        }
+        document.addChangeListener(documentListener);
+    }
+
+    /**
+     * Detaches the tracked document, if any. Markers keep their current lines.
+     */
+    public void detachDocument() {
+        Document previous;
+        synchronized (lock) {
+            previous = document;
+            document = null;
+        }
+        if (previous != null) {
+            previous.removeChangeListener(documentListener);
+        }
+    }
+
     /**
      * Adds a marker.
      *
      * @param marker marker to add
      */
     public void addMarker(Marker marker) {
-        markersByLine.computeIfAbsent(marker.line(), k -> new CopyOnWriteArrayList<>()).add(marker);
+        synchronized (lock) {
+            anchors.insert(marker);
+        }
+        fireChanged();
+    }
+
+    /**
+     * Adds a batch of markers with a single change notification.
+     *
+     * @param markers markers to add
+     */
+    public void addMarkers(Collection<Marker> markers) {
+        if (markers == null || markers.isEmpty()) {
+            return;
+        }
+        synchronized (lock) {
+            for (Marker marker : markers) {
+                anchors.insert(marker);
+            }
+        }
         fireChanged();
     }
 
     /**
      * Removes a specific marker.
+     * <p>
+     * The marker must carry its current line; markers read back from this model
+     * after an edit reflect their shifted line.
      *
      * @param marker marker to remove
      */
     public void removeMarker(Marker marker) {
-        List<Marker> lineMarkers = markersByLine.get(marker.line());
-        if (lineMarkers != null && lineMarkers.remove(marker)) {
-            if (lineMarkers.isEmpty()) {
-                markersByLine.remove(marker.line());
-            }
+        boolean removed;
+        synchronized (lock) {
+            removed = anchors.remove(marker);
+        }
+        if (removed) {
             fireChanged();
         }
     }
@@ -83,7 +157,11 @@ public class MarkerModel {
      * @param line zero-based line index
      */
     public void clearLine(int line) {
-        if (markersByLine.remove(line) != null) {
+        boolean removed;
+        synchronized (lock) {
+            removed = anchors.removeLine(line);
+        }
+        if (removed) {
             fireChanged();
         }
     }
@@ -92,10 +170,13 @@ public class MarkerModel {
      * Removes all markers.
      */
     public void clearAll() {
-        if (!markersByLine.isEmpty()) {
-            markersByLine.clear();
-            fireChanged();
+        synchronized (lock) {
+            if (anchors.isEmpty()) {
+                return;
+            }
+            anchors.clear();
         }
+        fireChanged();
     }
 
     /**
@@ -105,8 +186,30 @@ public class MarkerModel {
      * @return unmodifiable markers for the line
      */
     public List<Marker> getMarkersForLine(int line) {
-        List<Marker> markers = markersByLine.get(line);
-        return markers == null ? List.of() : Collections.unmodifiableList(markers);
+        List<Marker> markers = new ArrayList<>();
+        synchronized (lock) {
+            anchors.forEachInRange(line, line, markers::add);
+        }
+        return markers.isEmpty() ? List.of() : Collections.unmodifiableList(markers);
+    }
+
+    /**
+     * Visits markers on lines within {@code [firstLine, lastLine]} in line order.
+     * <p>
+     * Intended for painting the visible line range; the action runs while the
+     * model is locked and must not mutate this model.
+     *
+     * @param firstLine first zero-based line, inclusive
+     * @param lastLine last zero-based line, inclusive
+     * @param action marker consumer
+     */
+    public void forEachMarkerInRange(int firstLine, int lastLine, Consumer<Marker> action) {
+        if (lastLine < firstLine) {
+            return;
+        }
+        synchronized (lock) {
+            anchors.forEachInRange(firstLine, lastLine, action);
+        }
     }
 
     /**
@@ -116,19 +219,32 @@ public class MarkerModel {
      * @return {@code true} when at least one marker exists on the line
      */
     public boolean hasMarkers(int line) {
-        List<Marker> markers = markersByLine.get(line);
-        return markers != null && !markers.isEmpty();
+        synchronized (lock) {
+            return anchors.containsLine(line);
+        }
+    }
+
+    /**
+     * Returns the total number of markers.
+     *
+     * @return marker count
+     */
+    public int getMarkerCount() {
+        synchronized (lock) {
+            return anchors.size();
+        }
     }
 
     /**
      * Returns all markers across all lines.
      *
-     * @return unmodifiable list of all markers
+     * @return unmodifiable list of all markers, in line order
      */
     public List<Marker> getAllMarkers() {
-        List<Marker> all = new ArrayList<>();
-        for (List<Marker> lineMarkers : markersByLine.values()) {
-            all.addAll(lineMarkers);
+        List<Marker> all;
+        synchronized (lock) {
+            all = new ArrayList<>(anchors.size());
+            anchors.collectAll(all);
         }
         return Collections.unmodifiableList(all);
     }
@@ -140,17 +256,54 @@ public class MarkerModel {
      * @return highest-priority marker type, or {@code null} when none exist
      */
     public MarkerType getHighestPriorityType(int line) {
-        List<Marker> markers = markersByLine.get(line);
-        if (markers == null || markers.isEmpty()) {
-            return null;
+        synchronized (lock) {
+            return anchors.highestPriorityType(line);
         }
-        MarkerType best = null;
-        for (Marker m : markers) {
-            if (best == null || m.type().priority() < best.priority()) {
-                best = m.type();
+    }
+
+    private void documentChanged(DocumentChangeEvent event) {
+        boolean shifted;
+        synchronized (lock) {
+            Document current = document;
+            if (current == null) {
+                return;
             }
+            int oldLineCount = documentLineCount;
+            int newLineCount = current.getLineCount();
+            documentLineCount = newLineCount;
+            if (anchors.isEmpty()) {
+                return;
+            }
+            shifted = switch (event.type()) {
+                case INSERT, DELETE, REPLACE, UNDO, REDO -> shiftForEdit(current, event, newLineCount - oldLineCount);
+                case SET_TEXT -> {
+                    anchors.clampTo(newLineCount - 1);
+                    yield newLineCount < oldLineCount;
+                }
+            };
+        }
+        if (shifted) {
+            fireChanged();
+        }
+    }
+
+    private boolean shiftForEdit(Document current, DocumentChangeEvent event, int lineDelta) {
+        int offset = Math.max(0, Math.min(event.offset(), current.length()));
+        int endOffset = Math.max(offset, Math.min(offset + event.newLength(), current.length()));
+        int startLine = current.getLineForOffset(offset);
+        int insertedLines = current.getLineForOffset(endOffset) - startLine;
+        int removedLines = insertedLines - lineDelta;
+        if (removedLines == 0 && insertedLines == 0) {
+            return false;
+        }
+        boolean insertAtLineStart = event.oldLength() == 0 && current.getLineStartOffset(startLine) == offset;
+        if (insertAtLineStart) {
+            // Text pushed down from column 0 carries the line's markers with it.
+            anchors.shiftFrom(startLine, insertedLines);
+        } else {
+            anchors.collapseAndShift(startLine, removedLines, lineDelta);
         }
-        return best;
+        return true;
     }
 
     private void fireChanged() {
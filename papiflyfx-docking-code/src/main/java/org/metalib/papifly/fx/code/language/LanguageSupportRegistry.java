@@ -7,7 +7,7 @@ import org.metalib.papifly.fx.code.lexer.Lexer;
 import org.metalib.papifly.fx.code.lexer.PlainTextLexer;
 import org.metalib.papifly.fx.code.lexer.TokenMap;
 
-import java.util.ArrayList;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -16,7 +16,9 @@ import java.util.ServiceLoader;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 public final class LanguageSupportRegistry {
 
@@ -26,11 +28,14 @@ public final class LanguageSupportRegistry {
         DEFAULT.bootstrap(BootstrapOptions.defaults());
     }
 
-    private final ConcurrentMap<String, LanguageSupport> supportsById = new ConcurrentHashMap<>();
+    private static final String API_SOURCE = "api";
+
+    private final ConcurrentMap<String, Registration> supportsById = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, String> aliasToId = new ConcurrentHashMap<>();
     private final ConcurrentMap<String, String> extensionToId = new ConcurrentHashMap<>();
     private final CopyOnWriteArrayList<LanguageRegistryListener> listeners = new CopyOnWriteArrayList<>();
     private final CopyOnWriteArrayList<RegistryDiagnostic> diagnostics = new CopyOnWriteArrayList<>();
+    private final CopyOnWriteArrayList<RegistryDiagnostic> timings = new CopyOnWriteArrayList<>();
     private volatile UserFileAssociationMapping userFileAssociationMapping;
 
     public static LanguageSupportRegistry defaultRegistry() {
@@ -40,66 +45,32 @@ public final class LanguageSupportRegistry {
     public synchronized void bootstrap(BootstrapOptions options) {
         clear();
         if (options.includeBuiltIns()) {
-            registerAll(new BuiltInLanguageSupportProvider().getLanguageSupports(), options.conflictPolicy());
+            loadProvider(new BuiltInLanguageSupportProvider(), options.conflictPolicy());
         }
         if (options.loadServiceProviders()) {
-            ServiceLoader<LanguageSupportProvider> loader = ServiceLoader.load(LanguageSupportProvider.class);
-            for (LanguageSupportProvider provider : loader) {
-                try {
-                    registerAll(provider.getLanguageSupports(), options.conflictPolicy());
-                } catch (RuntimeException ex) {
-                    publishDiagnostic(new RegistryDiagnostic(
-                        null, provider.getClass().getName(), "Failed to load language supports", ex));
-                }
-            }
+            loadServiceProviders(ServiceLoader.load(LanguageSupportProvider.class), options.conflictPolicy());
         }
     }
 
     public synchronized void refreshServiceProviders(ClassLoader loader, ConflictPolicy policy) {
-        ServiceLoader<LanguageSupportProvider> serviceLoader =
-            ServiceLoader.load(LanguageSupportProvider.class, loader);
-        for (LanguageSupportProvider provider : serviceLoader) {
-            try {
-                registerAll(provider.getLanguageSupports(), policy);
-            } catch (RuntimeException ex) {
-                publishDiagnostic(new RegistryDiagnostic(
-                    null, provider.getClass().getName(), "Failed to load language supports", ex));
-            }
-        }
+        loadServiceProviders(ServiceLoader.load(LanguageSupportProvider.class, loader), policy);
     }
 
     public synchronized void register(LanguageSupport support, ConflictPolicy policy) {
-        String id = normalizeLanguageId(support.id());
-        LanguageSupport existing = supportsById.get(id);
-        if (existing != null) {
-            if (policy == ConflictPolicy.REJECT_ON_CONFLICT) {
-                throw new IllegalStateException(
-                    "Language ID '" + id + "' is already registered. Use REPLACE_EXISTING to override.");
-            }
-            unregisterMappings(existing);
-            supportsById.put(id, support);
-            registerMappings(support, id, policy);
-            notifyReplaced(id);
-            return;
-        }
-        supportsById.put(id, support);
-        registerMappings(support, id, policy);
-        notifyRegistered(id);
+        register(support, API_SOURCE, policy);
     }
 
     public synchronized void registerAll(Collection<LanguageSupport> supports, ConflictPolicy policy) {
-        for (LanguageSupport support : supports) {
-            register(support, policy);
-        }
+        registerAll(supports, API_SOURCE, policy);
     }
 
     public synchronized void unregister(String id) {
         String normalizedId = normalizeLanguageId(id);
-        LanguageSupport removed = supportsById.remove(normalizedId);
+        Registration removed = supportsById.remove(normalizedId);
         if (removed == null) {
             return;
         }
-        unregisterMappings(removed);
+        unregisterMappings(removed.support());
         notifyUnregistered(normalizedId);
     }
 
@@ -121,34 +92,28 @@ public final class LanguageSupportRegistry {
         return List.copyOf(diagnostics);
     }
 
+    public List<RegistryDiagnostic> timingsSnapshot() {
+        return List.copyOf(timings);
+    }
+
     public Lexer resolveLexer(String languageId) {
         String resolved = resolveId(languageId);
-        LanguageSupport support = supportsById.get(resolved);
-        if (support == null) {
-            return new PlainTextLexer();
-        }
-        try {
-            return support.lexerFactory().get();
-        } catch (RuntimeException ex) {
-            publishDiagnostic(new RegistryDiagnostic(
-                resolved, support.getClass().getName(), "Lexer factory failed", ex));
+        Registration registration = supportsById.get(resolved);
+        if (registration == null) {
             return new PlainTextLexer();
         }
+        Lexer lexer = registration.lexer(this, resolved);
+        return lexer == null ? new PlainTextLexer() : lexer;
     }
 
     public FoldProvider resolveFoldProvider(String languageId) {
         String resolved = resolveId(languageId);
-        LanguageSupport support = supportsById.get(resolved);
-        if (support == null) {
-            return new PlainTextFallbackFoldProvider();
-        }
-        try {
-            return support.foldProviderFactory().get();
-        } catch (RuntimeException ex) {
-            publishDiagnostic(new RegistryDiagnostic(
-                resolved, support.getClass().getName(), "FoldProvider factory failed", ex));
+        Registration registration = supportsById.get(resolved);
+        if (registration == null) {
             return new PlainTextFallbackFoldProvider();
         }
+        FoldProvider provider = registration.foldProvider(this, resolved);
+        return provider == null ? new PlainTextFallbackFoldProvider() : provider;
     }
 
     public Optional<String> detectLanguageId(String fileNameOrPath) {
@@ -178,7 +143,66 @@ public final class LanguageSupportRegistry {
     }
 
     public Collection<LanguageSupport> registeredLanguages() {
-        return List.copyOf(supportsById.values());
+        return supportsById.values().stream().map(Registration::support).toList();
+    }
+
+    private void loadServiceProviders(ServiceLoader<LanguageSupportProvider> loader, ConflictPolicy policy) {
+        for (ServiceLoader.Provider<LanguageSupportProvider> provider : loader.stream().toList()) {
+            long startNanos = System.nanoTime();
+            LanguageSupportProvider instance;
+            try {
+                instance = provider.get();
+            } catch (RuntimeException ex) {
+                publishDiagnostic(new RegistryDiagnostic(
+                    null, provider.type().getName(), "Failed to instantiate language support provider", ex,
+                    Duration.ofNanos(System.nanoTime() - startNanos)));
+                continue;
+            }
+            loadProvider(instance, policy, startNanos);
+        }
+    }
+
+    private void loadProvider(LanguageSupportProvider provider, ConflictPolicy policy) {
+        loadProvider(provider, policy, System.nanoTime());
+    }
+
+    private void loadProvider(LanguageSupportProvider provider, ConflictPolicy policy, long startNanos) {
+        String source = provider.getClass().getName();
+        try {
+            registerAll(provider.getLanguageSupports(), source, policy);
+            timings.add(new RegistryDiagnostic(
+                null, source, "Language descriptors registered", null,
+                Duration.ofNanos(System.nanoTime() - startNanos)));
+        } catch (RuntimeException ex) {
+            publishDiagnostic(new RegistryDiagnostic(
+                null, source, "Failed to load language supports", ex,
+                Duration.ofNanos(System.nanoTime() - startNanos)));
+        }
+    }
+
+    private void registerAll(Collection<LanguageSupport> supports, String source, ConflictPolicy policy) {
+        for (LanguageSupport support : supports) {
+            register(support, source, policy);
+        }
+    }
+
+    private void register(LanguageSupport support, String source, ConflictPolicy policy) {
+        String id = normalizeLanguageId(support.id());
+        Registration existing = supportsById.get(id);
+        if (existing != null) {
+            if (policy == ConflictPolicy.REJECT_ON_CONFLICT) {
+                throw new IllegalStateException(
+                    "Language ID '" + id + "' is already registered. Use REPLACE_EXISTING to override.");
+            }
+            unregisterMappings(existing.support());
+            supportsById.put(id, new Registration(support, source));
+            registerMappings(support, id, policy);
+            notifyReplaced(id);
+            return;
+        }
+        supportsById.put(id, new Registration(support, source));
+        registerMappings(support, id, policy);
+        notifyRegistered(id);
     }
 
     private String resolveId(String languageId) {
@@ -235,6 +259,7 @@ public final class LanguageSupportRegistry {
         aliasToId.clear();
         extensionToId.clear();
         diagnostics.clear();
+        timings.clear();
     }
 
     private void publishDiagnostic(RegistryDiagnostic diagnostic) {
@@ -287,6 +312,58 @@ public final class LanguageSupportRegistry {
         return name.substring(dotIndex + 1).toLowerCase(Locale.ROOT);
     }
 
+    // Descriptor-only registration: nothing is instantiated at registration. Every resolve calls the
+    // factory, so each editor pipeline gets its own lexer and fold provider and implementations may
+    // keep per-instance state. Only the first successful instantiation is timed; failures are
+    // reported on every attempt.
+    private static final class Registration {
+        private final LanguageSupport support;
+        private final String source;
+        private final AtomicBoolean lexerTimed = new AtomicBoolean();
+        private final AtomicBoolean foldProviderTimed = new AtomicBoolean();
+
+        private Registration(LanguageSupport support, String source) {
+            this.support = support;
+            this.source = source;
+        }
+
+        private LanguageSupport support() {
+            return support;
+        }
+
+        private Lexer lexer(LanguageSupportRegistry registry, String languageId) {
+            return instantiate(registry, languageId, support.lexerFactory(), lexerTimed, "Lexer");
+        }
+
+        private FoldProvider foldProvider(LanguageSupportRegistry registry, String languageId) {
+            return instantiate(registry, languageId, support.foldProviderFactory(), foldProviderTimed, "FoldProvider");
+        }
+
+        private <T> T instantiate(
+            LanguageSupportRegistry registry,
+            String languageId,
+            Supplier<T> factory,
+            AtomicBoolean timed,
+            String kind
+        ) {
+            long startNanos = System.nanoTime();
+            T instance;
+            try {
+                instance = factory.get();
+            } catch (RuntimeException ex) {
+                registry.publishDiagnostic(new RegistryDiagnostic(
+                    languageId, source, kind + " factory failed", ex));
+                return null;
+            }
+            if (instance != null && timed.compareAndSet(false, true)) {
+                registry.timings.add(new RegistryDiagnostic(
+                    languageId, source, kind + " instantiated", null,
+                    Duration.ofNanos(System.nanoTime() - startNanos)));
+            }
+            return instance;
+        }
+    }
+
     private static final class PlainTextFallbackFoldProvider implements FoldProvider {
         @Override
         public String languageId() {
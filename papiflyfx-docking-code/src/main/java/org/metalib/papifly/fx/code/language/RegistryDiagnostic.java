@@ -1,8 +1,23 @@
 package org.metalib.papifly.fx.code.language;
 
+import java.time.Duration;
+
 public record RegistryDiagnostic(
     String languageId,
     String sourceProvider,
     String message,
-    Throwable cause
-) {}
+    Throwable cause,
+    Duration elapsed
+) {
+    public RegistryDiagnostic {
+        elapsed = elapsed == null ? Duration.ZERO : elapsed;
+    }
+
+    public RegistryDiagnostic(String languageId, String sourceProvider, String message, Throwable cause) {
+        this(languageId, sourceProvider, message, cause, Duration.ZERO);
+    }
+
+    public boolean isFailure() {
+        return cause != null;
+    }
+}
@@ -28,12 +28,17 @@ abstract class AbstractCStyleLexer implements Lexer {
     protected static final int STATE_TEMPLATE_QUOTE = 4;
 
     private final String languageId;
-    private final Set<String> keywords;
+    private final KeywordTable words;
     private final boolean templateQuoteEnabled;
 
     protected AbstractCStyleLexer(String languageId, Set<String> keywords, boolean templateQuoteEnabled) {
         this.languageId = languageId;
-        this.keywords = keywords;
+        this.words = KeywordTable.builder()
+            .add(keywords, TokenType.KEYWORD)
+            .add("true", TokenType.BOOLEAN)
+            .add("false", TokenType.BOOLEAN)
+            .add("null", TokenType.NULL_LITERAL)
+            .build();
         this.templateQuoteEnabled = templateQuoteEnabled;
     }
 
@@ -50,7 +55,7 @@ abstract class AbstractCStyleLexer implements Lexer {
         int index = 0;
 
         if (state == STATE_BLOCK_COMMENT) {
-            int end = text.indexOf("*/");
+            int end = indexOfBlockCommentEnd(text, 0);
             if (end < 0) {
                 addToken(tokens, 0, text.length(), TokenType.COMMENT);
                 return new LexResult(tokens, LexState.of(STATE_BLOCK_COMMENT));
@@ -59,48 +64,53 @@ abstract class AbstractCStyleLexer implements Lexer {
             index = end + 2;
             state = STATE_DEFAULT;
         } else if (state == STATE_DOUBLE_QUOTE || state == STATE_SINGLE_QUOTE || state == STATE_TEMPLATE_QUOTE) {
-            StringContinuation continuation = continueString(text, state, false);
-            addToken(tokens, 0, continuation.endIndex(), TokenType.STRING);
-            index = continuation.endIndex();
-            state = continuation.closed() ? STATE_DEFAULT : state;
-            if (!continuation.closed()) {
+            int end = scanString(text, 0, quoteForState(state));
+            boolean closed = end >= 0;
+            int tokenEnd = closed ? end : text.length();
+            addToken(tokens, 0, tokenEnd, TokenType.STRING);
+            index = tokenEnd;
+            if (!closed) {
                 return new LexResult(tokens, LexState.of(state));
             }
+            state = STATE_DEFAULT;
         }
 
-        while (index < text.length()) {
+        int length = text.length();
+        while (index < length) {
             char ch = text.charAt(index);
-            if (Character.isWhitespace(ch)) {
+            if (CharClassTable.isWhitespace(ch)) {
                 index++;
                 continue;
             }
 
-            if (matches(text, index, "//")) {
-                addToken(tokens, index, text.length(), TokenType.COMMENT);
-                break;
-            }
-            if (matches(text, index, "/*")) {
-                int end = text.indexOf("*/", index + 2);
-                if (end < 0) {
-                    addToken(tokens, index, text.length(), TokenType.COMMENT);
-                    state = STATE_BLOCK_COMMENT;
+            if (ch == '/' && index + 1 < length) {
+                char next = text.charAt(index + 1);
+                if (next == '/') {
+                    addToken(tokens, index, length, TokenType.COMMENT);
                     break;
                 }
-                addToken(tokens, index, end + 2, TokenType.COMMENT);
-                index = end + 2;
-                continue;
+                if (next == '*') {
+                    int end = indexOfBlockCommentEnd(text, index + 2);
+                    if (end < 0) {
+                        addToken(tokens, index, length, TokenType.COMMENT);
+                        state = STATE_BLOCK_COMMENT;
+                        break;
+                    }
+                    addToken(tokens, index, end + 2, TokenType.COMMENT);
+                    index = end + 2;
+                    continue;
+                }
             }
 
             if (isQuoteStart(ch)) {
-                int quoteState = stateForQuote(ch);
-                StringContinuation continuation = continueString(text.substring(index), quoteState, true);
-                int tokenEnd = index + continuation.endIndex();
-                addToken(tokens, index, tokenEnd, TokenType.STRING);
-                if (!continuation.closed()) {
-                    state = quoteState;
+                int end = scanString(text, index + 1, ch);
+                if (end < 0) {
+                    addToken(tokens, index, length, TokenType.STRING);
+                    state = stateForQuote(ch);
                     break;
                 }
-                index = tokenEnd;
+                addToken(tokens, index, end, TokenType.STRING);
+                index = end;
                 continue;
             }
 
@@ -111,9 +121,9 @@ abstract class AbstractCStyleLexer implements Lexer {
                 continue;
             }
 
-            if (isIdentifierStart(ch)) {
+            if (CharClassTable.is(ch, CharClassTable.IDENTIFIER_START)) {
                 int end = scanIdentifier(text, index);
-                TokenType type = classifyWord(text.substring(index, end));
+                TokenType type = classifyWord(text, index, end);
                 if (type != TokenType.IDENTIFIER && type != TokenType.PLAIN) {
                     addToken(tokens, index, end, type);
                 }
@@ -121,13 +131,13 @@ abstract class AbstractCStyleLexer implements Lexer {
                 continue;
             }
 
-            if (isPunctuation(ch)) {
+            if (CharClassTable.is(ch, CharClassTable.C_PUNCTUATION)) {
                 addToken(tokens, index, index + 1, TokenType.PUNCTUATION);
                 index++;
                 continue;
             }
 
-            if (isOperator(ch)) {
+            if (CharClassTable.is(ch, CharClassTable.C_OPERATOR)) {
                 addToken(tokens, index, index + 1, TokenType.OPERATOR);
                 index++;
                 continue;
@@ -139,37 +149,42 @@ abstract class AbstractCStyleLexer implements Lexer {
         return new LexResult(tokens, LexState.of(state));
     }
 
+    @Override
+    public boolean supportsSlicedLexing() {
+        return true;
+    }
+
     /**
-     * Classifies an identifier token candidate.
+     * Classifies an identifier token candidate in {@code text[start, end)}.
      *
-     * @param word candidate word token
+     * @param text line text
+     * @param start inclusive word start
+     * @param end exclusive word end
      * @return token classification for the word
      */
-    protected TokenType classifyWord(String word) {
-        if ("true".equals(word) || "false".equals(word)) {
-            return TokenType.BOOLEAN;
-        }
-        if ("null".equals(word)) {
-            return TokenType.NULL_LITERAL;
-        }
-        if (keywords.contains(word)) {
-            return TokenType.KEYWORD;
-        }
-        return TokenType.IDENTIFIER;
+    protected TokenType classifyWord(String text, int start, int end) {
+        TokenType type = words.lookup(text, start, end);
+        return type == null ? TokenType.IDENTIFIER : type;
     }
 
-    private boolean matches(String text, int index, String match) {
-        if (index + match.length() > text.length()) {
-            return false;
+    private static int indexOfBlockCommentEnd(String text, int from) {
+        int length = text.length();
+        for (int i = Math.max(0, from); i + 1 < length; i++) {
+            if (text.charAt(i) == '*' && text.charAt(i + 1) == '/') {
+                return i;
+            }
         }
-        return text.regionMatches(index, match, 0, match.length());
+        return -1;
     }
 
-    private StringContinuation continueString(String text, int state, boolean hasOpeningQuoteAtStart) {
-        char quote = quoteForState(state);
+    /**
+     * Scans string content starting at {@code from} for the closing quote.
+     *
+     * @return index just past the closing quote, or {@code -1} when the string stays open
+     */
+    private static int scanString(String text, int from, char quote) {
         boolean escaped = false;
-        int scanStart = hasOpeningQuoteAtStart ? 1 : 0;
-        for (int i = scanStart; i < text.length(); i++) {
+        for (int i = from; i < text.length(); i++) {
             char current = text.charAt(i);
             if (escaped) {
                 escaped = false;
@@ -180,10 +195,10 @@ abstract class AbstractCStyleLexer implements Lexer {
                 continue;
             }
             if (current == quote) {
-                return new StringContinuation(i + 1, true);
+                return i + 1;
             }
         }
-        return new StringContinuation(text.length(), false);
+        return -1;
     }
 
     private boolean isQuoteStart(char ch) {
@@ -208,29 +223,23 @@ abstract class AbstractCStyleLexer implements Lexer {
         };
     }
 
-    private boolean isIdentifierStart(char ch) {
-        return Character.isLetter(ch) || ch == '_' || ch == '$';
-    }
-
     private int scanIdentifier(String text, int start) {
         int index = start + 1;
         while (index < text.length()) {
-            char ch = text.charAt(index);
-            if (Character.isLetterOrDigit(ch) || ch == '_' || ch == '$') {
-                index++;
-                continue;
+            if (!CharClassTable.is(text.charAt(index), CharClassTable.IDENTIFIER_PART)) {
+                break;
             }
-            break;
+            index++;
         }
         return index;
     }
 
     private boolean isNumberStart(String text, int index) {
         char ch = text.charAt(index);
-        if (Character.isDigit(ch)) {
+        if (CharClassTable.isDigit(ch)) {
             return true;
         }
-        return ch == '-' && index + 1 < text.length() && Character.isDigit(text.charAt(index + 1));
+        return ch == '-' && index + 1 < text.length() && CharClassTable.isDigit(text.charAt(index + 1));
     }
 
     private int scanNumber(String text, int start) {
@@ -238,12 +247,12 @@ abstract class AbstractCStyleLexer implements Lexer {
         if (text.charAt(index) == '-') {
             index++;
         }
-        while (index < text.length() && Character.isDigit(text.charAt(index))) {
+        while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
             index++;
         }
         if (index < text.length() && text.charAt(index) == '.') {
             index++;
-            while (index < text.length() && Character.isDigit(text.charAt(index))) {
+            while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
                 index++;
             }
         }
@@ -254,7 +263,7 @@ abstract class AbstractCStyleLexer implements Lexer {
                 index++;
             }
             int digitStart = index;
-            while (index < text.length() && Character.isDigit(text.charAt(index))) {
+            while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
                 index++;
             }
             if (digitStart == index) {
@@ -264,21 +273,10 @@ abstract class AbstractCStyleLexer implements Lexer {
         return index;
     }
 
-    private boolean isPunctuation(char ch) {
-        return "{}[]().,;".indexOf(ch) >= 0;
-    }
-
-    private boolean isOperator(char ch) {
-        return "+-*/%=&|!<>?:^~".indexOf(ch) >= 0;
-    }
-
     private static void addToken(List<Token> tokens, int start, int end, TokenType type) {
         if (end <= start) {
             return;
         }
         tokens.add(new Token(start, end - start, type));
     }
-
-    private record StringContinuation(int endIndex, boolean closed) {
-    }
 }
@@ -0,0 +1,82 @@
+package org.metalib.papifly.fx.code.lexer;
+
+/**
+ * Precomputed ASCII character classes shared by the built-in lexers.
+ * <p>
+ * Replaces per-character {@code String.indexOf} scans and {@link Character}
+ * property calls with a single table load. Non-ASCII characters fall back to
+ * the equivalent {@link Character} checks so classification stays identical.
+ */
+final class CharClassTable {
+
+    static final int WHITESPACE = 1;
+    static final int LETTER = 1 << 1;
+    static final int DIGIT = 1 << 2;
+    static final int IDENTIFIER_START = 1 << 3;
+    static final int IDENTIFIER_PART = 1 << 4;
+    static final int C_PUNCTUATION = 1 << 5;
+    static final int C_OPERATOR = 1 << 6;
+    static final int JSON_PUNCTUATION = 1 << 7;
+    static final int MARKDOWN_PUNCTUATION = 1 << 8;
+
+    private static final int[] ASCII = new int[128];
+
+    static {
+        for (int ch = 0; ch < ASCII.length; ch++) {
+            int classes = 0;
+            if (Character.isWhitespace(ch)) {
+                classes |= WHITESPACE;
+            }
+            if (Character.isLetter(ch)) {
+                classes |= LETTER | IDENTIFIER_START | IDENTIFIER_PART;
+            }
+            if (Character.isDigit(ch)) {
+                classes |= DIGIT | IDENTIFIER_PART;
+            }
+            ASCII[ch] = classes;
+        }
+        mark("_$", IDENTIFIER_START | IDENTIFIER_PART);
+        mark("{}[]().,;", C_PUNCTUATION);
+        mark("+-*/%=&|!<>?:^~", C_OPERATOR);
+        mark("{}[],:", JSON_PUNCTUATION);
+        mark("*_[]()<>`!#", MARKDOWN_PUNCTUATION);
+    }
+
+    private CharClassTable() {
+    }
+
+    static boolean is(char ch, int charClass) {
+        if (ch < 128) {
+            return (ASCII[ch] & charClass) != 0;
+        }
+        return nonAscii(ch, charClass);
+    }
+
+    static boolean isWhitespace(char ch) {
+        return is(ch, WHITESPACE);
+    }
+
+    static boolean isDigit(char ch) {
+        return is(ch, DIGIT);
+    }
+
+    static boolean isLetter(char ch) {
+        return is(ch, LETTER);
+    }
+
+    private static boolean nonAscii(char ch, int charClass) {
+        if ((charClass & WHITESPACE) != 0 && Character.isWhitespace(ch)) {
+            return true;
+        }
+        if ((charClass & (LETTER | IDENTIFIER_START | IDENTIFIER_PART)) != 0 && Character.isLetter(ch)) {
+            return true;
+        }
+        return (charClass & (DIGIT | IDENTIFIER_PART)) != 0 && Character.isDigit(ch);
+    }
+
+    private static void mark(String chars, int classes) {
+        for (int i = 0; i < chars.length(); i++) {
+            ASCII[chars.charAt(i)] |= classes;
+        }
+    }
+}
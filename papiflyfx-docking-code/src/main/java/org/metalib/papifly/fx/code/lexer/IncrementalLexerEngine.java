@@ -10,6 +10,16 @@ import java.util.concurrent.CancellationException;
  */
 public final class IncrementalLexerEngine {
 
+    /**
+     * Line length above which lines are lexed in bounded slices when the lexer
+     * supports resuming from a slice exit state.
+     */
+    public static final int LONG_LINE_THRESHOLD = 10_000;
+
+    static final int SLICE_LENGTH = 4_096;
+    static final int MAX_SLICE_LENGTH = 4 * SLICE_LENGTH;
+    private static final int SLICE_BOUNDARY_SEARCH = 256;
+
     private IncrementalLexerEngine() {
     }
 
@@ -113,7 +123,7 @@ public final class IncrementalLexerEngine {
                 }
             }
 
-            LexResult lexResult = lexer.lexLine(lineText, entryState);
+            LexResult lexResult = lexLine(lexer, lineText, entryState);
             LineTokens computed = new LineTokens(lineText, lexResult.tokens(), entryState, lexResult.exitState());
             output.add(computed);
             entryState = computed.exitState();
@@ -122,6 +132,130 @@ public final class IncrementalLexerEngine {
         return new TokenMap(output);
     }
 
+    /**
+     * Lexes one line, splitting lines above {@link #LONG_LINE_THRESHOLD} into
+     * bounded slices for lexers that support sliced lexing.
+     *
+     * @param lexer lexer implementation to apply
+     * @param lineText line text to lex
+     * @param entryState entry lex state for the line
+     * @return lexing result for the whole line
+     */
+    static LexResult lexLine(Lexer lexer, String lineText, LexState entryState) {
+        if (lineText.length() <= LONG_LINE_THRESHOLD || !lexer.supportsSlicedLexing()) {
+            return lexer.lexLine(lineText, entryState);
+        }
+        List<Token> tokens = new ArrayList<>();
+        LexState state = entryState;
+        int length = lineText.length();
+        int start = 0;
+        while (start < length) {
+            ensureNotInterrupted();
+            int end = sliceEnd(lineText, start);
+            LexResult slice = lexer.lexLine(lineText.substring(start, end), state);
+            appendSliceTokens(tokens, slice.tokens(), start);
+            state = slice.exitState();
+            if (end < length && endsWithLineComment(lineText, tokens, end, state, lexer.initialState())) {
+                Token comment = tokens.removeLast();
+                tokens.add(new Token(comment.startColumn(), length - comment.startColumn(), TokenType.COMMENT));
+                break;
+            }
+            start = end;
+        }
+        return new LexResult(tokens, state);
+    }
+
+    /**
+     * Picks a slice end that does not split a token: just after whitespace
+     * near the nominal slice length, else just after the first structural
+     * punctuation. Tokens longer than the search window extend the slice up to
+     * {@link #MAX_SLICE_LENGTH}; only then is the line split mid-token, past
+     * any comment or escape delimiter characters.
+     */
+    private static int sliceEnd(String text, int start) {
+        int length = text.length();
+        int nominal = start + SLICE_LENGTH;
+        if (nominal >= length) {
+            return length;
+        }
+        int limit = Math.min(length, start + MAX_SLICE_LENGTH);
+        int windowEnd = nominal + SLICE_BOUNDARY_SEARCH;
+        int punctuationEnd = -1;
+        for (int end = nominal; end < limit; end++) {
+            char ch = text.charAt(end - 1);
+            if (ch == ' ' || ch == '\t') {
+                return end;
+            }
+            if (punctuationEnd < 0 && isStructuralPunctuation(ch)) {
+                punctuationEnd = end;
+            }
+            if (punctuationEnd > 0 && end >= windowEnd) {
+                return punctuationEnd;
+            }
+        }
+        if (punctuationEnd > 0) {
+            return punctuationEnd;
+        }
+        int end = limit;
+        while (end < length && isDelimiterPart(text.charAt(end - 1))) {
+            end++;
+        }
+        return end;
+    }
+
+    private static boolean isStructuralPunctuation(char ch) {
+        return switch (ch) {
+            case ',', ';', '{', '}', '[', ']', '(', ')' -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean isDelimiterPart(char ch) {
+        return ch == '/' || ch == '*' || ch == '\\';
+    }
+
+    private static void appendSliceTokens(List<Token> target, List<Token> sliceTokens, int offset) {
+        for (Token token : sliceTokens) {
+            int startColumn = token.startColumn() + offset;
+            if (!target.isEmpty()) {
+                Token previous = target.getLast();
+                if (previous.endColumn() == startColumn
+                    && previous.type() == token.type()
+                    && isMergeable(token.type())) {
+                    target.set(target.size() - 1, new Token(
+                        previous.startColumn(),
+                        previous.length() + token.length(),
+                        token.type()
+                    ));
+                    continue;
+                }
+            }
+            target.add(new Token(startColumn, token.length(), token.type()));
+        }
+    }
+
+    private static boolean isMergeable(TokenType type) {
+        return type != TokenType.PUNCTUATION && type != TokenType.OPERATOR;
+    }
+
+    /**
+     * A comment that reaches the slice end without a continuation state can only
+     * be a line comment, since slices never end inside a {@code *}{@code /} delimiter.
+     */
+    private static boolean endsWithLineComment(
+        String text,
+        List<Token> tokens,
+        int sliceEnd,
+        LexState exitState,
+        LexState initialState
+    ) {
+        if (tokens.isEmpty() || !exitState.equals(initialState) || text.charAt(sliceEnd - 1) == '/') {
+            return false;
+        }
+        Token last = tokens.getLast();
+        return last.type() == TokenType.COMMENT && last.endColumn() == sliceEnd;
+    }
+
     private static LineTokens tryReuseLine(TokenMap baseline, int lineIndex, String lineText, LexState entryState) {
         LineTokens previousLine = baseline.lineAt(lineIndex);
         if (previousLine == null) {
@@ -44,6 +44,10 @@ public class IncrementalLexerPipeline implements AutoCloseable {
     private PendingRequest pendingRequest;
     private ScheduledFuture<?> scheduledTask;
 
+    // Worker-thread only: the lexer this pipeline owns for its current language.
+    private String resolvedLanguageId;
+    private Lexer resolvedLexer;
+
     /**
      * Creates a pipeline with default FX dispatcher and debounce.
      *
@@ -252,7 +256,7 @@ public class IncrementalLexerPipeline implements AutoCloseable {
 
         TokenMap computed;
         try {
-            Lexer lexer = lexerResolver.apply(request.languageId());
+            Lexer lexer = lexerFor(request.languageId());
             computed = IncrementalLexerEngine.relex(
                 baseline,
                 lines,
@@ -260,9 +264,11 @@ public class IncrementalLexerPipeline implements AutoCloseable {
                 lexer
             );
         } catch (CancellationException cancellationException) {
+            resolvedLexer = null;
             scheduleNextIfNeeded();
             return;
         } catch (Exception exception) {
+            resolvedLexer = null;
             LOGGER.log(
                 System.Logger.Level.WARNING,
                 "Lexer failure for languageId=" + request.languageId()
@@ -300,6 +306,19 @@ public class IncrementalLexerPipeline implements AutoCloseable {
         scheduleNextIfNeeded();
     }
 
+    /**
+     * Returns the lexer for {@code languageId}, resolving a new instance only
+     * when the language changes or the previous instance failed, so lexers
+     * are never shared between pipelines.
+     */
+    private Lexer lexerFor(String languageId) {
+        if (resolvedLexer == null || !Objects.equals(resolvedLanguageId, languageId)) {
+            resolvedLexer = lexerResolver.apply(languageId);
+            resolvedLanguageId = languageId;
+        }
+        return resolvedLexer;
+    }
+
     private void applyIfCurrent(PendingRequest request, TokenMap computed) {
         if (disposed) {
             return;
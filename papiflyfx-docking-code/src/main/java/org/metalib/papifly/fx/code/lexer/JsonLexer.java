@@ -10,6 +10,11 @@ public final class JsonLexer implements Lexer {
 
     private static final int STATE_DEFAULT = 0;
     private static final int STATE_STRING = 1;
+    private static final KeywordTable LITERALS = KeywordTable.builder()
+        .add("true", TokenType.BOOLEAN)
+        .add("false", TokenType.BOOLEAN)
+        .add("null", TokenType.NULL_LITERAL)
+        .build();
 
     /**
      * Stable id for JSON language.
@@ -35,29 +40,32 @@ public final class JsonLexer implements Lexer {
         int index = 0;
 
         if (state == STATE_STRING) {
-            StringContinuation continuation = continueString(text, false);
-            addToken(tokens, 0, continuation.endIndex(), TokenType.STRING);
-            index = continuation.endIndex();
-            if (!continuation.closed()) {
+            int end = scanString(text, 0);
+            int tokenEnd = end < 0 ? text.length() : end;
+            addToken(tokens, 0, tokenEnd, TokenType.STRING);
+            if (end < 0) {
                 return new LexResult(tokens, LexState.of(STATE_STRING));
             }
+            index = tokenEnd;
             state = STATE_DEFAULT;
         }
 
-        while (index < text.length()) {
+        int length = text.length();
+        while (index < length) {
             char ch = text.charAt(index);
-            if (Character.isWhitespace(ch)) {
+            if (CharClassTable.isWhitespace(ch)) {
                 index++;
                 continue;
             }
             if (ch == '"') {
-                StringContinuation continuation = continueString(text.substring(index), true);
-                addToken(tokens, index, index + continuation.endIndex(), TokenType.STRING);
-                if (!continuation.closed()) {
+                int end = scanString(text, index + 1);
+                if (end < 0) {
+                    addToken(tokens, index, length, TokenType.STRING);
                     state = STATE_STRING;
                     break;
                 }
-                index += continuation.endIndex();
+                addToken(tokens, index, end, TokenType.STRING);
+                index = end;
                 continue;
             }
             if (isNumberStart(text, index)) {
@@ -66,18 +74,16 @@ public final class JsonLexer implements Lexer {
                 index = end;
                 continue;
             }
-            if (Character.isLetter(ch)) {
+            if (CharClassTable.isLetter(ch)) {
                 int end = scanWord(text, index);
-                String word = text.substring(index, end);
-                if ("true".equals(word) || "false".equals(word)) {
-                    addToken(tokens, index, end, TokenType.BOOLEAN);
-                } else if ("null".equals(word)) {
-                    addToken(tokens, index, end, TokenType.NULL_LITERAL);
+                TokenType literal = LITERALS.lookup(text, index, end);
+                if (literal != null) {
+                    addToken(tokens, index, end, literal);
                 }
                 index = end;
                 continue;
             }
-            if ("{}[],:".indexOf(ch) >= 0) {
+            if (CharClassTable.is(ch, CharClassTable.JSON_PUNCTUATION)) {
                 addToken(tokens, index, index + 1, TokenType.PUNCTUATION);
                 index++;
                 continue;
@@ -88,10 +94,19 @@ public final class JsonLexer implements Lexer {
         return new LexResult(tokens, LexState.of(state));
     }
 
-    private StringContinuation continueString(String text, boolean hasOpeningQuoteAtStart) {
+    @Override
+    public boolean supportsSlicedLexing() {
+        return true;
+    }
+
+    /**
+     * Scans string content starting at {@code from} for the closing quote.
+     *
+     * @return index just past the closing quote, or {@code -1} when the string stays open
+     */
+    private static int scanString(String text, int from) {
         boolean escaped = false;
-        int scanStart = hasOpeningQuoteAtStart ? 1 : 0;
-        for (int i = scanStart; i < text.length(); i++) {
+        for (int i = from; i < text.length(); i++) {
             char ch = text.charAt(i);
             if (escaped) {
                 escaped = false;
@@ -102,23 +117,23 @@ public final class JsonLexer implements Lexer {
                 continue;
             }
             if (ch == '"') {
-                return new StringContinuation(i + 1, true);
+                return i + 1;
             }
         }
-        return new StringContinuation(text.length(), false);
+        return -1;
     }
 
     private boolean isNumberStart(String text, int index) {
         char ch = text.charAt(index);
-        if (Character.isDigit(ch)) {
+        if (CharClassTable.isDigit(ch)) {
             return true;
         }
-        return ch == '-' && index + 1 < text.length() && Character.isDigit(text.charAt(index + 1));
+        return ch == '-' && index + 1 < text.length() && CharClassTable.isDigit(text.charAt(index + 1));
     }
 
     private int scanWord(String text, int start) {
         int index = start + 1;
-        while (index < text.length() && Character.isLetter(text.charAt(index))) {
+        while (index < text.length() && CharClassTable.isLetter(text.charAt(index))) {
             index++;
         }
         return index;
@@ -129,12 +144,12 @@ public final class JsonLexer implements Lexer {
         if (text.charAt(index) == '-') {
             index++;
         }
-        while (index < text.length() && Character.isDigit(text.charAt(index))) {
+        while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
             index++;
         }
         if (index < text.length() && text.charAt(index) == '.') {
             index++;
-            while (index < text.length() && Character.isDigit(text.charAt(index))) {
+            while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
                 index++;
             }
         }
@@ -145,7 +160,7 @@ public final class JsonLexer implements Lexer {
                 index++;
             }
             int digitStart = index;
-            while (index < text.length() && Character.isDigit(text.charAt(index))) {
+            while (index < text.length() && CharClassTable.isDigit(text.charAt(index))) {
                 index++;
             }
             if (digitStart == index) {
@@ -161,7 +176,4 @@ public final class JsonLexer implements Lexer {
         }
         tokens.add(new Token(start, end - start, type));
     }
-
-    private record StringContinuation(int endIndex, boolean closed) {
-    }
 }
@@ -0,0 +1,156 @@
+package org.metalib.papifly.fx.code.lexer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compiled, immutable word-to-token table used by the built-in lexers.
+ * <p>
+ * Keywords are laid out in an open-addressing table sized so probe chains stay
+ * short, and words are looked up directly from a {@code [start, end)} range of
+ * the line text. Lookups never allocate a substring; length bounds and a
+ * first-character mask reject most identifiers before hashing.
+ */
+final class KeywordTable {
+
+    private final String[] keys;
+    private final TokenType[] types;
+    private final int mask;
+    private final int minLength;
+    private final int maxLength;
+    private final long firstCharMask;
+
+    private KeywordTable(Map<String, TokenType> entries) {
+        int capacity = Integer.highestOneBit(Math.max(4, entries.size() * 4) - 1) << 1;
+        this.keys = new String[capacity];
+        this.types = new TokenType[capacity];
+        this.mask = capacity - 1;
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        long firstChars = 0L;
+        for (Map.Entry<String, TokenType> entry : entries.entrySet()) {
+            String key = entry.getKey();
+            int slot = hash(key, 0, key.length()) & mask;
+            while (keys[slot] != null && !keys[slot].equals(key)) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            types[slot] = entry.getValue();
+            min = Math.min(min, key.length());
+            max = Math.max(max, key.length());
+            firstChars |= firstCharBit(key.charAt(0));
+        }
+        this.minLength = entries.isEmpty() ? 1 : min;
+        this.maxLength = max;
+        this.firstCharMask = firstChars;
+    }
+
+    /**
+     * Starts a table definition.
+     *
+     * @return table builder
+     */
+    static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Looks up the word in {@code text[start, end)}.
+     *
+     * @param text line text
+     * @param start inclusive word start
+     * @param end exclusive word end
+     * @return mapped token type, or {@code null} when the word is not in the table
+     */
+    TokenType lookup(CharSequence text, int start, int end) {
+        int length = end - start;
+        if (length < minLength || length > maxLength || (firstCharMask & firstCharBit(text.charAt(start))) == 0L) {
+            return null;
+        }
+        int slot = hash(text, start, end) & mask;
+        while (true) {
+            String key = keys[slot];
+            if (key == null) {
+                return null;
+            }
+            if (key.length() == length && regionEquals(key, text, start)) {
+                return types[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static boolean regionEquals(String key, CharSequence text, int start) {
+        for (int i = 0; i < key.length(); i++) {
+            if (key.charAt(i) != text.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(CharSequence text, int start, int end) {
+        int h = 0x811C9DC5;
+        for (int i = start; i < end; i++) {
+            h = (h ^ text.charAt(i)) * 0x01000193;
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static long firstCharBit(char ch) {
+        return 1L << (ch & 63);
+    }
+
+    /**
+     * Collects word entries before compiling them into a {@link KeywordTable}.
+     * Later entries override earlier ones for the same word.
+     */
+    static final class Builder {
+
+        private final Map<String, TokenType> entries = new LinkedHashMap<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Maps every word in {@code words} to {@code type}.
+         *
+         * @param words words to add
+         * @param type token type for the words
+         * @return this builder
+         */
+        Builder add(Set<String> words, TokenType type) {
+            Objects.requireNonNull(type, "type");
+            for (String word : words) {
+                add(word, type);
+            }
+            return this;
+        }
+
+        /**
+         * Maps one word to {@code type}.
+         *
+         * @param word word to add
+         * @param type token type for the word
+         * @return this builder
+         */
+        Builder add(String word, TokenType type) {
+            if (word == null || word.isEmpty()) {
+                throw new IllegalArgumentException("word must not be empty");
+            }
+            entries.put(word, Objects.requireNonNull(type, "type"));
+            return this;
+        }
+
+        /**
+         * Compiles the collected entries.
+         *
+         * @return immutable keyword table
+         */
+        KeywordTable build() {
+            return new KeywordTable(entries);
+        }
+    }
+}
@@ -29,4 +29,16 @@ public interface Lexer {
      * @return lexing result with tokens and resulting exit state
      */
     LexResult lexLine(String lineText, LexState entryState);
+
+    /**
+     * Returns whether very long lines may be lexed as consecutive slices, each
+     * entered with the exit state of the previous slice.
+     * <p>
+     * Lexers that treat the line start specially must keep the default.
+     *
+     * @return {@code true} when slice exit states fully describe lexer progress
+     */
+    default boolean supportsSlicedLexing() {
+        return false;
+    }
 }
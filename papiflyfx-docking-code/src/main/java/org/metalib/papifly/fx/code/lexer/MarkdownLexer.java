@@ -33,11 +33,14 @@ public final class MarkdownLexer implements Lexer {
         List<Token> tokens = new ArrayList<>();
         int state = entryState == null ? STATE_DEFAULT : entryState.code();
 
+        int trimStart = trimStart(text);
+        int trimEnd = trimEnd(text, trimStart);
+
         if (state == STATE_CODE_BLOCK) {
             if (text.isEmpty()) {
                 return new LexResult(tokens, LexState.of(STATE_CODE_BLOCK));
             }
-            if (text.trim().startsWith("```")) {
+            if (trimmedStartsWith(text, trimStart, trimEnd, "```")) {
                 tokens.add(new Token(0, text.length(), TokenType.CODE_BLOCK));
                 return new LexResult(tokens, LexState.of(STATE_DEFAULT));
             } else {
@@ -50,25 +53,26 @@ public final class MarkdownLexer implements Lexer {
             return new LexResult(tokens, LexState.of(STATE_DEFAULT));
         }
 
-        if (text.trim().startsWith("```")) {
+        if (trimmedStartsWith(text, trimStart, trimEnd, "```")) {
             tokens.add(new Token(0, text.length(), TokenType.CODE_BLOCK));
             return new LexResult(tokens, LexState.of(STATE_CODE_BLOCK));
         }
 
-        if (text.trim().startsWith("#")) {
+        if (trimmedStartsWith(text, trimStart, trimEnd, "#")) {
             tokens.add(new Token(0, text.length(), TokenType.HEADLINE));
             return new LexResult(tokens, LexState.of(STATE_DEFAULT));
         }
 
         // List item check
-        String trimmed = text.trim();
         int firstNonSpace = 0;
-        while (firstNonSpace < text.length() && Character.isWhitespace(text.charAt(firstNonSpace))) {
+        while (firstNonSpace < text.length() && CharClassTable.isWhitespace(text.charAt(firstNonSpace))) {
             firstNonSpace++;
         }
 
-        boolean isUnorderedList = trimmed.startsWith("- ") || trimmed.startsWith("* ") || trimmed.startsWith("+ ");
-        int orderedDigitLen = orderedListDigitLength(trimmed);
+        boolean isUnorderedList = trimEnd - trimStart >= 2
+            && "-*+".indexOf(text.charAt(trimStart)) >= 0
+            && text.charAt(trimStart + 1) == ' ';
+        int orderedDigitLen = orderedListDigitLength(text, trimStart, trimEnd);
         if (isUnorderedList || orderedDigitLen > 0) {
             int markerLen = isUnorderedList ? 2 : orderedDigitLen + 2; // digits + ". "
             int markerEnd = firstNonSpace + markerLen;
@@ -85,24 +89,47 @@ public final class MarkdownLexer implements Lexer {
     }
 
     /**
-     * Returns the number of leading digits if trimmed starts with "digits. " (ordered list marker),
+     * Returns the number of leading digits if the trimmed range starts with "digits. " (ordered list marker),
      * or 0 if not an ordered list item.
      */
-    private static int orderedListDigitLength(String trimmed) {
-        int i = 0;
-        while (i < trimmed.length() && Character.isDigit(trimmed.charAt(i))) {
+    private static int orderedListDigitLength(String text, int trimStart, int trimEnd) {
+        int i = trimStart;
+        while (i < trimEnd && CharClassTable.isDigit(text.charAt(i))) {
             i++;
         }
-        if (i == 0) {
+        if (i == trimStart) {
             return 0;
         }
         // Require ". " after digits
-        if (i + 1 < trimmed.length() && trimmed.charAt(i) == '.' && trimmed.charAt(i + 1) == ' ') {
-            return i;
+        if (i + 1 < trimEnd && text.charAt(i) == '.' && text.charAt(i + 1) == ' ') {
+            return i - trimStart;
         }
         return 0;
     }
 
+    /**
+     * Returns the start of the {@link String#trim()} range without allocating the trimmed copy.
+     */
+    private static int trimStart(String text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(String text, int trimStart) {
+        int end = text.length();
+        while (end > trimStart && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private static boolean trimmedStartsWith(String text, int trimStart, int trimEnd, String prefix) {
+        return trimEnd - trimStart >= prefix.length() && text.startsWith(prefix, trimStart);
+    }
+
     private void lexText(String text, int start, List<Token> tokens) {
         int index = start;
         while (index < text.length()) {
@@ -122,6 +149,6 @@ public final class MarkdownLexer implements Lexer {
     }
 
     private boolean isPunctuation(char ch) {
-        return "*_[]()<>`!#".indexOf(ch) >= 0;
+        return CharClassTable.is(ch, CharClassTable.MARKDOWN_PUNCTUATION);
     }
 }
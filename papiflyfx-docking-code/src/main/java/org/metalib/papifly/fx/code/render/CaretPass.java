@@ -59,7 +59,7 @@ final class CaretPass implements RenderPass {
         if (target == null) {
             return;
         }
-        double x = context.textOriginX() + ((column - target.startColumn()) * context.charWidth());
+        double x = context.rowOriginX(target) + ((column - target.startColumn()) * context.charWidth());
         if (x + CARET_WIDTH < 0 || x > context.effectiveTextWidth()) {
             return;
         }
@@ -78,7 +78,7 @@ final class CaretPass implements RenderPass {
             || resolved.startColumn() != renderLine.startColumn()) {
             return;
         }
-        double x = context.textOriginX() + ((column - renderLine.startColumn()) * context.charWidth());
+        double x = context.rowOriginX(renderLine) + ((column - renderLine.startColumn()) * context.charWidth());
         if (x + CARET_WIDTH < 0 || x > context.effectiveTextWidth()) {
             return;
         }
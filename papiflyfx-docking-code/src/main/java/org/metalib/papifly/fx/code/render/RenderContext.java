@@ -61,4 +61,11 @@ record RenderContext(
     double textOriginX() {
         return wordWrap ? 0.0 : -horizontalScrollOffset;
     }
+
+    double rowOriginX(RenderLine renderLine) {
+        if (wordWrap) {
+            return 0.0;
+        }
+        return -horizontalScrollOffset + (renderLine.startColumn() * charWidth);
+    }
 }
@@ -39,7 +39,7 @@ final class SearchPass implements RenderPass {
             if (endColumn <= startColumn) {
                 continue;
             }
-            double x = context.textOriginX() + ((startColumn - rowStart) * context.charWidth());
+            double x = context.rowOriginX(renderLine) + ((startColumn - rowStart) * context.charWidth());
             double width = (endColumn - startColumn) * context.charWidth();
             if (width <= 0) {
                 continue;
@@ -144,7 +144,7 @@ public class SelectionModel {
         anchorLine.set(0);
         anchorColumn.set(0);
         int lastLine = document.getLineCount() - 1;
-        int lastCol = document.getLineText(lastLine).length();
+        int lastCol = document.getLineLength(lastLine);
         caretLine.set(lastLine);
         caretColumn.set(lastCol);
     }
@@ -35,7 +35,7 @@ final class TextPass implements RenderPass {
         if (text.isEmpty()) {
             return;
         }
-        double baseX = context.textOriginX();
+        double baseX = context.rowOriginX(renderLine);
         Paint foreground = context.theme().editorForeground();
         gc.setFill(foreground);
         gc.fillText(text, baseX, renderLine.y() + context.baseline());
@@ -50,7 +50,11 @@ final class TextPass implements RenderPass {
         int runEnd = -1;
         Paint runColor = null;
         int textLength = text.length();
-        for (Token token : tokens) {
+        for (int i = firstTokenEndingAfter(tokens, rowStart); i < tokens.size(); i++) {
+            Token token = tokens.get(i);
+            if (token.startColumn() >= rowEnd) {
+                break;
+            }
             int tokenStart = Math.max(rowStart, token.startColumn());
             int tokenEnd = Math.min(rowEnd, token.endColumn());
             int start = Math.max(0, Math.min(tokenStart - rowStart, textLength));
@@ -84,6 +88,23 @@ final class TextPass implements RenderPass {
         }
     }
 
+    /**
+     * Binary-searches the first token ending after {@code column}; tokens are ordered by start column.
+     */
+    private static int firstTokenEndingAfter(List<Token> tokens, int column) {
+        int low = 0;
+        int high = tokens.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (tokens.get(mid).endColumn() <= column) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
     private void drawSegment(
         RenderContext context,
         String text,
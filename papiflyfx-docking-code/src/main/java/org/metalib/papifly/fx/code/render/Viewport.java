@@ -17,6 +17,7 @@ import org.metalib.papifly.fx.code.document.DocumentChangeEvent;
 import org.metalib.papifly.fx.code.document.DocumentChangeListener;
 import org.metalib.papifly.fx.code.folding.FoldMap;
 import org.metalib.papifly.fx.code.folding.VisibleLineMap;
+import org.metalib.papifly.fx.code.lexer.IncrementalLexerEngine;
 import org.metalib.papifly.fx.code.lexer.TokenMap;
 import org.metalib.papifly.fx.code.search.SearchMatch;
 import org.metalib.papifly.fx.code.theme.CodeEditorTheme;
@@ -40,6 +41,7 @@ public class Viewport extends Region {
     private static final Duration DEFAULT_CARET_BLINK_DELAY = Duration.millis(500);
     private static final Duration DEFAULT_CARET_BLINK_PERIOD = Duration.millis(500);
     private static final double METRIC_EPSILON = 0.01;
+    private static final int LONG_LINE_WINDOW_MARGIN = 64;
 
     /**
      * Scrollbar track thickness in pixels.
@@ -189,6 +191,10 @@ public class Viewport extends Region {
         return glyphCache;
     }
 
+    List<RenderLine> getRenderLines() {
+        return List.copyOf(renderLines);
+    }
+
     /**
      * Returns the wrap map used in wrap mode.
      *
@@ -1131,10 +1137,11 @@ public class Viewport extends Region {
                 }
                 WrapMap.VisualRow row = wrapMap.visualRow(visualRow);
                 int lineIndex = row.lineIndex();
-                String lineText = document.getLineText(lineIndex);
-                int start = clamp(row.startColumn(), 0, lineText.length());
-                int end = clamp(row.endColumn(), start, lineText.length());
-                String text = lineText.substring(start, end);
+                int lineStart = document.getLineStartOffset(lineIndex);
+                int lineLength = document.getLineLength(lineIndex);
+                int start = clamp(row.startColumn(), 0, lineLength);
+                int end = clamp(row.endColumn(), start, lineLength);
+                String text = document.getSubstring(lineStart + start, lineStart + end);
                 double y = visualRow * lineHeight - scrollOffset;
                 renderLines.add(new RenderLine(
                     lineIndex,
@@ -1163,12 +1170,27 @@ public class Viewport extends Region {
                 break;
             }
             int lineIndex = visibleLineMap.visibleToLogical(visibleIndex);
-            String text = document.getLineText(lineIndex);
+            int lineStart = document.getLineStartOffset(lineIndex);
+            int lineLength = document.getLineLength(lineIndex);
+            int startColumn = 0;
+            int endColumn = lineLength;
+            if (lineLength > IncrementalLexerEngine.LONG_LINE_THRESHOLD) {
+                // Long lines only materialize the horizontally visible column window.
+                double charWidth = glyphCache.getCharWidth();
+                int windowColumns = (int) Math.ceil(effectiveTextWidth / charWidth) + (LONG_LINE_WINDOW_MARGIN * 2);
+                startColumn = clamp(
+                    (int) (horizontalScrollOffset / charWidth) - LONG_LINE_WINDOW_MARGIN,
+                    0,
+                    lineLength
+                );
+                endColumn = clamp(startColumn + windowColumns, startColumn, lineLength);
+            }
+            String text = document.getSubstring(lineStart + startColumn, lineStart + endColumn);
             double y = visibleIndex * lineHeight - scrollOffset;
             renderLines.add(new RenderLine(
                 lineIndex,
-                0,
-                text.length(),
+                startColumn,
+                endColumn,
                 text,
                 y,
                 tokenMap.tokensForLine(lineIndex)
@@ -1268,7 +1290,7 @@ public class Viewport extends Region {
         int visibleCount = visibleLineMap.visibleCount();
         for (int index = 0; index < visibleCount; index++) {
             int line = visibleLineMap.visibleToLogical(index);
-            max = Math.max(max, document.getLineText(line).length());
+            max = Math.max(max, document.getLineLength(line));
         }
         longestLineLength = max;
     }
@@ -1323,7 +1345,7 @@ public class Viewport extends Region {
             return 0;
         }
         int safeLine = clamp(line, 0, document.getLineCount() - 1);
-        int maxColumn = document.getLineText(safeLine).length();
+        int maxColumn = document.getLineLength(safeLine);
         return clamp(column, 0, maxColumn);
     }
 
@@ -50,7 +50,7 @@ public final class WrapMap {
         prefixRows = new int[lineCount + 1];
         prefixRows[0] = 0;
         for (int line = 0; line < lineCount; line++) {
-            int length = document.getLineText(line).length();
+            int length = document.getLineLength(line);
             lineLengths[line] = length;
             boolean lineVisible = lineVisiblePredicate == null || lineVisiblePredicate.test(line);
             int rows = lineVisible ? rowsForLength(length, wrapColumns) : 0;
@@ -0,0 +1,122 @@
+package org.metalib.papifly.fx.code.benchmark;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.metalib.papifly.fx.code.lexer.JavaLexer;
+import org.metalib.papifly.fx.code.lexer.JavaScriptLexer;
+import org.metalib.papifly.fx.code.lexer.JsonLexer;
+import org.metalib.papifly.fx.code.lexer.LexState;
+import org.metalib.papifly.fx.code.lexer.Lexer;
+import org.metalib.papifly.fx.code.lexer.MarkdownLexer;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Single-thread lexing throughput of the built-in lexers over a generated corpus.
+ * <p>
+ * Tagged with "benchmark" so it is excluded from default test runs.
+ * Run explicitly via:
+ * {@code mvn -pl papiflyfx-docking-code -am -Dgroups=benchmark -Dsurefire.excludedGroups= -Dsurefire.failIfNoSpecifiedTests=false -Dtest=LexerThroughputBenchmarkTest test}
+ */
+@Tag("benchmark")
+class LexerThroughputBenchmarkTest {
+
+    private static final int CORPUS_LINE_COUNT = 20_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int MEASURED_ROUNDS = 10;
+
+    @Test
+    void javaLexerThroughput() {
+        measure(new JavaLexer(), javaCorpus());
+    }
+
+    @Test
+    void javaScriptLexerThroughput() {
+        measure(new JavaScriptLexer(), javaScriptCorpus());
+    }
+
+    @Test
+    void jsonLexerThroughput() {
+        measure(new JsonLexer(), jsonCorpus());
+    }
+
+    @Test
+    void markdownLexerThroughput() {
+        measure(new MarkdownLexer(), markdownCorpus());
+    }
+
+    private static void measure(Lexer lexer, String[] lines) {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            lexAll(lexer, lines);
+        }
+        long startNanos = System.nanoTime();
+        long tokenCount = 0;
+        for (int round = 0; round < MEASURED_ROUNDS; round++) {
+            tokenCount += lexAll(lexer, lines);
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+        double linesPerSecond = (double) lines.length * MEASURED_ROUNDS / (elapsedNanos / 1_000_000_000.0);
+
+        System.out.printf("[Benchmark] %s lexing: %.0f lines/s (%d tokens)%n",
+            lexer.languageId(), linesPerSecond, tokenCount);
+        assertTrue(tokenCount > 0, "Corpus should produce tokens");
+    }
+
+    private static long lexAll(Lexer lexer, String[] lines) {
+        long tokens = 0;
+        LexState state = lexer.initialState();
+        for (String line : lines) {
+            var result = lexer.lexLine(line, state);
+            tokens += result.tokens().size();
+            state = result.exitState();
+        }
+        return tokens;
+    }
+
+    private static String[] javaCorpus() {
+        String[] lines = new String[CORPUS_LINE_COUNT];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = switch (i % 4) {
+                case 0 -> "    public static final int value" + i + " = compute(\"name\", 42, true); // note";
+                case 1 -> "    /* block */ if (item != null) { return total + scale * 3.5e2; }";
+                case 2 -> "    private String label" + i + " = 'x' + \"escaped \\\" quote\";";
+                default -> "    for (int j = 0; j < limit; j++) { synchronized (lock) { count--; } }";
+            };
+        }
+        return lines;
+    }
+
+    private static String[] javaScriptCorpus() {
+        String[] lines = new String[CORPUS_LINE_COUNT];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = switch (i % 3) {
+                case 0 -> "const handler" + i + " = async (event) => { await fetch(`/api/${id}`); };";
+                case 1 -> "if (typeof value === 'undefined' || value instanceof Error) return null;";
+                default -> "let total = items.reduce((sum, item) => sum + item.price * 1.2, 0); // sum";
+            };
+        }
+        return lines;
+    }
+
+    private static String[] jsonCorpus() {
+        String[] lines = new String[CORPUS_LINE_COUNT];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "  {\"id\": " + i + ", \"name\": \"item " + i + "\", \"active\": true, \"score\": -12.5e3, \"tag\": null},";
+        }
+        return lines;
+    }
+
+    private static String[] markdownCorpus() {
+        String[] lines = new String[CORPUS_LINE_COUNT];
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = switch (i % 5) {
+                case 0 -> "## Section " + i;
+                case 1 -> "- list item with *emphasis* and [link](http://example.com)";
+                case 2 -> "12. ordered item with `inline code`";
+                case 3 -> "Plain paragraph text that wraps across a fairly long line of prose.";
+                default -> "";
+            };
+        }
+        return lines;
+    }
+}
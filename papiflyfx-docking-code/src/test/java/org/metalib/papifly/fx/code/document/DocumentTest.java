@@ -62,6 +62,7 @@ class DocumentTest {
         assertEquals(2, document.getLineCount());
         assertEquals("hello", document.getLineText(0));
         assertEquals("world", document.getLineText(1));
+        assertEquals(5, document.getLineLength(1));
         assertEquals("ello", document.getSubstring(1, 5));
         assertEquals(1, document.getLineForOffset(7));
         assertEquals(2, document.getColumnForOffset(8));
@@ -246,6 +247,20 @@ class DocumentTest {
         assertEquals(DocumentChangeEvent.ChangeType.REDO, events.get(1).type());
     }
 
+    @Test
+    void undoAndRedoEventsCarryTheEditRange() {
+        Document document = new Document("abc");
+        document.replace(1, 2, "XYZ");
+        List<DocumentChangeEvent> events = new ArrayList<>();
+        document.addChangeListener(events::add);
+
+        document.undo();
+        document.redo();
+
+        assertEquals(new DocumentChangeEvent(1, 3, 1, DocumentChangeEvent.ChangeType.UNDO), events.get(0));
+        assertEquals(new DocumentChangeEvent(1, 1, 3, DocumentChangeEvent.ChangeType.REDO), events.get(1));
+    }
+
     @Test
     void removedListenerNotFired() {
         Document document = new Document();
@@ -90,6 +90,26 @@ class GutterViewTest {
         // Verify no throw, scroll is applied
     }
 
+    @Test
+    void onlyRowsWithChangedStateAreRepainted() {
+        flushLayout();
+        runOnFx(gutterView::markDirty);
+        flushLayout();
+        assertEquals(0, gutterView.getLastRepaintedRowCount());
+
+        runOnFx(() -> gutterView.setActiveLineIndex(1));
+        flushLayout();
+        assertEquals(1, gutterView.getLastRepaintedRowCount());
+
+        runOnFx(() -> gutterView.setActiveLineIndex(3));
+        flushLayout();
+        assertEquals(2, gutterView.getLastRepaintedRowCount());
+
+        runOnFx(() -> gutterView.setScrollOffset(glyphCache.getLineHeight()));
+        flushLayout();
+        assertEquals(4, gutterView.getLastRepaintedRowCount());
+    }
+
     @Test
     void gutterMinimumTwoDigitWidth() {
         // Even with 1-line doc, gutter should reserve at least 2 digits
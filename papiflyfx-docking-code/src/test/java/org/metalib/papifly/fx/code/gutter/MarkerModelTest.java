@@ -1,7 +1,10 @@
 package org.metalib.papifly.fx.code.gutter;
 
 import org.junit.jupiter.api.Test;
+import org.metalib.papifly.fx.code.document.Document;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -169,4 +172,146 @@ class MarkerModelTest {
         model.addMarker(new Marker(1, MarkerType.WARNING));
         assertEquals(1, count.get());
     }
+
+    @Test
+    void markersShiftDownWhenLinesInsertedAbove() {
+        Document document = new Document("a\nb\nc\nd");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(2, MarkerType.ERROR, "c"));
+
+        document.insert(document.getLineEndOffset(0), "\nx\ny");
+
+        assertFalse(model.hasMarkers(2));
+        assertEquals(List.of(new Marker(4, MarkerType.ERROR, "c")), model.getMarkersForLine(4));
+    }
+
+    @Test
+    void insertAtLineStartCarriesMarkerWithLine() {
+        Document document = new Document("a\nb\nc");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(1, MarkerType.BREAKPOINT));
+
+        document.insert(document.getLineStartOffset(1), "new\n");
+
+        assertTrue(model.hasMarkers(2));
+        assertFalse(model.hasMarkers(1));
+    }
+
+    @Test
+    void markersOnDeletedLinesCollapseOntoEditLine() {
+        Document document = new Document("a\nb\nc\nd\ne");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(0, MarkerType.INFO));
+        model.addMarker(new Marker(2, MarkerType.WARNING));
+        model.addMarker(new Marker(4, MarkerType.ERROR));
+
+        document.delete(document.getLineEndOffset(0), document.getLineEndOffset(2));
+
+        assertEquals(MarkerType.WARNING, model.getHighestPriorityType(0));
+        assertEquals(2, model.getMarkersForLine(0).size());
+        assertEquals(MarkerType.ERROR, model.getHighestPriorityType(2));
+        assertEquals(3, model.getMarkerCount());
+    }
+
+    @Test
+    void shiftedMarkerCanBeRemovedByItsCurrentValue() {
+        Document document = new Document("a\nb");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(1, MarkerType.ERROR));
+
+        document.insert(0, "\n");
+        Marker shifted = model.getMarkersForLine(2).get(0);
+        model.removeMarker(shifted);
+
+        assertEquals(0, model.getMarkerCount());
+    }
+
+    @Test
+    void detachedModelIgnoresDocumentEdits() {
+        Document document = new Document("a\nb");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.detachDocument();
+        model.addMarker(new Marker(1, MarkerType.ERROR));
+
+        document.insert(0, "\n\n");
+
+        assertTrue(model.hasMarkers(1));
+    }
+
+    @Test
+    void undoClampsMarkersToLineCount() {
+        Document document = new Document("a");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        document.insert(1, "\nb\nc");
+        model.addMarker(new Marker(2, MarkerType.ERROR));
+
+        document.undo();
+
+        assertTrue(model.hasMarkers(0));
+    }
+
+    @Test
+    void undoAndRedoShiftMarkersLikeTheOriginalEdit() {
+        Document document = new Document("a\nb\nc");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(2, MarkerType.BREAKPOINT));
+
+        document.insert(document.getLineEndOffset(0), "\n");
+        assertTrue(model.hasMarkers(3));
+
+        document.undo();
+        assertTrue(model.hasMarkers(2));
+        assertFalse(model.hasMarkers(3));
+
+        document.redo();
+        assertTrue(model.hasMarkers(3));
+        assertFalse(model.hasMarkers(2));
+    }
+
+    @Test
+    void undoOfCompoundEditShiftsMarkersPerEdit() {
+        Document document = new Document("a\nb\nc\nd");
+        MarkerModel model = new MarkerModel();
+        model.attachDocument(document);
+        model.addMarker(new Marker(1, MarkerType.BOOKMARK));
+        model.addMarker(new Marker(3, MarkerType.BREAKPOINT));
+
+        document.beginCompoundEdit();
+        document.insert(document.getLineStartOffset(3), "x\n");
+        document.insert(document.getLineStartOffset(1), "y\n");
+        document.endCompoundEdit();
+        assertTrue(model.hasMarkers(2));
+        assertTrue(model.hasMarkers(5));
+
+        document.undo();
+        assertTrue(model.hasMarkers(1));
+        assertTrue(model.hasMarkers(3));
+        assertEquals(2, model.getMarkerCount());
+    }
+
+    @Test
+    void rangeQueryVisitsOnlyRequestedLinesInOrder() {
+        MarkerModel model = new MarkerModel();
+        List<Marker> batch = new ArrayList<>();
+        for (int line = 0; line < 100_000; line++) {
+            batch.add(new Marker(line, MarkerType.WARNING));
+        }
+        AtomicInteger notifications = new AtomicInteger();
+        model.addChangeListener(notifications::incrementAndGet);
+        model.addMarkers(batch);
+
+        List<Integer> lines = new ArrayList<>();
+        model.forEachMarkerInRange(500, 504, marker -> lines.add(marker.line()));
+
+        assertEquals(1, notifications.get());
+        assertEquals(100_000, model.getMarkerCount());
+        assertEquals(List.of(500, 501, 502, 503, 504), lines);
+    }
 }
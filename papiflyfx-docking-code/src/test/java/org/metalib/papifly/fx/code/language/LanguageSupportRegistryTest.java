@@ -14,11 +14,13 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BooleanSupplier;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -219,6 +221,69 @@ class LanguageSupportRegistryTest {
         assertFalse(registry.diagnosticsSnapshot().isEmpty());
     }
 
+    @Test
+    void lexerAndFoldProviderAreCreatedPerResolveNotAtRegistration() {
+        AtomicInteger lexerCreations = new AtomicInteger();
+        AtomicInteger foldCreations = new AtomicInteger();
+        registry.register(new LanguageSupport(
+            "lazy-lang", "Lazy",
+            Set.of("lz"), Set.of("lz"), Set.of(),
+            () -> {
+                lexerCreations.incrementAndGet();
+                return new StubLexer("lazy-lang");
+            },
+            () -> {
+                foldCreations.incrementAndGet();
+                return new StubFoldProvider("lazy-lang");
+            }
+        ), ConflictPolicy.REPLACE_EXISTING);
+
+        assertEquals(Optional.of("lazy-lang"), registry.detectLanguageId("file.lz"));
+        assertEquals(0, lexerCreations.get());
+        assertEquals(0, foldCreations.get());
+
+        Lexer first = registry.resolveLexer("lazy-lang");
+        assertNotSame(first, registry.resolveLexer("lz"));
+        assertEquals(2, lexerCreations.get());
+        assertEquals(0, foldCreations.get());
+
+        FoldProvider provider = registry.resolveFoldProvider("lazy-lang");
+        assertNotSame(provider, registry.resolveFoldProvider("lazy-lang"));
+        assertEquals(2, foldCreations.get());
+    }
+
+    @Test
+    void replacingLanguageResolvesFreshInstances() {
+        registry.register(testSupport("swap-lang", Set.of(), Set.of()), ConflictPolicy.REPLACE_EXISTING);
+        Lexer original = registry.resolveLexer("swap-lang");
+
+        registry.register(testSupport("swap-lang", Set.of(), Set.of()), ConflictPolicy.REPLACE_EXISTING);
+
+        assertFalse(original == registry.resolveLexer("swap-lang"));
+    }
+
+    @Test
+    void timingsRecordedForFirstInstantiationOnly() {
+        registry.register(testSupport("timed-lang", Set.of(), Set.of()), ConflictPolicy.REPLACE_EXISTING);
+        registry.resolveLexer("timed-lang");
+        registry.resolveLexer("timed-lang");
+
+        List<RegistryDiagnostic> timings = registry.timingsSnapshot();
+        assertEquals(1, timings.size());
+        assertEquals("timed-lang", timings.getFirst().languageId());
+        assertEquals("Lexer instantiated", timings.getFirst().message());
+        assertFalse(timings.getFirst().isFailure());
+        assertTrue(registry.diagnosticsSnapshot().isEmpty());
+    }
+
+    @Test
+    void bootstrapRecordsTimingPerProvider() {
+        registry.bootstrap(new BootstrapOptions(true, false, ConflictPolicy.REPLACE_EXISTING));
+
+        assertTrue(registry.timingsSnapshot().stream()
+            .anyMatch(timing -> timing.sourceProvider().endsWith("BuiltInLanguageSupportProvider")));
+    }
+
     @Test
     void detectLanguageIdReturnsEmptyForNullAndBlank() {
         assertEquals(Optional.empty(), registry.detectLanguageId(null));
@@ -9,6 +9,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class IncrementalLexerEngineTest {
 
@@ -105,6 +106,60 @@ class IncrementalLexerEngineTest {
         }
     }
 
+    @Test
+    void longLinesAreLexedInSlicesWithResumedState() {
+        String line = "{\"key\": \"value, with: commas\", \"n\": [1, 2, true, null]}, ".repeat(2_000);
+        CountingLexer lexer = new CountingLexer(new JsonLexer());
+
+        TokenMap tokenMap = IncrementalLexerEngine.relex(TokenMap.empty(), List.of(line), 0, lexer);
+
+        assertTrue(line.length() > IncrementalLexerEngine.LONG_LINE_THRESHOLD);
+        assertTrue(lexer.invocations() > 1);
+        assertEquals(new JsonLexer().lexLine(line, LexState.DEFAULT).tokens(), tokenMap.lineAt(0).tokens());
+    }
+
+    @Test
+    void slicedLineCommentExtendsToLineEnd() {
+        String line = "int a = 1; ".repeat(1_000) + "// trailing, comment; ".repeat(1_000);
+        JavaLexer lexer = new JavaLexer();
+
+        LexResult sliced = IncrementalLexerEngine.lexLine(lexer, line, LexState.DEFAULT);
+
+        assertEquals(lexer.lexLine(line, LexState.DEFAULT), sliced);
+        Token last = sliced.tokens().getLast();
+        assertEquals(TokenType.COMMENT, last.type());
+        assertEquals(line.length(), last.endColumn());
+    }
+
+    @Test
+    void sliceBoundaryDoesNotSplitNumberExponent() {
+        String prefix = "[" + "0,".repeat(2_000);
+        String number = "1." + "0".repeat(IncrementalLexerEngine.SLICE_LENGTH - prefix.length()) + "e+5";
+        String line = prefix + number + ",0".repeat(4_000) + "]";
+        JsonLexer lexer = new JsonLexer();
+
+        LexResult sliced = IncrementalLexerEngine.lexLine(lexer, line, LexState.DEFAULT);
+
+        assertTrue(line.indexOf('+') > IncrementalLexerEngine.SLICE_LENGTH);
+        assertEquals(lexer.lexLine(line, LexState.DEFAULT), sliced);
+        assertTrue(sliced.tokens().contains(new Token(prefix.length(), number.length(), TokenType.NUMBER)));
+    }
+
+    @Test
+    void sliceBoundaryDoesNotSplitLongIdentifier() {
+        String prefix = "int a = 1; ".repeat(300);
+        String identifier = "id" + "0".repeat(6_000);
+        String line = prefix + identifier + " = 2; " + "int b = 1; ".repeat(400);
+        CountingLexer lexer = new CountingLexer(new JavaLexer());
+
+        LexResult sliced = IncrementalLexerEngine.lexLine(lexer, line, LexState.DEFAULT);
+
+        assertTrue(lexer.invocations() > 1);
+        assertEquals(new JavaLexer().lexLine(line, LexState.DEFAULT), sliced);
+        assertTrue(sliced.tokens().stream().noneMatch(token ->
+            token.startColumn() < prefix.length() + identifier.length() && token.endColumn() > prefix.length()));
+    }
+
     private static final class CountingLexer implements Lexer {
         private final Lexer delegate;
         private int invocations;
@@ -129,6 +184,11 @@ class IncrementalLexerEngineTest {
             return delegate.lexLine(lineText, entryState);
         }
 
+        @Override
+        public boolean supportsSlicedLexing() {
+            return delegate.supportsSlicedLexing();
+        }
+
         private int invocations() {
             return invocations;
         }
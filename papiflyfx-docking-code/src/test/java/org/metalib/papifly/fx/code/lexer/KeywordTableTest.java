@@ -0,0 +1,48 @@
+package org.metalib.papifly.fx.code.lexer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class KeywordTableTest {
+
+    @Test
+    void looksUpWordsInsideLineWithoutSubstring() {
+        KeywordTable table = KeywordTable.builder()
+            .add(Set.of("class", "int", "return"), TokenType.KEYWORD)
+            .build();
+        String line = "  return classy int;";
+
+        assertEquals(TokenType.KEYWORD, table.lookup(line, 2, 8));
+        assertNull(table.lookup(line, 9, 15));
+        assertEquals(TokenType.KEYWORD, table.lookup(line, 16, 19));
+        assertNull(table.lookup(line, 9, 13));
+    }
+
+    @Test
+    void laterEntriesOverrideEarlierOnes() {
+        KeywordTable table = KeywordTable.builder()
+            .add(Set.of("true", "if"), TokenType.KEYWORD)
+            .add("true", TokenType.BOOLEAN)
+            .build();
+
+        assertEquals(TokenType.BOOLEAN, table.lookup("true", 0, 4));
+        assertEquals(TokenType.KEYWORD, table.lookup("if", 0, 2));
+    }
+
+    @Test
+    void emptyTableNeverMatches() {
+        KeywordTable table = KeywordTable.builder().build();
+
+        assertNull(table.lookup("anything", 0, 8));
+    }
+
+    @Test
+    void rejectsEmptyWords() {
+        assertThrows(IllegalArgumentException.class, () -> KeywordTable.builder().add("", TokenType.KEYWORD));
+    }
+}
@@ -9,6 +9,7 @@ import javafx.util.Duration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.metalib.papifly.fx.code.document.Document;
+import org.metalib.papifly.fx.code.lexer.IncrementalLexerEngine;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 import org.testfx.util.WaitForAsyncUtils;
@@ -120,6 +121,26 @@ class ViewportTest {
         assertEquals(5, columnAtLeftEdge);
     }
 
+    @Test
+    void longLinesRenderOnlyTheVisibleColumnWindow() {
+        String longLine = "0123456789".repeat(IncrementalLexerEngine.LONG_LINE_THRESHOLD);
+        runOnFx(() -> {
+            document.setText("short\n" + longLine);
+            viewport.setHorizontalScrollOffset(viewport.getGlyphCache().getCharWidth() * 50_000);
+        });
+        flushLayout();
+
+        RenderLine longRow = callOnFx(() -> viewport.getRenderLines().get(1));
+        assertEquals(1, longRow.lineIndex());
+        assertTrue(longRow.startColumn() > 0);
+        assertTrue(longRow.startColumn() <= 50_000);
+        assertTrue(longRow.endColumn() > 50_000);
+        assertTrue(longRow.text().length() < 1_000);
+        assertEquals(longLine.substring(longRow.startColumn(), longRow.endColumn()), longRow.text());
+        double secondRowY = callOnFx(() -> viewport.getGlyphCache().getLineHeight() * 1.5);
+        assertEquals(50_000, callOnFx(() -> viewport.getHitPosition(0, secondRowY).column()));
+    }
+
     @Test
     void horizontalOffsetIsForcedToZeroInWrapMode() {
         runOnFx(() -> {
@@ -1,5 +1,6 @@
 package org.metalib.papifly.fx.docks;
 
+import javafx.animation.AnimationTimer;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Stage;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
@@ -9,7 +10,9 @@ import org.metalib.papifly.fx.docks.floating.FloatingWindowManager;
 import org.metalib.papifly.fx.docks.minimize.MinimizedStore;
 import org.metalib.papifly.fx.docks.minimize.RestoreHint;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -21,6 +24,10 @@ final class DefaultDockFloatingService implements DockFloatingService {
 
     private final DockManagerContext context;
     private final Map<String, RestoreHint> floatingRestoreHints = new HashMap<>();
+    // Restored windows wait here until the main window has painted, then open one per frame
+    private final Deque<FloatingDockWindow> pendingShows = new ArrayDeque<>();
+    private AnimationTimer showTimer;
+    private int showTimerFrames;
 
     private FloatingWindowManager floatingWindowManager;
     private Stage ownerStage;
@@ -35,6 +42,10 @@ final class DefaultDockFloatingService implements DockFloatingService {
         this.floatingWindowManager = new FloatingWindowManager(stage, context.themeProperty(), context::createTabGroup);
         floatingWindowManager.setOnDockBack(this::dockLeaf);
         floatingWindowManager.setOnClose(context::closeLeaf);
+        floatingWindowManager.setOnWindowAttached(window ->
+            context.getRegistry().groupAttached(window.getTabGroup(), DockState.FLOATING));
+        floatingWindowManager.setOnWindowReleased(window ->
+            context.getRegistry().groupDetached(window.getTabGroup()));
     }
 
     @Override
@@ -80,8 +91,10 @@ final class DefaultDockFloatingService implements DockFloatingService {
 
         if (floatingWindowManager.isFloating(leaf)) {
             FloatingDockWindow window = floatingWindowManager.getWindow(leaf);
-            if (window != null) {
+            if (window != null && window.isShowing()) {
                 window.toFront();
+            } else if (window != null) {
+                window.show();
             }
             return;
         }
@@ -145,10 +158,42 @@ final class DefaultDockFloatingService implements DockFloatingService {
         if (bounds != null) {
             window.setBounds(bounds);
         }
-        window.show();
+        pendingShows.addLast(window);
+        if (showTimer == null) {
+            showTimer = new AnimationTimer() {
+                @Override
+                public void handle(long now) {
+                    showNextPending();
+                }
+            };
+        }
+        showTimerFrames = 0;
+        showTimer.start();
         return true;
     }
 
+    private void showNextPending() {
+        // Let the first frame paint the main window
+        if (showTimerFrames++ == 0) {
+            return;
+        }
+        FloatingDockWindow window = pendingShows.pollFirst();
+        // Skip windows that were docked back or shown by then
+        if (window != null && window.getLeaf() != null && !window.isShowing()) {
+            window.show();
+        }
+        if (pendingShows.isEmpty()) {
+            showTimer.stop();
+        }
+    }
+
+    private void clearPendingShows() {
+        pendingShows.clear();
+        if (showTimer != null) {
+            showTimer.stop();
+        }
+    }
+
     @Override
     public RestoreHint getRestoreHint(String leafId) {
         return floatingRestoreHints.get(leafId);
@@ -166,6 +211,7 @@ final class DefaultDockFloatingService implements DockFloatingService {
 
     @Override
     public void closeAll() {
+        clearPendingShows();
         if (floatingWindowManager != null) {
             floatingWindowManager.closeAll();
         }
@@ -173,6 +219,7 @@ final class DefaultDockFloatingService implements DockFloatingService {
 
     @Override
     public void dispose() {
+        clearPendingShows();
         if (floatingWindowManager != null) {
             List<DockLeaf> floatingLeaves = new ArrayList<>();
             for (FloatingDockWindow window : floatingWindowManager.getFloatingWindows()) {
@@ -31,8 +31,14 @@ final class DefaultDockMinMaxService implements DockMinMaxService {
         this.minimizedBar = new MinimizedBar(context.themeProperty());
         this.minimizedStore = new MinimizedStore();
         minimizedBar.setOnRestore(this::restoreLeaf);
-        minimizedStore.setOnLeafAdded(minimizedBar::addLeaf);
-        minimizedStore.setOnLeafRemoved(minimizedBar::removeLeaf);
+        minimizedStore.setOnLeafAdded(leaf -> {
+            minimizedBar.addLeaf(leaf);
+            context.getRegistry().minimized(leaf);
+        });
+        minimizedStore.setOnLeafRemoved(leaf -> {
+            minimizedBar.removeLeaf(leaf);
+            context.getRegistry().unminimized(leaf);
+        });
     }
 
     @Override
@@ -60,6 +66,9 @@ final class DefaultDockMinMaxService implements DockMinMaxService {
 
     @Override
     public void clearMinimized() {
+        for (DockLeaf leaf : minimizedStore.getMinimizedLeaves()) {
+            context.getRegistry().unminimized(leaf);
+        }
         minimizedStore.clear();
         minimizedBar.clear();
     }
@@ -130,6 +139,7 @@ final class DefaultDockMinMaxService implements DockMinMaxService {
         maximizedGroup = context.createTabGroup();
         maximizedGroup.addLeaf(leaf);
         maximizedGroup.setMaximized(true);
+        context.getRegistry().groupAttached(maximizedGroup, DockState.MAXIMIZED);
         context.getDockingLayer().getChildren().add(0, maximizedGroup.getNode());
         context.updateLeafState(leaf, DockState.MAXIMIZED);
     }
@@ -144,6 +154,7 @@ final class DefaultDockMinMaxService implements DockMinMaxService {
 
         if (maximizedGroup != null) {
             context.getDockingLayer().getChildren().remove(maximizedGroup.getNode());
+            context.getRegistry().groupDetached(maximizedGroup);
             maximizedGroup.removeLeaf(leaf);
             maximizedGroup = null;
         }
@@ -174,9 +185,15 @@ final class DefaultDockMinMaxService implements DockMinMaxService {
                         tabGroup.addLeaf(leaf);
                         DropZone zone = maximizeRestoreHint.zone();
                         if (zone == DropZone.WEST || zone == DropZone.NORTH) {
-                            splitGroup.setFirst(tabGroup);
-                        } else {
+                            if (splitGroup.getFirst() == null) {
+                                splitGroup.setFirst(tabGroup);
+                            } else {
+                                splitGroup.insertChild(splitGroup.getFirst(), tabGroup, true);
+                            }
+                        } else if (splitGroup.getSecond() == null) {
                             splitGroup.setSecond(tabGroup);
+                        } else {
+                            splitGroup.insertChild(splitGroup.getSecond(), tabGroup, false);
                         }
                         return null;
                     }
@@ -11,6 +11,8 @@ import org.metalib.papifly.fx.docks.drag.DropZone;
 import org.metalib.papifly.fx.docks.floating.FloatingDockWindow;
 import org.metalib.papifly.fx.docks.floating.FloatingWindowManager;
 import org.metalib.papifly.fx.docks.layout.ContentStateRegistry;
+import org.metalib.papifly.fx.docks.layout.LayoutFactory;
+import org.metalib.papifly.fx.docks.layout.LeafReconciler;
 import org.metalib.papifly.fx.docks.layout.data.BoundsData;
 import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
 import org.metalib.papifly.fx.docks.layout.data.FloatingLeafData;
@@ -112,17 +114,38 @@ final class DefaultDockSessionService implements DockSessionService {
             minMaxService.restoreMaximized();
         }
 
+        // Live leaves whose id and content match the session are moved, not rebuilt
+        LeafReconciler reconciler = new LeafReconciler();
+        DockElement previousRoot = session.layout() != null ? context.getRoot() : null;
+        List<DockLeaf> liveLeaves = new ArrayList<>();
+        treeService.detachLeaves(previousRoot, liveLeaves);
+        FloatingWindowManager floatingWindowManager = floatingService.getFloatingWindowManager();
+        if (floatingWindowManager != null) {
+            for (FloatingDockWindow window : floatingWindowManager.getFloatingWindows()) {
+                liveLeaves.add(window.getLeaf());
+            }
+        }
+        liveLeaves.addAll(minMaxService.getMinimizedStore().getMinimizedLeaves());
+        liveLeaves.forEach(reconciler::offer);
+
         floatingService.closeAll();
         floatingService.clearRestoreHints();
         minMaxService.clearMinimized();
 
         if (session.layout() != null) {
-            context.restore(session.layout());
+            context.restore(session.layout(), reconciler);
+            if (previousRoot != null) {
+                previousRoot.dispose();
+            }
         }
 
         boolean canRestoreFloating = true;
         if (session.floating() != null && !session.floating().isEmpty()) {
             canRestoreFloating = floatingService.ensureFloatingWindowManager("restore floating leaves");
+            if (canRestoreFloating) {
+                // Create the windows in one batch before any of them is shown
+                floatingService.getFloatingWindowManager().prewarm(session.floating().size());
+            }
         }
         if (session.floating() != null) {
             for (FloatingLeafData floatingData : session.floating()) {
@@ -130,7 +153,7 @@ final class DefaultDockSessionService implements DockSessionService {
                     continue;
                 }
 
-                DockLeaf leaf = context.getLayoutFactory().buildLeaf(floatingData.leaf());
+                DockLeaf leaf = buildParkedLeaf(floatingData.leaf(), reconciler);
                 context.setupLeafCloseHandler(leaf);
 
                 RestoreHint hint = toRestoreHint(floatingData.restoreHint());
@@ -154,15 +177,31 @@ final class DefaultDockSessionService implements DockSessionService {
                     continue;
                 }
 
-                DockLeaf leaf = context.getLayoutFactory().buildLeaf(minimizedData.leaf());
+                DockLeaf leaf = buildParkedLeaf(minimizedData.leaf(), reconciler);
                 context.setupLeafCloseHandler(leaf);
                 minMaxService.addMinimizedLeaf(leaf, toRestoreHint(minimizedData.restoreHint()));
             }
         }
 
+        for (DockLeaf removed : reconciler.unclaimed()) {
+            removed.dispose();
+        }
+
         applySessionContributorsOnRestore(session);
     }
 
+    /**
+     * Builds a floating or minimized leaf. Its content is created when the
+     * leaf is first shown: when its floating window opens or when it is
+     * restored from the minimized bar.
+     */
+    private DockLeaf buildParkedLeaf(LeafData data, LeafReconciler reconciler) {
+        LayoutFactory layoutFactory = context.getLayoutFactory();
+        return layoutFactory.isDeferInactiveTabs()
+            ? layoutFactory.buildDeferredLeaf(data, reconciler)
+            : layoutFactory.buildLeaf(data, reconciler);
+    }
+
     @Override
     public String saveSessionToString() {
         String json = persistence.toJsonString(captureSession());
@@ -260,6 +299,10 @@ final class DefaultDockSessionService implements DockSessionService {
             return;
         }
 
+        // Deferred leaves were never shown, so their restored contentData is still current
+        if (leaf.isContentDeferred()) {
+            return;
+        }
         Node content = leaf.getContent();
         if (content == null) {
             return;
@@ -3,9 +3,8 @@ package org.metalib.papifly.fx.docks;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.layout.StackPane;
-import javafx.scene.paint.Color;
-import javafx.scene.paint.Paint;
 import org.metalib.papifly.fx.docking.api.Theme;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 
 final class DefaultDockThemeService implements DockThemeService {
 
@@ -35,16 +34,6 @@ final class DefaultDockThemeService implements DockThemeService {
         if (theme == null) {
             return;
         }
-        dockingLayer.setStyle("-fx-background-color: " + toHexString(theme.background()) + ";");
-    }
-
-    private String toHexString(Paint paint) {
-        if (paint instanceof Color color) {
-            return String.format("#%02X%02X%02X",
-                (int) (color.getRed() * 255),
-                (int) (color.getGreen() * 255),
-                (int) (color.getBlue() * 255));
-        }
-        return "#1E1E1E";
+        dockingLayer.setBackground(DockThemeStyles.of(theme).contentBackground());
     }
 }
@@ -1,10 +1,13 @@
 package org.metalib.papifly.fx.docks;
 
+import javafx.application.Platform;
 import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.event.EventHandler;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.BorderPane;
@@ -19,6 +22,7 @@ import org.metalib.papifly.fx.api.ribbon.RibbonContextAttributes;
 import org.metalib.papifly.fx.docking.api.ContentFactory;
 import org.metalib.papifly.fx.docking.api.LeafContentData;
 import org.metalib.papifly.fx.docking.api.Theme;
+import org.metalib.papifly.fx.docks.core.DividerDragMode;
 import org.metalib.papifly.fx.docks.core.DockData;
 import org.metalib.papifly.fx.docks.core.DockElement;
 import org.metalib.papifly.fx.docks.core.DockElementVisitor;
@@ -27,15 +31,19 @@ import org.metalib.papifly.fx.docks.core.DockSplitGroup;
 import org.metalib.papifly.fx.docks.core.DockState;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
 import org.metalib.papifly.fx.docks.drag.DragManager;
+import org.metalib.papifly.fx.docks.drag.LeafDragMode;
 import org.metalib.papifly.fx.docks.layout.ContentStateRegistry;
 import org.metalib.papifly.fx.docks.layout.LayoutFactory;
+import org.metalib.papifly.fx.docks.layout.LeafReconciler;
 import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
 import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
 import org.metalib.papifly.fx.docks.minimize.MinimizedStore;
 import org.metalib.papifly.fx.docks.render.OverlayCanvas;
+import org.metalib.papifly.fx.docks.serial.DockSessionAutosave;
 import org.metalib.papifly.fx.docks.serial.DockSessionPersistence;
 
 import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
@@ -43,6 +51,8 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * Central manager for the docking framework.
@@ -68,10 +78,20 @@ public class DockManager {
     private final DockSessionService sessionService;
     private final ObjectProperty<RibbonContext> ribbonContext;
     private final Map<DockTabGroup, RibbonContextListenerHandle> ribbonContextListeners;
+    private final Map<Node, DockTabGroup> ribbonGroupsByNode;
+    private final DockRegistry registry;
+    private long reconciledRegistryVersion;
     private final LinkedHashSet<DockSessionStateContributor<?>> sessionStateContributors;
 
     private ContentFactory contentFactory;
     private DockTabGroup activeRibbonTabGroup;
+    private DockSessionAutosave sessionAutosave;
+    private int batchDepth;
+    private boolean ribbonSyncPending;
+    private boolean sessionDirtyPending;
+    private boolean ribbonSyncScheduled;
+    private long ribbonSyncs;
+    private final List<DockElement> pendingWiring = new ArrayList<>();
 
     /**
      * Creates a new DockManager with default dark theme.
@@ -102,6 +122,21 @@ public class DockManager {
         this.rootElement = new SimpleObjectProperty<>();
         this.ribbonContext = new SimpleObjectProperty<>(RibbonContext.empty());
         this.ribbonContextListeners = new IdentityHashMap<>();
+        this.ribbonGroupsByNode = new IdentityHashMap<>();
+        this.registry = new DockRegistry(this);
+        this.rootElement.addListener((obs, oldRoot, newRoot) -> {
+            if (oldRoot instanceof DockSplitGroup oldSplit) {
+                oldSplit.setOnChildChanged(null);
+                oldSplit.setOnDividerMoved(null);
+            }
+            if (newRoot instanceof DockSplitGroup newSplit) {
+                newSplit.setOnChildChanged(this::onDockTreeChildChanged);
+                newSplit.setOnDividerMoved(this::markSessionDirty);
+            }
+            registry.detached(oldRoot);
+            registry.attached(newRoot);
+            markSessionDirty();
+        });
         this.sessionStateContributors = new LinkedHashSet<>();
         this.serviceContext = new ServiceContext();
 
@@ -131,6 +166,7 @@ public class DockManager {
         mainContainer.setBottom(minMaxService.getMinimizedBar());
 
         dragManager = new DragManager(this::getRoot, overlayLayer, this::setRoot, themeProperty(), this::createTabGroup);
+        dragManager.setOnDropExecuted(this::markSessionDirty);
         setupDragHandlers();
     }
 
@@ -226,7 +262,6 @@ public class DockManager {
         if (element != null) {
             element.setParent(null);
             dockingLayer.getChildren().add(0, element.getNode());
-            registerRibbonContextListeners(element);
         }
         syncRibbonContextFromTree();
     }
@@ -237,8 +272,16 @@ public class DockManager {
      * @param layout layout definition to build and apply
      */
     public void setRoot(LayoutNode layout) {
-        DockElement element = layoutFactory.build(layout);
-        wireHandlers(element);
+        setRoot(layout, null);
+    }
+
+    private void setRoot(LayoutNode layout, LeafReconciler reconciler) {
+        DockElement element = layoutFactory.build(layout, reconciler);
+        if (batchDepth > 0) {
+            pendingWiring.add(element);
+        } else {
+            wireHandlers(element);
+        }
         setRoot(element);
     }
 
@@ -260,8 +303,9 @@ public class DockManager {
 
             @Override
             public Void visitSplitGroup(DockSplitGroup splitGroup) {
-                wireHandlers(splitGroup.getFirst());
-                wireHandlers(splitGroup.getSecond());
+                for (DockElement child : splitGroup.getChildren()) {
+                    wireHandlers(child);
+                }
                 return null;
             }
         });
@@ -303,6 +347,51 @@ public class DockManager {
         themeService.setTheme(theme);
     }
 
+    /**
+     * Gets the divider drag mode inherited by split groups of this manager.
+     *
+     * @return divider drag mode
+     */
+    public DividerDragMode getDividerDragMode() {
+        return mainContainer.getProperties().get(DockSplitGroup.DIVIDER_DRAG_MODE_PROPERTY) instanceof DividerDragMode mode
+            ? mode
+            : DividerDragMode.LIVE;
+    }
+
+    /**
+     * Sets how split dividers behave while dragged. {@link DividerDragMode#GHOST}
+     * moves only a ghost divider and resizes the panes once on release, which
+     * keeps drags smooth over heavy content. Splits with an explicit
+     * {@link DockSplitGroup#setDividerDragMode(DividerDragMode)} keep their own mode.
+     *
+     * @param mode divider drag mode, {@code null} for {@link DividerDragMode#LIVE}
+     */
+    public void setDividerDragMode(DividerDragMode mode) {
+        mainContainer.getProperties().put(DockSplitGroup.DIVIDER_DRAG_MODE_PROPERTY,
+            mode != null ? mode : DividerDragMode.LIVE);
+    }
+
+    /**
+     * Gets how leaves are represented while dragged to a new location.
+     *
+     * @return leaf drag mode
+     */
+    public LeafDragMode getLeafDragMode() {
+        return dragManager.getDragMode();
+    }
+
+    /**
+     * Sets how leaves are represented while dragged to a new location.
+     * {@link LeafDragMode#SNAPSHOT} captures a scaled snapshot of the leaf once
+     * when the drag starts, moves it with the mouse on the overlay and hides the
+     * leaf content until the drop, so heavy content is not repainted during drags.
+     *
+     * @param mode leaf drag mode, {@code null} for {@link LeafDragMode#LIVE}
+     */
+    public void setLeafDragMode(LeafDragMode mode) {
+        dragManager.setDragMode(mode);
+    }
+
     /**
      * Gets the layout factory for programmatic layout building.
      *
@@ -399,7 +488,7 @@ public class DockManager {
     /**
      * Closes a leaf, removing it from its parent.
      */
-    private void closeLeaf(DockLeaf leaf) {
+    void closeLeaf(DockLeaf leaf) {
         restoreMaximizedIfNecessary(leaf);
 
         if (floatingService.isFloating(leaf)) {
@@ -419,6 +508,7 @@ public class DockManager {
         leaf.dispose();
         floatingService.forgetRestoreHint(leaf.getMetadata().id());
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -549,6 +639,7 @@ public class DockManager {
      */
     public void restoreSession(DockSessionData session) {
         sessionService.restoreSession(session);
+        registry.invalidate();
     }
 
     /**
@@ -569,6 +660,7 @@ public class DockManager {
      */
     public void restoreSessionFromString(String json) {
         sessionService.restoreSessionFromString(json);
+        registry.invalidate();
     }
 
     /**
@@ -591,6 +683,79 @@ public class DockManager {
      */
     public void loadSessionFromFile(Path path) {
         sessionService.loadSessionFromFile(path);
+        registry.invalidate();
+    }
+
+    /**
+     * Keeps {@code path} up to date with the session using the default quiet period.
+     *
+     * @param path session file to maintain
+     * @return the autosave, for flushing and metrics
+     * @see #enableSessionAutosave(Path, Duration)
+     */
+    public DockSessionAutosave enableSessionAutosave(Path path) {
+        return enableSessionAutosave(path, DockSessionAutosave.DEFAULT_QUIET_PERIOD);
+    }
+
+    /**
+     * Keeps {@code path} up to date with the session. Layout changes made
+     * through this manager mark the session dirty; once no change has happened
+     * for {@code quietPeriod} the session is captured on the FX thread and
+     * written atomically on a background thread. Callers that change the tree
+     * directly (for example adding tabs to a group) can call
+     * {@link DockSessionAutosave#markDirty()} on the returned instance.
+     * Replaces any autosave enabled earlier.
+     *
+     * @param path session file to maintain
+     * @param quietPeriod time without changes before a save starts
+     * @return the autosave, for flushing and metrics
+     */
+    public DockSessionAutosave enableSessionAutosave(Path path, Duration quietPeriod) {
+        disableSessionAutosave();
+        sessionAutosave = new DockSessionAutosave(
+            path,
+            this::captureSession,
+            Platform::runLater,
+            quietPeriod,
+            new DockSessionPersistence()
+        );
+        return sessionAutosave;
+    }
+
+    /**
+     * Stops the session autosave, if enabled. The final snapshot is captured
+     * right away, but the write finishes on the autosave thread so the FX
+     * thread is never blocked; an application that exits afterwards should
+     * wait on the returned future from a non-FX thread.
+     *
+     * @return future completed once the final write has finished
+     */
+    public CompletableFuture<Void> disableSessionAutosave() {
+        DockSessionAutosave autosave = sessionAutosave;
+        sessionAutosave = null;
+        if (autosave == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return autosave.closeAsync();
+    }
+
+    /**
+     * Gets the active session autosave.
+     *
+     * @return autosave, or {@code null} when not enabled
+     */
+    public DockSessionAutosave getSessionAutosave() {
+        return sessionAutosave;
+    }
+
+    private void markSessionDirty() {
+        if (batchDepth > 0) {
+            sessionDirtyPending = true;
+            return;
+        }
+        if (sessionAutosave != null) {
+            sessionAutosave.markDirty();
+        }
     }
 
     /**
@@ -693,6 +858,7 @@ public class DockManager {
         floatingService.floatLeaf(leaf);
         markFloatingRibbonGroupActive(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -706,6 +872,7 @@ public class DockManager {
         floatingService.floatLeaf(leaf, x, y);
         markFloatingRibbonGroupActive(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     private void markFloatingRibbonGroupActive(DockLeaf leaf) {
@@ -720,6 +887,31 @@ public class DockManager {
         }
     }
 
+    /**
+     * Moves a docked leaf into a tab group at the given index and activates it.
+     */
+    void moveLeaf(DockLeaf leaf, DockTabGroup target, int index) {
+        Objects.requireNonNull(leaf, "leaf");
+        Objects.requireNonNull(target, "target");
+        DockTabGroup source = leaf.getParent();
+        if (source == null || floatingService.isFloating(leaf) || minMaxService.getMaximizedLeaf() == leaf) {
+            throw new IllegalArgumentException("Leaf is not docked: " + leaf.getMetadata().id());
+        }
+        if (source == target) {
+            int currentIndex = target.getTabs().indexOf(leaf);
+            int targetIndex = Math.min(Math.max(0, index), target.getTabs().size() - 1);
+            if (currentIndex != targetIndex) {
+                target.moveLeaf(currentIndex, targetIndex);
+            }
+        } else {
+            treeService.removeLeafFromDock(leaf);
+            target.addLeaf(Math.min(Math.max(0, index), target.getTabs().size()), leaf);
+        }
+        target.setActiveTab(leaf);
+        syncRibbonContextFromTree();
+        markSessionDirty();
+    }
+
     /**
      * Docks a floating leaf back into the dock tree.
      *
@@ -728,6 +920,7 @@ public class DockManager {
     public void dockLeaf(DockLeaf leaf) {
         floatingService.dockLeaf(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -738,6 +931,7 @@ public class DockManager {
     public void minimizeLeaf(DockLeaf leaf) {
         minMaxService.minimizeLeaf(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -748,6 +942,7 @@ public class DockManager {
     public void restoreLeaf(DockLeaf leaf) {
         minMaxService.restoreLeaf(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -758,6 +953,7 @@ public class DockManager {
     public void restoreLeaf(String leafId) {
         minMaxService.restoreLeaf(leafId);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -769,6 +965,7 @@ public class DockManager {
     public void maximizeLeaf(DockLeaf leaf) {
         minMaxService.maximizeLeaf(leaf);
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -777,6 +974,7 @@ public class DockManager {
     public void restoreMaximized() {
         minMaxService.restoreMaximized();
         syncRibbonContextFromTree();
+        markSessionDirty();
     }
 
     /**
@@ -797,6 +995,37 @@ public class DockManager {
         return minMaxService.getMaximizedLeaf();
     }
 
+    /**
+     * Finds a leaf managed by this dock manager, wherever it currently lives.
+     *
+     * @param leafId identifier of the leaf
+     * @return docked, floating, minimized or maximized leaf, or {@code null} when unknown
+     */
+    public DockLeaf findLeaf(String leafId) {
+        return registry.findLeaf(leafId);
+    }
+
+    /**
+     * Gets where a leaf currently lives.
+     *
+     * @param leaf leaf to locate
+     * @return leaf location, or {@code null} when the leaf is not managed by this dock manager
+     */
+    public DockState getLeafState(DockLeaf leaf) {
+        return registry.getState(leaf);
+    }
+
+    DockRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Gets how often the ribbon context was rebuilt from the dock tree.
+     */
+    long ribbonSyncCount() {
+        return ribbonSyncs;
+    }
+
     /**
      * Updates the state in leaf metadata.
      */
@@ -805,20 +1034,90 @@ public class DockManager {
         leaf.metadataProperty().set(current.withState(state));
     }
 
+    /**
+     * Keeps the registry in step with subtrees attached to or detached from the
+     * dock tree, including changes made directly through {@link DockSplitGroup}.
+     */
+    private void onDockTreeChildChanged(DockElement removed, DockElement added) {
+        registry.detached(removed);
+        registry.attached(added);
+        DockRegistry.forEachTabGroup(added, this::trackRibbonContext);
+        scheduleRibbonContextSync();
+    }
+
+    /**
+     * Syncs the ribbon context once the current change is complete, so that
+     * listeners of groups detached from the tree are released.
+     */
+    private void scheduleRibbonContextSync() {
+        if (ribbonSyncScheduled) {
+            return;
+        }
+        ribbonSyncScheduled = true;
+        Platform.runLater(() -> {
+            ribbonSyncScheduled = false;
+            syncRibbonContextFromTree();
+        });
+    }
+
     private void restoreMaximizedIfNecessary(DockLeaf leaf) {
         if (minMaxService.getMaximizedLeaf() == leaf) {
             minMaxService.restoreMaximized();
         }
     }
 
+    /**
+     * Applies several dock mutations as one change.
+     * <p>
+     * The mutations update the dock model as they run, but handler wiring of
+     * built layouts, ribbon-context sync and autosave triggers are deferred
+     * until the batch ends and then run once, so rearranging many panels costs
+     * one ribbon reconciliation and one autosave trigger instead of one per
+     * operation.
+     * Nested calls join the outermost batch. The batch commits even when a
+     * mutation throws.
+     *
+     * @param mutations mutations to apply
+     */
+    public void batch(Consumer<DockTransaction> mutations) {
+        Objects.requireNonNull(mutations, "mutations");
+        batchDepth++;
+        try {
+            mutations.accept(new DockTransaction(this));
+        } finally {
+            if (--batchDepth == 0) {
+                commitBatch();
+            }
+        }
+    }
+
+    private void commitBatch() {
+        if (!pendingWiring.isEmpty()) {
+            List<DockElement> elements = List.copyOf(pendingWiring);
+            pendingWiring.clear();
+            elements.forEach(this::wireHandlers);
+        }
+        if (ribbonSyncPending) {
+            ribbonSyncPending = false;
+            syncRibbonContextFromTree();
+        }
+        if (sessionDirtyPending) {
+            sessionDirtyPending = false;
+            markSessionDirty();
+        }
+    }
+
     /**
      * Disposes of the dock manager and all elements.
      */
     public void dispose() {
+        disableSessionAutosave();
         mainContainer.getProperties().remove(ROOT_PANE_MANAGER_PROPERTY);
 
         ribbonContextListeners.forEach(DockManager::detachRibbonContextListener);
         ribbonContextListeners.clear();
+        ribbonGroupsByNode.clear();
+        registry.clear();
         activeRibbonTabGroup = null;
         floatingService.dispose();
         minMaxService.dispose();
@@ -845,6 +1144,7 @@ public class DockManager {
                 activeRibbonTabGroup = null;
             }
             syncRibbonContextFromTree();
+            markSessionDirty();
         };
         EventHandler<MouseEvent> mousePressedListener = event -> {
             if (tabGroup.getActiveTab() != null) {
@@ -852,9 +1152,17 @@ public class DockManager {
             }
             syncRibbonContextFromTree();
         };
+        ChangeListener<Parent> parentListener = (obs, oldParent, newParent) -> markSessionDirty();
+        ListChangeListener<DockLeaf> tabsListener = change -> registry.tabsChanged(tabGroup, change);
         tabGroup.activeTabIndexProperty().addListener(activeTabListener);
         tabGroup.getNode().addEventFilter(MouseEvent.MOUSE_PRESSED, mousePressedListener);
-        ribbonContextListeners.put(tabGroup, new RibbonContextListenerHandle(activeTabListener, mousePressedListener));
+        tabGroup.getNode().parentProperty().addListener(parentListener);
+        tabGroup.getTabs().addListener(tabsListener);
+        ribbonContextListeners.put(
+            tabGroup,
+            new RibbonContextListenerHandle(activeTabListener, mousePressedListener, parentListener, tabsListener)
+        );
+        ribbonGroupsByNode.put(tabGroup.getNode(), tabGroup);
         if (activeRibbonTabGroup == null && tabGroup.getActiveTab() != null) {
             activeRibbonTabGroup = tabGroup;
         }
@@ -870,11 +1178,27 @@ public class DockManager {
         if (handle.mousePressedListener() != null) {
             tabGroup.getNode().removeEventFilter(MouseEvent.MOUSE_PRESSED, handle.mousePressedListener());
         }
+        if (handle.parentListener() != null) {
+            tabGroup.getNode().parentProperty().removeListener(handle.parentListener());
+        }
+        if (handle.tabsListener() != null) {
+            tabGroup.getTabs().removeListener(handle.tabsListener());
+        }
     }
 
     private void syncRibbonContextFromTree() {
-        cleanupStaleRibbonContextListeners();
-        ribbonContext.set(buildRibbonContext(resolveActiveRibbonLeaf()));
+        if (batchDepth > 0) {
+            ribbonSyncPending = true;
+            return;
+        }
+        ribbonSyncs++;
+        reconcileRibbonContextListeners();
+        RibbonContext next = buildRibbonContext(resolveActiveRibbonLeaf());
+        // Repeated focus changes inside the same content resolve to an equal context;
+        // keep the current instance so ribbon providers are not re-queried.
+        if (!next.equals(ribbonContext.get())) {
+            ribbonContext.set(next);
+        }
     }
 
     private DockLeaf resolveActiveRibbonLeaf() {
@@ -891,33 +1215,14 @@ public class DockManager {
         if (activeLeaf != null) {
             return activeLeaf;
         }
-        DockElement root = rootElement.get();
-        if (root == null) {
-            return null;
-        }
-        return root.accept(new DockElementVisitor<>() {
-            @Override
-            public DockLeaf visitTabGroup(DockTabGroup tabGroup) {
-                DockLeaf groupActive = tabGroup.getActiveTab();
-                if (groupActive != null) {
-                    activeRibbonTabGroup = tabGroup;
-                }
+        for (DockTabGroup tabGroup : registry.getGroups()) {
+            DockLeaf groupActive = tabGroup.getActiveTab();
+            if (groupActive != null && registry.getGroupState(tabGroup) == DockState.DOCKED) {
+                activeRibbonTabGroup = tabGroup;
                 return groupActive;
             }
-
-            @Override
-            public DockLeaf visitSplitGroup(DockSplitGroup splitGroup) {
-                DockElement firstChild = splitGroup.getFirst();
-                if (firstChild != null) {
-                    DockLeaf first = firstChild.accept(this);
-                    if (first != null) {
-                        return first;
-                    }
-                }
-                DockElement secondChild = splitGroup.getSecond();
-                return secondChild == null ? null : secondChild.accept(this);
-            }
-        });
+        }
+        return null;
     }
 
     private RibbonContext buildRibbonContext(DockLeaf leaf) {
@@ -989,8 +1294,9 @@ public class DockManager {
     }
 
     private static void registerContentCapabilities(Map<Class<?>, Object> capabilities, Node contentNode) {
-        capabilities.put(contentNode.getClass(), contentNode);
-        registerCapabilityInterfaces(capabilities, contentNode.getClass(), contentNode, new LinkedHashSet<>());
+        for (Class<?> type : RibbonCapabilityTypes.of(contentNode.getClass())) {
+            capabilities.putIfAbsent(type, contentNode);
+        }
         if (contentNode instanceof RibbonCapabilityContributor contributor) {
             Map<? extends Class<?>, ?> contributed = contributor.ribbonCapabilities();
             if (contributed != null) {
@@ -1001,36 +1307,6 @@ public class DockManager {
         }
     }
 
-    private static void registerCapabilityInterfaces(
-        Map<Class<?>, Object> capabilities,
-        Class<?> type,
-        Object instance,
-        LinkedHashSet<Class<?>> seen
-    ) {
-        if (type == null || type == Object.class) {
-            return;
-        }
-        for (Class<?> iface : type.getInterfaces()) {
-            registerCapabilityInterface(capabilities, iface, instance, seen);
-        }
-        registerCapabilityInterfaces(capabilities, type.getSuperclass(), instance, seen);
-    }
-
-    private static void registerCapabilityInterface(
-        Map<Class<?>, Object> capabilities,
-        Class<?> iface,
-        Object instance,
-        LinkedHashSet<Class<?>> seen
-    ) {
-        if (iface == null || !seen.add(iface) || !iface.isInstance(instance)) {
-            return;
-        }
-        capabilities.putIfAbsent(iface, instance);
-        for (Class<?> parent : iface.getInterfaces()) {
-            registerCapabilityInterface(capabilities, parent, instance, seen);
-        }
-    }
-
     private static void putContributedCapability(Map<Class<?>, Object> capabilities, Class<?> type, Object value) {
         if (type == null || value == null || !type.isInstance(value)) {
             return;
@@ -1038,24 +1314,38 @@ public class DockManager {
         capabilities.put(type, value);
     }
 
-    private void cleanupStaleRibbonContextListeners() {
-        DockElement root = rootElement.get();
+    private void reconcileRibbonContextListeners() {
+        long version = registry.version();
+        if (version == reconciledRegistryVersion) {
+            return;
+        }
+        reconciledRegistryVersion = version;
         ribbonContextListeners.entrySet().removeIf(entry -> {
             DockTabGroup group = entry.getKey();
             if (group == null) {
                 return true;
             }
-            boolean attachedToRoot = isTabGroupInRoot(root, group);
-            boolean floating = isTabGroupFloating(group);
-            if (attachedToRoot || floating) {
+            if (isRibbonTabGroup(group)) {
                 return false;
             }
             detachRibbonContextListener(group, entry.getValue());
+            ribbonGroupsByNode.remove(group.getNode());
             if (activeRibbonTabGroup == group) {
                 activeRibbonTabGroup = null;
             }
             return true;
         });
+        // Pooled floating windows and restored layouts bring back groups that were detached
+        for (DockTabGroup group : registry.getGroups()) {
+            if (isRibbonTabGroup(group)) {
+                trackRibbonContext(group);
+            }
+        }
+    }
+
+    private boolean isRibbonTabGroup(DockTabGroup tabGroup) {
+        DockState state = registry.getGroupState(tabGroup);
+        return state == DockState.DOCKED || state == DockState.FLOATING;
     }
 
     private DockTabGroup resolveFocusedRibbonTabGroup() {
@@ -1081,24 +1371,13 @@ public class DockManager {
         if (scene == null) {
             return null;
         }
-        Node focusOwner = scene.getFocusOwner();
-        if (focusOwner == null) {
-            return null;
-        }
-        for (DockTabGroup tabGroup : ribbonContextListeners.keySet()) {
-            if (tabGroup != null && isDescendantOf(focusOwner, tabGroup.getNode())) {
-                return tabGroup;
-            }
-        }
-        return null;
+        return resolveTabGroupForNode(scene.getFocusOwner());
     }
 
     private DockTabGroup resolveTabGroupForNode(Node node) {
-        if (node == null) {
-            return null;
-        }
-        for (DockTabGroup tabGroup : ribbonContextListeners.keySet()) {
-            if (tabGroup != null && isDescendantOf(node, tabGroup.getNode())) {
+        for (Node current = node; current != null; current = current.getParent()) {
+            DockTabGroup tabGroup = ribbonGroupsByNode.get(current);
+            if (tabGroup != null) {
                 return tabGroup;
             }
         }
@@ -1116,91 +1395,14 @@ public class DockManager {
         if (floatingService.isFloating(activeLeaf)) {
             return true;
         }
-        return isLeafInRoot(rootElement.get(), activeLeaf);
-    }
-
-    private boolean isTabGroupFloating(DockTabGroup tabGroup) {
-        return tabGroup.getTabs().stream().anyMatch(floatingService::isFloating);
-    }
-
-    private static boolean isDescendantOf(Node node, Node ancestor) {
-        Node current = node;
-        while (current != null) {
-            if (current == ancestor) {
-                return true;
-            }
-            current = current.getParent();
-        }
-        return false;
-    }
-
-    private static boolean isTabGroupInRoot(DockElement root, DockTabGroup target) {
-        if (root == null || target == null) {
-            return false;
-        }
-        return root.accept(new DockElementVisitor<>() {
-            @Override
-            public Boolean visitTabGroup(DockTabGroup tabGroup) {
-                return tabGroup == target;
-            }
-
-            @Override
-            public Boolean visitSplitGroup(DockSplitGroup splitGroup) {
-                DockElement first = splitGroup.getFirst();
-                if (first != null && first.accept(this)) {
-                    return true;
-                }
-                DockElement second = splitGroup.getSecond();
-                return second != null && second.accept(this);
-            }
-        });
-    }
-
-    private void registerRibbonContextListeners(DockElement element) {
-        if (element == null) {
-            return;
-        }
-        element.accept(new DockElementVisitor<>() {
-            @Override
-            public Void visitTabGroup(DockTabGroup tabGroup) {
-                trackRibbonContext(tabGroup);
-                return null;
-            }
-
-            @Override
-            public Void visitSplitGroup(DockSplitGroup splitGroup) {
-                registerRibbonContextListeners(splitGroup.getFirst());
-                registerRibbonContextListeners(splitGroup.getSecond());
-                return null;
-            }
-        });
-    }
-
-    private static boolean isLeafInRoot(DockElement root, DockLeaf target) {
-        if (root == null || target == null) {
-            return false;
-        }
-        return root.accept(new DockElementVisitor<>() {
-            @Override
-            public Boolean visitTabGroup(DockTabGroup tabGroup) {
-                return tabGroup.getTabs().contains(target);
-            }
-
-            @Override
-            public Boolean visitSplitGroup(DockSplitGroup splitGroup) {
-                DockElement first = splitGroup.getFirst();
-                if (first != null && first.accept(this)) {
-                    return true;
-                }
-                DockElement second = splitGroup.getSecond();
-                return second != null && second.accept(this);
-            }
-        });
+        return registry.getState(activeLeaf) == DockState.DOCKED;
     }
 
     private record RibbonContextListenerHandle(
         ChangeListener<Number> activeTabListener,
-        EventHandler<MouseEvent> mousePressedListener
+        EventHandler<MouseEvent> mousePressedListener,
+        ChangeListener<Parent> parentListener,
+        ListChangeListener<DockLeaf> tabsListener
     ) {
     }
 
@@ -1306,6 +1508,11 @@ public class DockManager {
             DockManager.this.restore(layout);
         }
 
+        @Override
+        public void restore(LayoutNode layout, LeafReconciler reconciler) {
+            DockManager.this.setRoot(layout, reconciler);
+        }
+
         @Override
         public ObjectProperty<DockElement> rootProperty() {
             return DockManager.this.rootProperty();
@@ -1341,6 +1548,11 @@ public class DockManager {
             DockManager.this.updateLeafState(leaf, state);
         }
 
+        @Override
+        public DockRegistry getRegistry() {
+            return registry;
+        }
+
         @Override
         public void restoreMaximizedIfNecessary(DockLeaf leaf) {
             DockManager.this.restoreMaximizedIfNecessary(leaf);
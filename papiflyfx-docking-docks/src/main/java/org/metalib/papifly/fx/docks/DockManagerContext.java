@@ -8,6 +8,7 @@ import org.metalib.papifly.fx.docks.core.DockLeaf;
 import org.metalib.papifly.fx.docks.core.DockState;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
 import org.metalib.papifly.fx.docks.layout.LayoutFactory;
+import org.metalib.papifly.fx.docks.layout.LeafReconciler;
 import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
 
 import java.util.List;
@@ -20,6 +21,8 @@ interface DockManagerContext {
 
     void restore(LayoutNode layout);
 
+    void restore(LayoutNode layout, LeafReconciler reconciler);
+
     ObjectProperty<DockElement> rootProperty();
 
     ObjectProperty<Theme> themeProperty();
@@ -34,6 +37,8 @@ interface DockManagerContext {
 
     void updateLeafState(DockLeaf leaf, DockState state);
 
+    DockRegistry getRegistry();
+
     void restoreMaximizedIfNecessary(DockLeaf leaf);
 
     void closeLeaf(DockLeaf leaf);
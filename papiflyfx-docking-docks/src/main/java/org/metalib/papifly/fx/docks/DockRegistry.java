@@ -0,0 +1,314 @@
+package org.metalib.papifly.fx.docks;
+
+import javafx.collections.ListChangeListener;
+import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockElementVisitor;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockState;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.floating.FloatingDockWindow;
+import org.metalib.papifly.fx.docks.floating.FloatingWindowManager;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Index of every leaf and tab group managed by a {@link DockManager}: leaf id
+ * to leaf, leaf to owning group and group to location.
+ * <p>
+ * The index is kept up to date in place, walking only the affected elements:
+ * the dock tree reports attached and detached subtrees, indexed groups report
+ * added and removed tabs, the floating window manager and the maximize path
+ * report their groups as they are attached and released, and the minimized
+ * store reports its leaves. Only a session restore marks the index stale; the
+ * next lookup then rebuilds it from the dock tree, floating windows,
+ * maximized leaf and minimized bar in one pass. Lookups, such as the
+ * membership checks run on every click, are constant time.
+ */
+final class DockRegistry {
+
+    private final DockManager manager;
+    private final Map<String, DockLeaf> leavesById = new HashMap<>();
+    private final Map<DockLeaf, DockTabGroup> groupsByLeaf = new IdentityHashMap<>();
+    private final Map<DockTabGroup, DockState> groupStates = new LinkedHashMap<>();
+    private final Map<String, DockTabGroup> groupsById = new HashMap<>();
+    private final Set<DockLeaf> minimizedLeaves = Collections.newSetFromMap(new IdentityHashMap<>());
+    private boolean stale = true;
+    private long version;
+    private long rebuilds;
+
+    DockRegistry(DockManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Marks the index stale after the whole layout was replaced.
+     */
+    void invalidate() {
+        stale = true;
+    }
+
+    /**
+     * Indexes the tab groups of a subtree attached to the dock tree.
+     */
+    void attached(DockElement element) {
+        if (stale || element == null) {
+            return;
+        }
+        forEachTabGroup(element, group -> {
+            unindexGroup(group);
+            indexGroup(group, DockState.DOCKED);
+        });
+        version++;
+    }
+
+    /**
+     * Drops the docked tab groups of a subtree detached from the dock tree.
+     */
+    void detached(DockElement element) {
+        if (stale || element == null) {
+            return;
+        }
+        forEachTabGroup(element, group -> {
+            if (groupStates.get(group) == DockState.DOCKED) {
+                unindexGroup(group);
+            }
+        });
+        version++;
+    }
+
+    /**
+     * Indexes a tab group that lives outside the dock tree, i.e. the group of
+     * a floating window or the maximized group.
+     */
+    void groupAttached(DockTabGroup group, DockState state) {
+        if (stale || group == null) {
+            return;
+        }
+        unindexGroup(group);
+        indexGroup(group, state);
+        version++;
+    }
+
+    /**
+     * Drops a tab group released from a floating window or from maximizing.
+     */
+    void groupDetached(DockTabGroup group) {
+        if (stale || group == null || !groupStates.containsKey(group)) {
+            return;
+        }
+        unindexGroup(group);
+        version++;
+    }
+
+    /**
+     * Records a leaf added to the minimized bar.
+     */
+    void minimized(DockLeaf leaf) {
+        if (stale || !minimizedLeaves.add(leaf)) {
+            return;
+        }
+        leavesById.putIfAbsent(leaf.getMetadata().id(), leaf);
+        version++;
+    }
+
+    /**
+     * Records a leaf removed from the minimized bar.
+     */
+    void unminimized(DockLeaf leaf) {
+        if (stale || !minimizedLeaves.remove(leaf)) {
+            return;
+        }
+        if (!groupsByLeaf.containsKey(leaf)) {
+            leavesById.remove(leaf.getMetadata().id(), leaf);
+        }
+        version++;
+    }
+
+    /**
+     * Applies tabs added to or removed from an indexed group.
+     */
+    void tabsChanged(DockTabGroup group, ListChangeListener.Change<? extends DockLeaf> change) {
+        if (stale || !groupStates.containsKey(group)) {
+            return;
+        }
+        boolean changed = false;
+        while (change.next()) {
+            for (DockLeaf leaf : change.getRemoved()) {
+                changed |= unindexLeaf(leaf, group);
+            }
+            for (DockLeaf leaf : change.getAddedSubList()) {
+                indexLeaf(leaf, group);
+                changed = true;
+            }
+        }
+        if (changed) {
+            version++;
+        }
+    }
+
+    /**
+     * Gets a counter that changes every time the index changes.
+     */
+    long version() {
+        refresh();
+        return version;
+    }
+
+    /**
+     * Gets how often the index was rebuilt from scratch.
+     */
+    long rebuildCount() {
+        return rebuilds;
+    }
+
+    DockLeaf findLeaf(String leafId) {
+        refresh();
+        return leavesById.get(leafId);
+    }
+
+    DockTabGroup getGroup(DockLeaf leaf) {
+        refresh();
+        return groupsByLeaf.get(leaf);
+    }
+
+    DockState getState(DockLeaf leaf) {
+        refresh();
+        DockTabGroup group = groupsByLeaf.get(leaf);
+        if (group != null) {
+            return groupStates.get(group);
+        }
+        return minimizedLeaves.contains(leaf) ? DockState.MINIMIZED : null;
+    }
+
+    DockState getGroupState(DockTabGroup group) {
+        refresh();
+        return groupStates.get(group);
+    }
+
+    /**
+     * Finds a docked tab group by its own id or by the id of one of its leaves.
+     */
+    DockTabGroup findDockedGroup(String id) {
+        refresh();
+        DockTabGroup group = groupsById.get(id);
+        if (group == null) {
+            DockLeaf leaf = leavesById.get(id);
+            group = leaf == null ? null : groupsByLeaf.get(leaf);
+        }
+        return group != null && groupStates.get(group) == DockState.DOCKED ? group : null;
+    }
+
+    /**
+     * Gets the registered groups. A rebuild lists them in layout order, docked
+     * groups first, then the maximized group and floating groups; groups
+     * attached since the last rebuild follow.
+     */
+    Set<DockTabGroup> getGroups() {
+        refresh();
+        return Collections.unmodifiableSet(groupStates.keySet());
+    }
+
+    void clear() {
+        leavesById.clear();
+        groupsByLeaf.clear();
+        groupStates.clear();
+        groupsById.clear();
+        minimizedLeaves.clear();
+        stale = true;
+    }
+
+    private void refresh() {
+        if (!stale) {
+            return;
+        }
+        clear();
+        stale = false;
+        version++;
+        rebuilds++;
+        indexDocked(manager.getRoot());
+        DockLeaf maximizedLeaf = manager.getMaximizedLeaf();
+        if (maximizedLeaf != null && maximizedLeaf.getParent() != null) {
+            indexGroup(maximizedLeaf.getParent(), DockState.MAXIMIZED);
+        }
+        FloatingWindowManager floatingWindowManager = manager.getFloatingWindowManager();
+        if (floatingWindowManager != null) {
+            for (FloatingDockWindow window : floatingWindowManager.getFloatingWindows()) {
+                indexGroup(window.getTabGroup(), DockState.FLOATING);
+            }
+        }
+        for (DockLeaf leaf : manager.getMinimizedStore().getMinimizedLeaves()) {
+            minimizedLeaves.add(leaf);
+            leavesById.putIfAbsent(leaf.getMetadata().id(), leaf);
+        }
+    }
+
+    private void indexDocked(DockElement element) {
+        forEachTabGroup(element, group -> indexGroup(group, DockState.DOCKED));
+    }
+
+    private void indexGroup(DockTabGroup group, DockState state) {
+        if (group == null || groupStates.putIfAbsent(group, state) != null) {
+            return;
+        }
+        groupsById.putIfAbsent(group.getMetadata().id(), group);
+        for (DockLeaf leaf : group.getTabs()) {
+            indexLeaf(leaf, group);
+        }
+    }
+
+    private void unindexGroup(DockTabGroup group) {
+        if (groupStates.remove(group) == null) {
+            return;
+        }
+        groupsById.remove(group.getMetadata().id(), group);
+        for (DockLeaf leaf : group.getTabs()) {
+            unindexLeaf(leaf, group);
+        }
+    }
+
+    private void indexLeaf(DockLeaf leaf, DockTabGroup group) {
+        groupsByLeaf.put(leaf, group);
+        leavesById.putIfAbsent(leaf.getMetadata().id(), leaf);
+    }
+
+    private boolean unindexLeaf(DockLeaf leaf, DockTabGroup group) {
+        if (!groupsByLeaf.remove(leaf, group)) {
+            return false;
+        }
+        if (!minimizedLeaves.contains(leaf)) {
+            leavesById.remove(leaf.getMetadata().id(), leaf);
+        }
+        return true;
+    }
+
+    /**
+     * Visits the tab groups of a subtree in layout order.
+     */
+    static void forEachTabGroup(DockElement element, Consumer<DockTabGroup> action) {
+        if (element == null) {
+            return;
+        }
+        element.accept(new DockElementVisitor<Void>() {
+            @Override
+            public Void visitTabGroup(DockTabGroup tabGroup) {
+                action.accept(tabGroup);
+                return null;
+            }
+
+            @Override
+            public Void visitSplitGroup(DockSplitGroup splitGroup) {
+                for (DockElement child : splitGroup.getChildren()) {
+                    forEachTabGroup(child, action);
+                }
+                return null;
+            }
+        });
+    }
+}
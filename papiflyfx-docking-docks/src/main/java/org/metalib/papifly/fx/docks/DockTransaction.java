@@ -0,0 +1,178 @@
+package org.metalib.papifly.fx.docks;
+
+import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
+
+/**
+ * Sequence of dock mutations applied through {@link DockManager#batch}.
+ * <p>
+ * Mutations change the dock model immediately, so later steps see the result
+ * of earlier ones. Handler wiring of built layouts, ribbon-context sync and
+ * autosave triggers are deferred until the batch commits and then run once.
+ */
+public final class DockTransaction {
+
+    private final DockManager manager;
+
+    DockTransaction(DockManager manager) {
+        this.manager = manager;
+    }
+
+    /**
+     * Gets the current root, including root changes made earlier in this batch.
+     *
+     * @return current root dock element, or {@code null}
+     */
+    public DockElement getRoot() {
+        return manager.getRoot();
+    }
+
+    /**
+     * Sets the root dock element.
+     *
+     * @param element new root dock element, or {@code null}
+     */
+    public void setRoot(DockElement element) {
+        manager.setRoot(element);
+    }
+
+    /**
+     * Builds and sets the root from a layout definition.
+     *
+     * @param layout layout definition to build and apply
+     */
+    public void setRoot(LayoutNode layout) {
+        manager.setRoot(layout);
+    }
+
+    /**
+     * Creates a new tab group with handlers wired.
+     *
+     * @return newly created tab group
+     */
+    public DockTabGroup createTabGroup() {
+        return manager.createTabGroup();
+    }
+
+    /**
+     * Creates a new horizontal split.
+     *
+     * @param first first child element
+     * @param second second child element
+     * @param dividerPosition divider position ratio
+     * @return horizontal split group
+     */
+    public DockSplitGroup createHorizontalSplit(DockElement first, DockElement second, double dividerPosition) {
+        return manager.createHorizontalSplit(first, second, dividerPosition);
+    }
+
+    /**
+     * Creates a new vertical split.
+     *
+     * @param first first child element
+     * @param second second child element
+     * @param dividerPosition divider position ratio
+     * @return vertical split group
+     */
+    public DockSplitGroup createVerticalSplit(DockElement first, DockElement second, double dividerPosition) {
+        return manager.createVerticalSplit(first, second, dividerPosition);
+    }
+
+    /**
+     * Moves a docked leaf into a tab group at the given index and activates it.
+     * Moving within the same group reorders the tab; a group left empty by the
+     * move is removed from the tree.
+     *
+     * @param leaf docked leaf to move
+     * @param target target tab group
+     * @param index target tab index, clamped to the group's tabs
+     * @throws IllegalArgumentException if the leaf is floating, minimized or maximized
+     */
+    public void moveLeaf(DockLeaf leaf, DockTabGroup target, int index) {
+        manager.moveLeaf(leaf, target, index);
+    }
+
+    /**
+     * Floats a leaf into a floating window.
+     *
+     * @param leaf leaf to float
+     */
+    public void floatLeaf(DockLeaf leaf) {
+        manager.floatLeaf(leaf);
+    }
+
+    /**
+     * Floats a leaf at a specific position.
+     *
+     * @param leaf leaf to float
+     * @param x screen x position for the floating window
+     * @param y screen y position for the floating window
+     */
+    public void floatLeaf(DockLeaf leaf, double x, double y) {
+        manager.floatLeaf(leaf, x, y);
+    }
+
+    /**
+     * Docks a floating leaf back into the dock tree.
+     *
+     * @param leaf leaf to dock
+     */
+    public void dockLeaf(DockLeaf leaf) {
+        manager.dockLeaf(leaf);
+    }
+
+    /**
+     * Minimizes a leaf into the minimized bar.
+     *
+     * @param leaf leaf to minimize
+     */
+    public void minimizeLeaf(DockLeaf leaf) {
+        manager.minimizeLeaf(leaf);
+    }
+
+    /**
+     * Restores a minimized leaf back into the dock tree.
+     *
+     * @param leaf leaf to restore
+     */
+    public void restoreLeaf(DockLeaf leaf) {
+        manager.restoreLeaf(leaf);
+    }
+
+    /**
+     * Restores a minimized leaf by ID.
+     *
+     * @param leafId identifier of the leaf to restore
+     */
+    public void restoreLeaf(String leafId) {
+        manager.restoreLeaf(leafId);
+    }
+
+    /**
+     * Maximizes a leaf to fill the dock area.
+     *
+     * @param leaf leaf to maximize
+     */
+    public void maximizeLeaf(DockLeaf leaf) {
+        manager.maximizeLeaf(leaf);
+    }
+
+    /**
+     * Restores from maximized state to the previous layout.
+     */
+    public void restoreMaximized() {
+        manager.restoreMaximized();
+    }
+
+    /**
+     * Closes a leaf, removing it from the dock, floating windows or minimized bar.
+     *
+     * @param leaf leaf to close
+     */
+    public void closeLeaf(DockLeaf leaf) {
+        manager.closeLeaf(leaf);
+    }
+}
@@ -53,6 +53,8 @@ final class DockTreeService {
             public Void visitSplitGroup(DockSplitGroup splitGroup) {
                 DockTabGroup tabGroup = createTabGroupWithLeaf(leaf);
                 DockSplitGroup newSplit = manager.createHorizontalSplit(splitGroup, tabGroup, 0.75);
+                // A horizontal root gains a column rather than being nested
+                newSplit.normalize();
                 manager.setRoot(newSplit);
                 return null;
             }
@@ -93,6 +95,8 @@ final class DockTreeService {
                     newSplit.setFirst(sibling);
                     newSplit.setSecond(tabGroup);
                 }
+                newSplit.normalize();
+                normalizeParent(newSplit);
 
                 return true;
             }
@@ -105,6 +109,13 @@ final class DockTreeService {
         if (element == null) {
             return null;
         }
+        if (element == manager.getRoot()) {
+            // Tab groups and leaves are indexed; only split ids need the walk
+            DockTabGroup group = manager.getRegistry().findDockedGroup(id);
+            if (group != null) {
+                return group;
+            }
+        }
         if (element.getMetadata().id().equals(id)) {
             return element;
         }
@@ -121,8 +132,13 @@ final class DockTreeService {
 
             @Override
             public DockElement visitSplitGroup(DockSplitGroup splitGroup) {
-                DockElement found = findElementById(splitGroup.getFirst(), id);
-                return found != null ? found : findElementById(splitGroup.getSecond(), id);
+                for (DockElement child : splitGroup.getChildren()) {
+                    DockElement found = findElementById(child, id);
+                    if (found != null) {
+                        return found;
+                    }
+                }
+                return null;
             }
         });
     }
@@ -140,8 +156,30 @@ final class DockTreeService {
 
             @Override
             public Void visitSplitGroup(DockSplitGroup splitGroup) {
-                collectLeaves(splitGroup.getFirst(), leaves);
-                collectLeaves(splitGroup.getSecond(), leaves);
+                for (DockElement child : splitGroup.getChildren()) {
+                    collectLeaves(child, leaves);
+                }
+                return null;
+            }
+        });
+    }
+
+    void detachLeaves(DockElement element, Collection<DockLeaf> leaves) {
+        if (element == null) {
+            return;
+        }
+        element.accept(new DockElementVisitor<>() {
+            @Override
+            public Void visitTabGroup(DockTabGroup tabGroup) {
+                leaves.addAll(tabGroup.detachLeaves());
+                return null;
+            }
+
+            @Override
+            public Void visitSplitGroup(DockSplitGroup splitGroup) {
+                for (DockElement child : splitGroup.getChildren()) {
+                    detachLeaves(child, leaves);
+                }
                 return null;
             }
         });
@@ -162,7 +200,8 @@ final class DockTreeService {
             @Override
             public Boolean visitSplitGroup(DockSplitGroup splitGroup) {
                 DropZone zone = hint.zone();
-                if (zone == DropZone.WEST || zone == DropZone.NORTH) {
+                boolean leafFirst = zone == DropZone.WEST || zone == DropZone.NORTH;
+                if (leafFirst) {
                     if (splitGroup.getFirst() == null) {
                         splitGroup.setFirst(createTabGroupWithLeaf(leaf));
                         return true;
@@ -172,6 +211,15 @@ final class DockTreeService {
                         splitGroup.setSecond(createTabGroupWithLeaf(leaf));
                         return true;
                     }
+                } else {
+                    return false;
+                }
+                // A split that kept its other children gets the leaf back next to its former neighbour
+                for (DockElement child : splitGroup.getChildren()) {
+                    if (child.getMetadata().id().equals(hint.siblingId())) {
+                        splitGroup.insertChild(child, createTabGroupWithLeaf(leaf), leafFirst, hint.splitPosition());
+                        return true;
+                    }
                 }
                 return false;
             }
@@ -196,13 +244,22 @@ final class DockTreeService {
 
             @Override
             public Void visitSplitGroup(DockSplitGroup splitGroup) {
+                if (splitGroup.getSlotCount() > 2) {
+                    // The remaining children share the freed space
+                    splitGroup.removeChild(element);
+                    return null;
+                }
                 DockElement sibling = (splitGroup.getFirst() == element) ? splitGroup.getSecond() : splitGroup.getFirst();
 
                 detachChild(splitGroup, element);
                 detachChild(splitGroup, sibling);
 
-                replaceChildAtParent(splitGroup.getParent(), splitGroup, sibling);
+                DockElement grandParent = splitGroup.getParent();
+                replaceChildAtParent(grandParent, splitGroup, sibling);
                 splitGroup.dispose();
+                if (grandParent instanceof DockSplitGroup grandSplit) {
+                    grandSplit.normalize();
+                }
                 return null;
             }
         });
@@ -241,10 +298,12 @@ final class DockTreeService {
         if (child == null) {
             return;
         }
-        if (split.getFirst() == child) {
-            split.setFirst(null);
-        } else if (split.getSecond() == child) {
-            split.setSecond(null);
+        split.removeChild(child);
+    }
+
+    private void normalizeParent(DockElement element) {
+        if (element.getParent() instanceof DockSplitGroup parentSplit) {
+            parentSplit.normalize();
         }
     }
 }
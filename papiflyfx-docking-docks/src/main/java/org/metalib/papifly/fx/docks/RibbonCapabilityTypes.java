@@ -0,0 +1,53 @@
+package org.metalib.papifly.fx.docks;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Per-class cache of the capability types a content node is registered under
+ * in the ribbon context.
+ * <p>
+ * The descriptor lists the concrete class followed by every interface it
+ * implements, directly or through superclasses and superinterfaces, in
+ * discovery order. Reflection runs once per class; later lookups are a
+ * {@link ClassValue} read.
+ */
+final class RibbonCapabilityTypes {
+
+    private static final ClassValue<List<Class<?>>> TYPES = new ClassValue<>() {
+        @Override
+        protected List<Class<?>> computeValue(Class<?> type) {
+            Set<Class<?>> seen = new LinkedHashSet<>();
+            seen.add(type);
+            for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+                for (Class<?> iface : current.getInterfaces()) {
+                    collectInterface(iface, seen);
+                }
+            }
+            return List.copyOf(seen);
+        }
+    };
+
+    private RibbonCapabilityTypes() {
+    }
+
+    /**
+     * Returns the capability types of a content class.
+     *
+     * @param type content class
+     * @return the class itself followed by all implemented interfaces
+     */
+    static List<Class<?>> of(Class<?> type) {
+        return TYPES.get(type);
+    }
+
+    private static void collectInterface(Class<?> iface, Set<Class<?>> seen) {
+        if (!seen.add(iface)) {
+            return;
+        }
+        for (Class<?> parent : iface.getInterfaces()) {
+            collectInterface(parent, seen);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.metalib.papifly.fx.docks.core;
+
+/**
+ * How a split divider drag resizes the split's children.
+ */
+public enum DividerDragMode {
+    /** Children are resized while dragging, at most once per pulse */
+    LIVE,
+    /** A ghost divider follows the mouse and children are resized once on release */
+    GHOST
+}
@@ -10,6 +10,7 @@ import org.metalib.papifly.fx.docks.layout.data.LeafData;
 
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Terminal node containing user content.
@@ -23,6 +24,7 @@ public class DockLeaf {
     private Consumer<DockLeaf> onCloseRequest;
     private String contentFactoryId;
     private LeafContentData contentData;
+    private Supplier<Node> contentLoader;
 
     /**
      * Creates a new DockLeaf with default metadata.
@@ -118,10 +120,51 @@ public class DockLeaf {
      * @return this leaf instance
      */
     public DockLeaf content(Node node) {
+        contentLoader = null;
         content.set(node);
         return this;
     }
 
+    /**
+     * Defers content creation until the content is first needed.
+     * <p>
+     * The loader runs at most once, when the leaf is shown by its tab group or
+     * when {@link #getContent()} or {@link #hydrate()} is called. Until then the
+     * content property stays empty and the persisted {@link #getContentData()}
+     * remains the authoritative content state.
+     *
+     * @param loader content loader, or {@code null} to cancel a pending loader
+     */
+    public void deferContent(Supplier<Node> loader) {
+        this.contentLoader = loader;
+    }
+
+    /**
+     * Returns whether content creation is still pending.
+     *
+     * @return {@code true} when a deferred loader has not run yet
+     */
+    public boolean isContentDeferred() {
+        return contentLoader != null;
+    }
+
+    /**
+     * Runs the pending content loader, if any, and installs its result.
+     *
+     * @return current content node
+     */
+    public Node hydrate() {
+        Supplier<Node> loader = contentLoader;
+        if (loader != null) {
+            contentLoader = null;
+            Node node = loader.get();
+            if (node != null) {
+                content.set(node);
+            }
+        }
+        return content.get();
+    }
+
     /**
      * Sets the close request handler.
      *
@@ -152,12 +195,12 @@ public class DockLeaf {
     }
 
     /**
-     * Gets the content node.
+     * Gets the content node, creating deferred content first.
      *
      * @return current content node
      */
     public Node getContent() {
-        return content.get();
+        return hydrate();
     }
 
     /**
@@ -192,6 +235,7 @@ public class DockLeaf {
      * Disposes this leaf and releases content resources.
      */
     public void dispose() {
+        contentLoader = null;
         Node node = content.get();
         if (node instanceof DisposableContent disposable) {
             disposable.dispose();
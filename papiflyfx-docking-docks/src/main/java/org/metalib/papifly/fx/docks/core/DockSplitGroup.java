@@ -1,47 +1,86 @@
 package org.metalib.papifly.fx.docks.core;
 
+import javafx.application.Platform;
 import javafx.beans.property.DoubleProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleDoubleProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.value.ChangeListener;
-import javafx.geometry.Insets;
 import javafx.geometry.Orientation;
 import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
 import javafx.scene.input.MouseEvent;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.Region;
 import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 import org.metalib.papifly.fx.docking.api.Theme;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.UUID;
+import java.util.function.BiConsumer;
 
 /**
- * Manages two DockElements with a draggable divider.
+ * Manages two or more DockElements separated by draggable dividers.
  * Custom implementation replacing standard SplitPane for better control.
+ * <p>
+ * Children are kept in slots laid out along the orientation; divider positions
+ * are cumulative ratios, so a binary split has a single divider as before and
+ * {@link #getFirst()}/{@link #getSecond()} address the outer slots. A slot may be
+ * empty ({@code null}) while the tree is being rearranged. Rows of panels live
+ * in one split instead of a chain of nested binary splits; {@link #normalize()}
+ * inlines child splits of the same orientation.
+ * <p>
+ * Divider drags never resize the children more than once per pulse: in
+ * {@link DividerDragMode#LIVE} mode the latest mouse position is committed just
+ * before the next layout pass, in {@link DividerDragMode#GHOST} mode only a
+ * lightweight ghost divider moves and the position is committed on release.
+ * The mode is taken from {@link #dividerDragModeProperty()} or, when that is
+ * unset, from the nearest ancestor node carrying
+ * {@link #DIVIDER_DRAG_MODE_PROPERTY}.
+ * <p>
+ * Every change of a slot is reported to the handler set with
+ * {@link #setOnChildChanged(BiConsumer)} on the topmost split of the tree, so
+ * whoever owns the tree learns about subtrees attached or detached anywhere below.
+ * Divider drags that end at a new position are reported the same way to
+ * {@link #setOnDividerMoved(Runnable)}.
  */
 public class DockSplitGroup implements DockElement {
 
+    /**
+     * Node property key holding the {@link DividerDragMode} inherited by splits below that node.
+     */
+    public static final String DIVIDER_DRAG_MODE_PROPERTY = DockSplitGroup.class.getName() + ".dividerDragMode";
+
     private static final double DIVIDER_SIZE = 6.0;
     private static final double MIN_SIZE = 50.0;
+    private static final double GHOST_OPACITY = 0.6;
 
     private final String id;
     private final SplitContainer container;
-    private final Region divider;
     private final ObjectProperty<Theme> themeProperty;
-    private final DoubleProperty dividerPosition;
     private final Orientation orientation;
+    private final List<DockElement> slots = new ArrayList<>();
+    private final List<Divider> dividers = new ArrayList<>();
+    private final ObjectProperty<DividerDragMode> dividerDragMode = new SimpleObjectProperty<>();
+    private final Runnable pulseCommit = this::commitPendingPosition;
     private ChangeListener<Theme> themeListener;
+    private BiConsumer<DockElement, DockElement> onChildChanged;
+    private Runnable onDividerMoved;
 
-    private DockElement first;
-    private DockElement second;
     private DockElement parent;
 
+    private Divider dragDivider;
     private double dragStart;
     private double dividerStartPosition;
+    private DividerDragMode activeDragMode;
+    private double pendingPosition = Double.NaN;
+    private Scene pulseScene;
+    private Region ghostDivider;
 
     /**
      * Creates a split group with an auto-generated id and default divider position.
@@ -54,7 +93,7 @@ public class DockSplitGroup implements DockElement {
     }
 
     /**
-     * Creates a split group with explicit id and divider position.
+     * Creates a binary split group with explicit id and divider position.
      *
      * @param id split identifier
      * @param orientation split orientation
@@ -62,16 +101,31 @@ public class DockSplitGroup implements DockElement {
      * @param themeProperty theme property used for styling
      */
     public DockSplitGroup(String id, Orientation orientation, double initialPosition, ObjectProperty<Theme> themeProperty) {
+        this(id, orientation, List.of(initialPosition), themeProperty);
+    }
+
+    /**
+     * Creates a split group with one empty slot more than there are divider positions.
+     *
+     * @param id split identifier
+     * @param orientation split orientation
+     * @param dividerPositions cumulative divider position ratios, at least one
+     * @param themeProperty theme property used for styling
+     */
+    public DockSplitGroup(String id, Orientation orientation, List<Double> dividerPositions, ObjectProperty<Theme> themeProperty) {
+        if (dividerPositions.isEmpty()) {
+            throw new IllegalArgumentException("Split " + id + " needs at least one divider");
+        }
         this.id = id;
         this.orientation = orientation;
         this.themeProperty = themeProperty;
-        this.dividerPosition = new SimpleDoubleProperty(initialPosition);
-
-        this.divider = createDivider();
         this.container = new SplitContainer();
-        container.getChildren().add(divider);
 
-        dividerPosition.addListener((obs, oldVal, newVal) -> container.requestLayout());
+        slots.add(null);
+        for (double position : dividerPositions) {
+            slots.add(null);
+            dividers.add(createDivider(position));
+        }
 
         applyTheme(themeProperty.get());
         themeListener = (obs, oldTheme, newTheme) -> applyTheme(newTheme);
@@ -91,38 +145,26 @@ public class DockSplitGroup implements DockElement {
 
             if (width <= 0 || height <= 0) return;
 
-            double pos = dividerPosition.get();
-
-            if (orientation == Orientation.HORIZONTAL) {
-                double firstWidth = (width - DIVIDER_SIZE) * pos;
-                double secondWidth = width - firstWidth - DIVIDER_SIZE;
-
-                if (first != null) {
-                    Region firstNode = first.getNode();
-                    firstNode.resizeRelocate(0, 0, firstWidth, height);
-                }
-
-                divider.resizeRelocate(firstWidth, 0, DIVIDER_SIZE, height);
-
-                if (second != null) {
-                    Region secondNode = second.getNode();
-                    secondNode.resizeRelocate(firstWidth + DIVIDER_SIZE, 0, secondWidth, height);
+            int count = slots.size();
+            double available = available();
+            for (int i = 0; i < count; i++) {
+                double start = slotStart(i);
+                double end = slotEnd(i);
+                DockElement child = slots.get(i);
+                if (child != null) {
+                    place(child.getNode(), available * start + DIVIDER_SIZE * i, available * (end - start), width, height);
                 }
-            } else {
-                double firstHeight = (height - DIVIDER_SIZE) * pos;
-                double secondHeight = height - firstHeight - DIVIDER_SIZE;
-
-                if (first != null) {
-                    Region firstNode = first.getNode();
-                    firstNode.resizeRelocate(0, 0, width, firstHeight);
+                if (i < count - 1) {
+                    place(dividers.get(i).region, dividerOffset(i, end), DIVIDER_SIZE, width, height);
                 }
+            }
+        }
 
-                divider.resizeRelocate(0, firstHeight, width, DIVIDER_SIZE);
-
-                if (second != null) {
-                    Region secondNode = second.getNode();
-                    secondNode.resizeRelocate(0, firstHeight + DIVIDER_SIZE, width, secondHeight);
-                }
+        private void place(Region node, double offset, double size, double width, double height) {
+            if (orientation == Orientation.HORIZONTAL) {
+                node.resizeRelocate(offset, 0, size, height);
+            } else {
+                node.resizeRelocate(0, offset, width, size);
             }
         }
 
@@ -147,43 +189,204 @@ public class DockSplitGroup implements DockElement {
         }
     }
 
-    private Region createDivider() {
-        Region div = new Region();
+    /**
+     * A divider between two adjacent slots.
+     */
+    private final class Divider {
+        private final Region region = new Region();
+        private final DoubleProperty position;
+
+        private Divider(double initialPosition) {
+            position = new SimpleDoubleProperty(initialPosition);
+            position.addListener((obs, oldVal, newVal) -> container.requestLayout());
+        }
+    }
+
+    private Divider createDivider(double position) {
+        Divider divider = new Divider(position);
+        Region div = divider.region;
         div.setCursor(orientation == Orientation.HORIZONTAL ? Cursor.H_RESIZE : Cursor.V_RESIZE);
         div.setPickOnBounds(true); // Ensure mouse events are captured on full bounds
 
-        div.setOnMousePressed(this::onDividerPressed);
+        div.setOnMousePressed(e -> onDividerPressed(divider, e));
         div.setOnMouseDragged(this::onDividerDragged);
+        div.setOnMouseReleased(this::onDividerReleased);
+
+        applyDividerTheme(divider, themeProperty.get());
+        container.getChildren().add(div);
+        return divider;
+    }
 
-        return div;
+    private double extent() {
+        return orientation == Orientation.HORIZONTAL ? container.getWidth() : container.getHeight();
     }
 
-    private void onDividerPressed(MouseEvent e) {
+    private double available() {
+        return Math.max(0, extent() - DIVIDER_SIZE * dividers.size());
+    }
+
+    private double slotStart(int index) {
+        return index == 0 ? 0.0 : dividers.get(index - 1).position.get();
+    }
+
+    private double slotEnd(int index) {
+        return index == slots.size() - 1 ? 1.0 : dividers.get(index).position.get();
+    }
+
+    private double dividerOffset(int index, double position) {
+        return available() * position + DIVIDER_SIZE * index;
+    }
+
+    private void onDividerPressed(Divider divider, MouseEvent e) {
+        dragDivider = divider;
         dragStart = orientation == Orientation.HORIZONTAL ? e.getScreenX() : e.getScreenY();
-        dividerStartPosition = dividerPosition.get();
+        dividerStartPosition = divider.position.get();
+        activeDragMode = resolveDividerDragMode();
         e.consume();
     }
 
     private void onDividerDragged(MouseEvent e) {
+        int index = dividers.indexOf(dragDivider);
+        if (index < 0) {
+            e.consume();
+            return;
+        }
         double current = orientation == Orientation.HORIZONTAL ? e.getScreenX() : e.getScreenY();
         double delta = current - dragStart;
-        double totalSize = orientation == Orientation.HORIZONTAL ? container.getWidth() : container.getHeight();
+        double totalSize = extent();
 
         if (totalSize > 0) {
             double newPosition = dividerStartPosition + (delta / totalSize);
-            // Constrain to valid range
-            double minPos = MIN_SIZE / totalSize;
-            double maxPos = 1.0 - (MIN_SIZE / totalSize);
+            // Constrain between the neighbouring dividers
+            double minPos = slotStart(index) + (MIN_SIZE / totalSize);
+            double maxPos = slotEnd(index + 1) - (MIN_SIZE / totalSize);
             newPosition = Math.max(minPos, Math.min(maxPos, newPosition));
-            dividerPosition.set(newPosition);
+            pendingPosition = newPosition;
+            if (activeDragMode == DividerDragMode.GHOST) {
+                showGhostDivider(index, newPosition);
+            } else {
+                schedulePositionCommit();
+            }
         }
         e.consume();
     }
 
+    private void onDividerReleased(MouseEvent e) {
+        hideGhostDivider();
+        commitPendingPosition();
+        boolean moved = dragDivider != null && dragDivider.position.get() != dividerStartPosition;
+        activeDragMode = null;
+        dragDivider = null;
+        e.consume();
+        if (moved) {
+            DockSplitGroup top = topmostSplit();
+            if (top.onDividerMoved != null) {
+                top.onDividerMoved.run();
+            }
+        }
+    }
+
+    private DividerDragMode resolveDividerDragMode() {
+        if (dividerDragMode.get() != null) {
+            return dividerDragMode.get();
+        }
+        for (Node node = container.getParent(); node != null; node = node.getParent()) {
+            if (node.getProperties().get(DIVIDER_DRAG_MODE_PROPERTY) instanceof DividerDragMode mode) {
+                return mode;
+            }
+        }
+        return DividerDragMode.LIVE;
+    }
+
+    /**
+     * Defers the divider update to the next pulse so that any number of mouse
+     * events between two frames cause a single layout of the children.
+     */
+    private void schedulePositionCommit() {
+        if (pulseScene != null) {
+            return;
+        }
+        Scene scene = container.getScene();
+        if (scene == null) {
+            commitPendingPosition();
+            return;
+        }
+        pulseScene = scene;
+        scene.addPreLayoutPulseListener(pulseCommit);
+        Platform.requestNextPulse();
+    }
+
+    private void commitPendingPosition() {
+        if (pulseScene != null) {
+            pulseScene.removePreLayoutPulseListener(pulseCommit);
+            pulseScene = null;
+        }
+        if (!Double.isNaN(pendingPosition)) {
+            double position = pendingPosition;
+            pendingPosition = Double.NaN;
+            if (dragDivider != null) {
+                dragDivider.position.set(position);
+            }
+        }
+    }
+
+    private void cancelDrag() {
+        pendingPosition = Double.NaN;
+        commitPendingPosition();
+        hideGhostDivider();
+        dragDivider = null;
+        activeDragMode = null;
+    }
+
+    private void showGhostDivider(int index, double position) {
+        if (ghostDivider == null) {
+            ghostDivider = new Region();
+            ghostDivider.setManaged(false);
+            ghostDivider.setMouseTransparent(true);
+            ghostDivider.setOpacity(GHOST_OPACITY);
+            applyGhostTheme(themeProperty.get());
+            container.getChildren().add(ghostDivider);
+        }
+        // Unmanaged, so moving it repaints without laying out the children
+        double offset = dividerOffset(index, position);
+        if (orientation == Orientation.HORIZONTAL) {
+            ghostDivider.resizeRelocate(offset, 0, DIVIDER_SIZE, container.getHeight());
+        } else {
+            ghostDivider.resizeRelocate(0, offset, container.getWidth(), DIVIDER_SIZE);
+        }
+        if (!ghostDivider.isVisible()) {
+            ghostDivider.setVisible(true);
+            ghostDivider.toFront();
+        }
+    }
+
+    private void hideGhostDivider() {
+        if (ghostDivider != null) {
+            ghostDivider.setVisible(false);
+        }
+    }
+
+    private void applyGhostTheme(Theme theme) {
+        if (ghostDivider == null || theme == null) {
+            return;
+        }
+        ghostDivider.setBackground(DockThemeStyles.of(theme).dropHintBackground());
+    }
+
+    private void applyDividerTheme(Divider divider, Theme theme) {
+        if (theme == null) {
+            return;
+        }
+        divider.region.setBackground(DockThemeStyles.of(theme).dividerBackground());
+    }
+
     private void applyTheme(Theme theme) {
         if (theme == null) return;
 
-        divider.setBackground(new Background(new BackgroundFill(theme.dividerColor(), CornerRadii.EMPTY, Insets.EMPTY)));
+        for (Divider divider : dividers) {
+            applyDividerTheme(divider, theme);
+        }
+        applyGhostTheme(theme);
     }
 
     /**
@@ -192,42 +395,149 @@ public class DockSplitGroup implements DockElement {
      * @param element first child element
      */
     public void setFirst(DockElement element) {
-        if (first != null) {
-            container.getChildren().remove(first.getNode());
-            first.setParent(null);
-        }
-        first = element;
-        if (first != null) {
-            first.setParent(this);
-            Region node = first.getNode();
+        setChild(0, element);
+    }
+
+    /**
+     * Sets the last (right or bottom) element, which is the second element of a binary split.
+     *
+     * @param element last child element
+     */
+    public void setSecond(DockElement element) {
+        setChild(slots.size() - 1, element);
+    }
+
+    /**
+     * Puts an element into a slot, replacing whatever the slot held.
+     *
+     * @param index slot index
+     * @param element child element, or {@code null} to empty the slot
+     */
+    public void setChild(int index, DockElement element) {
+        DockElement previous = slots.get(index);
+        if (previous != null) {
+            container.getChildren().remove(previous.getNode());
+            previous.setParent(null);
+        }
+        slots.set(index, element);
+        if (element != null) {
+            element.setParent(this);
+            Region node = element.getNode();
             node.setMinSize(0, 0); // Allow shrinking
             container.getChildren().add(0, node);
-            // Ensure divider stays on top for mouse events
-            divider.toFront();
+            // Ensure dividers stay on top for mouse events
+            for (Divider divider : dividers) {
+                divider.region.toFront();
+            }
             container.requestLayout();
         }
+        if (previous != element) {
+            notifyChildChanged(previous, element);
+        }
     }
 
     /**
-     * Sets the second (right or bottom) element.
+     * Sets the handler notified when a slot of this split, or of any split
+     * below it, changes. The handler receives the removed and the added
+     * element, either of which may be {@code null}. Only the handler of the
+     * topmost split is called, so a split that becomes a child of another
+     * split stops reporting on its own.
      *
-     * @param element second child element
+     * @param handler handler receiving the removed and the added element
      */
-    public void setSecond(DockElement element) {
-        if (second != null) {
-            container.getChildren().remove(second.getNode());
-            second.setParent(null);
-        }
-        second = element;
-        if (second != null) {
-            second.setParent(this);
-            Region node = second.getNode();
-            node.setMinSize(0, 0); // Allow shrinking
-            container.getChildren().add(node);
-            // Ensure divider stays on top for mouse events
-            divider.toFront();
+    public void setOnChildChanged(BiConsumer<DockElement, DockElement> handler) {
+        this.onChildChanged = handler;
+    }
+
+    /**
+     * Sets the handler notified when a divider drag on this split, or on any
+     * split below it, ends at a different position than it started. As with
+     * {@link #setOnChildChanged(BiConsumer)}, only the handler of the topmost
+     * split is called.
+     *
+     * @param handler handler run after the divider is released
+     */
+    public void setOnDividerMoved(Runnable handler) {
+        this.onDividerMoved = handler;
+    }
+
+    private void notifyChildChanged(DockElement removed, DockElement added) {
+        DockSplitGroup top = topmostSplit();
+        if (top.onChildChanged != null) {
+            top.onChildChanged.accept(removed, added);
+        }
+    }
+
+    private DockSplitGroup topmostSplit() {
+        DockSplitGroup top = this;
+        while (top.parent instanceof DockSplitGroup parentSplit) {
+            top = parentSplit;
+        }
+        return top;
+    }
+
+    /**
+     * Inserts an element next to an existing child, taking half of the child's space.
+     *
+     * @param anchor existing child element
+     * @param element element to insert
+     * @param before {@code true} to insert before (left of or above) the anchor
+     */
+    public void insertChild(DockElement anchor, DockElement element, boolean before) {
+        insertChild(anchor, element, before, 0.5);
+    }
+
+    /**
+     * Inserts an element next to an existing child. The space the anchor
+     * occupied is divided between the two at {@code position}, measured from
+     * the start of whichever of them comes first.
+     *
+     * @param anchor existing child element
+     * @param element element to insert
+     * @param before {@code true} to insert before (left of or above) the anchor
+     * @param position divider position ratio within the anchor's former space
+     */
+    public void insertChild(DockElement anchor, DockElement element, boolean before, double position) {
+        int anchorIndex = indexOfSlot(anchor);
+        if (anchorIndex < 0) {
+            throw new IllegalArgumentException("Element is not a child of split " + id);
+        }
+        double start = slotStart(anchorIndex);
+        double end = slotEnd(anchorIndex);
+        int insertIndex = before ? anchorIndex : anchorIndex + 1;
+        slots.add(insertIndex, null);
+        dividers.add(anchorIndex, createDivider(start + position * (end - start)));
+        setChild(insertIndex, element);
+    }
+
+    /**
+     * Removes a child. With more than two slots the slot is dropped and its
+     * space goes to the following child (or the preceding one for the last
+     * slot); a binary split keeps the slot empty.
+     *
+     * @param element child element to remove
+     * @return {@code true} if the element was a child of this split
+     */
+    public boolean removeChild(DockElement element) {
+        int index = indexOfSlot(element);
+        if (index < 0) {
+            return false;
+        }
+        setChild(index, null);
+        if (slots.size() > 2) {
+            slots.remove(index);
+            removeDivider(index < dividers.size() ? index : index - 1);
             container.requestLayout();
         }
+        return true;
+    }
+
+    private void removeDivider(int index) {
+        Divider divider = dividers.remove(index);
+        if (divider == dragDivider) {
+            cancelDrag();
+        }
+        container.getChildren().remove(divider.region);
     }
 
     /**
@@ -237,13 +547,60 @@ public class DockSplitGroup implements DockElement {
      * @param newChild replacement child element
      */
     public void replaceChild(DockElement oldChild, DockElement newChild) {
-        if (first == oldChild) {
-            setFirst(newChild);
-        } else if (second == oldChild) {
-            setSecond(newChild);
+        int index = indexOfSlot(oldChild);
+        if (index >= 0) {
+            setChild(index, newChild);
+        }
+    }
+
+    /**
+     * Inlines child splits of the same orientation, so that nested rows or
+     * columns become one split. The inlined divider positions are scaled into
+     * the space the nested split occupied; nested splits with empty slots are
+     * left alone.
+     */
+    public void normalize() {
+        int index = 0;
+        while (index < slots.size()) {
+            if (slots.get(index) instanceof DockSplitGroup nested
+                && nested.orientation == orientation
+                && !nested.slots.contains(null)) {
+                inline(index, nested);
+            } else {
+                index++;
+            }
+        }
+    }
+
+    private void inline(int index, DockSplitGroup nested) {
+        double start = slotStart(index);
+        double end = slotEnd(index);
+        List<DockElement> children = new ArrayList<>(nested.slots);
+        double[] positions = nested.getDividerPositions();
+        for (int i = 0; i < children.size(); i++) {
+            nested.setChild(i, null);
+        }
+        setChild(index, null);
+        for (int i = 0; i < positions.length; i++) {
+            slots.add(index + 1 + i, null);
+            dividers.add(index + i, createDivider(start + positions[i] * (end - start)));
+        }
+        for (int i = 0; i < children.size(); i++) {
+            setChild(index + i, children.get(i));
+        }
+        nested.dispose();
+    }
+
+    private int indexOfSlot(DockElement element) {
+        if (element == null) {
+            return -1;
         }
-        // Ensure divider stays on top after any child replacement
-        divider.toFront();
+        for (int i = 0; i < slots.size(); i++) {
+            if (slots.get(i) == element) {
+                return i;
+            }
+        }
+        return -1;
     }
 
     /**
@@ -252,43 +609,114 @@ public class DockSplitGroup implements DockElement {
      * @return first child element
      */
     public DockElement getFirst() {
-        return first;
+        return slots.getFirst();
     }
 
     /**
-     * Gets the second element.
+     * Gets the last element, which is the second element of a binary split.
      *
-     * @return second child element
+     * @return last child element
      */
     public DockElement getSecond() {
-        return second;
+        return slots.getLast();
+    }
+
+    /**
+     * Gets the child elements in layout order, skipping empty slots.
+     *
+     * @return unmodifiable list of child elements
+     */
+    public List<DockElement> getChildren() {
+        List<DockElement> children = new ArrayList<>(slots.size());
+        for (DockElement slot : slots) {
+            if (slot != null) {
+                children.add(slot);
+            }
+        }
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Gets the number of slots, including empty ones.
+     *
+     * @return slot count, at least two
+     */
+    public int getSlotCount() {
+        return slots.size();
     }
 
     /**
-     * Gets the divider position property.
+     * Gets the first divider position property.
      *
      * @return divider position property
      */
     public DoubleProperty dividerPositionProperty() {
-        return dividerPosition;
+        return dividers.getFirst().position;
     }
 
     /**
-     * Gets the current divider position (0.0 to 1.0).
+     * Gets the first divider position (0.0 to 1.0), which is the only one of a binary split.
      *
      * @return divider position ratio
      */
     public double getDividerPosition() {
-        return dividerPosition.get();
+        return dividers.getFirst().position.get();
     }
 
     /**
-     * Sets the divider position.
+     * Sets the first divider position.
      *
      * @param position divider position ratio
      */
     public void setDividerPosition(double position) {
-        dividerPosition.set(position);
+        dividers.getFirst().position.set(position);
+    }
+
+    /**
+     * Gets all divider positions as cumulative ratios.
+     *
+     * @return divider position ratios, one fewer than the slots
+     */
+    public double[] getDividerPositions() {
+        double[] positions = new double[dividers.size()];
+        for (int i = 0; i < positions.length; i++) {
+            positions[i] = dividers.get(i).position.get();
+        }
+        return positions;
+    }
+
+    /**
+     * Sets all divider positions.
+     *
+     * @param positions cumulative divider position ratios, one fewer than the slots
+     */
+    public void setDividerPositions(double... positions) {
+        if (positions.length != dividers.size()) {
+            throw new IllegalArgumentException("Split " + id + " has " + dividers.size() + " dividers");
+        }
+        for (int i = 0; i < positions.length; i++) {
+            dividers.get(i).position.set(positions[i]);
+        }
+    }
+
+    /**
+     * Gets the divider drag mode of this split. When unset ({@code null}) the
+     * mode is inherited through {@link #DIVIDER_DRAG_MODE_PROPERTY}, falling
+     * back to {@link DividerDragMode#LIVE}.
+     *
+     * @return divider drag mode property
+     */
+    public ObjectProperty<DividerDragMode> dividerDragModeProperty() {
+        return dividerDragMode;
+    }
+
+    /**
+     * Sets the divider drag mode of this split.
+     *
+     * @param mode drag mode, or {@code null} to inherit it
+     */
+    public void setDividerDragMode(DividerDragMode mode) {
+        dividerDragMode.set(mode);
     }
 
     /**
@@ -312,9 +740,15 @@ public class DockSplitGroup implements DockElement {
 
     @Override
     public LayoutNode serialize() {
-        LayoutNode firstData = first != null ? first.serialize() : null;
-        LayoutNode secondData = second != null ? second.serialize() : null;
-        return new SplitData(id, orientation, dividerPosition.get(), firstData, secondData);
+        List<LayoutNode> children = new ArrayList<>(slots.size());
+        for (DockElement slot : slots) {
+            children.add(slot != null ? slot.serialize() : null);
+        }
+        List<Double> positions = new ArrayList<>(dividers.size());
+        for (Divider divider : dividers) {
+            positions.add(divider.position.get());
+        }
+        return SplitData.of(id, orientation, children, positions);
     }
 
     @Override
@@ -324,17 +758,19 @@ public class DockSplitGroup implements DockElement {
 
     @Override
     public void dispose() {
+        cancelDrag();
         if (themeListener != null) {
             themeProperty.removeListener(themeListener);
             themeListener = null;
         }
-        if (first != null) {
-            first.dispose();
-            first = null;
-        }
-        if (second != null) {
-            second.dispose();
-            second = null;
+        onChildChanged = null;
+        onDividerMoved = null;
+        for (int i = 0; i < slots.size(); i++) {
+            DockElement child = slots.get(i);
+            if (child != null) {
+                child.dispose();
+                slots.set(i, null);
+            }
         }
     }
 
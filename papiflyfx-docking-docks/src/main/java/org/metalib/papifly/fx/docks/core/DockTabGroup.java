@@ -12,16 +12,12 @@ import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
+import javafx.geometry.Side;
 import javafx.scene.Node;
+import javafx.scene.control.ContextMenu;
 import javafx.scene.control.Label;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.Border;
+import javafx.scene.control.MenuItem;
 import javafx.scene.layout.BorderPane;
-import javafx.scene.layout.BorderStroke;
-import javafx.scene.layout.BorderStrokeStyle;
-import javafx.scene.layout.BorderWidths;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -31,18 +27,41 @@ import javafx.scene.shape.SVGPath;
 import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
 import org.metalib.papifly.fx.docks.layout.data.LeafData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 import org.metalib.papifly.fx.docking.api.Theme;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.function.Consumer;
 
 /**
  * Manages a stack of DockLeaf objects with a custom tab header.
+ * <p>
+ * Tab header nodes are cached per leaf and reconciled in place: switching tabs
+ * restyles the previous and the new active header only, and headers are created
+ * or dropped only when leaves join or leave the group. Groups with more than
+ * {@link #VIRTUALIZATION_THRESHOLD} tabs materialize a window of headers around
+ * the active tab and list the rest in an overflow menu.
+ * <p>
+ * The content area follows the active leaf's content property, so content
+ * that is hydrated or replaced later is shown without reactivating the tab.
+ * Floating groups leave deferred content alone until their window shows it.
  */
 public class DockTabGroup implements DockElement {
 
+    /**
+     * Tab count above which only a window of tab headers is materialized.
+     */
+    public static final int VIRTUALIZATION_THRESHOLD = 100;
+
+    /**
+     * Number of tab headers materialized for virtualized groups.
+     */
+    public static final int VIRTUAL_WINDOW_SIZE = 32;
+
     private final String id;
     private final BorderPane container;
     private final HBox tabBar;
@@ -61,6 +80,8 @@ public class DockTabGroup implements DockElement {
     // Window control buttons (apply to active tab)
     private final HBox tabsContainer;
     private final HBox buttonContainer;
+    private final StackPane overflowButton;
+    private final Label overflowLabel;
     private final StackPane floatButton;
     private final StackPane minimizeButton;
     private final StackPane maximizeButton;
@@ -72,6 +93,15 @@ public class DockTabGroup implements DockElement {
     private Runnable onMaximize;
     private boolean isFloating = false;
     private boolean isMaximized = false;
+    private int pendingActiveIndex = -1;
+
+    private final Map<DockLeaf, TabHeader> tabHeaders = new IdentityHashMap<>();
+    private DockLeaf styledActiveLeaf;
+    private DockLeaf contentLeaf;
+    private boolean updatingContent;
+    private final ChangeListener<Node> activeContentListener = (obs, oldContent, newContent) -> updateContent();
+    private int windowStart;
+    private DockThemeStyles appliedStyles;
 
     /**
      * Creates a tab group with an auto-generated id.
@@ -98,6 +128,23 @@ public class DockTabGroup implements DockElement {
         // Container for tab labels
         tabsContainer = new HBox(2);
         tabsContainer.setAlignment(Pos.CENTER_LEFT);
+        tabsContainer.setOnScroll(e -> {
+            if (isVirtualized() && e.getDeltaY() != 0) {
+                scrollTabWindow(e.getDeltaY() < 0 ? 1 : -1);
+                e.consume();
+            }
+        });
+
+        overflowLabel = new Label();
+        overflowButton = new StackPane(overflowLabel);
+        overflowButton.setPadding(new Insets(0, 6, 0, 6));
+        overflowButton.setCursor(Cursor.HAND);
+        overflowButton.setVisible(false);
+        overflowButton.setManaged(false);
+        overflowButton.setOnMouseClicked(e -> {
+            e.consume();
+            showOverflowMenu();
+        });
 
         // Create window control buttons
         floatButton = createFloatButton();
@@ -115,7 +162,7 @@ public class DockTabGroup implements DockElement {
         Region spacer = new Region();
         HBox.setHgrow(spacer, Priority.ALWAYS);
 
-        tabBar = new HBox(2, tabsContainer, spacer, buttonContainer);
+        tabBar = new HBox(2, tabsContainer, overflowButton, spacer, buttonContainer);
         tabBar.setAlignment(Pos.CENTER_LEFT);
         tabBar.setPadding(new Insets(0, 4, 0, 4));
 
@@ -129,10 +176,10 @@ public class DockTabGroup implements DockElement {
 
         // Listen for tab list changes
         tabsListener = change -> {
-            rebuildTabBar();
+            reconcileTabBar();
             // Auto-select first tab if none selected
             if (activeTabIndex.get() < 0 && !tabs.isEmpty()) {
-                setActiveTab(0);
+                setActiveTab(Math.max(0, pendingActiveIndex));
             }
             // Handle group becoming empty
             if (tabs.isEmpty() && onGroupEmpty != null) {
@@ -150,20 +197,124 @@ public class DockTabGroup implements DockElement {
         themeProperty.addListener(themeListener);
     }
 
-    private void rebuildTabBar() {
-        tabsContainer.getChildren().clear();
+    private boolean isVirtualized() {
+        return tabs.size() > VIRTUALIZATION_THRESHOLD;
+    }
 
-        for (int i = 0; i < tabs.size(); i++) {
+    /**
+     * Brings the tab header children in line with the tab list, reusing the
+     * cached header of every leaf that is still shown.
+     */
+    private void reconcileTabBar() {
+        DockLeaf activeLeaf = getActiveTab();
+        int start = 0;
+        int end = tabs.size();
+        if (isVirtualized()) {
+            int activeIndex = activeTabIndex.get();
+            if (activeLeaf != styledActiveLeaf && activeLeaf != null) {
+                if (activeIndex < windowStart) {
+                    windowStart = activeIndex;
+                } else if (activeIndex >= windowStart + VIRTUAL_WINDOW_SIZE) {
+                    windowStart = activeIndex - VIRTUAL_WINDOW_SIZE + 1;
+                }
+            }
+            windowStart = Math.clamp(windowStart, 0, tabs.size() - VIRTUAL_WINDOW_SIZE);
+            start = windowStart;
+            end = start + VIRTUAL_WINDOW_SIZE;
+        } else {
+            windowStart = 0;
+        }
+
+        List<Node> headers = new ArrayList<>(end - start);
+        Map<DockLeaf, TabHeader> shown = new IdentityHashMap<>(end - start);
+        for (int i = start; i < end; i++) {
             DockLeaf leaf = tabs.get(i);
-            HBox tab = createTab(leaf, i);
-            tabsContainer.getChildren().add(tab);
+            TabHeader header = tabHeaders.remove(leaf);
+            if (header == null) {
+                header = createTab(leaf);
+            }
+            styleTab(header, leaf == activeLeaf);
+            shown.put(leaf, header);
+            headers.add(header.node);
+        }
+        for (TabHeader removed : tabHeaders.values()) {
+            removed.release();
+        }
+        tabHeaders.clear();
+        tabHeaders.putAll(shown);
+        styledActiveLeaf = activeLeaf;
+
+        if (!tabsContainer.getChildren().equals(headers)) {
+            tabsContainer.getChildren().setAll(headers);
+        }
+        updateOverflowButton(tabs.size() - headers.size());
+    }
+
+    /**
+     * Moves the active highlight from the previous to the current active tab,
+     * touching only those two headers.
+     */
+    private void updateActiveTabHeader() {
+        DockLeaf activeLeaf = getActiveTab();
+        if (activeLeaf == styledActiveLeaf) {
+            return;
+        }
+        TabHeader next = activeLeaf != null ? tabHeaders.get(activeLeaf) : null;
+        if (activeLeaf != null && next == null) {
+            // Active tab is outside the materialized window
+            reconcileTabBar();
+            return;
+        }
+        TabHeader previous = styledActiveLeaf != null ? tabHeaders.get(styledActiveLeaf) : null;
+        if (previous != null) {
+            styleTab(previous, false);
+        }
+        if (next != null) {
+            styleTab(next, true);
+        }
+        styledActiveLeaf = activeLeaf;
+    }
+
+    private void scrollTabWindow(int delta) {
+        int maxStart = tabs.size() - VIRTUAL_WINDOW_SIZE;
+        int newStart = Math.clamp((long) windowStart + delta, 0, maxStart);
+        if (newStart != windowStart) {
+            windowStart = newStart;
+            reconcileTabBar();
+        }
+    }
+
+    private void updateOverflowButton(int hiddenCount) {
+        boolean visible = hiddenCount > 0;
+        overflowButton.setVisible(visible);
+        overflowButton.setManaged(visible);
+        if (visible) {
+            overflowLabel.setText("+" + hiddenCount);
+        }
+    }
+
+    private void showOverflowMenu() {
+        ContextMenu menu = new ContextMenu();
+        for (DockLeaf leaf : tabs) {
+            MenuItem item = new MenuItem(leaf.getMetadata().title());
+            item.setOnAction(e -> activateTab(leaf));
+            menu.getItems().add(item);
+        }
+        menu.show(overflowButton, Side.BOTTOM, 0, 0);
+    }
+
+    private void activateTab(DockLeaf leaf) {
+        setActiveTab(tabs.indexOf(leaf));
+        Node content = leaf.getContent();
+        if (content != null) {
+            content.requestFocus();
         }
     }
 
     /**
      * Creates interactive tab with label and close button
      */
-    private HBox createTab(DockLeaf leaf, int index) {
+    private TabHeader createTab(DockLeaf leaf) {
         Label label = new Label();
         label.textProperty().bind(leaf.metadataProperty().map(DockData::title));
 
@@ -180,22 +331,14 @@ public class DockTabGroup implements DockElement {
 
         tab.setOnMouseClicked(e -> {
             if (e.getClickCount() == 1) {
-                Platform.runLater(() -> {
-                    setActiveTab(tabs.indexOf(leaf));
-                    Node content = leaf.getContent();
-                    if (content != null) {
-                        content.requestFocus();
-                    }
-                });
+                Platform.runLater(() -> activateTab(leaf));
             }
         });
 
         // Store reference for drag handling
         tab.setUserData(leaf);
 
-        applyTabStyle(tab, label, index == activeTabIndex.get());
-
-        return tab;
+        return new TabHeader(tab, label);
     }
 
     private Region createTabCloseButton() {
@@ -291,66 +434,88 @@ public class DockTabGroup implements DockElement {
         return button;
     }
 
-    private void applyTabStyle(HBox tab, Label label, boolean active) {
+    private void styleTab(TabHeader header, boolean active) {
         Theme theme = themeProperty.get();
-        if (theme == null) return;
-
-        tab.setBackground(new Background(new BackgroundFill(
-            active ? theme.headerBackgroundActive() : theme.headerBackground(),
-            new CornerRadii(theme.cornerRadius(), theme.cornerRadius(), 0, 0, false),
-            Insets.EMPTY
-        )));
+        DockThemeStyles styles = DockThemeStyles.of(theme);
+        if (styles == null || (header.styles == styles && header.active == active)) {
+            return;
+        }
 
-        label.setFont(theme.headerFont());
-        label.setTextFill(active ? theme.textColorActive() : theme.textColor());
+        header.node.setBackground(active ? styles.activeTabBackground() : styles.inactiveTabBackground());
+        if (header.styles != styles) {
+            header.label.setFont(theme.headerFont());
+        }
+        header.label.setTextFill(active ? theme.textColorActive() : theme.textColor());
+        header.styles = styles;
+        header.active = active;
     }
 
     private void updateContent() {
-        contentArea.getChildren().clear();
-
-        int index = activeTabIndex.get();
-        if (index >= 0 && index < tabs.size()) {
-            DockLeaf leaf = tabs.get(index);
-            if (leaf.getContent() != null) {
-                Node content = leaf.getContent();
-                if (content instanceof Region region) {
-                    region.setMinSize(0, 0); // Allow shrinking
+        if (updatingContent) {
+            return;
+        }
+        updatingContent = true;
+        try {
+            contentArea.getChildren().clear();
+
+            int index = activeTabIndex.get();
+            DockLeaf leaf = index >= 0 && index < tabs.size() ? tabs.get(index) : null;
+            if (leaf != null) {
+                // A hidden floating window hydrates its leaf when it is shown
+                Node content = isFloating && leaf.isContentDeferred()
+                    ? null
+                    : leaf.getContent();
+                if (content != null) {
+                    if (content instanceof Region region) {
+                        region.setMinSize(0, 0); // Allow shrinking
+                    }
+                    contentArea.getChildren().add(content);
                 }
-                contentArea.getChildren().add(content);
             }
+            trackContentLeaf(leaf);
+        } finally {
+            updatingContent = false;
         }
 
         // Update tab visual states
-        rebuildTabBar();
+        updateActiveTabHeader();
+    }
+
+    private void trackContentLeaf(DockLeaf leaf) {
+        if (contentLeaf == leaf) {
+            return;
+        }
+        if (contentLeaf != null) {
+            contentLeaf.contentProperty().removeListener(activeContentListener);
+        }
+        contentLeaf = leaf;
+        if (leaf != null) {
+            leaf.contentProperty().addListener(activeContentListener);
+        }
     }
 
     private void applyTheme(Theme theme) {
-        if (theme == null) return;
+        DockThemeStyles styles = DockThemeStyles.of(theme);
+        if (styles == null || styles == appliedStyles) {
+            return;
+        }
+        appliedStyles = styles;
 
-        tabBar.setBackground(new Background(new BackgroundFill(
-            theme.headerBackground(),
-            CornerRadii.EMPTY,
-            Insets.EMPTY
-        )));
+        tabBar.setBackground(styles.headerBackground());
         tabBar.setPrefHeight(theme.tabHeight());
         tabBar.setMinHeight(theme.tabHeight());
         tabBar.setMaxHeight(theme.tabHeight());
 
-        contentArea.setBackground(new Background(new BackgroundFill(
-            theme.background(),
-            CornerRadii.EMPTY,
-            Insets.EMPTY
-        )));
+        contentArea.setBackground(styles.contentBackground());
         contentArea.setPadding(theme.contentPadding());
 
-        container.setBorder(new Border(new BorderStroke(
-            theme.borderColor(),
-            BorderStrokeStyle.SOLID,
-            new CornerRadii(theme.cornerRadius()),
-            new BorderWidths(theme.borderWidth())
-        )));
+        container.setBorder(styles.groupBorder());
 
-        rebuildTabBar();
+        overflowLabel.setFont(theme.headerFont());
+        overflowLabel.setTextFill(theme.textColor());
+        for (Map.Entry<DockLeaf, TabHeader> entry : tabHeaders.entrySet()) {
+            styleTab(entry.getValue(), entry.getKey() == styledActiveLeaf);
+        }
     }
 
     /**
@@ -367,6 +532,33 @@ public class DockTabGroup implements DockElement {
         setActiveTab(tabs.size() - 1);
     }
 
+    /**
+     * Appends several leaves at once and activates one of them.
+     * <p>
+     * Unlike repeated {@link #addLeaf(DockLeaf)} calls, intermediate tabs are
+     * never activated, so leaves with deferred content are only hydrated when
+     * they are the active tab.
+     *
+     * @param leaves leaves to append
+     * @param activeIndex index within {@code leaves} of the tab to activate
+     */
+    public void addLeaves(List<DockLeaf> leaves, int activeIndex) {
+        if (leaves.isEmpty()) {
+            return;
+        }
+        for (DockLeaf leaf : leaves) {
+            leaf.setParent(this);
+        }
+        int target = tabs.size() + Math.clamp(activeIndex, 0, leaves.size() - 1);
+        pendingActiveIndex = target;
+        try {
+            tabs.addAll(leaves);
+        } finally {
+            pendingActiveIndex = -1;
+        }
+        setActiveTab(target);
+    }
+
     /**
      * Inserts a leaf at a specific index.
      *
@@ -390,11 +582,39 @@ public class DockTabGroup implements DockElement {
         if (fromIndex == toIndex || fromIndex < 0 || fromIndex >= tabs.size() || toIndex < 0 || toIndex > tabs.size()) {
             return;
         }
-        DockLeaf leaf = tabs.remove(fromIndex);
-        tabs.add(toIndex, leaf);
+        // Reorder with a single list change so the cached tab header is kept
+        List<DockLeaf> reordered = new ArrayList<>(tabs);
+        DockLeaf leaf = reordered.remove(fromIndex);
+        reordered.add(toIndex, leaf);
+        tabs.setAll(reordered);
         setActiveTab(toIndex);
     }
 
+    /**
+     * Removes all leaves without disposing them or activating another tab, so
+     * they can be placed into other groups. Tab close and group-empty callbacks
+     * are not invoked; the group can only be disposed afterwards.
+     *
+     * @return the detached leaves in tab order
+     */
+    public List<DockLeaf> detachLeaves() {
+        List<DockLeaf> detached = new ArrayList<>(tabs);
+        tabs.removeListener(tabsListener);
+        tabs.clear();
+        activeTabIndex.set(-1);
+        contentArea.getChildren().clear();
+        for (TabHeader header : tabHeaders.values()) {
+            header.release();
+        }
+        tabHeaders.clear();
+        tabsContainer.getChildren().clear();
+        styledActiveLeaf = null;
+        for (DockLeaf leaf : detached) {
+            leaf.setParent(null);
+        }
+        return detached;
+    }
+
     /**
      * Removes a leaf from this tab group.
      *
@@ -532,6 +752,16 @@ public class DockTabGroup implements DockElement {
         return tabsContainer;
     }
 
+    /**
+     * Gets the tab index of the first header in the tabs container.
+     * Non-zero only for virtualized groups whose header window is scrolled.
+     *
+     * @return tab index of the first materialized tab header
+     */
+    public int getFirstVisibleTabIndex() {
+        return windowStart;
+    }
+
     /**
      * Sets the handler called when the float/dock button is clicked.
      * The handler should operate on the active tab.
@@ -672,11 +902,17 @@ public class DockTabGroup implements DockElement {
     public void dispose() {
         themeProperty.removeListener(themeListener);
         tabs.removeListener(tabsListener);
+        trackContentLeaf(null);
 
         for (DockLeaf leaf : tabs) {
             leaf.dispose();
         }
         tabs.clear();
+        for (TabHeader header : tabHeaders.values()) {
+            header.release();
+        }
+        tabHeaders.clear();
+        tabsContainer.getChildren().clear();
     }
 
     @Override
@@ -688,4 +924,24 @@ public class DockTabGroup implements DockElement {
     public void setParent(DockElement parent) {
         this.parent = parent;
     }
+
+    /**
+     * Cached header nodes of one tab and the style they were last painted with.
+     */
+    private static final class TabHeader {
+
+        private final HBox node;
+        private final Label label;
+        private DockThemeStyles styles;
+        private boolean active;
+
+        private TabHeader(HBox node, Label label) {
+            this.node = node;
+            this.label = label;
+        }
+
+        void release() {
+            label.textProperty().unbind();
+        }
+    }
 }
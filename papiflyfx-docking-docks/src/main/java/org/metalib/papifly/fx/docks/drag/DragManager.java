@@ -3,8 +3,13 @@ package org.metalib.papifly.fx.docks.drag;
 import javafx.beans.property.ObjectProperty;
 import javafx.geometry.Orientation;
 import javafx.scene.Cursor;
+import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.WritableImage;
 import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.transform.Transform;
 import org.metalib.papifly.fx.docks.core.DockElement;
 import org.metalib.papifly.fx.docks.core.DockElementVisitor;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
@@ -13,6 +18,7 @@ import org.metalib.papifly.fx.docks.core.DockTabGroup;
 import org.metalib.papifly.fx.docks.render.OverlayCanvas;
 import org.metalib.papifly.fx.docking.api.Theme;
 
+import java.util.List;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 
@@ -23,7 +29,8 @@ import java.util.function.Supplier;
 public class DragManager {
 
     private static final double DRAG_THRESHOLD = 5.0;
-    private static final long DEBOUNCE_MS = 50; // Hysteresis to prevent zone flicker
+    private static final long ZONE_HYSTERESIS_MS = 50; // Prevents edge/center zone flicker on one target
+    private static final double PREVIEW_MAX_SIZE = 240.0; // Longest side of a snapshot drag preview
 
     private final Supplier<DockElement> rootSupplier;
     private final OverlayCanvas overlay;
@@ -35,6 +42,12 @@ public class DragManager {
     private HitTester hitTester;
     private boolean isDragging;
     private Cursor previousCursor;
+    private LeafDragMode dragMode = LeafDragMode.LIVE;
+    private Runnable onDropExecuted;
+
+    // Content hidden while a snapshot preview stands in for it
+    private Node pausedContent;
+    private boolean pausedContentVisible;
 
     // Hover stabilization state
     private HitTestResult lastHitResult;
@@ -112,12 +125,17 @@ public class DragManager {
             if (scene != null) {
                 scene.setCursor(Cursor.MOVE);
             }
+            if (dragMode == LeafDragMode.SNAPSHOT) {
+                beginSnapshotPreview(event);
+            }
         }
 
         if (!isDragging) {
             return;
         }
 
+        overlay.moveDragPreview(event.getSceneX(), event.getSceneY());
+
         // Perform hit testing
         HitTestResult result = hitTester.hitTest(
             event.getSceneX(),
@@ -129,9 +147,12 @@ public class DragManager {
         if (hasHitResultChanged(result)) {
             long now = System.currentTimeMillis();
 
-            // Apply debounce: only accept change if enough time has passed
-            // or if this is the first result
-            if (lastHitResult == null || (now - lastHitChangeTime) >= DEBOUNCE_MS) {
+            // Hit testing is a cached point query, so target and tab index changes apply immediately;
+            // only zone flips on the same target keep a short hysteresis window
+            if (lastHitResult == null
+                || lastHitResult.element() != result.element()
+                || lastHitResult.zone() == result.zone()
+                || (now - lastHitChangeTime) >= ZONE_HYSTERESIS_MS) {
                 lastHitResult = result;
                 lastHitChangeTime = now;
 
@@ -173,6 +194,7 @@ public class DragManager {
         }
 
         overlay.clearDropHint();
+        endSnapshotPreview();
 
         // Restore cursor
         DockTabGroup parent = currentDrag.getSourceLeaf().getParent();
@@ -183,11 +205,14 @@ public class DragManager {
 
         if (isDragging && currentDrag.isValidDrop() && !currentDrag.isDropOnSelf() && !currentDrag.isNoOpTabReorder()) {
             executeDrop();
+            if (onDropExecuted != null) {
+                onDropExecuted.run();
+            }
         }
 
         currentDrag = null;
         isDragging = false;
-        hitTester = null;
+        disposeHitTester();
         lastHitResult = null;
         lastHitChangeTime = 0;
     }
@@ -198,6 +223,7 @@ public class DragManager {
     public void cancelDrag() {
         if (currentDrag != null) {
             overlay.clearDropHint();
+            endSnapshotPreview();
             DockTabGroup parent = currentDrag.getSourceLeaf().getParent();
             Scene scene = parent != null ? parent.getNode().getScene() : null;
             if (scene != null) {
@@ -205,11 +231,109 @@ public class DragManager {
             }
             currentDrag = null;
             isDragging = false;
+            disposeHitTester();
             lastHitResult = null;
             lastHitChangeTime = 0;
         }
     }
 
+    /**
+     * Captures a scaled snapshot of the dragged leaf for the overlay and hides
+     * the leaf content, so expensive content is not rendered during the drag.
+     * An inactive leaf is represented by its tab.
+     */
+    private void beginSnapshotPreview(MouseEvent event) {
+        DockLeaf leaf = currentDrag.getSourceLeaf();
+        DockTabGroup parent = leaf.getParent();
+        if (parent == null) {
+            return;
+        }
+        Node content = parent.getActiveTab() == leaf ? leaf.getContent() : null;
+        Node source = content != null && content.isVisible() && content.getScene() != null
+            ? content
+            : findTab(parent, leaf);
+        if (source == null) {
+            return;
+        }
+        WritableImage image = snapshot(source);
+        if (image == null) {
+            return;
+        }
+        overlay.showDragPreview(image, event.getSceneX(), event.getSceneY());
+        if (source == content) {
+            pausedContent = content;
+            pausedContentVisible = content.isVisible();
+            content.setVisible(false);
+        }
+    }
+
+    private void endSnapshotPreview() {
+        overlay.clearDragPreview();
+        if (pausedContent != null) {
+            pausedContent.setVisible(pausedContentVisible);
+            pausedContent = null;
+        }
+    }
+
+    private static WritableImage snapshot(Node node) {
+        double width = node.getLayoutBounds().getWidth();
+        double height = node.getLayoutBounds().getHeight();
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        double scale = Math.min(1.0, PREVIEW_MAX_SIZE / Math.max(width, height));
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(Color.TRANSPARENT);
+        parameters.setTransform(Transform.scale(scale, scale));
+        return node.snapshot(parameters, null);
+    }
+
+    private static Node findTab(DockTabGroup tabGroup, DockLeaf leaf) {
+        for (Node tab : tabGroup.getTabsContainer().getChildren()) {
+            if (tab.getUserData() == leaf) {
+                return tab;
+            }
+        }
+        return null;
+    }
+
+    private void disposeHitTester() {
+        if (hitTester != null) {
+            hitTester.dispose();
+            hitTester = null;
+        }
+    }
+
+    /**
+     * Gets how dragged leaves are represented while dragged.
+     *
+     * @return leaf drag mode
+     */
+    public LeafDragMode getDragMode() {
+        return dragMode;
+    }
+
+    /**
+     * Sets how dragged leaves are represented while dragged.
+     * The mode applies to the next drag.
+     *
+     * @param dragMode leaf drag mode, {@code null} for {@link LeafDragMode#LIVE}
+     */
+    public void setDragMode(LeafDragMode dragMode) {
+        this.dragMode = dragMode != null ? dragMode : LeafDragMode.LIVE;
+    }
+
+    /**
+     * Sets the handler run after a drag ends in a drop that changed the layout.
+     * Releases that cancel, drop on the source, or leave tab order unchanged
+     * do not run it.
+     *
+     * @param handler drop handler, or {@code null} to clear it
+     */
+    public void setOnDropExecuted(Runnable handler) {
+        this.onDropExecuted = handler;
+    }
+
     /**
      * Checks if a drag operation is in progress (threshold crossed).
      *
@@ -332,16 +456,7 @@ public class DragManager {
 
                 @Override
                 public Void visitSplitGroup(DockSplitGroup parentSplit) {
-                    if (parentSplit.getFirst() == target) {
-                        parentSplit.setFirst(null);
-                    } else {
-                        parentSplit.setSecond(null);
-                    }
-                    if (parentSplit.getFirst() == null && parentSplit.getSecond() != null) {
-                        parentSplit.setFirst(newSplit);
-                    } else if (parentSplit.getSecond() == null) {
-                        parentSplit.setSecond(newSplit);
-                    }
+                    parentSplit.replaceChild(target, newSplit);
                     return null;
                 }
             });
@@ -362,9 +477,13 @@ public class DragManager {
             newSplit.setSecond(sourceGroup);
         }
 
-        // If target was root, set newSplit as new root
+        // Splitting along the parent's orientation adds a slot to the parent instead of nesting
+        newSplit.normalize();
         if (parent == null) {
+            // If target was root, set newSplit as new root
             rootUpdater.accept(newSplit);
+        } else if (parent instanceof DockSplitGroup parentSplit) {
+            parentSplit.normalize();
         }
     }
 
@@ -393,21 +512,15 @@ public class DragManager {
 
             @Override
             public Void visitSplitGroup(DockSplitGroup splitGroup) {
-                if (splitGroup.getFirst() != null) {
-                    cleanupRecursive(splitGroup.getFirst(), splitGroup);
-                }
-                if (splitGroup.getSecond() != null) {
-                    cleanupRecursive(splitGroup.getSecond(), splitGroup);
+                for (DockElement child : splitGroup.getChildren()) {
+                    cleanupRecursive(child, splitGroup);
                 }
 
-                boolean firstEmpty = splitGroup.getFirst() == null;
-                boolean secondEmpty = splitGroup.getSecond() == null;
-
-                if (firstEmpty && secondEmpty) {
+                List<DockElement> remaining = splitGroup.getChildren();
+                if (remaining.isEmpty()) {
                     removeElement(splitGroup, parent);
-                } else if (firstEmpty || secondEmpty) {
-                    DockElement remaining = firstEmpty ? splitGroup.getSecond() : splitGroup.getFirst();
-                    replaceElement(splitGroup, remaining, parent);
+                } else if (remaining.size() == 1) {
+                    replaceElement(splitGroup, remaining.getFirst(), parent);
                 }
                 return null;
             }
@@ -426,11 +539,7 @@ public class DragManager {
 
                 @Override
                 public Void visitSplitGroup(DockSplitGroup split) {
-                    if (split.getFirst() == element) {
-                        split.setFirst(null);
-                    } else if (split.getSecond() == element) {
-                        split.setSecond(null);
-                    }
+                    split.removeChild(element);
                     return null;
                 }
             });
@@ -445,8 +554,9 @@ public class DragManager {
 
             @Override
             public Void visitSplitGroup(DockSplitGroup splitElement) {
-                detachChild(splitElement, splitElement.getFirst());
-                detachChild(splitElement, splitElement.getSecond());
+                for (DockElement child : splitElement.getChildren()) {
+                    detachChild(splitElement, child);
+                }
                 splitElement.dispose();
                 return null;
             }
@@ -479,6 +589,7 @@ public class DragManager {
                 @Override
                 public Void visitSplitGroup(DockSplitGroup split) {
                     split.replaceChild(oldElement, newElement);
+                    split.normalize();
                     return null;
                 }
             });
@@ -489,10 +600,6 @@ public class DragManager {
         if (child == null) {
             return;
         }
-        if (split.getFirst() == child) {
-            split.setFirst(null);
-        } else if (split.getSecond() == child) {
-            split.setSecond(null);
-        }
+        split.removeChild(child);
     }
 }
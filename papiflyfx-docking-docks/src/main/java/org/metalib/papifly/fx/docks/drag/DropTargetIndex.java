@@ -0,0 +1,295 @@
+package org.metalib.papifly.fx.docks.drag;
+
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Scene-space snapshot of drop targets used by {@link HitTester}.
+ * <p>
+ * Built once from the dock tree: every tab group contributes its group, tab bar,
+ * content and tab header rectangles, clipped to the bounds of its ancestors. The
+ * targets are packed into a flat bounding-volume hierarchy, so a hit test is a
+ * point query that touches {@code O(log n)} nodes instead of walking the tree
+ * and converting bounds on every mouse move. Tab insertion points are resolved
+ * by binary search over the cached header midpoints.
+ */
+final class DropTargetIndex {
+
+    private static final int LEAF_SIZE = 4;
+
+    /**
+     * One tab group drop target in scene coordinates.
+     *
+     * @param tabGroup target tab group
+     * @param order depth-first tree order, lower wins when targets overlap
+     * @param groupBounds full tab group bounds
+     * @param tabBarBounds tab bar bounds
+     * @param contentBounds content area bounds below the tab bar
+     * @param hitBounds group bounds clipped to ancestor bounds
+     * @param tabMidX tab header horizontal midpoints, left to right
+     * @param tabMinX tab header left edges, left to right
+     * @param tabsMaxX right edge of the last tab header, or the tab bar left edge without tabs
+     * @param tabIndexOffset tab index of the first header, non-zero for scrolled virtualized groups
+     */
+    record Target(
+        DockTabGroup tabGroup,
+        int order,
+        Bounds groupBounds,
+        Bounds tabBarBounds,
+        Bounds contentBounds,
+        Bounds hitBounds,
+        double[] tabMidX,
+        double[] tabMinX,
+        double tabsMaxX,
+        int tabIndexOffset
+    ) {
+
+        /**
+         * Returns the tab insertion index for a pointer over the tab bar.
+         *
+         * @param sceneX pointer x in scene coordinates
+         * @return tab index of the first tab whose midpoint is right of the pointer
+         */
+        int insertIndexAt(double sceneX) {
+            int low = 0;
+            int high = tabMidX.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sceneX < tabMidX[mid]) {
+                    high = mid;
+                } else {
+                    low = mid + 1;
+                }
+            }
+            return tabIndexOffset + low;
+        }
+
+        /**
+         * Returns the x position of the insertion line for an insertion index.
+         *
+         * @param index insertion index from {@link #insertIndexAt(double)}
+         * @return insertion line x in scene coordinates
+         */
+        double insertXAt(int index) {
+            int header = index - tabIndexOffset;
+            return header < tabMinX.length ? tabMinX[header] : tabsMaxX;
+        }
+    }
+
+    private final Target[] targets;
+    private final int[] items;
+    private final double[] nodeMinX;
+    private final double[] nodeMinY;
+    private final double[] nodeMaxX;
+    private final double[] nodeMaxY;
+    private final int[] nodeStart;
+    private final int[] nodeEnd;
+    private final int[] nodeRight;
+    private int nodeCount;
+
+    private DropTargetIndex(List<Target> targets) {
+        this.targets = targets.toArray(new Target[0]);
+        int count = this.targets.length;
+        this.items = new int[count];
+        for (int i = 0; i < count; i++) {
+            items[i] = i;
+        }
+        int capacity = Math.max(1, count * 2);
+        this.nodeMinX = new double[capacity];
+        this.nodeMinY = new double[capacity];
+        this.nodeMaxX = new double[capacity];
+        this.nodeMaxY = new double[capacity];
+        this.nodeStart = new int[capacity];
+        this.nodeEnd = new int[capacity];
+        this.nodeRight = new int[capacity];
+        if (count > 0) {
+            buildNode(0, count);
+        }
+    }
+
+    /**
+     * Captures the drop targets of the given dock tree.
+     *
+     * @param root dock root, may be {@code null}
+     * @return drop target index
+     */
+    static DropTargetIndex build(DockElement root) {
+        List<Target> targets = new ArrayList<>();
+        collect(root, null, targets);
+        return new DropTargetIndex(targets);
+    }
+
+    /**
+     * Returns the number of indexed targets.
+     *
+     * @return target count
+     */
+    int size() {
+        return targets.length;
+    }
+
+    /**
+     * Finds the target whose clipped bounds contain the point.
+     *
+     * @param sceneX x in scene coordinates
+     * @param sceneY y in scene coordinates
+     * @return matching target, or {@code null}
+     */
+    Target find(double sceneX, double sceneY) {
+        if (nodeCount == 0) {
+            return null;
+        }
+        Target best = null;
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = 0;
+        while (top > 0) {
+            int node = stack[--top];
+            if (sceneX < nodeMinX[node] || sceneX > nodeMaxX[node]
+                || sceneY < nodeMinY[node] || sceneY > nodeMaxY[node]) {
+                continue;
+            }
+            if (nodeRight[node] < 0) {
+                for (int i = nodeStart[node]; i < nodeEnd[node]; i++) {
+                    Target target = targets[items[i]];
+                    if ((best == null || target.order() < best.order())
+                        && target.hitBounds().contains(sceneX, sceneY)) {
+                        best = target;
+                    }
+                }
+                continue;
+            }
+            if (top + 2 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = nodeRight[node];
+            stack[top++] = node + 1;
+        }
+        return best;
+    }
+
+    /**
+     * Builds the subtree for {@code items[start, end)} in pre-order, so the left
+     * child of a node always directly follows it.
+     */
+    private void buildNode(int start, int end) {
+        int node = nodeCount++;
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = start; i < end; i++) {
+            Bounds bounds = targets[items[i]].hitBounds();
+            minX = Math.min(minX, bounds.getMinX());
+            minY = Math.min(minY, bounds.getMinY());
+            maxX = Math.max(maxX, bounds.getMaxX());
+            maxY = Math.max(maxY, bounds.getMaxY());
+        }
+        nodeMinX[node] = minX;
+        nodeMinY[node] = minY;
+        nodeMaxX[node] = maxX;
+        nodeMaxY[node] = maxY;
+        nodeStart[node] = start;
+        nodeEnd[node] = end;
+        nodeRight[node] = -1;
+        if (end - start <= LEAF_SIZE) {
+            return;
+        }
+        boolean splitOnX = (maxX - minX) >= (maxY - minY);
+        Comparator<Integer> byCenter = Comparator.comparingDouble(index -> {
+            Bounds bounds = targets[index].hitBounds();
+            return splitOnX ? bounds.getCenterX() : bounds.getCenterY();
+        });
+        Integer[] slice = new Integer[end - start];
+        for (int i = start; i < end; i++) {
+            slice[i - start] = items[i];
+        }
+        Arrays.sort(slice, byCenter);
+        for (int i = start; i < end; i++) {
+            items[i] = slice[i - start];
+        }
+        int mid = (start + end) >>> 1;
+        buildNode(start, mid);
+        nodeRight[node] = nodeCount;
+        buildNode(mid, end);
+    }
+
+    private static void collect(DockElement element, Bounds clip, List<Target> targets) {
+        if (element == null) {
+            return;
+        }
+        Region node = element.getNode();
+        Bounds bounds = node.localToScene(node.getBoundsInLocal());
+        Bounds clipped = intersect(bounds, clip);
+        if (clipped == null) {
+            return;
+        }
+        if (element instanceof DockSplitGroup splitGroup) {
+            for (DockElement child : splitGroup.getChildren()) {
+                collect(child, clipped, targets);
+            }
+        } else if (element instanceof DockTabGroup tabGroup) {
+            targets.add(createTarget(tabGroup, targets.size(), bounds, clipped));
+        }
+    }
+
+    private static Target createTarget(DockTabGroup tabGroup, int order, Bounds groupBounds, Bounds hitBounds) {
+        Region tabBar = tabGroup.getTabBar();
+        Bounds tabBarBounds = tabBar.localToScene(tabBar.getBoundsInLocal());
+        double tabBarHeight = tabBar.getHeight();
+        Bounds contentBounds = new BoundingBox(
+            groupBounds.getMinX(),
+            groupBounds.getMinY() + tabBarHeight,
+            groupBounds.getWidth(),
+            groupBounds.getHeight() - tabBarHeight
+        );
+
+        List<Node> tabs = tabGroup.getTabsContainer().getChildrenUnmodifiable();
+        double[] tabMidX = new double[tabs.size()];
+        double[] tabMinX = new double[tabs.size()];
+        double tabsMaxX = tabBarBounds.getMinX();
+        for (int i = 0; i < tabs.size(); i++) {
+            Node tab = tabs.get(i);
+            Bounds tabBounds = tab.localToScene(tab.getBoundsInLocal());
+            tabMinX[i] = tabBounds.getMinX();
+            tabMidX[i] = tabBounds.getMinX() + tabBounds.getWidth() / 2;
+            tabsMaxX = tabBounds.getMaxX();
+        }
+        return new Target(
+            tabGroup,
+            order,
+            groupBounds,
+            tabBarBounds,
+            contentBounds,
+            hitBounds,
+            tabMidX,
+            tabMinX,
+            tabsMaxX,
+            tabGroup.getFirstVisibleTabIndex()
+        );
+    }
+
+    private static Bounds intersect(Bounds bounds, Bounds clip) {
+        if (clip == null) {
+            return bounds;
+        }
+        double minX = Math.max(bounds.getMinX(), clip.getMinX());
+        double minY = Math.max(bounds.getMinY(), clip.getMinY());
+        double maxX = Math.min(bounds.getMaxX(), clip.getMaxX());
+        double maxY = Math.min(bounds.getMaxY(), clip.getMaxY());
+        if (maxX < minX || maxY < minY) {
+            return null;
+        }
+        return new BoundingBox(minX, minY, maxX - minX, maxY - minY);
+    }
+}
@@ -1,18 +1,19 @@
 package org.metalib.papifly.fx.docks.drag;
 
+import javafx.beans.value.ChangeListener;
 import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
-import javafx.scene.Node;
 import javafx.scene.layout.Region;
 import org.metalib.papifly.fx.docks.core.DockElement;
-import org.metalib.papifly.fx.docks.core.DockElementVisitor;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
-import org.metalib.papifly.fx.docks.core.DockSplitGroup;
-import org.metalib.papifly.fx.docks.core.DockTabGroup;
 
 /**
  * Hit testing engine for drag-and-drop operations.
  * Uses edge-biased hit testing for predictable drop behavior.
+ * <p>
+ * Drop target geometry is captured into a {@link DropTargetIndex} on the first
+ * hit test and reused until the dock root is laid out again or moves in the
+ * scene, so each mouse move is a point query rather than a tree walk.
  */
 public class HitTester {
 
@@ -20,7 +21,10 @@ public class HitTester {
     private static final double MIN_EDGE_BAND_PX = 24.0;
     private static final double EDGE_BAND_RATIO = 0.18;
 
-    private final DockElement root;
+    private final ChangeListener<Object> layoutListener = (observable, oldValue, newValue) -> invalidate();
+    private DockElement root;
+    private Region observedNode;
+    private DropTargetIndex index;
 
     /**
      * Creates a hit tester for the provided dock root.
@@ -28,7 +32,7 @@ public class HitTester {
      * @param root root dock element used for hit testing
      */
     public HitTester(DockElement root) {
-        this.root = root;
+        setRoot(root);
     }
 
     /**
@@ -37,7 +41,24 @@ public class HitTester {
      * @param root new root element
      */
     public void setRoot(DockElement root) {
-        // This is a workaround for final field - in real impl would use a mutable holder
+        this.root = root;
+        observe(root == null ? null : root.getNode());
+        invalidate();
+    }
+
+    /**
+     * Drops the cached drop target geometry; the next hit test rebuilds it.
+     */
+    public void invalidate() {
+        index = null;
+    }
+
+    /**
+     * Stops observing layout changes of the dock root.
+     */
+    public void dispose() {
+        observe(null);
+        index = null;
     }
 
     /**
@@ -49,110 +70,46 @@ public class HitTester {
      * @return the hit test result
      */
     public HitTestResult hitTest(double sceneX, double sceneY, DockLeaf source) {
-        return hitTestRecursive(root, sceneX, sceneY, source);
-    }
-
-    private HitTestResult hitTestRecursive(DockElement element, double sceneX, double sceneY, DockLeaf source) {
-        if (element == null) {
+        if (root == null) {
             return HitTestResult.none();
         }
-
-        Region node = element.getNode();
-        Bounds boundsInScene = node.localToScene(node.getBoundsInLocal());
-
-        // Check if point is within this element
-        if (!boundsInScene.contains(sceneX, sceneY)) {
+        if (index == null) {
+            index = DropTargetIndex.build(root);
+        }
+        DropTargetIndex.Target target = index.find(sceneX, sceneY);
+        if (target == null) {
             return HitTestResult.none();
         }
-
-        return element.accept(new DockElementVisitor<>() {
-            @Override
-            public HitTestResult visitTabGroup(DockTabGroup tabGroup) {
-                Region tabNode = tabGroup.getNode();
-                Bounds tabBounds = tabNode.localToScene(tabNode.getBoundsInLocal());
-                Region tabBar = tabGroup.getTabBar();
-                Bounds tabBarBounds = tabBar.localToScene(tabBar.getBoundsInLocal());
-
-                if (tabBarBounds.contains(sceneX, sceneY)) {
-                    TabInsertInfo insertInfo = calculateTabInsertInfo(tabGroup, sceneX);
-                    return new HitTestResult(
-                        tabGroup,
-                        DropZone.TAB_BAR,
-                        tabBarBounds,
-                        tabBounds,
-                        insertInfo.index,
-                        insertInfo.insertX
-                    );
-                }
-
-                double tabBarHeight = tabBar.getHeight();
-                Bounds contentBounds = new BoundingBox(
-                    tabBounds.getMinX(),
-                    tabBounds.getMinY() + tabBarHeight,
-                    tabBounds.getWidth(),
-                    tabBounds.getHeight() - tabBarHeight
-                );
-
-                if (contentBounds.contains(sceneX, sceneY)) {
-                    return calculateDropZone(tabGroup, contentBounds, sceneX, sceneY);
-                }
-                return HitTestResult.none();
-            }
-
-            @Override
-            public HitTestResult visitSplitGroup(DockSplitGroup splitGroup) {
-                HitTestResult firstResult = hitTestRecursive(splitGroup.getFirst(), sceneX, sceneY, source);
-                if (firstResult.isHit()) {
-                    return firstResult;
-                }
-
-                HitTestResult secondResult = hitTestRecursive(splitGroup.getSecond(), sceneX, sceneY, source);
-                if (secondResult.isHit()) {
-                    return secondResult;
-                }
-
-                return HitTestResult.none();
-            }
-        });
+        if (target.tabBarBounds().contains(sceneX, sceneY)) {
+            int insertIndex = target.insertIndexAt(sceneX);
+            return new HitTestResult(
+                target.tabGroup(),
+                DropZone.TAB_BAR,
+                target.tabBarBounds(),
+                target.groupBounds(),
+                insertIndex,
+                target.insertXAt(insertIndex)
+            );
+        }
+        if (target.contentBounds().contains(sceneX, sceneY)) {
+            return calculateDropZone(target.tabGroup(), target.contentBounds(), sceneX, sceneY);
+        }
+        return HitTestResult.none();
     }
 
-    /**
-     * Helper record for tab insertion information.
-     */
-    private record TabInsertInfo(int index, double insertX) {}
-
-    /**
-     * Calculates the tab insertion index and X position based on mouse X position over the tab bar.
-     */
-    private TabInsertInfo calculateTabInsertInfo(DockTabGroup tabGroup, double sceneX) {
-        Region tabBar = tabGroup.getTabBar();
-        Bounds tabBarBounds = tabBar.localToScene(tabBar.getBoundsInLocal());
-        Region tabsContainer = tabGroup.getTabsContainer();
-        var tabChildren = tabsContainer.getChildrenUnmodifiable();
-
-        // Iterate through tab buttons to find insertion point
-        int index = 0;
-        double insertX = tabBarBounds.getMinX(); // Default to start of tab bar
-
-        for (Node child : tabChildren) {
-            Bounds childBounds = child.localToScene(child.getBoundsInLocal());
-            double midX = childBounds.getMinX() + childBounds.getWidth() / 2;
-
-            if (sceneX < midX) {
-                // Insert before this tab - insertion line at left edge of this tab
-                insertX = childBounds.getMinX();
-                return new TabInsertInfo(index, insertX);
-            }
-            index++;
+    private void observe(Region node) {
+        if (observedNode == node) {
+            return;
         }
-
-        // Insert at end - insertion line at right edge of last tab
-        if (!tabChildren.isEmpty()) {
-            Node lastChild = tabChildren.getLast();
-            Bounds lastBounds = lastChild.localToScene(lastChild.getBoundsInLocal());
-            insertX = lastBounds.getMaxX();
+        if (observedNode != null) {
+            observedNode.needsLayoutProperty().removeListener(layoutListener);
+            observedNode.localToSceneTransformProperty().removeListener(layoutListener);
+        }
+        observedNode = node;
+        if (node != null) {
+            node.needsLayoutProperty().addListener(layoutListener);
+            node.localToSceneTransformProperty().addListener(layoutListener);
         }
-        return new TabInsertInfo(index, insertX);
     }
 
     private HitTestResult calculateDropZone(DockElement element, Bounds bounds, double sceneX, double sceneY) {
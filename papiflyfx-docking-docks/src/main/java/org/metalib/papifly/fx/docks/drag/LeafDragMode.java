@@ -0,0 +1,11 @@
+package org.metalib.papifly.fx.docks.drag;
+
+/**
+ * How a dragged leaf is represented while it is dragged.
+ */
+public enum LeafDragMode {
+    /** The leaf stays rendered in place and only drop hints are drawn */
+    LIVE,
+    /** A scaled snapshot follows the mouse and the leaf content is hidden until drop */
+    SNAPSHOT
+}
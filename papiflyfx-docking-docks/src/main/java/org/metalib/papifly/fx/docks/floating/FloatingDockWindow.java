@@ -7,8 +7,10 @@ import javafx.scene.Scene;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
 import javafx.stage.StageStyle;
+import org.metalib.papifly.fx.docks.core.DockData;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 import org.metalib.papifly.fx.docking.api.Theme;
 
 import java.util.function.Consumer;
@@ -16,6 +18,9 @@ import java.util.function.Consumer;
 /**
  * Internal class that hosts a floating DockLeaf in its own Stage.
  * Manages the window lifecycle and provides callbacks for dock-back operations.
+ * <p>
+ * The stage, scene and tab group outlive the hosted leaf: {@link FloatingWindowManager}
+ * detaches a window on dock-back and attaches it to the next floated leaf.
  */
 public class FloatingDockWindow {
 
@@ -26,10 +31,12 @@ public class FloatingDockWindow {
 
     private final Stage stage;
     private final StackPane rootContainer;
-    private final DockLeaf leaf;
     private final DockTabGroup tabGroup;
     private final ObjectProperty<Theme> themeProperty;
+    private final ChangeListener<DockData> titleListener;
     private ChangeListener<Theme> themeListener;
+    private DockLeaf leaf;
+    private boolean recycled;
 
     private Consumer<DockLeaf> onDockBack;
     private Consumer<DockLeaf> onClose;
@@ -44,7 +51,19 @@ public class FloatingDockWindow {
      * @param themeProperty The theme property for styling
      */
     public FloatingDockWindow(DockLeaf leaf, DockTabGroup tabGroup, Stage ownerStage, ObjectProperty<Theme> themeProperty) {
-        this.leaf = leaf;
+        this(tabGroup, ownerStage, themeProperty);
+        attach(leaf);
+    }
+
+    /**
+     * Creates a hidden floating window with an empty tab group, ready to host
+     * a leaf via {@link #attach(DockLeaf)}.
+     *
+     * @param tabGroup      The tab group that will host floated leaves
+     * @param ownerStage    The owner stage (main application window)
+     * @param themeProperty The theme property for styling
+     */
+    FloatingDockWindow(DockTabGroup tabGroup, Stage ownerStage, ObjectProperty<Theme> themeProperty) {
         this.tabGroup = tabGroup;
         this.themeProperty = themeProperty;
 
@@ -63,7 +82,6 @@ public class FloatingDockWindow {
             // and Linux, it will retain its owner and stay on top of the main application window.
             stage.initOwner(ownerStage);
         }
-        stage.setTitle(leaf.getMetadata().title());
 
         // Set minimum size
         stage.setMinWidth(MIN_WIDTH);
@@ -81,17 +99,19 @@ public class FloatingDockWindow {
         themeListener = (obs, oldTheme, newTheme) -> applyTheme(newTheme);
         themeProperty.addListener(themeListener);
 
-        // Bind title to leaf metadata
-        leaf.metadataProperty().addListener((obs, oldVal, newVal) -> {
+        // Follows the metadata of whichever leaf is attached
+        titleListener = (obs, oldVal, newVal) -> {
             if (newVal != null) {
                 stage.setTitle(newVal.title());
             }
-        });
+        };
 
         // Setup close handler - default behavior is to dock back
         stage.setOnCloseRequest(event -> {
             event.consume();
-            if (onDockBack != null) {
+            if (leaf == null) {
+                stage.hide();
+            } else if (onDockBack != null) {
                 onDockBack.accept(leaf);
             } else if (onClose != null) {
                 onClose.accept(leaf);
@@ -103,21 +123,41 @@ public class FloatingDockWindow {
         stage.setScene(scene);
     }
 
-    private void applyTheme(Theme theme) {
-        if (theme == null) return;
-
-        String bgColor = toHexString(theme.background());
-        rootContainer.setStyle("-fx-background-color: " + bgColor + ";");
+    /**
+     * Hosts a leaf that has already been added to this window's tab group.
+     * A recycled window starts over at its default size and position.
+     *
+     * @param leaf The leaf to host
+     */
+    void attach(DockLeaf leaf) {
+        this.leaf = leaf;
+        stage.setTitle(leaf.getMetadata().title());
+        leaf.metadataProperty().addListener(titleListener);
+        if (recycled) {
+            lastBounds = null;
+            stage.setWidth(DEFAULT_WIDTH);
+            stage.setHeight(DEFAULT_HEIGHT);
+            stage.centerOnScreen();
+        }
     }
 
-    private String toHexString(javafx.scene.paint.Paint paint) {
-        if (paint instanceof javafx.scene.paint.Color color) {
-            return String.format("#%02X%02X%02X",
-                (int) (color.getRed() * 255),
-                (int) (color.getGreen() * 255),
-                (int) (color.getBlue() * 255));
+    /**
+     * Hides the window and releases the hosted leaf, keeping the stage, scene
+     * and tab group for reuse.
+     */
+    void detach() {
+        stage.hide();
+        if (leaf != null) {
+            leaf.metadataProperty().removeListener(titleListener);
+            leaf = null;
         }
-        return "#1E1E1E";
+        recycled = true;
+    }
+
+    private void applyTheme(Theme theme) {
+        if (theme == null) return;
+
+        rootContainer.setBackground(DockThemeStyles.of(theme).contentBackground());
     }
 
     /**
@@ -131,6 +171,7 @@ public class FloatingDockWindow {
             stage.setWidth(lastBounds.getWidth());
             stage.setHeight(lastBounds.getHeight());
         }
+        hydrateContent();
         stage.show();
         stage.toFront();
     }
@@ -144,10 +185,21 @@ public class FloatingDockWindow {
     public void show(double x, double y) {
         stage.setX(x);
         stage.setY(y);
+        hydrateContent();
         stage.show();
         stage.toFront();
     }
 
+    /**
+     * Creates the hosted leaf's content if it was deferred, e.g. for a leaf
+     * restored from a session while this window was still hidden.
+     */
+    private void hydrateContent() {
+        if (leaf != null && leaf.isContentDeferred()) {
+            leaf.hydrate();
+        }
+    }
+
     /**
      * Hides the floating window.
      */
@@ -163,6 +215,9 @@ public class FloatingDockWindow {
     public void close() {
         lastBounds = new Rectangle2D(stage.getX(), stage.getY(), stage.getWidth(), stage.getHeight());
         rootContainer.getChildren().clear();
+        if (leaf != null) {
+            leaf.metadataProperty().removeListener(titleListener);
+        }
         if (themeListener != null) {
             themeProperty.removeListener(themeListener);
             themeListener = null;
@@ -173,7 +228,7 @@ public class FloatingDockWindow {
     /**
      * Gets the hosted leaf.
      *
-     * @return hosted leaf
+     * @return hosted leaf, or {@code null} for a pooled window
      */
     public DockLeaf getLeaf() {
         return leaf;
@@ -191,10 +246,10 @@ public class FloatingDockWindow {
     /**
      * Gets the leaf ID.
      *
-     * @return leaf identifier
+     * @return leaf identifier, or {@code null} for a pooled window
      */
     public String getLeafId() {
-        return leaf.getMetadata().id();
+        return leaf != null ? leaf.getMetadata().id() : null;
     }
 
     /**
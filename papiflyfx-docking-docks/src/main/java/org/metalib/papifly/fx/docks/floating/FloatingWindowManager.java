@@ -1,5 +1,6 @@
 package org.metalib.papifly.fx.docks.floating;
 
+import javafx.application.Platform;
 import javafx.beans.property.ObjectProperty;
 import javafx.geometry.Rectangle2D;
 import javafx.stage.Stage;
@@ -7,7 +8,9 @@ import org.metalib.papifly.fx.docks.core.DockLeaf;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
 import org.metalib.papifly.fx.docking.api.Theme;
 
+import java.util.ArrayDeque;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -16,10 +19,23 @@ import java.util.function.Supplier;
 /**
  * Manages all floating windows in the docking framework.
  * Tracks open floating windows by leaf ID and handles window lifecycle.
+ * <p>
+ * Creating a stage, scene and tab group is the slowest part of floating a
+ * leaf, so docked-back windows are hidden and kept in a small pool instead of
+ * being closed, and the pool is topped up with fresh windows on the FX thread
+ * once the current event has been handled. Topping up starts with the first
+ * float or {@link #prewarm(int)} call, so an application that never floats a
+ * leaf creates no hidden windows.
  */
 public class FloatingWindowManager {
 
+    /**
+     * Default number of hidden windows kept ready for reuse.
+     */
+    public static final int DEFAULT_POOL_SIZE = 2;
+
     private final Map<String, FloatingDockWindow> floatingWindows;
+    private final Deque<FloatingDockWindow> pooledWindows;
     private final Map<String, Rectangle2D> positionMemory;
     private final ObjectProperty<Theme> themeProperty;
     private final Stage ownerStage;
@@ -27,6 +43,12 @@ public class FloatingWindowManager {
 
     private Consumer<DockLeaf> onDockBack;
     private Consumer<DockLeaf> onClose;
+    private Consumer<FloatingDockWindow> onWindowAttached;
+    private Consumer<FloatingDockWindow> onWindowReleased;
+    private int poolSize = DEFAULT_POOL_SIZE;
+    private boolean prewarmScheduled;
+    private boolean used;
+    private boolean disposed;
 
     /**
      * Creates a new FloatingWindowManager.
@@ -42,13 +64,14 @@ public class FloatingWindowManager {
         this.tabGroupFactory = tabGroupFactory;
         this.floatingWindows = new HashMap<>();
         this.positionMemory = new HashMap<>();
+        this.pooledWindows = new ArrayDeque<>();
     }
 
     /**
-     * Floats a leaf into a new window.
+     * Floats a leaf into a window, reusing a pooled one when available.
      *
      * @param leaf The leaf to float
-     * @return The created floating window
+     * @return The floating window hosting the leaf
      */
     public FloatingDockWindow floatLeaf(DockLeaf leaf) {
         String leafId = leaf.getMetadata().id();
@@ -60,12 +83,15 @@ public class FloatingWindowManager {
             return existing;
         }
 
-        DockTabGroup tabGroup = tabGroupFactory.get();
-        tabGroup.addLeaf(leaf);
-        tabGroup.setFloating(true);
-
-        // Create new floating window
-        FloatingDockWindow window = new FloatingDockWindow(leaf, tabGroup, ownerStage, themeProperty);
+        // Reuse a hidden window when one is pooled
+        FloatingDockWindow window = pooledWindows.poll();
+        if (window == null) {
+            window = createWindow();
+        }
+        window.getTabGroup().addLeaf(leaf);
+        window.attach(leaf);
+        used = true;
+        schedulePrewarm();
 
         // Restore previous position if available
         Rectangle2D savedBounds = positionMemory.get(leafId);
@@ -73,20 +99,10 @@ public class FloatingWindowManager {
             window.setBounds(savedBounds);
         }
 
-        // Setup callbacks
-        window.setOnDockBack(floatLeaf -> {
-            if (onDockBack != null) {
-                onDockBack.accept(floatLeaf);
-            }
-        });
-
-        window.setOnClose(floatLeaf -> {
-            if (onClose != null) {
-                onClose.accept(floatLeaf);
-            }
-        });
-
         floatingWindows.put(leafId, window);
+        if (onWindowAttached != null) {
+            onWindowAttached.accept(window);
+        }
         return window;
     }
 
@@ -119,17 +135,123 @@ public class FloatingWindowManager {
             if (bounds != null) {
                 positionMemory.put(leafId, bounds);
             }
-            DockTabGroup tabGroup = window.getTabGroup();
-            if (tabGroup != null) {
-                tabGroup.removeLeaf(leaf);
-                if (tabGroup.getTabs().isEmpty()) {
-                    tabGroup.dispose();
-                }
+            release(window, leaf);
+        }
+    }
+
+    /**
+     * Removes the leaf from its window and returns the window to the pool,
+     * or closes it when the pool is full.
+     */
+    private void release(FloatingDockWindow window, DockLeaf leaf) {
+        if (onWindowReleased != null) {
+            onWindowReleased.accept(window);
+        }
+        DockTabGroup tabGroup = window.getTabGroup();
+        if (leaf != null) {
+            tabGroup.removeLeaf(leaf);
+        }
+        if (tabGroup.getTabs().isEmpty() && pooledWindows.size() < poolSize && !disposed) {
+            window.detach();
+            pooledWindows.push(window);
+            return;
+        }
+        if (tabGroup.getTabs().isEmpty()) {
+            tabGroup.dispose();
+        }
+        window.close();
+    }
+
+    private FloatingDockWindow createWindow() {
+        DockTabGroup tabGroup = tabGroupFactory.get();
+        tabGroup.setFloating(true);
+        FloatingDockWindow window = new FloatingDockWindow(tabGroup, ownerStage, themeProperty);
+        window.setOnDockBack(floatLeaf -> {
+            if (onDockBack != null) {
+                onDockBack.accept(floatLeaf);
+            }
+        });
+        window.setOnClose(floatLeaf -> {
+            if (onClose != null) {
+                onClose.accept(floatLeaf);
             }
-            window.close();
+        });
+        return window;
+    }
+
+    /**
+     * Creates hidden windows until at least {@code count} are pooled. Call this
+     * before floating several leaves at once, e.g. when restoring a session, so
+     * the windows are created in one batch rather than one per float.
+     *
+     * @param count number of windows to have ready
+     */
+    public void prewarm(int count) {
+        used = true;
+        while (pooledWindows.size() < count && !disposed) {
+            pooledWindows.push(createWindow());
         }
     }
 
+    /**
+     * Tops the pool up to its size, one window per FX event so idle time is
+     * used without stalling input handling. Does nothing until windows have
+     * been used.
+     */
+    private void schedulePrewarm() {
+        if (!used || prewarmScheduled || disposed || pooledWindows.size() >= poolSize) {
+            return;
+        }
+        prewarmScheduled = true;
+        Platform.runLater(() -> {
+            prewarmScheduled = false;
+            if (!disposed && pooledWindows.size() < poolSize) {
+                pooledWindows.push(createWindow());
+                schedulePrewarm();
+            }
+        });
+    }
+
+    /**
+     * Gets the number of hidden windows kept ready for reuse.
+     *
+     * @return pool size
+     */
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    /**
+     * Sets the number of hidden windows kept ready for reuse. Zero disables
+     * pooling; surplus pooled windows are closed.
+     *
+     * @param poolSize pool size, not negative
+     */
+    public void setPoolSize(int poolSize) {
+        if (poolSize < 0) {
+            throw new IllegalArgumentException("poolSize must not be negative: " + poolSize);
+        }
+        this.poolSize = poolSize;
+        while (pooledWindows.size() > poolSize) {
+            closePooled(pooledWindows.pop());
+        }
+        schedulePrewarm();
+    }
+
+    /**
+     * Gets the number of hidden windows currently pooled.
+     *
+     * @return pooled window count
+     */
+    public int getPooledCount() {
+        return pooledWindows.size();
+    }
+
+    private void closePooled(FloatingDockWindow window) {
+        window.getTabGroup().dispose();
+        window.close();
+    }
+
     /**
      * Gets the floating window for a leaf.
      *
@@ -226,6 +348,26 @@ public class FloatingWindowManager {
         this.onClose = handler;
     }
 
+    /**
+     * Sets the handler called once a leaf has been placed in a floating
+     * window, after the window is registered for that leaf.
+     *
+     * @param handler window attach callback
+     */
+    public void setOnWindowAttached(Consumer<FloatingDockWindow> handler) {
+        this.onWindowAttached = handler;
+    }
+
+    /**
+     * Sets the handler called when a floating window gives up its leaf, just
+     * before the leaf is removed from the window's tab group.
+     *
+     * @param handler window release callback
+     */
+    public void setOnWindowReleased(Consumer<FloatingDockWindow> handler) {
+        this.onWindowReleased = handler;
+    }
+
     /**
      * Closes all floating windows.
      */
@@ -235,15 +377,7 @@ public class FloatingWindowManager {
             if (bounds != null) {
                 positionMemory.put(window.getLeafId(), bounds);
             }
-            DockTabGroup tabGroup = window.getTabGroup();
-            DockLeaf leaf = window.getLeaf();
-            if (tabGroup != null && leaf != null) {
-                tabGroup.removeLeaf(leaf);
-                if (tabGroup.getTabs().isEmpty()) {
-                    tabGroup.dispose();
-                }
-            }
-            window.close();
+            release(window, window.getLeaf());
         }
         floatingWindows.clear();
     }
@@ -252,7 +386,11 @@ public class FloatingWindowManager {
      * Disposes of the manager and closes all windows.
      */
     public void dispose() {
+        disposed = true;
         closeAll();
+        while (!pooledWindows.isEmpty()) {
+            closePooled(pooledWindows.pop());
+        }
         positionMemory.clear();
     }
 }
@@ -0,0 +1,137 @@
+package org.metalib.papifly.fx.docks.layout;
+
+import javafx.animation.AnimationTimer;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background queue that hydrates deferred leaf content after a restore.
+ * <p>
+ * Leaves are hydrated on the FX application thread a few at a time, within a
+ * small per-frame time budget and only after a start delay, so the restored
+ * workspace paints first and hidden tabs are warmed up without a visible
+ * stall. Leaves that were already hydrated (for example because their tab was
+ * activated) or disposed are skipped. Must be used on the FX application thread.
+ */
+public final class ContentPrewarmQueue {
+
+    private static final Logger LOG = Logger.getLogger(ContentPrewarmQueue.class.getName());
+
+    /**
+     * Default delay between the last enqueue and the first hydration.
+     */
+    public static final long DEFAULT_START_DELAY_NANOS = 250_000_000L;
+
+    /**
+     * Default time budget spent hydrating leaves per frame.
+     */
+    public static final long DEFAULT_FRAME_BUDGET_NANOS = 4_000_000L;
+
+    private final Deque<DockLeaf> pending = new ArrayDeque<>();
+    private final long startDelayNanos;
+    private final long frameBudgetNanos;
+    private final AnimationTimer timer;
+    private long lastEnqueueNanos;
+    private boolean running;
+
+    /**
+     * Creates a queue with the default start delay and frame budget.
+     */
+    public ContentPrewarmQueue() {
+        this(DEFAULT_START_DELAY_NANOS, DEFAULT_FRAME_BUDGET_NANOS);
+    }
+
+    /**
+     * Creates a queue with explicit timing.
+     *
+     * @param startDelayNanos delay after the last enqueue before hydration starts
+     * @param frameBudgetNanos time spent hydrating per frame; at least one leaf is hydrated per frame
+     */
+    public ContentPrewarmQueue(long startDelayNanos, long frameBudgetNanos) {
+        this.startDelayNanos = Math.max(0L, startDelayNanos);
+        this.frameBudgetNanos = Math.max(0L, frameBudgetNanos);
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                if (now - lastEnqueueNanos >= ContentPrewarmQueue.this.startDelayNanos) {
+                    drain(ContentPrewarmQueue.this.frameBudgetNanos);
+                }
+            }
+        };
+    }
+
+    /**
+     * Schedules a leaf for background hydration.
+     *
+     * @param leaf leaf with deferred content; ignored when nothing is deferred
+     */
+    public void enqueue(DockLeaf leaf) {
+        if (leaf == null || !leaf.isContentDeferred()) {
+            return;
+        }
+        pending.addLast(leaf);
+        lastEnqueueNanos = System.nanoTime();
+        if (!running) {
+            running = true;
+            timer.start();
+        }
+    }
+
+    /**
+     * Drops all pending leaves without hydrating them.
+     */
+    public void clear() {
+        pending.clear();
+        stop();
+    }
+
+    /**
+     * Returns the number of leaves still waiting for hydration.
+     *
+     * @return pending leaf count
+     */
+    public int size() {
+        return pending.size();
+    }
+
+    /**
+     * Hydrates pending leaves until the budget is spent or the queue is empty.
+     *
+     * @param budgetNanos time budget; at least one pending leaf is hydrated
+     * @return number of leaves hydrated
+     */
+    int drain(long budgetNanos) {
+        long start = System.nanoTime();
+        int hydrated = 0;
+        while (!pending.isEmpty()) {
+            DockLeaf leaf = pending.pollFirst();
+            if (!leaf.isContentDeferred()) {
+                continue;
+            }
+            try {
+                leaf.hydrate();
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Deferred content hydration failed for leaf " + leaf.getMetadata().id(), e);
+            }
+            hydrated++;
+            if (System.nanoTime() - start >= budgetNanos) {
+                break;
+            }
+        }
+        if (pending.isEmpty()) {
+            stop();
+        }
+        return hydrated;
+    }
+
+    private void stop() {
+        if (running) {
+            running = false;
+            timer.stop();
+        }
+    }
+}
@@ -18,12 +18,22 @@ import org.metalib.papifly.fx.docks.layout.data.LeafData;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * Factory for building DockElement trees from layout DTOs.
  * Recursively traverses the data model to instantiate concrete structural nodes.
+ * <p>
+ * Content of inactive tabs is deferred by default: such leaves keep their
+ * {@link LeafContentData} and create their content when the tab is first shown,
+ * so restore time scales with the number of visible tabs.
+ * <p>
+ * Builds given a {@link LeafReconciler} reuse matching live leaves, so content
+ * that is already open is moved into the new structure rather than recreated.
  */
 public class LayoutFactory {
 
@@ -33,6 +43,8 @@ public class LayoutFactory {
     private ContentFactory contentFactory;
     private ContentStateRegistry contentStateRegistry;
     private PlaceholderFactory placeholderFactory;
+    private boolean deferInactiveTabs = true;
+    private ContentPrewarmQueue prewarmQueue;
 
     /**
      * Creates a LayoutFactory with the given theme property and content factory.
@@ -98,6 +110,43 @@ public class LayoutFactory {
         this.placeholderFactory = placeholderFactory;
     }
 
+    /**
+     * Enables or disables deferred content creation for inactive tabs. Session
+     * restore applies the same setting to minimized and floating leaves.
+     *
+     * @param deferInactiveTabs {@code true} to create inactive tab content on first activation
+     */
+    public void setDeferInactiveTabs(boolean deferInactiveTabs) {
+        this.deferInactiveTabs = deferInactiveTabs;
+    }
+
+    /**
+     * Returns whether content creation for inactive tabs is deferred.
+     *
+     * @return {@code true} when inactive tab content is created on first activation
+     */
+    public boolean isDeferInactiveTabs() {
+        return deferInactiveTabs;
+    }
+
+    /**
+     * Sets the queue that hydrates deferred leaves in the background after a build.
+     *
+     * @param prewarmQueue prewarm queue, or {@code null} to hydrate only on activation
+     */
+    public void setPrewarmQueue(ContentPrewarmQueue prewarmQueue) {
+        this.prewarmQueue = prewarmQueue;
+    }
+
+    /**
+     * Gets the queue that hydrates deferred leaves in the background.
+     *
+     * @return prewarm queue, or {@code null} when background hydration is disabled
+     */
+    public ContentPrewarmQueue getPrewarmQueue() {
+        return prewarmQueue;
+    }
+
     /**
      * Gets the content state registry used to restore content.
      *
@@ -114,23 +163,34 @@ public class LayoutFactory {
      * @return constructed dock element tree
      */
     public DockElement build(LayoutNode node) {
+        return build(node, null);
+    }
+
+    /**
+     * Builds a DockElement tree, reusing live leaves claimed from {@code reconciler}.
+     *
+     * @param node layout node to build
+     * @param reconciler live leaves available for reuse, or {@code null} to build every leaf
+     * @return constructed dock element tree
+     */
+    public DockElement build(LayoutNode node, LeafReconciler reconciler) {
         if (node == null) {
             return null;
         }
         return node.accept(new LayoutNodeVisitor<>() {
             @Override
             public DockElement visitLeaf(LeafData leaf) {
-                return buildSingleTabGroup(leaf);
+                return buildSingleTabGroup(leaf, reconciler);
             }
 
             @Override
             public DockElement visitSplit(SplitData split) {
-                return buildSplit(split);
+                return buildSplit(split, reconciler);
             }
 
             @Override
             public DockElement visitTabGroup(TabGroupData tabGroup) {
-                return buildTabGroup(tabGroup);
+                return buildTabGroup(tabGroup, reconciler);
             }
         });
     }
@@ -143,12 +203,64 @@ public class LayoutFactory {
      * @return reconstructed dock leaf
      */
     public DockLeaf buildLeaf(LeafData data) {
+        DockLeaf leaf = createLeafShell(data);
+        Node content = createContent(data, leaf.getContentData());
+        if (content != null) {
+            leaf.content(content);
+        }
+        return leaf;
+    }
+
+    /**
+     * Builds a DockLeaf from LeafData, reusing a live leaf claimed from
+     * {@code reconciler} when one matches.
+     *
+     * @param data serialized leaf data
+     * @param reconciler live leaves available for reuse, or {@code null}
+     * @return reused or reconstructed dock leaf
+     */
+    public DockLeaf buildLeaf(LeafData data, LeafReconciler reconciler) {
+        DockLeaf claimed = reconciler != null ? reconciler.claim(data) : null;
+        return claimed != null ? claimed : buildLeaf(data);
+    }
+
+    /**
+     * Builds a DockLeaf from LeafData without creating its content.
+     * The content is restored on first {@link DockLeaf#hydrate()}, typically
+     * when the leaf's tab becomes active.
+     *
+     * @param data serialized leaf data
+     * @return dock leaf with deferred content
+     */
+    public DockLeaf buildDeferredLeaf(LeafData data) {
+        DockLeaf leaf = createLeafShell(data);
+        LeafContentData contentData = leaf.getContentData();
+        leaf.deferContent(() -> createContent(data, contentData));
+        return leaf;
+    }
+
+    /**
+     * Builds a DockLeaf from LeafData without creating its content, reusing a
+     * live leaf claimed from {@code reconciler} when one matches.
+     *
+     * @param data serialized leaf data
+     * @param reconciler live leaves available for reuse, or {@code null}
+     * @return reused leaf, or dock leaf with deferred content
+     */
+    public DockLeaf buildDeferredLeaf(LeafData data, LeafReconciler reconciler) {
+        DockLeaf claimed = reconciler != null ? reconciler.claim(data) : null;
+        return claimed != null ? claimed : buildDeferredLeaf(data);
+    }
+
+    private DockLeaf createLeafShell(LeafData data) {
         DockData metadata = DockData.of(data.id(), data.title());
         DockLeaf leaf = new DockLeaf(metadata);
         leaf.setContentFactoryId(data.contentFactoryId());
-        LeafContentData contentData = normalizeContentData(data);
-        leaf.setContentData(contentData);
+        leaf.setContentData(normalizeContentData(data));
+        return leaf;
+    }
 
+    private Node createContent(LeafData data, LeafContentData contentData) {
         Node content = null;
         if (contentData != null && contentStateRegistry != null) {
             ContentStateAdapter adapter = contentStateRegistry.getAdapter(contentData.typeKey());
@@ -173,12 +285,7 @@ public class LayoutFactory {
         if (content == null) {
             content = placeholderFactory.createPlaceholder(data, contentData);
         }
-
-        if (content != null) {
-            leaf.content(content);
-        }
-
-        return leaf;
+        return content;
     }
 
     private LeafContentData normalizeContentData(LeafData data) {
@@ -197,42 +304,59 @@ public class LayoutFactory {
         return contentData;
     }
 
-    private DockTabGroup buildSingleTabGroup(LeafData data) {
+    private DockTabGroup buildSingleTabGroup(LeafData data, LeafReconciler reconciler) {
         DockTabGroup tabGroup = new DockTabGroup(themeProperty);
-        tabGroup.addLeaf(buildLeaf(data));
+        tabGroup.addLeaf(buildLeaf(data, reconciler));
         return tabGroup;
     }
 
-    private DockSplitGroup buildSplit(SplitData data) {
+    private DockSplitGroup buildSplit(SplitData data, LeafReconciler reconciler) {
+        // Nested splits of the same orientation (e.g. binary chains from older sessions) become one split
+        SplitData flat = data.normalized();
         DockSplitGroup split = new DockSplitGroup(
-            data.id(),
-            data.orientation(),
-            data.dividerPosition(),
+            flat.id(),
+            flat.orientation(),
+            flat.dividerPositions(),
             themeProperty
         );
 
-        if (data.first() != null) {
-            split.setFirst(build(data.first()));
-        }
-        if (data.second() != null) {
-            split.setSecond(build(data.second()));
+        List<LayoutNode> children = flat.children();
+        for (int i = 0; i < children.size(); i++) {
+            if (children.get(i) != null) {
+                split.setChild(i, build(children.get(i), reconciler));
+            }
         }
 
         return split;
     }
 
-    private DockTabGroup buildTabGroup(TabGroupData data) {
+    private DockTabGroup buildTabGroup(TabGroupData data, LeafReconciler reconciler) {
         DockTabGroup tabGroup = new DockTabGroup(data.id(), themeProperty);
-
-        for (LeafData leafData : data.tabs()) {
-            DockLeaf leaf = buildLeaf(leafData);
-            tabGroup.addLeaf(leaf);
+        List<LeafData> tabs = data.tabs();
+        if (tabs.isEmpty()) {
+            return tabGroup;
         }
 
-        if (data.activeTabIndex() >= 0 && data.activeTabIndex() < data.tabs().size()) {
-            tabGroup.setActiveTab(data.activeTabIndex());
+        // Without a valid active index the last tab stays active, as with sequential addLeaf calls
+        int activeIndex = data.activeTabIndex() >= 0 && data.activeTabIndex() < tabs.size()
+            ? data.activeTabIndex()
+            : tabs.size() - 1;
+        List<DockLeaf> leaves = new ArrayList<>(tabs.size());
+        for (int i = 0; i < tabs.size(); i++) {
+            LeafData leafData = tabs.get(i);
+            DockLeaf leaf = reconciler != null ? reconciler.claim(leafData) : null;
+            if (leaf == null) {
+                leaf = deferInactiveTabs && i != activeIndex ? buildDeferredLeaf(leafData) : buildLeaf(leafData);
+            }
+            leaves.add(leaf);
         }
+        tabGroup.addLeaves(leaves, activeIndex);
 
+        if (prewarmQueue != null) {
+            for (DockLeaf leaf : leaves) {
+                prewarmQueue.enqueue(leaf);
+            }
+        }
         return tabGroup;
     }
 
@@ -303,6 +427,29 @@ public class LayoutFactory {
         return split;
     }
 
+    /**
+     * Creates a split group laying out any number of children side by side.
+     *
+     * @param orientation split orientation
+     * @param children child elements in layout order, at least two
+     * @param dividerPositions cumulative divider position ratios, one fewer than the children
+     * @return split group
+     */
+    public DockSplitGroup createSplit(Orientation orientation, List<? extends DockElement> children, double... dividerPositions) {
+        if (children.size() < 2 || dividerPositions.length != children.size() - 1) {
+            throw new IllegalArgumentException("A split needs at least two children and one divider position between each pair");
+        }
+        List<Double> positions = new ArrayList<>(dividerPositions.length);
+        for (double position : dividerPositions) {
+            positions.add(position);
+        }
+        DockSplitGroup split = new DockSplitGroup(UUID.randomUUID().toString(), orientation, positions, themeProperty);
+        for (int i = 0; i < children.size(); i++) {
+            split.setChild(i, children.get(i));
+        }
+        return split;
+    }
+
     /**
      * Creates a tab group with the given leaves.
      *
@@ -0,0 +1,106 @@
+package org.metalib.papifly.fx.docks.layout;
+
+import org.metalib.papifly.fx.docking.api.LeafContentData;
+import org.metalib.papifly.fx.docks.core.DockData;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.layout.data.LeafData;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Pool of live leaves that a {@link LayoutFactory} build may reuse instead of
+ * creating new ones.
+ * <p>
+ * A leaf is claimed by the first {@link LeafData} with the same id whose
+ * content is the same: equal content factory id and, when both sides carry
+ * {@link LeafContentData}, equal type key and content id. A claimed leaf keeps
+ * its content node and live content state; only its title and docking state are
+ * reset from the layout data. Leaves that are never claimed are returned by
+ * {@link #unclaimed()} so the caller can dispose them.
+ */
+public final class LeafReconciler {
+
+    private final Map<String, DockLeaf> available = new HashMap<>();
+    private final List<DockLeaf> offered = new ArrayList<>();
+    private final Set<DockLeaf> claimed = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    /**
+     * Offers a detached leaf for reuse. Only the first leaf offered for an id
+     * can be claimed.
+     *
+     * @param leaf live leaf, detached from any tab group
+     */
+    public void offer(DockLeaf leaf) {
+        if (leaf == null) {
+            return;
+        }
+        offered.add(leaf);
+        available.putIfAbsent(leaf.getMetadata().id(), leaf);
+    }
+
+    /**
+     * Claims the live leaf matching {@code data}, if any.
+     *
+     * @param data layout data of the leaf to build
+     * @return reusable leaf with refreshed metadata, or {@code null} when a new leaf must be built
+     */
+    public DockLeaf claim(LeafData data) {
+        if (data == null || data.id() == null) {
+            return null;
+        }
+        DockLeaf leaf = available.get(data.id());
+        if (leaf == null || !sameContent(leaf, data)) {
+            return null;
+        }
+        available.remove(data.id());
+        claimed.add(leaf);
+        DockData current = leaf.getMetadata();
+        leaf.metadataProperty().set(DockData.of(data.id(), data.title(), current.icon()));
+        return leaf;
+    }
+
+    /**
+     * Returns the number of leaves claimed so far.
+     *
+     * @return reused leaf count
+     */
+    public int claimedCount() {
+        return claimed.size();
+    }
+
+    /**
+     * Returns the offered leaves that were not claimed.
+     *
+     * @return unclaimed leaves in offer order
+     */
+    public List<DockLeaf> unclaimed() {
+        List<DockLeaf> result = new ArrayList<>();
+        for (DockLeaf leaf : offered) {
+            if (!claimed.contains(leaf)) {
+                result.add(leaf);
+            }
+        }
+        return result;
+    }
+
+    private static boolean sameContent(DockLeaf leaf, LeafData data) {
+        if (!Objects.equals(leaf.getContentFactoryId(), data.contentFactoryId())) {
+            return false;
+        }
+        LeafContentData live = leaf.getContentData();
+        LeafContentData saved = data.content();
+        if (live == null || saved == null) {
+            return true;
+        }
+        String savedTypeKey = saved.typeKey() != null ? saved.typeKey() : data.contentFactoryId();
+        return Objects.equals(live.typeKey(), savedTypeKey)
+            && Objects.equals(live.contentId(), saved.contentId());
+    }
+}
@@ -27,7 +27,10 @@ public record DockSessionData(
     MaximizedLeafData maximized,
     Map<String, Map<String, Object>> extensions
 ) {
-    public static final int CURRENT_VERSION = 3;
+    /**
+     * Current session schema version. Version 4 adds splits with more than two children.
+     */
+    public static final int CURRENT_VERSION = 4;
 
     public DockSessionData {
         floating = List.copyOf(Objects.requireNonNullElse(floating, List.<FloatingLeafData>of()));
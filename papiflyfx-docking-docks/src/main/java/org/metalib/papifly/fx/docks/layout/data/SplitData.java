@@ -2,28 +2,151 @@ package org.metalib.papifly.fx.docks.layout.data;
 
 import javafx.geometry.Orientation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 /**
  * DTO representing a split container in the layout.
+ * <p>
+ * A split lays out two or more children along its orientation. Divider
+ * positions are cumulative ratios: child {@code i} spans from divider
+ * {@code i - 1} (or {@code 0.0}) to divider {@code i} (or {@code 1.0}).
+ * A binary split has a single divider, exposed by {@link #dividerPosition()}.
  *
  * @param id split identifier
  * @param orientation split orientation
- * @param dividerPosition divider position ratio between first and second child
- * @param first first child layout node
- * @param second second child layout node
+ * @param children child layout nodes in layout order; entries may be {@code null} for empty slots
+ * @param dividerPositions cumulative divider position ratios, one fewer than the children
  */
 public record SplitData(
     String id,
     Orientation orientation,
-    double dividerPosition,
-    LayoutNode first,
-    LayoutNode second
+    List<LayoutNode> children,
+    List<Double> dividerPositions
 ) implements LayoutNode {
 
+    public SplitData {
+        if (children == null || children.size() < 2) {
+            throw new IllegalArgumentException("Split " + id + " needs at least two children");
+        }
+        if (dividerPositions == null || dividerPositions.size() != children.size() - 1) {
+            throw new IllegalArgumentException("Split " + id + " needs " + (children.size() - 1) + " divider positions");
+        }
+        children = Collections.unmodifiableList(new ArrayList<>(children));
+        dividerPositions = List.copyOf(dividerPositions);
+    }
+
+    /**
+     * Creates a binary split.
+     *
+     * @param id split identifier
+     * @param orientation split orientation
+     * @param dividerPosition divider position ratio between first and second child
+     * @param first first child layout node
+     * @param second second child layout node
+     */
+    public SplitData(String id, Orientation orientation, double dividerPosition, LayoutNode first, LayoutNode second) {
+        this(id, orientation, Arrays.asList(first, second), List.of(dividerPosition));
+    }
+
     @Override
     public <T> T accept(LayoutNodeVisitor<T> visitor) {
         return visitor.visitSplit(this);
     }
 
+    /**
+     * Gets the first (left or top) child.
+     *
+     * @return first child layout node
+     */
+    public LayoutNode first() {
+        return children.getFirst();
+    }
+
+    /**
+     * Gets the last (right or bottom) child, which is the second child of a binary split.
+     *
+     * @return last child layout node
+     */
+    public LayoutNode second() {
+        return children.getLast();
+    }
+
+    /**
+     * Gets the first divider position, which is the only one of a binary split.
+     *
+     * @return first divider position ratio
+     */
+    public double dividerPosition() {
+        return dividerPositions.getFirst();
+    }
+
+    /**
+     * Checks whether this split has exactly two children.
+     *
+     * @return {@code true} for a binary split
+     */
+    public boolean isBinary() {
+        return children.size() == 2;
+    }
+
+    /**
+     * Returns this split with every nested split of the same orientation
+     * inlined, so that e.g. a row of panels is a single split rather than a
+     * chain of binary ones. Divider positions of inlined splits are scaled
+     * into the span their split occupied. Splits of the other orientation are
+     * left untouched.
+     *
+     * @return normalized split, or {@code this} when nothing was nested
+     */
+    public SplitData normalized() {
+        boolean nested = false;
+        for (LayoutNode child : children) {
+            if (child instanceof SplitData split && split.orientation() == orientation) {
+                nested = true;
+                break;
+            }
+        }
+        if (!nested) {
+            return this;
+        }
+        List<LayoutNode> flatChildren = new ArrayList<>();
+        List<Double> flatPositions = new ArrayList<>();
+        for (int i = 0; i < children.size(); i++) {
+            double start = i == 0 ? 0.0 : dividerPositions.get(i - 1);
+            double end = i == children.size() - 1 ? 1.0 : dividerPositions.get(i);
+            if (i > 0) {
+                flatPositions.add(start);
+            }
+            if (children.get(i) instanceof SplitData split && split.orientation() == orientation) {
+                SplitData inner = split.normalized();
+                flatChildren.addAll(inner.children());
+                for (double position : inner.dividerPositions()) {
+                    flatPositions.add(start + position * (end - start));
+                }
+            } else {
+                flatChildren.add(children.get(i));
+            }
+        }
+        return new SplitData(id, orientation, flatChildren, flatPositions);
+    }
+
+    /**
+     * Creates a split from any number of children, inlining nested splits of
+     * the same orientation.
+     *
+     * @param id split identifier
+     * @param orientation split orientation
+     * @param children child layout nodes in layout order
+     * @param dividerPositions cumulative divider position ratios
+     * @return normalized split data
+     */
+    public static SplitData of(String id, Orientation orientation, List<LayoutNode> children, List<Double> dividerPositions) {
+        return new SplitData(id, orientation, children, dividerPositions).normalized();
+    }
+
     /**
      * Creates a horizontal split with default divider position.
      *
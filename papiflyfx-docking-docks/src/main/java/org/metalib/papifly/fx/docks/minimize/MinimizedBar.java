@@ -9,9 +9,6 @@ import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.control.Tooltip;
-import javafx.scene.layout.Background;
-import javafx.scene.layout.BackgroundFill;
-import javafx.scene.layout.CornerRadii;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.paint.Color;
@@ -19,6 +16,7 @@ import javafx.scene.shape.SVGPath;
 import javafx.util.Duration;
 import org.metalib.papifly.fx.docks.core.DockData;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 import org.metalib.papifly.fx.docking.api.Theme;
 
 import java.util.HashMap;
@@ -83,9 +81,7 @@ public class MinimizedBar extends StackPane {
         setMinHeight(height);
         setMaxHeight(height);
 
-        String bgColor = toHexString(theme.minimizedBarBackground());
-        setStyle("-fx-background-color: " + bgColor + ";");
-        scrollPane.setStyle("-fx-background: " + bgColor + "; -fx-background-color: " + bgColor + ";");
+        setBackground(DockThemeStyles.of(theme).minimizedBarBackground());
 
         // Update existing items
         for (HBox item : leafItems.values()) {
@@ -93,16 +89,6 @@ public class MinimizedBar extends StackPane {
         }
     }
 
-    private String toHexString(javafx.scene.paint.Paint paint) {
-        if (paint instanceof Color color) {
-            return String.format("#%02X%02X%02X",
-                (int) (color.getRed() * 255),
-                (int) (color.getGreen() * 255),
-                (int) (color.getBlue() * 255));
-        }
-        return "#282828";
-    }
-
     /**
      * Adds a minimized leaf to the bar.
      *
@@ -196,11 +182,7 @@ public class MinimizedBar extends StackPane {
         item.setOnMouseEntered(e -> {
             Theme theme = themeProperty.get();
             if (theme != null) {
-                item.setBackground(new Background(new BackgroundFill(
-                    theme.buttonHoverBackground(),
-                    new CornerRadii(theme.cornerRadius()),
-                    Insets.EMPTY
-                )));
+                item.setBackground(DockThemeStyles.of(theme).minimizedItemHoverBackground());
             }
         });
 
@@ -221,11 +203,7 @@ public class MinimizedBar extends StackPane {
     private void applyItemStyle(HBox item, Theme theme) {
         if (theme == null) return;
 
-        item.setBackground(new Background(new BackgroundFill(
-            theme.headerBackground(),
-            new CornerRadii(theme.cornerRadius()),
-            Insets.EMPTY
-        )));
+        item.setBackground(DockThemeStyles.of(theme).minimizedItemBackground());
 
         // Style label
         for (Node child : item.getChildren()) {
@@ -174,18 +174,7 @@ public class MinimizedStore {
 
                     @Override
                     public RestoreHint visitSplitGroup(DockSplitGroup splitGroup) {
-                        boolean isFirst = splitGroup.getFirst() == parent;
-                        DropZone zone = splitGroup.getOrientation() == javafx.geometry.Orientation.HORIZONTAL
-                            ? (isFirst ? DropZone.WEST : DropZone.EAST)
-                            : (isFirst ? DropZone.NORTH : DropZone.SOUTH);
-                        DockElement sibling = isFirst ? splitGroup.getSecond() : splitGroup.getFirst();
-                        String siblingId = sibling != null ? sibling.getMetadata().id() : null;
-                        return RestoreHint.forSplit(
-                            splitGroup.getMetadata().id(),
-                            zone,
-                            splitGroup.getDividerPosition(),
-                            siblingId
-                        );
+                        return captureSplitRestoreHint(splitGroup, parent);
                     }
                 });
                 if (splitHint != null) {
@@ -199,6 +188,37 @@ public class MinimizedStore {
         return RestoreHint.defaultRestore();
     }
 
+    /**
+     * Captures where a tab group sits in its split: the neighbour it is
+     * restored next to and the divider position between the two of them.
+     */
+    private static RestoreHint captureSplitRestoreHint(DockSplitGroup splitGroup, DockTabGroup group) {
+        boolean isFirst;
+        DockElement sibling;
+        double splitPosition;
+        if (splitGroup.getSlotCount() == 2) {
+            isFirst = splitGroup.getFirst() == group;
+            sibling = isFirst ? splitGroup.getSecond() : splitGroup.getFirst();
+            splitPosition = splitGroup.getDividerPosition();
+        } else {
+            // Wider splits have no empty slots, so child and divider indexes line up
+            List<DockElement> children = splitGroup.getChildren();
+            int index = children.indexOf(group);
+            isFirst = index < children.size() - 1;
+            int pairStart = isFirst ? index : index - 1;
+            sibling = children.get(isFirst ? index + 1 : index - 1);
+            double[] positions = splitGroup.getDividerPositions();
+            double start = pairStart == 0 ? 0.0 : positions[pairStart - 1];
+            double end = pairStart + 1 == positions.length ? 1.0 : positions[pairStart + 1];
+            splitPosition = end > start ? (positions[pairStart] - start) / (end - start) : 0.5;
+        }
+        DropZone zone = splitGroup.getOrientation() == javafx.geometry.Orientation.HORIZONTAL
+            ? (isFirst ? DropZone.WEST : DropZone.EAST)
+            : (isFirst ? DropZone.NORTH : DropZone.SOUTH);
+        String siblingId = sibling != null ? sibling.getMetadata().id() : null;
+        return RestoreHint.forSplit(splitGroup.getMetadata().id(), zone, splitPosition, siblingId);
+    }
+
     /**
      * Sets the handler called when a leaf is added.
      *
@@ -5,6 +5,7 @@ import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import org.metalib.papifly.fx.docks.drag.DropZone;
@@ -27,7 +28,14 @@ public class OverlayCanvas extends Canvas {
     // Tab bar indicator color (highlight strip)
     private Paint tabBarIndicatorColor = Color.rgb(76, 175, 80, 0.9);
 
+    // Offset of the drag preview from the cursor, so the cursor stays visible
+    private static final double DRAG_PREVIEW_OFFSET = 12.0;
+    private static final double DRAG_PREVIEW_OPACITY = 0.7;
+
     private HitTestResult currentHitResult;
+    private Image dragPreview;
+    private double dragPreviewX;
+    private double dragPreviewY;
 
     /**
      * Creates an overlay canvas for drop hints.
@@ -128,12 +136,87 @@ public class OverlayCanvas extends Canvas {
             return; // Already clear, skip redraw
         }
         currentHitResult = null;
-        clear();
+        redraw();
+    }
+
+    /**
+     * Shows a drag preview image next to the cursor.
+     * The image is drawn as is, so callers should pass an already scaled snapshot.
+     *
+     * @param image preview image
+     * @param sceneX cursor x in scene coordinates
+     * @param sceneY cursor y in scene coordinates
+     */
+    public void showDragPreview(Image image, double sceneX, double sceneY) {
+        if (image == null) {
+            clearDragPreview();
+            return;
+        }
+        dragPreview = image;
+        moveDragPreview(sceneX, sceneY);
+    }
+
+    /**
+     * Moves the drag preview to follow the cursor.
+     * Does nothing when no preview is shown.
+     *
+     * @param sceneX cursor x in scene coordinates
+     * @param sceneY cursor y in scene coordinates
+     */
+    public void moveDragPreview(double sceneX, double sceneY) {
+        if (dragPreview == null || getScene() == null || !isFinite(sceneX) || !isFinite(sceneY)) {
+            return;
+        }
+        Point2D local = sceneToLocal(sceneX, sceneY);
+        if (local == null || !isFinite(local.getX()) || !isFinite(local.getY())) {
+            return;
+        }
+        dragPreviewX = local.getX() + DRAG_PREVIEW_OFFSET;
+        dragPreviewY = local.getY() + DRAG_PREVIEW_OFFSET;
+        redraw();
+    }
+
+    /**
+     * Clears the drag preview.
+     */
+    public void clearDragPreview() {
+        if (dragPreview == null) {
+            return;
+        }
+        dragPreview = null;
+        redraw();
+    }
+
+    /**
+     * Gets the drag preview image currently shown.
+     *
+     * @return preview image, or {@code null} when no preview is shown
+     */
+    public Image getDragPreview() {
+        return dragPreview;
     }
 
     private void redraw() {
         clear();
+        drawDropHint();
+        drawDragPreview();
+    }
+
+    private void drawDragPreview() {
+        if (dragPreview == null) {
+            return;
+        }
+        GraphicsContext gc = getGraphicsContext2D();
+        gc.save();
+        gc.setGlobalAlpha(DRAG_PREVIEW_OPACITY);
+        gc.drawImage(dragPreview, dragPreviewX, dragPreviewY);
+        gc.restore();
+        gc.setStroke(splitHintBorderColor);
+        gc.setLineWidth(1);
+        gc.strokeRect(dragPreviewX + 0.5, dragPreviewY + 0.5, dragPreview.getWidth() - 1, dragPreview.getHeight() - 1);
+    }
 
+    private void drawDropHint() {
         if (currentHitResult == null || currentHitResult.zoneBounds() == null || currentHitResult.zone() == null) return;
 
         DropZone zone = currentHitResult.zone();
@@ -332,7 +415,7 @@ public class OverlayCanvas extends Canvas {
     public void resize(double width, double height) {
         setWidth(width);
         setHeight(height);
-        if (currentHitResult != null) {
+        if (currentHitResult != null || dragPreview != null) {
             redraw();
         }
     }
@@ -34,6 +34,7 @@ import org.metalib.papifly.fx.docking.api.Theme;
 import org.metalib.papifly.fx.docks.layout.data.RibbonSessionData;
 import org.metalib.papifly.fx.ui.UiStyleSupport;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -488,40 +489,50 @@ public class Ribbon extends VBox {
             return;
         }
 
-        double totalExtent = estimatedTotalExtent(groups, orientation);
-        while (totalExtent > availableExtent) {
-            RibbonGroup next = nextGroupToShrink(groups);
-            if (next == null) {
-                break;
+        long startNanos = System.nanoTime();
+        // Solve every group's final mode arithmetically, then render only the
+        // groups whose mode changed, so intermediate modes are never built.
+        RibbonGroupSizeMode[] sizeModes = RibbonGroupSizeMode.values();
+        int count = groups.size();
+        double[][] extents = new double[count][sizeModes.length];
+        int[] currentModes = new int[count];
+        for (int index = 0; index < count; index++) {
+            RibbonGroup group = groups.get(index);
+            for (RibbonGroupSizeMode mode : sizeModes) {
+                extents[index][mode.ordinal()] = group.estimateExtent(mode, orientation);
             }
-            next.setSizeMode(next.getSizeMode().smaller());
-            totalExtent = estimatedTotalExtent(groups, orientation);
+            currentModes[index] = group.getSizeMode().ordinal();
         }
-
-        while (totalExtent < availableExtent) {
-            RibbonGroup next = nextGroupToGrow(groups);
-            if (next == null) {
-                break;
-            }
-            RibbonGroupSizeMode expandedMode = next.getSizeMode().larger();
-            double candidateExtent = totalExtent
-                - next.estimateExtent(next.getSizeMode(), orientation)
-                + next.estimateExtent(expandedMode, orientation);
-            if (candidateExtent > availableExtent) {
-                break;
+        double gap = orientation == Orientation.VERTICAL ? groupRow.getVgap() : groupRow.getHgap();
+        int[] targetModes = RibbonAdaptiveLayoutSolver.solve(
+            extents,
+            currentModes,
+            Math.max(0, count - 1) * gap,
+            availableExtent,
+            orderOf(groups, collapseOrderComparator),
+            orderOf(groups, restoreOrderComparator)
+        );
+        int changedGroups = 0;
+        for (int index = 0; index < count; index++) {
+            if (targetModes[index] != currentModes[index]) {
+                groups.get(index).setSizeMode(sizeModes[targetModes[index]]);
+                changedGroups++;
             }
-            next.setSizeMode(expandedMode);
-            totalExtent = candidateExtent;
         }
+        layoutTelemetry.layoutPass(System.nanoTime() - startNanos, changedGroups);
     }
 
-    private double estimatedTotalExtent(List<RibbonGroup> groups, Orientation orientation) {
-        double extents = groups.stream()
-            .mapToDouble(group -> group.estimateExtent(group.getSizeMode(), orientation))
-            .sum();
-        double gap = orientation == Orientation.VERTICAL ? groupRow.getVgap() : groupRow.getHgap();
-        double spacing = Math.max(0, groups.size() - 1) * gap;
-        return extents + spacing;
+    private static int[] orderOf(List<RibbonGroup> groups, Comparator<RibbonGroup> comparator) {
+        Integer[] order = new Integer[groups.size()];
+        for (int index = 0; index < order.length; index++) {
+            order[index] = index;
+        }
+        Arrays.sort(order, (left, right) -> comparator.compare(groups.get(left), groups.get(right)));
+        int[] result = new int[order.length];
+        for (int index = 0; index < order.length; index++) {
+            result[index] = order[index];
+        }
+        return result;
     }
 
     private GroupResolution resolveGroup(String tabId, RibbonGroupSpec groupSpec) {
@@ -782,22 +793,6 @@ public class Ribbon extends VBox {
         sidePopoverPane.setStyle(RibbonThemeSupport.themeVariables(theme.get()));
     }
 
-    private RibbonGroup nextGroupToShrink(List<RibbonGroup> groups) {
-        return groups.stream()
-            .filter(group -> group.getSizeMode() != RibbonGroupSizeMode.COLLAPSED)
-            .sorted(collapseOrderComparator)
-            .findFirst()
-            .orElse(null);
-    }
-
-    private RibbonGroup nextGroupToGrow(List<RibbonGroup> groups) {
-        return groups.stream()
-            .filter(group -> group.getSizeMode() != RibbonGroupSizeMode.LARGE)
-            .sorted(restoreOrderComparator)
-            .findFirst()
-            .orElse(null);
-    }
-
     private record GroupResolution(RibbonGroup group, boolean changed) {
     }
 }
@@ -0,0 +1,79 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+/**
+ * Arithmetic solver for the adaptive ribbon layout.
+ * <p>
+ * Given the estimated extent of every group in every size mode, the solver
+ * computes the final size mode of each group in one pass, without touching the
+ * scene graph. It reproduces the incremental policy the ribbon has always
+ * used: while the groups overflow, the first group in collapse order that is
+ * not yet collapsed shrinks one step; while there is room, the first group in
+ * restore order that is not yet large grows one step, stopping at the first
+ * step that would overflow. Callers then apply only the modes that changed, so
+ * intermediate modes are never rendered.
+ * <p>
+ * Modes are {@link RibbonGroupSizeMode#ordinal() ordinals}; extents are indexed
+ * the same way.
+ */
+final class RibbonAdaptiveLayoutSolver {
+
+    private static final int LARGE = RibbonGroupSizeMode.LARGE.ordinal();
+    private static final int COLLAPSED = RibbonGroupSizeMode.COLLAPSED.ordinal();
+
+    private RibbonAdaptiveLayoutSolver() {
+    }
+
+    /**
+     * Computes the target size mode of every group.
+     *
+     * @param extents per-group extents indexed by size mode ordinal
+     * @param currentModes current size mode ordinal of every group
+     * @param spacing total gap between groups
+     * @param availableExtent available primary-axis extent
+     * @param collapseOrder group indices in the order they shrink
+     * @param restoreOrder group indices in the order they grow back
+     * @return target size mode ordinal of every group
+     */
+    static int[] solve(
+        double[][] extents,
+        int[] currentModes,
+        double spacing,
+        double availableExtent,
+        int[] collapseOrder,
+        int[] restoreOrder
+    ) {
+        int[] modes = currentModes.clone();
+        double total = spacing;
+        for (int index = 0; index < modes.length; index++) {
+            total += extents[index][modes[index]];
+        }
+
+        for (int index : collapseOrder) {
+            if (total <= availableExtent) {
+                break;
+            }
+            double[] groupExtents = extents[index];
+            while (modes[index] < COLLAPSED && total > availableExtent) {
+                total += groupExtents[modes[index] + 1] - groupExtents[modes[index]];
+                modes[index]++;
+            }
+        }
+
+        grow:
+        for (int index : restoreOrder) {
+            double[] groupExtents = extents[index];
+            while (modes[index] > LARGE) {
+                if (total >= availableExtent) {
+                    break grow;
+                }
+                double candidate = total - groupExtents[modes[index]] + groupExtents[modes[index] - 1];
+                if (candidate > availableExtent) {
+                    break grow;
+                }
+                modes[index]--;
+                total = candidate;
+            }
+        }
+        return modes;
+    }
+}
@@ -217,6 +217,11 @@ public class RibbonGroup extends VBox {
 
     boolean updateSpec(RibbonGroupSpec newSpec) {
         Objects.requireNonNull(newSpec, "newSpec");
+        if (newSpec == spec) {
+            // The manager hands back the same instance for unchanged groups.
+            observeCurrentModeReuse();
+            return false;
+        }
         boolean structuralChange = !structurallyEquivalent(spec, newSpec);
         spec = newSpec;
         refreshPresentationMetadata();
@@ -0,0 +1,161 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+import javafx.scene.image.Image;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Process-wide cache behind {@link RibbonIconLoader}.
+ * <p>
+ * SVG resources are parsed once into {@link SvgGeometry} (path data plus
+ * bounds) and raster resources are decoded once per requested size. Ribbon
+ * groups ask for the same icons for every size mode and again whenever groups
+ * are recreated after a provider refresh or theme change, so those calls now
+ * only build fresh scene-graph nodes around cached data. Vector icons are kept
+ * as geometry rather than pre-rasterized images because their fill comes from
+ * the ribbon stylesheet and must keep following theme changes.
+ * <p>
+ * Entries are kept per class loader in a weak map, so the cache never keeps a
+ * provider's loader (and every class it defined) alive after the provider is
+ * unloaded. Each loader's caches are bounded LRU maps. Resources that fail to
+ * load are cached as misses too, so a broken icon is not re-read and re-logged
+ * on every rebuild.
+ */
+final class RibbonIconCache {
+
+    static final int MAX_SVG_ENTRIES = 256;
+    static final int MAX_RASTER_ENTRIES = 256;
+
+    private static final Object MISSING = new Object();
+
+    private static final Map<ClassLoader, LoaderCache> CACHES = new WeakHashMap<>();
+
+    private static long hits;
+    private static long misses;
+
+    /**
+     * Parsed vector icon: the {@code d} attribute of every path element and the
+     * combined layout bounds of those paths.
+     *
+     * @param paths SVG path data in document order
+     * @param minX left edge of the combined bounds
+     * @param minY top edge of the combined bounds
+     * @param width combined bounds width
+     * @param height combined bounds height
+     */
+    record SvgGeometry(List<String> paths, double minX, double minY, double width, double height) {
+        SvgGeometry {
+            paths = List.copyOf(paths);
+        }
+    }
+
+    /**
+     * Cache counters.
+     *
+     * @param hits lookups served from the cache
+     * @param misses lookups that had to load the resource
+     * @param svgEntries cached vector entries, including cached failures
+     * @param rasterEntries cached raster entries, including cached failures
+     */
+    record Stats(long hits, long misses, int svgEntries, int rasterEntries) {
+    }
+
+    private RibbonIconCache() {
+    }
+
+    /**
+     * Returns the parsed geometry of an SVG resource, loading it on first use.
+     *
+     * @param resourcePath icon resource path
+     * @param classLoader loader used to resolve the resource
+     * @param loader parses the resource; returns {@code null} or throws when it cannot be rendered
+     * @return cached geometry, or {@code null} when the resource cannot be rendered as SVG
+     */
+    static SvgGeometry svgGeometry(String resourcePath, ClassLoader classLoader, Supplier<SvgGeometry> loader) {
+        return (SvgGeometry) lookup(classLoader, LoaderCache::svg, resourcePath, loader);
+    }
+
+    /**
+     * Returns the decoded raster image of a resource at the given size,
+     * loading it on first use.
+     *
+     * @param resourcePath icon resource path
+     * @param size requested icon size
+     * @param classLoader loader used to resolve the resource
+     * @param loader decodes the resource; returns {@code null} when it cannot be loaded
+     * @return cached image, or {@code null} when the resource cannot be loaded
+     */
+    static Image raster(String resourcePath, double size, ClassLoader classLoader, Supplier<Image> loader) {
+        return (Image) lookup(classLoader, LoaderCache::raster, new RasterKey(resourcePath, size), loader);
+    }
+
+    /**
+     * Returns the current cache counters.
+     *
+     * @return hit/miss statistics
+     */
+    static synchronized Stats stats() {
+        int svgEntries = 0;
+        int rasterEntries = 0;
+        for (LoaderCache cache : CACHES.values()) {
+            svgEntries += cache.svg().size();
+            rasterEntries += cache.raster().size();
+        }
+        return new Stats(hits, misses, svgEntries, rasterEntries);
+    }
+
+    /**
+     * Drops every cached icon and resets the counters.
+     */
+    static synchronized void clear() {
+        CACHES.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    private static <K> Object lookup(ClassLoader classLoader, Function<LoaderCache, Map<K, Object>> cacheSelector,
+                                     K key, Supplier<?> loader) {
+        synchronized (RibbonIconCache.class) {
+            Object cached = cacheSelector.apply(loaderCache(classLoader)).get(key);
+            if (cached != null) {
+                hits++;
+                return cached == MISSING ? null : cached;
+            }
+            misses++;
+        }
+        Object loaded = loader.get();
+        synchronized (RibbonIconCache.class) {
+            cacheSelector.apply(loaderCache(classLoader)).put(key, loaded == null ? MISSING : loaded);
+        }
+        return loaded;
+    }
+
+    private static LoaderCache loaderCache(ClassLoader classLoader) {
+        return CACHES.computeIfAbsent(classLoader,
+            ignored -> new LoaderCache(lruMap(MAX_SVG_ENTRIES), lruMap(MAX_RASTER_ENTRIES)));
+    }
+
+    private static <K> Map<K, Object> lruMap(int maxEntries) {
+        return new LinkedHashMap<>(32, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Object> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Caches of one class loader. Keys are resource paths and values are
+     * geometry or decoded images, none of which refer back to the loader.
+     */
+    private record LoaderCache(Map<String, Object> svg, Map<RasterKey, Object> raster) {
+    }
+
+    private record RasterKey(String resourcePath, double size) {
+    }
+}
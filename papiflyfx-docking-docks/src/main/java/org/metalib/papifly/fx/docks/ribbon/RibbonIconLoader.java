@@ -9,6 +9,7 @@ import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.SVGPath;
 import org.metalib.papifly.fx.api.ribbon.RibbonIconHandle;
+import org.metalib.papifly.fx.docks.ribbon.RibbonIconCache.SvgGeometry;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NodeList;
@@ -21,6 +22,8 @@ import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Locale;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -28,6 +31,9 @@ import java.util.logging.Logger;
 /**
  * Internal icon loader for ribbon controls. Supports octicons, lightweight
  * path-based SVG documents, and raster image resources.
+ * <p>
+ * Parsed SVG geometry and decoded raster images are shared through
+ * {@link RibbonIconCache}; every call still returns a new node.
  */
 final class RibbonIconLoader {
 
@@ -47,19 +53,28 @@ final class RibbonIconLoader {
             return octicon;
         }
         if (looksLikeSvg(resourcePath)) {
-            try {
-                Node svgGraphic = loadSvgGraphic(resourcePath, size, classLoader);
-                if (svgGraphic != null) {
-                    return svgGraphic;
-                }
-            } catch (Exception exception) {
-                LOG.log(Level.WARNING, "Failed to render SVG icon " + resourcePath + "; falling back to raster loading", exception);
+            SvgGeometry geometry = RibbonIconCache.svgGeometry(
+                resourcePath,
+                classLoader,
+                () -> parseSvgGeometry(resourcePath, classLoader)
+            );
+            if (geometry != null) {
+                return createSvgGraphic(geometry, size);
             }
         }
         return loadRasterGraphic(resourcePath, size, classLoader);
     }
 
-    private static Node loadSvgGraphic(String resourcePath, double size, ClassLoader classLoader) throws Exception {
+    private static SvgGeometry parseSvgGeometry(String resourcePath, ClassLoader classLoader) {
+        try {
+            return readSvgGeometry(resourcePath, classLoader);
+        } catch (Exception exception) {
+            LOG.log(Level.WARNING, "Failed to render SVG icon " + resourcePath + "; falling back to raster loading", exception);
+            return null;
+        }
+    }
+
+    private static SvgGeometry readSvgGeometry(String resourcePath, ClassLoader classLoader) throws Exception {
         URL resource = resolveResource(resourcePath, classLoader);
         if (resource == null) {
             return null;
@@ -80,6 +95,7 @@ final class RibbonIconLoader {
                 throw new IllegalArgumentException("Resource is not an SVG document: " + resourcePath);
             }
 
+            List<String> pathData = new ArrayList<>();
             Group group = new Group();
             NodeList paths = root.getElementsByTagNameNS("*", "path");
             if (paths.getLength() == 0) {
@@ -90,14 +106,14 @@ final class RibbonIconLoader {
                 if (!(domNode instanceof Element pathElement)) {
                     continue;
                 }
-                String pathData = pathElement.getAttribute("d");
-                if (pathData == null || pathData.isBlank()) {
+                String data = pathElement.getAttribute("d");
+                if (data == null || data.isBlank()) {
                     continue;
                 }
                 SVGPath path = new SVGPath();
-                path.setContent(pathData);
-                path.getStyleClass().add("pf-ribbon-svg-path");
+                path.setContent(data);
                 group.getChildren().add(path);
+                pathData.add(data);
             }
             if (group.getChildren().isEmpty()) {
                 throw new IllegalArgumentException("SVG icon contains no path elements: " + resourcePath);
@@ -108,23 +124,47 @@ final class RibbonIconLoader {
             if (maxDimension <= 0.0) {
                 throw new IllegalArgumentException("SVG icon has empty bounds: " + resourcePath);
             }
-            double scale = size / maxDimension;
-            group.setScaleX(scale);
-            group.setScaleY(scale);
-            group.setTranslateX((-bounds.getMinX() * scale) + ((size - (bounds.getWidth() * scale)) / 2.0));
-            group.setTranslateY((-bounds.getMinY() * scale) + ((size - (bounds.getHeight() * scale)) / 2.0));
-
-            StackPane wrapper = new StackPane(group);
-            wrapper.setAlignment(Pos.CENTER);
-            wrapper.getStyleClass().add("pf-ribbon-icon");
-            wrapper.setMinSize(size, size);
-            wrapper.setPrefSize(size, size);
-            wrapper.setMaxSize(size, size);
-            return wrapper;
+            return new SvgGeometry(pathData, bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+        }
+    }
+
+    private static Node createSvgGraphic(SvgGeometry geometry, double size) {
+        Group group = new Group();
+        for (String data : geometry.paths()) {
+            SVGPath path = new SVGPath();
+            path.setContent(data);
+            path.getStyleClass().add("pf-ribbon-svg-path");
+            group.getChildren().add(path);
         }
+        double scale = size / Math.max(geometry.width(), geometry.height());
+        group.setScaleX(scale);
+        group.setScaleY(scale);
+        group.setTranslateX((-geometry.minX() * scale) + ((size - (geometry.width() * scale)) / 2.0));
+        group.setTranslateY((-geometry.minY() * scale) + ((size - (geometry.height() * scale)) / 2.0));
+
+        StackPane wrapper = new StackPane(group);
+        wrapper.setAlignment(Pos.CENTER);
+        wrapper.getStyleClass().add("pf-ribbon-icon");
+        wrapper.setMinSize(size, size);
+        wrapper.setPrefSize(size, size);
+        wrapper.setMaxSize(size, size);
+        return wrapper;
     }
 
     private static Node loadRasterGraphic(String resourcePath, double size, ClassLoader classLoader) {
+        Image image = RibbonIconCache.raster(resourcePath, size, classLoader, () -> readRasterImage(resourcePath, size, classLoader));
+        if (image == null) {
+            return null;
+        }
+        ImageView imageView = new ImageView(image);
+        imageView.setFitWidth(size);
+        imageView.setFitHeight(size);
+        imageView.setPreserveRatio(true);
+        imageView.getStyleClass().add("pf-ribbon-icon");
+        return imageView;
+    }
+
+    private static Image readRasterImage(String resourcePath, double size, ClassLoader classLoader) {
         try {
             URL resource = resolveResource(resourcePath, classLoader);
             if (resource == null) {
@@ -132,15 +172,7 @@ final class RibbonIconLoader {
             }
             try (InputStream inputStream = resource.openStream()) {
                 Image image = new Image(inputStream, size, size, true, true);
-                if (image.isError()) {
-                    return null;
-                }
-                ImageView imageView = new ImageView(image);
-                imageView.setFitWidth(size);
-                imageView.setFitHeight(size);
-                imageView.setPreserveRatio(true);
-                imageView.getStyleClass().add("pf-ribbon-icon");
-                return imageView;
+                return image.isError() ? null : image;
             }
         } catch (Exception ignored) {
             return null;
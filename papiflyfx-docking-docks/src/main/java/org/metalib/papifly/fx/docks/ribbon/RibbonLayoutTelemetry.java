@@ -31,6 +31,9 @@ interface RibbonLayoutTelemetry {
     default void nodeCacheMiss(CacheKind kind, String id) {
     }
 
+    default void layoutPass(long durationNanos, int changedGroups) {
+    }
+
     default void providerFailure(String providerId, RuntimeException exception) {
     }
 
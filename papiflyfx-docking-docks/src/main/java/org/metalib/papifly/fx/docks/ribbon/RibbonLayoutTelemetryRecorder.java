@@ -1,161 +1,431 @@
 package org.metalib.papifly.fx.docks.ribbon;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
- * Test-visible telemetry recorder for deterministic ribbon layout assertions.
+ * Bounded ribbon layout telemetry recorder.
+ * <p>
+ * Events are kept in a fixed-capacity ring buffer; once full, the oldest events
+ * are overwritten and counted as dropped. Frequent events (rebuilds, collapse
+ * transitions, cache hits and misses, layout passes) are stored as primitives
+ * with identifiers interned to table indices, so recording them does not
+ * allocate once an identifier has been seen. Interned identifiers are counted
+ * by the ring slots that use them and released when the last such slot is
+ * overwritten, so the table never outgrows the ring. Rare diagnostics
+ * (provider failures, id collisions, unsupported controls) keep their event
+ * record.
+ * <p>
+ * Independently of the ring buffer, the recorder aggregates a layout pass
+ * duration histogram and per-group collapse/expand counts that are never
+ * evicted. {@link #snapshot()} copies everything under a short lock, so it can
+ * be taken from any thread while recording continues, which makes the recorder
+ * cheap enough to leave enabled outside of tests.
  */
 final class RibbonLayoutTelemetryRecorder implements RibbonLayoutTelemetry {
 
-    private final List<Event> events = new ArrayList<>();
+    /**
+     * Default ring buffer capacity.
+     */
+    static final int DEFAULT_CAPACITY = 4096;
+
+    private static final byte TAB_REBUILD = 0;
+    private static final byte GROUP_REBUILD = 1;
+    private static final byte CONTROL_REBUILD = 2;
+    private static final byte COLLAPSE_TRANSITION = 3;
+    private static final byte CACHE_HIT = 4;
+    private static final byte CACHE_MISS = 5;
+    private static final byte LAYOUT_PASS = 6;
+    private static final byte DETAIL = 7;
+
+    private static final RebuildReason[] REASONS = RebuildReason.values();
+    private static final CacheKind[] CACHE_KINDS = CacheKind.values();
+    private static final RibbonGroupSizeMode[] SIZE_MODES = RibbonGroupSizeMode.values();
+
+    private final int capacity;
+    private final byte[] kinds;
+    private final int[] ids;
+    private final int[] args;
+    private final long[] values;
+    private final Event[] details;
+    private int head;
+    private int size;
+    private long dropped;
+
+    private final Map<String, Integer> idIndex = new HashMap<>();
+    private final String[] idTable;
+    private final int[] idRefs;
+    private final int[] freeIds;
+    private int idCount;
+    private int freeIdCount;
+
+    private final long[] layoutPassBuckets = new long[Long.SIZE];
+    private long layoutPassCount;
+    private long layoutPassTotalNanos;
+    private long layoutPassMaxNanos;
+    private final Map<String, long[]> groupTransitions = new LinkedHashMap<>();
+
+    /**
+     * Creates a recorder with {@link #DEFAULT_CAPACITY}.
+     */
+    RibbonLayoutTelemetryRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a recorder with the given ring buffer capacity.
+     *
+     * @param capacity maximum number of retained events
+     */
+    RibbonLayoutTelemetryRecorder(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.kinds = new byte[capacity];
+        this.ids = new int[capacity];
+        this.args = new int[capacity];
+        this.values = new long[capacity];
+        this.details = new Event[capacity];
+        // One spare entry: a new id is interned before the slot it replaces is released
+        this.idTable = new String[capacity + 1];
+        this.idRefs = new int[capacity + 1];
+        this.freeIds = new int[capacity + 1];
+    }
+
+    @Override
+    public synchronized void tabRebuild(String tabId, RebuildReason reason) {
+        append(TAB_REBUILD, intern(tabId), reason.ordinal(), 0L, null);
+    }
 
     @Override
-    public void tabRebuild(String tabId, RebuildReason reason) {
-        events.add(new TabRebuildEvent(tabId, reason));
+    public synchronized void groupRebuild(String groupId, RebuildReason reason) {
+        append(GROUP_REBUILD, intern(groupId), reason.ordinal(), 0L, null);
     }
 
     @Override
-    public void groupRebuild(String groupId, RebuildReason reason) {
-        events.add(new GroupRebuildEvent(groupId, reason));
+    public synchronized void controlRebuild(String controlId, RebuildReason reason) {
+        append(CONTROL_REBUILD, intern(controlId), reason.ordinal(), 0L, null);
     }
 
     @Override
-    public void controlRebuild(String controlId, RebuildReason reason) {
-        events.add(new ControlRebuildEvent(controlId, reason));
+    public synchronized void collapseTransition(String groupId, RibbonGroupSizeMode from, RibbonGroupSizeMode to) {
+        append(COLLAPSE_TRANSITION, intern(groupId), (from.ordinal() << 8) | to.ordinal(), 0L, null);
+        long[] counts = groupTransitions.computeIfAbsent(groupId, ignored -> new long[2]);
+        counts[to.ordinal() > from.ordinal() ? 0 : 1]++;
     }
 
     @Override
-    public void collapseTransition(String groupId, RibbonGroupSizeMode from, RibbonGroupSizeMode to) {
-        events.add(new CollapseTransitionEvent(groupId, from, to));
+    public synchronized void nodeCacheHit(CacheKind kind, String id) {
+        append(CACHE_HIT, intern(id), kind.ordinal(), 0L, null);
     }
 
     @Override
-    public void nodeCacheHit(CacheKind kind, String id) {
-        events.add(new NodeCacheHitEvent(kind, id));
+    public synchronized void nodeCacheMiss(CacheKind kind, String id) {
+        append(CACHE_MISS, intern(id), kind.ordinal(), 0L, null);
     }
 
     @Override
-    public void nodeCacheMiss(CacheKind kind, String id) {
-        events.add(new NodeCacheMissEvent(kind, id));
+    public synchronized void layoutPass(long durationNanos, int changedGroups) {
+        long duration = Math.max(0L, durationNanos);
+        append(LAYOUT_PASS, -1, changedGroups, duration, null);
+        layoutPassBuckets[bucketOf(duration)]++;
+        layoutPassCount++;
+        layoutPassTotalNanos += duration;
+        layoutPassMaxNanos = Math.max(layoutPassMaxNanos, duration);
     }
 
     @Override
-    public void providerFailure(String providerId, RuntimeException exception) {
-        events.add(new ProviderFailureEvent(providerId, exception));
+    public synchronized void providerFailure(String providerId, RuntimeException exception) {
+        appendDetail(new ProviderFailureEvent(providerId, exception));
     }
 
     @Override
-    public void tabIdCollision(
+    public synchronized void tabIdCollision(
         String tabId,
         String retainedLabel,
         int retainedOrder,
         String ignoredLabel,
         int ignoredOrder
     ) {
-        events.add(new TabIdCollisionEvent(tabId, retainedLabel, retainedOrder, ignoredLabel, ignoredOrder));
+        appendDetail(new TabIdCollisionEvent(tabId, retainedLabel, retainedOrder, ignoredLabel, ignoredOrder));
     }
 
     @Override
-    public void commandIdCollision(String commandId, String retainedLabel, String ignoredLabel) {
-        events.add(new CommandIdCollisionEvent(commandId, retainedLabel, ignoredLabel));
+    public synchronized void commandIdCollision(String commandId, String retainedLabel, String ignoredLabel) {
+        appendDetail(new CommandIdCollisionEvent(commandId, retainedLabel, ignoredLabel));
     }
 
     @Override
-    public void incompatibleCommandKind(String commandId, String message) {
-        events.add(new IncompatibleCommandKindEvent(commandId, message));
+    public synchronized void incompatibleCommandKind(String commandId, String message) {
+        appendDetail(new IncompatibleCommandKindEvent(commandId, message));
     }
 
     @Override
-    public void unknownControlKind(String controlId, String kind) {
-        events.add(new UnknownControlKindEvent(controlId, kind));
-    }
-
-    List<Event> events() {
-        return List.copyOf(events);
-    }
-
-    void clear() {
-        events.clear();
+    public synchronized void unknownControlKind(String controlId, String kind) {
+        appendDetail(new UnknownControlKindEvent(controlId, kind));
+    }
+
+    /**
+     * Returns the retained events, oldest first.
+     *
+     * @return decoded events
+     */
+    synchronized List<Event> events() {
+        List<Event> decoded = new ArrayList<>(size);
+        int start = Math.floorMod(head - size, capacity);
+        for (int offset = 0; offset < size; offset++) {
+            decoded.add(decode((start + offset) % capacity));
+        }
+        return decoded;
+    }
+
+    /**
+     * Drops retained events and resets all aggregates.
+     */
+    synchronized void clear() {
+        head = 0;
+        size = 0;
+        dropped = 0;
+        Arrays.fill(details, null);
+        idIndex.clear();
+        Arrays.fill(idTable, null);
+        Arrays.fill(idRefs, 0);
+        idCount = 0;
+        freeIdCount = 0;
+        Arrays.fill(layoutPassBuckets, 0L);
+        layoutPassCount = 0;
+        layoutPassTotalNanos = 0;
+        layoutPassMaxNanos = 0;
+        groupTransitions.clear();
+    }
+
+    /**
+     * Returns the ring buffer capacity.
+     *
+     * @return maximum number of retained events
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    /**
+     * Returns the number of identifiers currently interned.
+     *
+     * @return distinct identifiers referenced by retained events
+     */
+    synchronized int internedIdCount() {
+        return idIndex.size();
+    }
+
+    /**
+     * Copies the retained events and aggregates without pausing recording.
+     *
+     * @return point-in-time telemetry snapshot
+     */
+    synchronized Snapshot snapshot() {
+        Map<String, GroupTransitionCounts> transitions = new LinkedHashMap<>();
+        groupTransitions.forEach((groupId, counts) ->
+            transitions.put(groupId, new GroupTransitionCounts(counts[0], counts[1])));
+        return new Snapshot(
+            events(),
+            dropped,
+            new DurationHistogram(layoutPassCount, layoutPassTotalNanos, layoutPassMaxNanos, layoutPassBuckets.clone()),
+            Collections.unmodifiableMap(transitions)
+        );
     }
 
     List<TabRebuildEvent> tabRebuilds() {
-        return events.stream()
-            .filter(TabRebuildEvent.class::isInstance)
-            .map(TabRebuildEvent.class::cast)
-            .toList();
+        return eventsOf(TabRebuildEvent.class);
     }
 
     List<GroupRebuildEvent> groupRebuilds() {
-        return events.stream()
-            .filter(GroupRebuildEvent.class::isInstance)
-            .map(GroupRebuildEvent.class::cast)
-            .toList();
+        return eventsOf(GroupRebuildEvent.class);
     }
 
     List<ControlRebuildEvent> controlRebuilds() {
-        return events.stream()
-            .filter(ControlRebuildEvent.class::isInstance)
-            .map(ControlRebuildEvent.class::cast)
-            .toList();
+        return eventsOf(ControlRebuildEvent.class);
     }
 
     List<CollapseTransitionEvent> collapseTransitions() {
-        return events.stream()
-            .filter(CollapseTransitionEvent.class::isInstance)
-            .map(CollapseTransitionEvent.class::cast)
-            .toList();
+        return eventsOf(CollapseTransitionEvent.class);
     }
 
     List<NodeCacheHitEvent> cacheHits() {
-        return events.stream()
-            .filter(NodeCacheHitEvent.class::isInstance)
-            .map(NodeCacheHitEvent.class::cast)
-            .toList();
+        return eventsOf(NodeCacheHitEvent.class);
     }
 
     List<NodeCacheMissEvent> cacheMisses() {
-        return events.stream()
-            .filter(NodeCacheMissEvent.class::isInstance)
-            .map(NodeCacheMissEvent.class::cast)
-            .toList();
+        return eventsOf(NodeCacheMissEvent.class);
+    }
+
+    List<LayoutPassEvent> layoutPasses() {
+        return eventsOf(LayoutPassEvent.class);
     }
 
     List<ProviderFailureEvent> providerFailures() {
-        return events.stream()
-            .filter(ProviderFailureEvent.class::isInstance)
-            .map(ProviderFailureEvent.class::cast)
-            .toList();
+        return eventsOf(ProviderFailureEvent.class);
     }
 
     List<TabIdCollisionEvent> tabIdCollisions() {
-        return events.stream()
-            .filter(TabIdCollisionEvent.class::isInstance)
-            .map(TabIdCollisionEvent.class::cast)
-            .toList();
+        return eventsOf(TabIdCollisionEvent.class);
     }
 
     List<CommandIdCollisionEvent> commandIdCollisions() {
-        return events.stream()
-            .filter(CommandIdCollisionEvent.class::isInstance)
-            .map(CommandIdCollisionEvent.class::cast)
-            .toList();
+        return eventsOf(CommandIdCollisionEvent.class);
     }
 
     List<IncompatibleCommandKindEvent> incompatibleCommandKinds() {
-        return events.stream()
-            .filter(IncompatibleCommandKindEvent.class::isInstance)
-            .map(IncompatibleCommandKindEvent.class::cast)
-            .toList();
+        return eventsOf(IncompatibleCommandKindEvent.class);
     }
 
     List<UnknownControlKindEvent> unknownControlKinds() {
-        return events.stream()
-            .filter(UnknownControlKindEvent.class::isInstance)
-            .map(UnknownControlKindEvent.class::cast)
+        return eventsOf(UnknownControlKindEvent.class);
+    }
+
+    private <T extends Event> List<T> eventsOf(Class<T> type) {
+        return events().stream()
+            .filter(type::isInstance)
+            .map(type::cast)
             .toList();
     }
 
+    private void appendDetail(Event event) {
+        append(DETAIL, -1, 0, 0L, event);
+    }
+
+    private void append(byte kind, int id, int arg, long value, Event detail) {
+        if (size == capacity && ids[head] >= 0) {
+            release(ids[head]);
+        }
+        kinds[head] = kind;
+        ids[head] = id;
+        args[head] = arg;
+        values[head] = value;
+        details[head] = detail;
+        head = (head + 1) % capacity;
+        if (size < capacity) {
+            size++;
+        } else {
+            dropped++;
+        }
+    }
+
+    private int intern(String id) {
+        Integer index = idIndex.get(id);
+        if (index != null) {
+            idRefs[index]++;
+            return index;
+        }
+        int next = freeIdCount > 0 ? freeIds[--freeIdCount] : idCount++;
+        idTable[next] = id;
+        idRefs[next] = 1;
+        idIndex.put(id, next);
+        return next;
+    }
+
+    private void release(int index) {
+        if (--idRefs[index] == 0) {
+            idIndex.remove(idTable[index]);
+            idTable[index] = null;
+            freeIds[freeIdCount++] = index;
+        }
+    }
+
+    private Event decode(int slot) {
+        int arg = args[slot];
+        return switch (kinds[slot]) {
+            case TAB_REBUILD -> new TabRebuildEvent(idTable[ids[slot]], REASONS[arg]);
+            case GROUP_REBUILD -> new GroupRebuildEvent(idTable[ids[slot]], REASONS[arg]);
+            case CONTROL_REBUILD -> new ControlRebuildEvent(idTable[ids[slot]], REASONS[arg]);
+            case COLLAPSE_TRANSITION -> new CollapseTransitionEvent(
+                idTable[ids[slot]],
+                SIZE_MODES[arg >>> 8],
+                SIZE_MODES[arg & 0xFF]
+            );
+            case CACHE_HIT -> new NodeCacheHitEvent(CACHE_KINDS[arg], idTable[ids[slot]]);
+            case CACHE_MISS -> new NodeCacheMissEvent(CACHE_KINDS[arg], idTable[ids[slot]]);
+            case LAYOUT_PASS -> new LayoutPassEvent(values[slot], arg);
+            default -> details[slot];
+        };
+    }
+
+    private static int bucketOf(long nanos) {
+        return nanos == 0L ? 0 : Math.min(Long.SIZE - 1, Long.SIZE - Long.numberOfLeadingZeros(nanos));
+    }
+
+    /**
+     * Point-in-time copy of the recorder state.
+     *
+     * @param events retained events, oldest first
+     * @param droppedEvents events overwritten because the ring buffer was full
+     * @param layoutPasses layout pass duration histogram
+     * @param groupTransitions collapse/expand counts per group id
+     */
+    record Snapshot(
+        List<Event> events,
+        long droppedEvents,
+        DurationHistogram layoutPasses,
+        Map<String, GroupTransitionCounts> groupTransitions
+    ) {
+    }
+
+    /**
+     * Power-of-two duration histogram. Bucket {@code i > 0} counts durations in
+     * {@code [2^(i-1), 2^i)} nanoseconds; bucket {@code 0} counts zero durations.
+     *
+     * @param count number of recorded durations
+     * @param totalNanos sum of recorded durations
+     * @param maxNanos longest recorded duration
+     * @param buckets per-bucket counts
+     */
+    record DurationHistogram(long count, long totalNanos, long maxNanos, long[] buckets) {
+
+        /**
+         * Returns the mean duration.
+         *
+         * @return mean duration in nanoseconds, or {@code 0} when empty
+         */
+        double meanNanos() {
+            return count == 0 ? 0.0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Returns an upper bound for the given percentile.
+         *
+         * @param percentile percentile between {@code 0} and {@code 100}
+         * @return upper edge of the bucket containing the percentile, capped at the maximum
+         */
+        long percentileUpperBoundNanos(double percentile) {
+            if (count == 0) {
+                return 0L;
+            }
+            long rank = (long) Math.ceil(count * Math.min(100.0, Math.max(0.0, percentile)) / 100.0);
+            long seen = 0;
+            for (int bucket = 0; bucket < buckets.length; bucket++) {
+                seen += buckets[bucket];
+                if (seen >= Math.max(1L, rank)) {
+                    return bucket == 0 ? 0L : Math.min(maxNanos, (1L << Math.min(62, bucket)) - 1);
+                }
+            }
+            return maxNanos;
+        }
+    }
+
+    /**
+     * Size mode transition counts of one group.
+     *
+     * @param collapses transitions to a smaller size mode
+     * @param expansions transitions to a larger size mode
+     */
+    record GroupTransitionCounts(long collapses, long expansions) {
+    }
+
     sealed interface Event permits
         TabRebuildEvent,
         GroupRebuildEvent,
@@ -163,6 +433,7 @@ final class RibbonLayoutTelemetryRecorder implements RibbonLayoutTelemetry {
         CollapseTransitionEvent,
         NodeCacheHitEvent,
         NodeCacheMissEvent,
+        LayoutPassEvent,
         ProviderFailureEvent,
         TabIdCollisionEvent,
         CommandIdCollisionEvent,
@@ -188,6 +459,9 @@ final class RibbonLayoutTelemetryRecorder implements RibbonLayoutTelemetry {
     record NodeCacheMissEvent(CacheKind kind, String id) implements Event {
     }
 
+    record LayoutPassEvent(long durationNanos, int changedGroups) implements Event {
+    }
+
     record ProviderFailureEvent(String providerId, RuntimeException exception) implements Event {
     }
 
@@ -8,6 +8,7 @@ import javafx.collections.ObservableList;
 import org.metalib.papifly.fx.api.ribbon.RibbonCommand;
 import org.metalib.papifly.fx.api.ribbon.RibbonButtonSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonContext;
+import org.metalib.papifly.fx.api.ribbon.RibbonContextDependencies;
 import org.metalib.papifly.fx.api.ribbon.RibbonControlSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonGroupSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonMenuSpec;
@@ -20,6 +21,8 @@ import org.metalib.papifly.fx.api.ribbon.RibbonToggleSpec;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -27,6 +30,7 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.ServiceLoader;
+import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -49,6 +53,13 @@ import java.util.logging.Logger;
  * commands disappear from the view but their identifiers remain in the list
  * and reappear as soon as the owning tab becomes visible again.</p>
  *
+ * <p>Context changes are incremental. Provider output is memoized against the
+ * values named by {@link RibbonProvider#contextDependencies()}, so a focus
+ * change only re-queries providers whose declared inputs changed. When every
+ * provider reuses its previous output the tab model is left untouched;
+ * otherwise unchanged tab specs keep their instances and the visible tab list
+ * is patched in place rather than replaced.</p>
+ *
  * @since Ribbon 2
  */
 public class RibbonManager {
@@ -64,6 +75,7 @@ public class RibbonManager {
         Comparator.comparingInt(RibbonGroupSpec::order)
             .thenComparingInt(RibbonGroupSpec::collapseOrder)
             .thenComparing(RibbonGroupSpec::id);
+    private static final Predicate<RibbonContext> ALWAYS_VISIBLE = ribbonContext -> true;
 
     private final ObservableList<RibbonProvider> providers = FXCollections.observableArrayList();
     private final ObservableList<RibbonTabSpec> tabs = FXCollections.observableArrayList();
@@ -73,6 +85,8 @@ public class RibbonManager {
     private final QuickAccessState quickAccessState = new QuickAccessState(this::refreshQuickAccessCommandView);
     private final Set<String> reportedTabIdCollisions = new LinkedHashSet<>();
     private final Set<String> reportedCommandIdCollisions = new LinkedHashSet<>();
+    private final Map<RibbonProvider, ProviderResult> providerResults = new IdentityHashMap<>();
+    private List<ProviderResult> lastProviderResults = List.of();
 
     private final ObjectProperty<RibbonContext> context = new SimpleObjectProperty<>(RibbonContext.empty());
     private final ClassLoader classLoader;
@@ -113,7 +127,7 @@ public class RibbonManager {
     public RibbonManager(ClassLoader classLoader, Collection<? extends RibbonProvider> providers) {
         this.classLoader = classLoader == null ? resolveClassLoader() : classLoader;
         this.providers.addListener((ListChangeListener<RibbonProvider>) change -> refresh());
-        this.context.addListener((obs, oldContext, newContext) -> refresh());
+        this.context.addListener((obs, oldContext, newContext) -> rebuild(false));
         if (providers != null) {
             this.providers.addAll(providers);
         }
@@ -308,40 +322,190 @@ public class RibbonManager {
      * that remain reachable either through visible tabs or through the Quick
      * Access Toolbar identifier list. The QAT command view is then rebuilt so
      * it reflects the latest registry state.</p>
+     *
+     * <p>An explicit refresh discards memoized provider output and re-queries
+     * every provider. Context changes go through the memoized path described
+     * in the class documentation.</p>
      */
     public final void refresh() {
-        RibbonContext resolvedContext = getContext() == null ? RibbonContext.empty() : getContext();
-        List<RibbonTabSpec> contributions = new ArrayList<>();
+        providerResults.clear();
+        rebuild(true);
+    }
 
-        providers.stream()
+    private void rebuild(boolean force) {
+        RibbonContext resolvedContext = getContext() == null ? RibbonContext.empty() : getContext();
+        List<RibbonProvider> sortedProviders = providers.stream()
             .filter(Objects::nonNull)
             .sorted(PROVIDER_COMPARATOR)
-            .forEach(provider -> collectTabs(provider, resolvedContext, contributions));
+            .toList();
+        List<ProviderResult> results = new ArrayList<>(sortedProviders.size());
+        for (RibbonProvider provider : sortedProviders) {
+            results.add(resolveProviderTabs(provider, resolvedContext));
+        }
+        if (providerResults.size() > sortedProviders.size()) {
+            providerResults.keySet().retainAll(sortedProviders);
+        }
+        if (!force && sameResults(results, lastProviderResults)) {
+            return;
+        }
+        lastProviderResults = results;
 
+        List<RibbonTabSpec> contributions = new ArrayList<>();
+        for (ProviderResult result : results) {
+            contributions.addAll(result.tabs());
+        }
         List<RibbonTabSpec> merged = mergeTabs(contributions);
         LinkedHashSet<String> reachable = new LinkedHashSet<>();
-        List<RibbonTabSpec> canonical = canonicalizeTabs(merged, reachable);
+        List<RibbonTabSpec> canonical = reuseUnchangedSpecs(canonicalizeTabs(merged, reachable));
         quickAccessState.addReachableIdsTo(reachable);
         commandRegistry.retain(reachable);
 
-        tabs.setAll(canonical);
+        if (force) {
+            tabs.setAll(canonical);
+        } else {
+            patchTabs(canonical);
+        }
         refreshQuickAccessCommandView();
     }
 
-    private void collectTabs(RibbonProvider provider, RibbonContext context, List<RibbonTabSpec> target) {
+    private ProviderResult resolveProviderTabs(RibbonProvider provider, RibbonContext context) {
+        Object key = dependencyKey(provider, context);
+        ProviderResult cached = providerResults.get(provider);
+        if (cached != null && Objects.equals(cached.key(), key)) {
+            return cached;
+        }
+        List<RibbonTabSpec> collected = new ArrayList<>();
+        ProviderResult result = new ProviderResult(key, collected);
+        if (collectTabs(provider, context, collected)) {
+            providerResults.put(provider, result);
+        } else {
+            // Failed evaluations are retried on the next context change.
+            providerResults.remove(provider);
+        }
+        return result;
+    }
+
+    private Object dependencyKey(RibbonProvider provider, RibbonContext context) {
+        RibbonContextDependencies dependencies;
+        try {
+            dependencies = provider.contextDependencies();
+        } catch (RuntimeException exception) {
+            LOG.log(Level.WARNING, "Ribbon provider dependency declaration failed: " + provider.id(), exception);
+            dependencies = null;
+        }
+        return (dependencies == null ? RibbonContextDependencies.all() : dependencies).keyFor(context);
+    }
+
+    private static boolean sameResults(List<ProviderResult> current, List<ProviderResult> previous) {
+        if (current.size() != previous.size()) {
+            return false;
+        }
+        for (int index = 0; index < current.size(); index++) {
+            if (current.get(index) != previous.get(index)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean collectTabs(RibbonProvider provider, RibbonContext context, List<RibbonTabSpec> target) {
         try {
             List<RibbonTabSpec> providerTabs = provider.getTabs(context);
             if (providerTabs == null) {
-                return;
+                return true;
             }
             providerTabs.stream()
                 .filter(Objects::nonNull)
                 .sorted(TAB_COMPARATOR)
                 .filter(tab -> tab.isVisible(context))
                 .forEach(target::add);
+            return true;
         } catch (RuntimeException exception) {
             LOG.log(Level.WARNING, "Ribbon provider failed: " + provider.id(), exception);
             telemetry.providerFailure(provider.id(), exception);
+            return false;
+        }
+    }
+
+    /**
+     * Substitutes the currently visible tab and group instances for equal
+     * freshly built specs, so downstream identity checks see only real changes.
+     */
+    private List<RibbonTabSpec> reuseUnchangedSpecs(List<RibbonTabSpec> next) {
+        if (tabs.isEmpty()) {
+            return next;
+        }
+        Map<String, RibbonTabSpec> currentById = new HashMap<>();
+        for (RibbonTabSpec tab : tabs) {
+            currentById.put(tab.id(), tab);
+        }
+        List<RibbonTabSpec> result = new ArrayList<>(next.size());
+        for (RibbonTabSpec tab : next) {
+            RibbonTabSpec current = currentById.get(tab.id());
+            if (current == null) {
+                result.add(tab);
+            } else if (current.equals(tab)) {
+                result.add(current);
+            } else {
+                result.add(reuseUnchangedGroups(current, tab));
+            }
+        }
+        return result;
+    }
+
+    private static RibbonTabSpec reuseUnchangedGroups(RibbonTabSpec current, RibbonTabSpec next) {
+        Map<String, RibbonGroupSpec> currentGroups = new HashMap<>();
+        for (RibbonGroupSpec group : current.groups()) {
+            currentGroups.put(group.id(), group);
+        }
+        boolean reused = false;
+        List<RibbonGroupSpec> groups = new ArrayList<>(next.groups().size());
+        for (RibbonGroupSpec group : next.groups()) {
+            RibbonGroupSpec previous = currentGroups.get(group.id());
+            if (previous != null && previous.equals(group)) {
+                groups.add(previous);
+                reused = true;
+            } else {
+                groups.add(group);
+            }
+        }
+        if (!reused) {
+            return next;
+        }
+        return new RibbonTabSpec(next.id(), next.label(), next.order(), next.contextual(), ALWAYS_VISIBLE, groups);
+    }
+
+    /**
+     * Applies the new tab model as a minimal edit: pure insertions, pure
+     * removals, and single in-place replacements are emitted as one targeted
+     * change; anything more involved falls back to one replace-all change so
+     * listeners never observe a half-applied intermediate list.
+     */
+    private void patchTabs(List<RibbonTabSpec> next) {
+        int oldSize = tabs.size();
+        int newSize = next.size();
+        int prefix = 0;
+        while (prefix < oldSize && prefix < newSize && tabs.get(prefix) == next.get(prefix)) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < oldSize - prefix && suffix < newSize - prefix
+            && tabs.get(oldSize - 1 - suffix) == next.get(newSize - 1 - suffix)) {
+            suffix++;
+        }
+        int oldEnd = oldSize - suffix;
+        int newEnd = newSize - suffix;
+        if (prefix == oldEnd && prefix == newEnd) {
+            return;
+        }
+        if (prefix == oldEnd) {
+            tabs.addAll(prefix, next.subList(prefix, newEnd));
+        } else if (prefix == newEnd) {
+            tabs.remove(prefix, oldEnd);
+        } else if (oldEnd - prefix == 1 && newEnd - prefix == 1) {
+            tabs.set(prefix, next.get(prefix));
+        } else {
+            tabs.setAll(next);
         }
     }
 
@@ -399,7 +563,7 @@ public class RibbonManager {
                     tab.label(),
                     tab.order(),
                     tab.contextual(),
-                    ribbonContext -> true,
+                    ALWAYS_VISIBLE,
                     canonicalGroups
                 ));
             }
@@ -496,6 +660,9 @@ public class RibbonManager {
         return contextLoader == null ? RibbonManager.class.getClassLoader() : contextLoader;
     }
 
+    private record ProviderResult(Object key, List<RibbonTabSpec> tabs) {
+    }
+
     private static final class TabAccumulator {
         private final String id;
         private final String label;
@@ -522,7 +689,7 @@ public class RibbonManager {
                 .map(GroupAccumulator::toSpec)
                 .sorted(GROUP_COMPARATOR)
                 .toList();
-            return new RibbonTabSpec(id, label, order, contextual, ribbonContext -> true, mergedGroups);
+            return new RibbonTabSpec(id, label, order, contextual, ALWAYS_VISIBLE, mergedGroups);
         }
 
         private boolean conflictsWith(RibbonTabSpec tab) {
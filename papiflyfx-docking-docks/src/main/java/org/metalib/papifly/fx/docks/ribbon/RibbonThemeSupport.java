@@ -4,15 +4,30 @@ import org.metalib.papifly.fx.docking.api.Theme;
 import org.metalib.papifly.fx.ui.UiCommonPalette;
 import org.metalib.papifly.fx.ui.UiCommonThemeSupport;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * Internal theme helper for the ribbon shell.
  */
 final class RibbonThemeSupport {
 
+    /**
+     * Variable blocks per theme. Handing every ribbon surface the same string
+     * lets the CSS engine reuse its parsed inline style instead of parsing a
+     * freshly formatted copy per control on each theme switch.
+     */
+    private static final Map<Theme, String> THEME_VARIABLES = Collections.synchronizedMap(new WeakHashMap<>());
+
     private RibbonThemeSupport() {
     }
 
     static String themeVariables(Theme theme) {
+        return THEME_VARIABLES.computeIfAbsent(theme, RibbonThemeSupport::formatThemeVariables);
+    }
+
+    private static String formatThemeVariables(Theme theme) {
         Theme resolved = UiCommonThemeSupport.resolvedTheme(theme);
         UiCommonPalette palette = new UiCommonPalette(
             UiCommonThemeSupport.headerBackground(resolved),
@@ -0,0 +1,341 @@
+package org.metalib.papifly.fx.docks.serial;
+
+import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Debounced background autosave for a dock session file.
+ * <p>
+ * Layout mutations call {@link #markDirty()}, which only records a timestamp.
+ * Once no mutation has happened for the quiet period, the session snapshot is
+ * captured on the snapshot executor (the FX thread in a running application)
+ * and handed to a single background thread that serializes it and replaces the
+ * file through {@link DockSessionPersistence#toJsonFile(DockSessionData, Path)}.
+ * Snapshots that arrive while a write is pending replace the queued one, and a
+ * snapshot equal to the last written session is not written again.
+ * <p>
+ * {@link #markDirty()} may be called from any thread. {@link #closeAsync()}
+ * and {@link #close()} must be called on the thread the snapshot supplier
+ * requires, since they capture the final snapshot directly. Files are only
+ * ever written on the background thread: {@code closeAsync()} leaves the final
+ * write to it, which suits the FX thread, and {@code close()} also waits for
+ * it, but no longer than two seconds, so a slow disk cannot hang the caller.
+ */
+public final class DockSessionAutosave implements AutoCloseable {
+
+    private static final Logger LOG = Logger.getLogger(DockSessionAutosave.class.getName());
+
+    /**
+     * Quiet period used when none is given.
+     */
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofMillis(750);
+
+    private static final long CLOSE_TIMEOUT_MILLIS = 2_000;
+
+    private final Path path;
+    private final Supplier<DockSessionData> snapshotSupplier;
+    private final Executor snapshotExecutor;
+    private final long quietPeriodNanos;
+    private final DockSessionPersistence persistence;
+    private final ScheduledExecutorService writer;
+
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean captureScheduled = new AtomicBoolean();
+    private final AtomicReference<DockSessionData> pendingSnapshot = new AtomicReference<>();
+    private volatile long lastDirtyNanos;
+    private volatile boolean closed;
+    private final CompletableFuture<Void> terminated = new CompletableFuture<>();
+
+    // Only touched on the writer thread.
+    private DockSessionData lastWritten;
+
+    private final AtomicLong dirtyMarks = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong lastWriteNanos = new AtomicLong();
+    private final AtomicLong maxWriteNanos = new AtomicLong();
+    private final AtomicLong totalWriteNanos = new AtomicLong();
+
+    /**
+     * Creates an autosave with the default quiet period and persistence.
+     *
+     * @param path session file to maintain
+     * @param snapshotSupplier captures the current session; runs on {@code snapshotExecutor}
+     * @param snapshotExecutor executor the supplier must run on, e.g. {@code Platform::runLater}
+     */
+    public DockSessionAutosave(Path path, Supplier<DockSessionData> snapshotSupplier, Executor snapshotExecutor) {
+        this(path, snapshotSupplier, snapshotExecutor, DEFAULT_QUIET_PERIOD, new DockSessionPersistence());
+    }
+
+    /**
+     * Creates an autosave.
+     *
+     * @param path session file to maintain
+     * @param snapshotSupplier captures the current session; runs on {@code snapshotExecutor}
+     * @param snapshotExecutor executor the supplier must run on, e.g. {@code Platform::runLater}
+     * @param quietPeriod time without mutations before a save starts
+     * @param persistence persistence used to write the file
+     */
+    public DockSessionAutosave(
+        Path path,
+        Supplier<DockSessionData> snapshotSupplier,
+        Executor snapshotExecutor,
+        Duration quietPeriod,
+        DockSessionPersistence persistence
+    ) {
+        this.path = Objects.requireNonNull(path, "path");
+        this.snapshotSupplier = Objects.requireNonNull(snapshotSupplier, "snapshotSupplier");
+        this.snapshotExecutor = Objects.requireNonNull(snapshotExecutor, "snapshotExecutor");
+        if (quietPeriod == null || quietPeriod.isNegative()) {
+            throw new IllegalArgumentException("quietPeriod must be zero or positive");
+        }
+        this.quietPeriodNanos = quietPeriod.toNanos();
+        this.persistence = Objects.requireNonNull(persistence, "persistence");
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "dock-session-autosave");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        this.writer = executor;
+    }
+
+    /**
+     * Gets the session file this autosave maintains.
+     *
+     * @return session file path
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Records a layout mutation. The save starts once the quiet period has
+     * passed without further calls.
+     */
+    public void markDirty() {
+        if (closed) {
+            return;
+        }
+        dirtyMarks.incrementAndGet();
+        lastDirtyNanos = System.nanoTime();
+        if (dirty.getAndSet(true)) {
+            coalesced.incrementAndGet();
+        }
+        if (captureScheduled.compareAndSet(false, true)) {
+            writer.schedule(this::onQuietPeriodElapsed, quietPeriodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Returns whether there are mutations that have not been captured yet.
+     *
+     * @return {@code true} when a save is outstanding
+     */
+    public boolean isDirty() {
+        return dirty.get();
+    }
+
+    /**
+     * Captures and writes the session now if it is dirty, without waiting for
+     * the quiet period.
+     *
+     * @return future completed once the write has finished
+     */
+    public CompletableFuture<Void> flush() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (closed) {
+            done.complete(null);
+            return done;
+        }
+        snapshotExecutor.execute(() -> {
+            captureSnapshot();
+            try {
+                writer.execute(() -> done.complete(null));
+            } catch (RejectedExecutionException e) {
+                done.complete(null);
+            }
+        });
+        return done;
+    }
+
+    /**
+     * Returns a copy of the autosave counters.
+     *
+     * @return current metrics
+     */
+    public Stats stats() {
+        return new Stats(
+            dirtyMarks.get(),
+            coalesced.get(),
+            skipped.get(),
+            writes.get(),
+            failures.get(),
+            lastWriteNanos.get(),
+            maxWriteNanos.get(),
+            totalWriteNanos.get()
+        );
+    }
+
+    /**
+     * Stops the autosave without waiting for the final write. Any outstanding
+     * change is captured on the calling thread and written on the background
+     * thread, which then stops. Calling this again returns the same future.
+     *
+     * @return future completed once the final write has finished
+     */
+    public synchronized CompletableFuture<Void> closeAsync() {
+        if (closed) {
+            return terminated;
+        }
+        closed = true;
+        if (dirty.get()) {
+            captureSnapshot();
+        }
+        // Pending quiet-period timers are dropped; a queued write still runs first.
+        try {
+            writer.execute(() -> terminated.complete(null));
+        } catch (RejectedExecutionException e) {
+            terminated.complete(null);
+        }
+        writer.shutdown();
+        return terminated;
+    }
+
+    /**
+     * Writes any outstanding change and stops the background thread. The final
+     * snapshot is captured on the calling thread; the write is awaited for at
+     * most two seconds and otherwise left to finish in the background.
+     */
+    @Override
+    public void close() {
+        try {
+            closeAsync().get(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            LOG.warning("Timed out waiting for the session autosave to finish: " + path);
+        } catch (ExecutionException e) {
+            LOG.log(Level.WARNING, "Session autosave failed while closing: " + path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void onQuietPeriodElapsed() {
+        long remaining = quietPeriodNanos - (System.nanoTime() - lastDirtyNanos);
+        if (remaining > 0 && !closed) {
+            writer.schedule(this::onQuietPeriodElapsed, remaining, TimeUnit.NANOSECONDS);
+            return;
+        }
+        captureScheduled.set(false);
+        if (closed) {
+            return;
+        }
+        snapshotExecutor.execute(this::captureSnapshot);
+    }
+
+    private void captureSnapshot() {
+        if (!dirty.getAndSet(false)) {
+            return;
+        }
+        DockSessionData snapshot;
+        try {
+            snapshot = snapshotSupplier.get();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOG.log(Level.WARNING, "Failed to capture dock session for autosave", e);
+            return;
+        }
+        if (snapshot == null) {
+            skipped.incrementAndGet();
+            return;
+        }
+        if (pendingSnapshot.getAndSet(snapshot) != null) {
+            coalesced.incrementAndGet();
+            return;
+        }
+        try {
+            writer.execute(this::writePending);
+        } catch (RejectedExecutionException e) {
+            // Closed since the change was marked; never write on the caller, which may be the FX thread.
+            pendingSnapshot.compareAndSet(snapshot, null);
+            skipped.incrementAndGet();
+            LOG.warning("Session autosave is closed, dropping a change captured after close: " + path);
+        }
+    }
+
+    private void writePending() {
+        DockSessionData snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot == null) {
+            return;
+        }
+        if (snapshot.equals(lastWritten)) {
+            skipped.incrementAndGet();
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            persistence.toJsonFile(snapshot, path);
+            lastWritten = snapshot;
+            writes.incrementAndGet();
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            LOG.log(Level.WARNING, "Failed to autosave dock session to " + path, e);
+            return;
+        }
+        long elapsed = System.nanoTime() - start;
+        lastWriteNanos.set(elapsed);
+        totalWriteNanos.addAndGet(elapsed);
+        maxWriteNanos.accumulateAndGet(elapsed, Math::max);
+    }
+
+    /**
+     * Autosave counters.
+     *
+     * @param dirtyMarks number of {@link #markDirty()} calls
+     * @param coalesced marks and snapshots folded into an already pending save
+     * @param skipped saves dropped because nothing changed since the last write
+     * @param writes completed file writes
+     * @param failures failed snapshot captures or writes
+     * @param lastWriteNanos duration of the most recent write
+     * @param maxWriteNanos longest write
+     * @param totalWriteNanos sum of all write durations
+     */
+    public record Stats(
+        long dirtyMarks,
+        long coalesced,
+        long skipped,
+        long writes,
+        long failures,
+        long lastWriteNanos,
+        long maxWriteNanos,
+        long totalWriteNanos
+    ) {
+        /**
+         * Average write duration.
+         *
+         * @return mean nanoseconds per write, or {@code 0} before the first write
+         */
+        public long averageWriteNanos() {
+            return writes == 0 ? 0 : totalWriteNanos / writes;
+        }
+    }
+}
@@ -1,20 +1,45 @@
 package org.metalib.papifly.fx.docks.serial;
 
 import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonToken;
+import org.metalib.papifly.fx.json.JsonWriter;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * Utility for persisting dock session data to/from JSON files and strings.
  * Wraps {@link DockSessionSerializer} to provide convenient file I/O and string serialization.
+ * Sessions are bound directly to and from JSON; files are streamed rather than
+ * loaded into memory as a whole and replaced atomically with a one-deep backup.
  */
 public class DockSessionPersistence {
 
+    private static final Logger LOG = Logger.getLogger(DockSessionPersistence.class.getName());
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final String BACKUP_SUFFIX = ".bak";
+
     private final DockSessionSerializer serializer;
+    // Session files this instance wrote or read successfully, keyed to their attributes at that point
+    private final Map<Path, FileStamp> verifiedFiles = new ConcurrentHashMap<>();
 
     /**
      * Creates a new DockSessionPersistence with a default serializer.
@@ -44,8 +69,9 @@ public class DockSessionPersistence {
             if (session == null) {
                 return null;
             }
-            Map<String, Object> map = serializer.serialize(session);
-            return serializer.toJson(map);
+            StringBuilder json = new StringBuilder();
+            serializer.write(session, JsonWriter.pretty(json));
+            return json.toString();
         } catch (Exception e) {
             throw new SessionSerializationException("Failed to serialize session to JSON string", e);
         }
@@ -63,8 +89,10 @@ public class DockSessionPersistence {
             if (json == null || json.trim().isEmpty()) {
                 return null;
             }
-            Map<String, Object> map = serializer.fromJson(json);
-            return serializer.deserialize(map);
+            JsonReader reader = new JsonReader(json);
+            DockSessionData session = serializer.read(reader);
+            reader.endDocument();
+            return session;
         } catch (Exception e) {
             throw new SessionSerializationException("Failed to deserialize session from JSON string", e);
         }
@@ -72,6 +100,14 @@ public class DockSessionPersistence {
 
     /**
      * Saves a session to a JSON file.
+     * <p>
+     * The session is streamed into a sibling temp file, which is forced to disk
+     * and then moved over {@code path}, atomically where the file system
+     * supports it. The previous file is kept as {@link #backupPath(Path)} so a
+     * crash at any point leaves either the old or the new session readable. A
+     * previous file this instance has written or read is rotated as is; any
+     * other file is parsed once first and kept out of the backup if it is
+     * unreadable, so it never replaces a good backup.
      *
      * @param session the session to save
      * @param path    the file path to write to
@@ -79,24 +115,52 @@ public class DockSessionPersistence {
      * @throws SessionFileIOException        if file I/O fails
      */
     public void toJsonFile(DockSessionData session, Path path) {
+        if (session == null) {
+            return;
+        }
+        Path tempFile = path.resolveSibling(path.getFileName() + TEMP_SUFFIX);
         try {
-            String json = toJsonString(session);
-            if (json != null) {
-                // Create parent directories if they don't exist
-                if (path.getParent() != null) {
-                    Files.createDirectories(path.getParent());
-                }
-                Files.write(path, json.getBytes(StandardCharsets.UTF_8));
+            // Create parent directories if they don't exist
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
             }
+            try (FileChannel channel = FileChannel.open(tempFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                Writer out = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8));
+                writeSession(session, out);
+                out.flush();
+                channel.force(true);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            rotateBackup(path);
+            moveIntoPlace(tempFile, path);
+            markVerified(path);
         } catch (SessionSerializationException e) {
             throw e;
         } catch (IOException e) {
             throw new SessionFileIOException("Failed to write session to file: " + path, e);
         } catch (Exception e) {
             throw new SessionFileIOException("Unexpected error writing session to file: " + path, e);
+        } finally {
+            try {
+                Files.deleteIfExists(tempFile);
+            } catch (IOException ignored) {
+                // A stale temp file is overwritten by the next save.
+            }
         }
     }
 
+    /**
+     * Returns the file that keeps the previously saved session for {@code path}.
+     *
+     * @param path session file path
+     * @return backup file path
+     */
+    public static Path backupPath(Path path) {
+        return path.resolveSibling(path.getFileName() + BACKUP_SUFFIX);
+    }
+
     /**
      * Loads a session from a JSON file.
      *
@@ -110,8 +174,20 @@ public class DockSessionPersistence {
             if (!Files.exists(path)) {
                 throw new SessionFileIOException("Session file not found: " + path);
             }
-            String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
-            return fromJsonString(json);
+            try {
+                DockSessionData session = readSessionFile(path);
+                if (session != null) {
+                    markVerified(path);
+                }
+                return session;
+            } catch (SessionSerializationException e) {
+                Path backup = backupPath(path);
+                if (!Files.exists(backup)) {
+                    throw e;
+                }
+                LOG.log(Level.WARNING, "Session file is unreadable, restoring from backup: " + backup, e);
+                return readSessionFile(backup);
+            }
         } catch (SessionFileIOException e) {
             throw e;
         } catch (SessionSerializationException e) {
@@ -123,6 +199,78 @@ public class DockSessionPersistence {
         }
     }
 
+    private DockSessionData readSessionFile(Path path) throws IOException {
+        try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return readSession(new JsonReader(in));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void rotateBackup(Path path) throws IOException {
+        if (!Files.exists(path)) {
+            return;
+        }
+        FileStamp verified = verifiedFiles.get(path.toAbsolutePath().normalize());
+        if (verified == null || !verified.equals(FileStamp.of(path))) {
+            // Not known to be ours: parse it once rather than risk rotating a truncated file
+            try {
+                if (readSessionFile(path) == null) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                LOG.log(Level.WARNING, "Session file is unreadable, keeping the existing backup: " + path, e);
+                return;
+            }
+        }
+        Files.copy(path, backupPath(path), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void markVerified(Path path) {
+        try {
+            verifiedFiles.put(path.toAbsolutePath().normalize(), FileStamp.of(path));
+        } catch (IOException e) {
+            verifiedFiles.remove(path.toAbsolutePath().normalize());
+        }
+    }
+
+    private record FileStamp(FileTime lastModified, long size) {
+        static FileStamp of(Path path) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+        }
+    }
+
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void writeSession(DockSessionData session, Writer out) {
+        try {
+            serializer.write(session, JsonWriter.pretty(out));
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SessionSerializationException("Failed to serialize session to JSON file", e);
+        }
+    }
+
+    private DockSessionData readSession(JsonReader reader) {
+        try {
+            DockSessionData session = reader.peek() == JsonToken.END_DOCUMENT ? null : serializer.read(reader);
+            reader.endDocument();
+            return session;
+        } catch (UncheckedIOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new SessionSerializationException("Failed to deserialize session from JSON file", e);
+        }
+    }
+
     /**
      * Gets the underlying DockSessionSerializer.
      *
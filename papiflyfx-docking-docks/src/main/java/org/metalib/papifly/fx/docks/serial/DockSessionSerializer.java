@@ -8,6 +8,9 @@ import org.metalib.papifly.fx.docks.layout.data.LeafData;
 import org.metalib.papifly.fx.docks.layout.data.MaximizedLeafData;
 import org.metalib.papifly.fx.docks.layout.data.MinimizedLeafData;
 import org.metalib.papifly.fx.docks.layout.data.RestoreHintData;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonToken;
+import org.metalib.papifly.fx.json.JsonWriter;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -19,7 +22,8 @@ import java.util.logging.Logger;
 /**
  * Serializes and deserializes dock session data to/from Map structures.
  * Uses LayoutSerializer for layout node encoding plus floating, minimized,
- * maximized, and namespaced extension state.
+ * maximized, and namespaced extension state. {@link #write(DockSessionData, JsonWriter)}
+ * and {@link #read(JsonReader)} bind sessions directly to and from JSON.
  */
 public class DockSessionSerializer {
 
@@ -238,7 +242,7 @@ public class DockSessionSerializer {
             maximized = deserializeMaximized(maximizedMap, ROOT_PATH + "." + MAXIMIZED_KEY);
         }
 
-        Map<String, Map<String, Object>> extensions = deserializeExtensions(map);
+        Map<String, Map<String, Object>> extensions = deserializeExtensions(map.get(EXTENSIONS_KEY));
 
         return new DockSessionData(version, layout, floating, minimized, maximized, extensions);
     }
@@ -306,8 +310,7 @@ public class DockSessionSerializer {
         return new RestoreHintData(parentId, zone, tabIndex, splitPosition, siblingId);
     }
 
-    private Map<String, Map<String, Object>> deserializeExtensions(Map<String, Object> map) {
-        Object rawExtensions = map.get(EXTENSIONS_KEY);
+    private Map<String, Map<String, Object>> deserializeExtensions(Object rawExtensions) {
         if (rawExtensions == null) {
             return Map.of();
         }
@@ -429,8 +432,12 @@ public class DockSessionSerializer {
     }
 
     private IllegalArgumentException invalidShape(String path, String expectedType, Object value) {
+        return invalidShape(path, expectedType, describeType(value));
+    }
+
+    private IllegalArgumentException invalidShape(String path, String expectedType, String actualType) {
         return new IllegalArgumentException(
-            "Invalid " + path + ": expected " + expectedType + " but was " + describeType(value)
+            "Invalid " + path + ": expected " + expectedType + " but was " + actualType
         );
     }
 
@@ -442,7 +449,343 @@ public class DockSessionSerializer {
     }
 
     /**
-     * Converts a map to a simple JSON string (basic implementation without dependencies).
+     * Writes a DockSessionData straight to JSON, without building an
+     * intermediate map. The output is identical to serializing with
+     * {@link #serialize(DockSessionData)} and {@link #toJson(Map)}.
+     *
+     * @param session session data to write, or {@code null}
+     * @param writer JSON writer positioned where a value is expected
+     */
+    public void write(DockSessionData session, JsonWriter writer) {
+        if (session == null) {
+            writer.nullValue();
+            return;
+        }
+        writer.beginObject();
+        writer.name(TYPE_KEY).value(TYPE_DOCK_SESSION);
+        writer.name(VERSION_KEY).value(session.version());
+
+        if (session.layout() != null) {
+            writer.name(LAYOUT_KEY);
+            layoutSerializer.write(session.layout(), writer);
+        }
+
+        if (!session.floating().isEmpty()) {
+            writer.name(FLOATING_KEY).beginArray();
+            for (FloatingLeafData floating : session.floating()) {
+                writer.beginObject();
+                writeLeaf(floating.leaf(), writer);
+                if (floating.bounds() != null) {
+                    BoundsData bounds = floating.bounds();
+                    writer.name(BOUNDS_KEY).beginObject()
+                        .name(BOUNDS_X_KEY).value(bounds.x())
+                        .name(BOUNDS_Y_KEY).value(bounds.y())
+                        .name(BOUNDS_WIDTH_KEY).value(bounds.width())
+                        .name(BOUNDS_HEIGHT_KEY).value(bounds.height())
+                        .endObject();
+                }
+                writeRestoreHint(floating.restoreHint(), writer);
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        if (!session.minimized().isEmpty()) {
+            writer.name(MINIMIZED_KEY).beginArray();
+            for (MinimizedLeafData minimized : session.minimized()) {
+                writer.beginObject();
+                writeLeaf(minimized.leaf(), writer);
+                writeRestoreHint(minimized.restoreHint(), writer);
+                writer.endObject();
+            }
+            writer.endArray();
+        }
+
+        if (session.maximized() != null) {
+            writer.name(MAXIMIZED_KEY).beginObject();
+            writeLeaf(session.maximized().leaf(), writer);
+            writeRestoreHint(session.maximized().restoreHint(), writer);
+            writer.endObject();
+        }
+
+        if (!session.extensions().isEmpty()) {
+            writer.name(EXTENSIONS_KEY).writeValue(session.extensions());
+        }
+
+        writer.endObject();
+    }
+
+    private void writeLeaf(LeafData leaf, JsonWriter writer) {
+        if (leaf != null) {
+            writer.name(LEAF_KEY);
+            layoutSerializer.write(leaf, writer);
+        }
+    }
+
+    private void writeRestoreHint(RestoreHintData hint, JsonWriter writer) {
+        if (hint == null) {
+            return;
+        }
+        writer.name(RESTORE_HINT_KEY).beginObject();
+        if (hint.parentId() != null) {
+            writer.name(HINT_PARENT_ID_KEY).value(hint.parentId());
+        }
+        if (hint.zone() != null) {
+            writer.name(HINT_ZONE_KEY).value(hint.zone());
+        }
+        writer.name(HINT_TAB_INDEX_KEY).value(hint.tabIndex());
+        writer.name(HINT_SPLIT_POSITION_KEY).value(hint.splitPosition());
+        if (hint.siblingId() != null) {
+            writer.name(HINT_SIBLING_ID_KEY).value(hint.siblingId());
+        }
+        writer.endObject();
+    }
+
+    /**
+     * Reads a DockSessionData straight from JSON, without building an
+     * intermediate map for the layout tree or the core session fields.
+     * Validation and error paths match {@link #deserialize(Map)}; extension
+     * payloads stay free-form maps.
+     *
+     * @param reader JSON reader positioned at a session object or {@code null}
+     * @return deserialized session data, or {@code null}
+     */
+    public DockSessionData read(JsonReader reader) {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        String type = null;
+        Number version = null;
+        LayoutNode layout = null;
+        List<FloatingLeafData> floating = new ArrayList<>();
+        List<MinimizedLeafData> minimized = new ArrayList<>();
+        MaximizedLeafData maximized = null;
+        Map<String, Map<String, Object>> extensions = Map.of();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            String path = ROOT_PATH + "." + key;
+            switch (key) {
+                case TYPE_KEY -> type = readOptionalString(reader, path);
+                case VERSION_KEY -> version = readOptionalNumber(reader, path);
+                case LAYOUT_KEY -> {
+                    if (peekOptional(reader, JsonToken.BEGIN_OBJECT, "object", path)) {
+                        layout = layoutSerializer.read(reader);
+                    }
+                }
+                case FLOATING_KEY -> {
+                    if (beginOptionalArray(reader, path)) {
+                        for (int index = 0; reader.hasNext(); index++) {
+                            floating.add(readFloating(reader, path + "[" + index + "]"));
+                        }
+                        reader.endArray();
+                    }
+                }
+                case MINIMIZED_KEY -> {
+                    if (beginOptionalArray(reader, path)) {
+                        for (int index = 0; reader.hasNext(); index++) {
+                            minimized.add(readMinimized(reader, path + "[" + index + "]"));
+                        }
+                        reader.endArray();
+                    }
+                }
+                case MAXIMIZED_KEY -> maximized = readMaximized(reader, path);
+                case EXTENSIONS_KEY -> extensions = deserializeExtensions(reader.readValue());
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+
+        if (type == null) {
+            throw new IllegalArgumentException("Missing required " + ROOT_PATH + "." + TYPE_KEY);
+        }
+        if (!TYPE_DOCK_SESSION.equals(type)) {
+            throw new IllegalArgumentException("Invalid session type: " + type);
+        }
+        int sessionVersion = version != null ? version.intValue() : DockSessionData.CURRENT_VERSION;
+        return new DockSessionData(sessionVersion, layout, floating, minimized, maximized, extensions);
+    }
+
+    private FloatingLeafData readFloating(JsonReader reader, String path) {
+        requireObject(reader, path);
+        LeafData leaf = null;
+        BoundsData bounds = null;
+        RestoreHintData restoreHint = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case LEAF_KEY -> leaf = readLeaf(reader, path, key);
+                case BOUNDS_KEY -> bounds = readBounds(reader, path + "." + key);
+                case RESTORE_HINT_KEY -> restoreHint = readRestoreHint(reader, path + "." + key);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new FloatingLeafData(leaf, bounds, restoreHint);
+    }
+
+    private MinimizedLeafData readMinimized(JsonReader reader, String path) {
+        requireObject(reader, path);
+        LeafData leaf = null;
+        RestoreHintData restoreHint = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case LEAF_KEY -> leaf = readLeaf(reader, path, key);
+                case RESTORE_HINT_KEY -> restoreHint = readRestoreHint(reader, path + "." + key);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new MinimizedLeafData(leaf, restoreHint);
+    }
+
+    private MaximizedLeafData readMaximized(JsonReader reader, String path) {
+        if (!peekOptional(reader, JsonToken.BEGIN_OBJECT, "object", path)) {
+            return null;
+        }
+        LeafData leaf = null;
+        RestoreHintData restoreHint = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case LEAF_KEY -> leaf = readLeaf(reader, path, key);
+                case RESTORE_HINT_KEY -> restoreHint = readRestoreHint(reader, path + "." + key);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new MaximizedLeafData(leaf, restoreHint);
+    }
+
+    private LeafData readLeaf(JsonReader reader, String path, String key) {
+        if (!peekOptional(reader, JsonToken.BEGIN_OBJECT, "object", path + "." + key)) {
+            return null;
+        }
+        LayoutNode node = layoutSerializer.read(reader);
+        if (node instanceof LeafData leafData) {
+            return leafData;
+        }
+        throw new IllegalArgumentException("Invalid " + path + "." + key + ": expected leaf node but found " + describeType(node));
+    }
+
+    private BoundsData readBounds(JsonReader reader, String path) {
+        if (!peekOptional(reader, JsonToken.BEGIN_OBJECT, "object", path)) {
+            return null;
+        }
+        double x = 0.0;
+        double y = 0.0;
+        double width = 400.0;
+        double height = 300.0;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case BOUNDS_X_KEY -> x = optionalDouble(readOptionalNumber(reader, path + "." + key), x);
+                case BOUNDS_Y_KEY -> y = optionalDouble(readOptionalNumber(reader, path + "." + key), y);
+                case BOUNDS_WIDTH_KEY -> width = optionalDouble(readOptionalNumber(reader, path + "." + key), width);
+                case BOUNDS_HEIGHT_KEY -> height = optionalDouble(readOptionalNumber(reader, path + "." + key), height);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new BoundsData(x, y, width, height);
+    }
+
+    private RestoreHintData readRestoreHint(JsonReader reader, String path) {
+        if (!peekOptional(reader, JsonToken.BEGIN_OBJECT, "object", path)) {
+            return null;
+        }
+        String parentId = null;
+        String zone = null;
+        int tabIndex = -1;
+        double splitPosition = 0.5;
+        String siblingId = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String key = reader.nextName();
+            switch (key) {
+                case HINT_PARENT_ID_KEY -> parentId = readOptionalString(reader, path + "." + key);
+                case HINT_ZONE_KEY -> zone = readOptionalString(reader, path + "." + key);
+                case HINT_TAB_INDEX_KEY -> {
+                    Number number = readOptionalNumber(reader, path + "." + key);
+                    tabIndex = number != null ? number.intValue() : tabIndex;
+                }
+                case HINT_SPLIT_POSITION_KEY -> splitPosition = optionalDouble(
+                    readOptionalNumber(reader, path + "." + key),
+                    splitPosition
+                );
+                case HINT_SIBLING_ID_KEY -> siblingId = readOptionalString(reader, path + "." + key);
+                default -> reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return new RestoreHintData(parentId, zone, tabIndex, splitPosition, siblingId);
+    }
+
+    private boolean beginOptionalArray(JsonReader reader, String path) {
+        if (!peekOptional(reader, JsonToken.BEGIN_ARRAY, "list", path)) {
+            return false;
+        }
+        reader.beginArray();
+        return true;
+    }
+
+    private void requireObject(JsonReader reader, String path) {
+        JsonToken token = reader.peek();
+        if (token != JsonToken.BEGIN_OBJECT) {
+            throw invalidShape(path, "object", describeToken(token));
+        }
+    }
+
+    /**
+     * Returns {@code true} when the next value has the expected token,
+     * consumes a {@code null} and returns {@code false}, and rejects any other
+     * shape with the same message the map-based path produces.
+     */
+    private boolean peekOptional(JsonReader reader, JsonToken expected, String expectedType, String path) {
+        JsonToken token = reader.peek();
+        if (token == expected) {
+            return true;
+        }
+        if (token == JsonToken.NULL) {
+            reader.nextNull();
+            return false;
+        }
+        throw invalidShape(path, expectedType, describeToken(token));
+    }
+
+    private String readOptionalString(JsonReader reader, String path) {
+        return peekOptional(reader, JsonToken.STRING, "string", path) ? reader.nextString() : null;
+    }
+
+    private Number readOptionalNumber(JsonReader reader, String path) {
+        return peekOptional(reader, JsonToken.NUMBER, "number", path) ? reader.nextNumber() : null;
+    }
+
+    private double optionalDouble(Number number, double defaultValue) {
+        return number != null ? number.doubleValue() : defaultValue;
+    }
+
+    private String describeToken(JsonToken token) {
+        return switch (token) {
+            case BEGIN_OBJECT -> "LinkedHashMap";
+            case BEGIN_ARRAY -> "ArrayList";
+            case STRING -> "String";
+            case NUMBER -> "Number";
+            case BOOLEAN -> "Boolean";
+            default -> "null";
+        };
+    }
+
+    /**
+     * Converts a map to a JSON string.
      *
      * @param map map to convert
      * @return JSON representation
@@ -452,7 +795,7 @@ public class DockSessionSerializer {
     }
 
     /**
-     * Parses a simple JSON string to a map (basic implementation without dependencies).
+     * Parses a JSON string to a map.
      *
      * @param json JSON text to parse
      * @return parsed map
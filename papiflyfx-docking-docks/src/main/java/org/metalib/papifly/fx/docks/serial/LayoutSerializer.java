@@ -7,9 +7,12 @@ import org.metalib.papifly.fx.docking.api.LeafContentData;
 import org.metalib.papifly.fx.docks.layout.data.LeafData;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.json.Json;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonToken;
+import org.metalib.papifly.fx.json.JsonWriter;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +21,12 @@ import java.util.function.Function;
 /**
  * Serializes and deserializes layout definitions to/from Map structures.
  * The Map structure can be easily converted to JSON using any JSON library.
+ * {@link #write(LayoutNode, JsonWriter)} and {@link #read(JsonReader)} bind the
+ * layout tree directly to and from JSON without the intermediate maps.
+ * <p>
+ * Binary splits keep the {@code dividerPosition}/{@code first}/{@code second}
+ * shape; splits with more children are written as {@code children} and
+ * {@code dividerPositions} arrays. Both shapes are read.
  */
 public class LayoutSerializer {
 
@@ -34,6 +43,8 @@ public class LayoutSerializer {
     private static final String DIVIDER_KEY = "dividerPosition";
     private static final String FIRST_KEY = "first";
     private static final String SECOND_KEY = "second";
+    private static final String CHILDREN_KEY = "children";
+    private static final String DIVIDERS_KEY = "dividerPositions";
     private static final String TABS_KEY = "tabs";
     private static final String ACTIVE_TAB_KEY = "activeTabIndex";
 
@@ -118,9 +129,18 @@ public class LayoutSerializer {
         map.put(TYPE_KEY, TYPE_SPLIT);
         map.put(ID_KEY, split.id());
         map.put(ORIENTATION_KEY, split.orientation().name());
-        map.put(DIVIDER_KEY, split.dividerPosition());
-        map.put(FIRST_KEY, serialize(split.first()));
-        map.put(SECOND_KEY, serialize(split.second()));
+        if (split.isBinary()) {
+            map.put(DIVIDER_KEY, split.dividerPosition());
+            map.put(FIRST_KEY, serialize(split.first()));
+            map.put(SECOND_KEY, serialize(split.second()));
+        } else {
+            map.put(DIVIDERS_KEY, new ArrayList<>(split.dividerPositions()));
+            List<Map<String, Object>> children = new ArrayList<>();
+            for (LayoutNode child : split.children()) {
+                children.add(serialize(child));
+            }
+            map.put(CHILDREN_KEY, children);
+        }
         return map;
     }
 
@@ -196,6 +216,17 @@ public class LayoutSerializer {
     private SplitData deserializeSplit(Map<String, Object> map) {
         String id = (String) map.get(ID_KEY);
         Orientation orientation = Orientation.valueOf((String) map.get(ORIENTATION_KEY));
+        if (map.get(CHILDREN_KEY) instanceof List<?> childMaps) {
+            List<LayoutNode> children = new ArrayList<>();
+            for (Object childMap : childMaps) {
+                children.add(deserialize((Map<String, Object>) childMap));
+            }
+            List<Double> dividerPositions = new ArrayList<>();
+            for (Object position : (List<Object>) map.get(DIVIDERS_KEY)) {
+                dividerPositions.add(((Number) position).doubleValue());
+            }
+            return new SplitData(id, orientation, children, dividerPositions);
+        }
         double dividerPosition = ((Number) map.get(DIVIDER_KEY)).doubleValue();
         LayoutNode first = deserialize((Map<String, Object>) map.get(FIRST_KEY));
         LayoutNode second = deserialize((Map<String, Object>) map.get(SECOND_KEY));
@@ -217,269 +248,261 @@ public class LayoutSerializer {
     }
 
     /**
-     * Converts a map to a simple JSON string (basic implementation without dependencies).
-     *
-     * @param map map to convert
-     * @return JSON representation
-     */
-    public String toJson(Map<String, Object> map) {
-        return toJsonValue(map, 0);
-    }
-
-    /**
-     * Parses a simple JSON string to a map (basic implementation without dependencies).
+     * Writes a LayoutNode straight to JSON, without building an intermediate map.
      *
-     * @param json JSON text to parse
-     * @return parsed map
+     * @param node layout node to write, or {@code null}
+     * @param writer JSON writer positioned where a value is expected
      */
-    public Map<String, Object> fromJson(String json) {
-        return new SimpleJsonParser(json).parseObject();
-    }
-
-    @SuppressWarnings("unchecked")
-    private String toJsonValue(Object value, int indent) {
-        if (value == null) {
-            return "null";
-        }
-        if (value instanceof String s) {
-            return "\"" + escapeJson(s) + "\"";
-        }
-        if (value instanceof Number n) {
-            return n.toString();
-        }
-        if (value instanceof Boolean b) {
-            return b.toString();
-        }
-        if (value instanceof Map<?, ?> m) {
-            return toJsonObject((Map<String, Object>) m, indent);
-        }
-        if (value instanceof List<?> l) {
-            return toJsonArray((List<Object>) l, indent);
-        }
-        return "\"" + value.toString() + "\"";
-    }
-
-    private String toJsonObject(Map<String, Object> map, int indent) {
-        if (map.isEmpty()) {
-            return "{}";
+    public void write(LayoutNode node, JsonWriter writer) {
+        if (node == null) {
+            writer.nullValue();
+            return;
         }
+        node.accept(new LayoutNodeVisitor<Void>() {
+            @Override
+            public Void visitLeaf(LeafData leaf) {
+                writeLeaf(leaf, writer);
+                return null;
+            }
 
-        StringBuilder sb = new StringBuilder();
-        sb.append("{\n");
-
-        String indentStr = "  ".repeat(indent + 1);
-        String closingIndent = "  ".repeat(indent);
-
-        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
-        while (it.hasNext()) {
-            Map.Entry<String, Object> entry = it.next();
-            sb.append(indentStr)
-              .append("\"").append(escapeJson(entry.getKey())).append("\": ")
-              .append(toJsonValue(entry.getValue(), indent + 1));
-            if (it.hasNext()) {
-                sb.append(",");
+            @Override
+            public Void visitSplit(SplitData split) {
+                writer.beginObject();
+                writer.name(TYPE_KEY).value(TYPE_SPLIT);
+                writer.name(ID_KEY).value(split.id());
+                writer.name(ORIENTATION_KEY).value(split.orientation().name());
+                if (split.isBinary()) {
+                    writer.name(DIVIDER_KEY).value(split.dividerPosition());
+                    writer.name(FIRST_KEY);
+                    write(split.first(), writer);
+                    writer.name(SECOND_KEY);
+                    write(split.second(), writer);
+                } else {
+                    writer.name(DIVIDERS_KEY).beginArray();
+                    for (double position : split.dividerPositions()) {
+                        writer.value(position);
+                    }
+                    writer.endArray();
+                    writer.name(CHILDREN_KEY).beginArray();
+                    for (LayoutNode child : split.children()) {
+                        write(child, writer);
+                    }
+                    writer.endArray();
+                }
+                writer.endObject();
+                return null;
             }
-            sb.append("\n");
-        }
 
-        sb.append(closingIndent).append("}");
-        return sb.toString();
+            @Override
+            public Void visitTabGroup(TabGroupData tabGroup) {
+                writer.beginObject();
+                writer.name(TYPE_KEY).value(TYPE_TAB_GROUP);
+                writer.name(ID_KEY).value(tabGroup.id());
+                writer.name(TABS_KEY).beginArray();
+                for (LeafData tab : tabGroup.tabs()) {
+                    writeLeaf(tab, writer);
+                }
+                writer.endArray();
+                writer.name(ACTIVE_TAB_KEY).value(tabGroup.activeTabIndex());
+                writer.endObject();
+                return null;
+            }
+        });
     }
 
-    private String toJsonArray(List<Object> list, int indent) {
-        if (list.isEmpty()) {
-            return "[]";
+    private void writeLeaf(LeafData leaf, JsonWriter writer) {
+        writer.beginObject();
+        writer.name(TYPE_KEY).value(TYPE_LEAF);
+        writer.name(ID_KEY).value(leaf.id());
+        writer.name(TITLE_KEY).value(leaf.title());
+        if (leaf.contentFactoryId() != null) {
+            writer.name(CONTENT_FACTORY_KEY).value(leaf.contentFactoryId());
         }
-
-        StringBuilder sb = new StringBuilder();
-        sb.append("[\n");
-
-        String indentStr = "  ".repeat(indent + 1);
-        String closingIndent = "  ".repeat(indent);
-
-        Iterator<Object> it = list.iterator();
-        while (it.hasNext()) {
-            sb.append(indentStr).append(toJsonValue(it.next(), indent + 1));
-            if (it.hasNext()) {
-                sb.append(",");
+        LeafContentData content = leaf.content();
+        if (content != null) {
+            writer.name(CONTENT_KEY).beginObject();
+            if (content.typeKey() != null) {
+                writer.name(CONTENT_TYPE_KEY).value(content.typeKey());
+            }
+            if (content.contentId() != null) {
+                writer.name(CONTENT_ID_KEY).value(content.contentId());
             }
-            sb.append("\n");
+            writer.name(CONTENT_VERSION_KEY).value(content.version());
+            if (content.state() != null) {
+                writer.name(CONTENT_STATE_KEY).writeValue(content.state());
+            }
+            writer.endObject();
         }
-
-        sb.append(closingIndent).append("]");
-        return sb.toString();
-    }
-
-    private String escapeJson(String s) {
-        return s.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+        writer.endObject();
     }
 
     /**
-     * Simple JSON parser for basic layout deserialization.
+     * Reads a LayoutNode straight from JSON, without building an intermediate map.
+     * Members may appear in any order; unknown members are skipped.
+     *
+     * @param reader JSON reader positioned at a layout object or {@code null}
+     * @return deserialized layout node, or {@code null}
      */
-    private static class SimpleJsonParser {
-        private final String json;
-        private int pos;
-
-        SimpleJsonParser(String json) {
-            this.json = json.trim();
-            this.pos = 0;
-        }
-
-        Map<String, Object> parseObject() {
-            Map<String, Object> map = new LinkedHashMap<>();
-            expect('{');
-            skipWhitespace();
-
-            if (peek() != '}') {
-                do {
-                    skipWhitespace();
-                    String key = parseString();
-                    skipWhitespace();
-                    expect(':');
-                    skipWhitespace();
-                    Object value = parseValue();
-                    map.put(key, value);
-                    skipWhitespace();
-                } while (consumeIf(','));
-            }
-
-            expect('}');
-            return map;
+    public LayoutNode read(JsonReader reader) {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
         }
-
-        private Object parseValue() {
-            skipWhitespace();
-            char c = peek();
-
-            if (c == '{') {
-                return parseObject();
-            }
-            if (c == '[') {
-                return parseArray();
-            }
-            if (c == '"') {
-                return parseString();
-            }
-            if (c == 't' || c == 'f') {
-                return parseBoolean();
-            }
-            if (c == 'n') {
-                return parseNull();
-            }
-            return parseNumber();
+        NodeFields fields = readFields(reader);
+        if (fields.type == null) {
+            throw new IllegalArgumentException("Missing type");
         }
+        return switch (fields.type) {
+            case TYPE_LEAF -> fields.toLeaf();
+            case TYPE_SPLIT -> fields.toSplit();
+            case TYPE_TAB_GROUP -> fields.toTabGroup();
+            default -> throw new IllegalArgumentException("Unknown type: " + fields.type);
+        };
+    }
 
-        private List<Object> parseArray() {
-            List<Object> list = new ArrayList<>();
-            expect('[');
-            skipWhitespace();
-
-            if (peek() != ']') {
-                do {
-                    skipWhitespace();
-                    list.add(parseValue());
-                    skipWhitespace();
-                } while (consumeIf(','));
+    private NodeFields readFields(JsonReader reader) {
+        NodeFields fields = new NodeFields();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case TYPE_KEY -> fields.type = reader.nextStringOrNull();
+                case ID_KEY -> fields.id = reader.nextStringOrNull();
+                case TITLE_KEY -> fields.title = reader.nextStringOrNull();
+                case CONTENT_FACTORY_KEY -> fields.contentFactoryId = reader.nextStringOrNull();
+                case CONTENT_KEY -> fields.content = readContent(reader);
+                case ORIENTATION_KEY -> fields.orientation = reader.nextStringOrNull();
+                case DIVIDER_KEY -> fields.dividerPosition = reader.nextDouble();
+                case FIRST_KEY -> fields.first = read(reader);
+                case SECOND_KEY -> fields.second = read(reader);
+                case CHILDREN_KEY -> fields.children = readChildren(reader);
+                case DIVIDERS_KEY -> fields.dividerPositions = readDividerPositions(reader);
+                case TABS_KEY -> fields.tabs = readTabs(reader);
+                case ACTIVE_TAB_KEY -> fields.activeTabIndex = reader.nextInt();
+                default -> reader.skipValue();
             }
-
-            expect(']');
-            return list;
         }
+        reader.endObject();
+        return fields;
+    }
 
-        private String parseString() {
-            expect('"');
-            StringBuilder sb = new StringBuilder();
-
-            while (pos < json.length()) {
-                char c = json.charAt(pos++);
-                if (c == '"') {
-                    return sb.toString();
-                }
-                if (c == '\\') {
-                    c = json.charAt(pos++);
-                    switch (c) {
-                        case 'n' -> sb.append('\n');
-                        case 'r' -> sb.append('\r');
-                        case 't' -> sb.append('\t');
-                        case '"' -> sb.append('"');
-                        case '\\' -> sb.append('\\');
-                        default -> sb.append(c);
-                    }
-                } else {
-                    sb.append(c);
-                }
-            }
-
-            throw new IllegalStateException("Unterminated string");
+    private List<LayoutNode> readChildren(JsonReader reader) {
+        List<LayoutNode> children = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            children.add(read(reader));
         }
+        reader.endArray();
+        return children;
+    }
 
-        private Number parseNumber() {
-            int start = pos;
-            while (pos < json.length() && isNumberChar(json.charAt(pos))) {
-                pos++;
-            }
-            String numStr = json.substring(start, pos);
-            if (numStr.contains(".")) {
-                return Double.parseDouble(numStr);
-            }
-            return Long.parseLong(numStr);
+    private List<Double> readDividerPositions(JsonReader reader) {
+        List<Double> positions = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            positions.add(reader.nextDouble());
         }
+        reader.endArray();
+        return positions;
+    }
 
-        private boolean parseBoolean() {
-            if (json.startsWith("true", pos)) {
-                pos += 4;
-                return true;
-            }
-            if (json.startsWith("false", pos)) {
-                pos += 5;
-                return false;
-            }
-            throw new IllegalStateException("Expected boolean at position " + pos);
+    private List<LeafData> readTabs(JsonReader reader) {
+        List<LeafData> tabs = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            tabs.add(readFields(reader).toLeaf());
         }
+        reader.endArray();
+        return tabs;
+    }
 
-        private Object parseNull() {
-            if (json.startsWith("null", pos)) {
-                pos += 4;
-                return null;
+    @SuppressWarnings("unchecked")
+    private LeafContentData readContent(JsonReader reader) {
+        if (reader.peek() != JsonToken.BEGIN_OBJECT) {
+            reader.skipValue();
+            return null;
+        }
+        String typeKey = null;
+        String contentId = null;
+        int version = 1;
+        Map<String, Object> state = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            switch (reader.nextName()) {
+                case CONTENT_TYPE_KEY -> typeKey = reader.nextStringOrNull();
+                case CONTENT_ID_KEY -> contentId = reader.nextStringOrNull();
+                case CONTENT_VERSION_KEY -> version = reader.nextInt();
+                case CONTENT_STATE_KEY -> {
+                    Object stateValue = reader.readValue();
+                    state = stateValue instanceof Map<?, ?> stateMap ? (Map<String, Object>) stateMap : null;
+                }
+                default -> reader.skipValue();
             }
-            throw new IllegalStateException("Expected null at position " + pos);
         }
+        reader.endObject();
+        return new LeafContentData(typeKey, contentId, version, state);
+    }
 
-        private boolean isNumberChar(char c) {
-            return c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
-        }
+    /**
+     * Converts a map to a JSON string.
+     *
+     * @param map map to convert
+     * @return JSON representation
+     */
+    public String toJson(Map<String, Object> map) {
+        return Json.toJson(map);
+    }
 
-        private void expect(char c) {
-            skipWhitespace();
-            if (pos >= json.length() || json.charAt(pos) != c) {
-                throw new IllegalStateException("Expected '" + c + "' at position " + pos);
-            }
-            pos++;
-        }
+    /**
+     * Parses a JSON string to a map.
+     *
+     * @param json JSON text to parse
+     * @return parsed map
+     */
+    public Map<String, Object> fromJson(String json) {
+        return Json.parseObject(json);
+    }
 
-        private boolean consumeIf(char c) {
-            skipWhitespace();
-            if (pos < json.length() && json.charAt(pos) == c) {
-                pos++;
-                return true;
+    /**
+     * Members of a layout object collected in document order, so the node can
+     * be built once its {@code type} is known wherever it appears.
+     */
+    private static final class NodeFields {
+        private String type;
+        private String id;
+        private String title;
+        private String contentFactoryId;
+        private LeafContentData content;
+        private String orientation;
+        private Double dividerPosition;
+        private LayoutNode first;
+        private LayoutNode second;
+        private List<LayoutNode> children;
+        private List<Double> dividerPositions;
+        private List<LeafData> tabs;
+        private Integer activeTabIndex;
+
+        private LeafData toLeaf() {
+            return new LeafData(id, title, contentFactoryId, content);
+        }
+
+        private SplitData toSplit() {
+            if (children != null) {
+                if (orientation == null || dividerPositions == null) {
+                    throw new IllegalArgumentException("Split " + id + " is missing orientation or dividerPositions");
+                }
+                return new SplitData(id, Orientation.valueOf(orientation), children, dividerPositions);
             }
-            return false;
-        }
-
-        private char peek() {
-            skipWhitespace();
-            return pos < json.length() ? json.charAt(pos) : '\0';
+            if (orientation == null || dividerPosition == null) {
+                throw new IllegalArgumentException("Split " + id + " is missing orientation or dividerPosition");
+            }
+            return new SplitData(id, Orientation.valueOf(orientation), dividerPosition, first, second);
         }
 
-        private void skipWhitespace() {
-            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
-                pos++;
+        private TabGroupData toTabGroup() {
+            if (tabs == null || activeTabIndex == null) {
+                throw new IllegalArgumentException("Tab group " + id + " is missing tabs or activeTabIndex");
             }
+            return new TabGroupData(id, tabs, activeTabIndex);
         }
     }
 }
@@ -0,0 +1,176 @@
+package org.metalib.papifly.fx.docks.theme;
+
+import javafx.geometry.Insets;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.Border;
+import javafx.scene.layout.BorderStroke;
+import javafx.scene.layout.BorderStrokeStyle;
+import javafx.scene.layout.BorderWidths;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.paint.Paint;
+import org.metalib.papifly.fx.docking.api.Theme;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Immutable backgrounds and borders derived from a {@link Theme}.
+ * <p>
+ * Instances are shared: {@link #of(Theme)} returns the same instance for equal
+ * themes, so every dock component styled with a theme reuses the same objects
+ * and a theme switch allocates them once rather than once per component.
+ * Components can compare the instance they last applied with the current one
+ * to skip restyling entirely.
+ */
+public final class DockThemeStyles {
+
+    private static final Map<Theme, DockThemeStyles> CACHE = new WeakHashMap<>();
+
+    private static Theme lastTheme;
+    private static DockThemeStyles lastStyles;
+
+    private final Background contentBackground;
+    private final Background headerBackground;
+    private final Background activeTabBackground;
+    private final Background inactiveTabBackground;
+    private final Border groupBorder;
+    private final Background dividerBackground;
+    private final Background dropHintBackground;
+    private final Background minimizedBarBackground;
+    private final Background minimizedItemBackground;
+    private final Background minimizedItemHoverBackground;
+
+    private DockThemeStyles(Theme theme) {
+        CornerRadii rounded = new CornerRadii(theme.cornerRadius());
+        CornerRadii tabRadii = new CornerRadii(theme.cornerRadius(), theme.cornerRadius(), 0, 0, false);
+        contentBackground = fill(theme.background(), CornerRadii.EMPTY);
+        headerBackground = fill(theme.headerBackground(), CornerRadii.EMPTY);
+        activeTabBackground = fill(theme.headerBackgroundActive(), tabRadii);
+        inactiveTabBackground = fill(theme.headerBackground(), tabRadii);
+        groupBorder = new Border(new BorderStroke(
+            theme.borderColor(),
+            BorderStrokeStyle.SOLID,
+            rounded,
+            new BorderWidths(theme.borderWidth())
+        ));
+        dividerBackground = fill(theme.dividerColor(), CornerRadii.EMPTY);
+        dropHintBackground = fill(theme.dropHintColor(), CornerRadii.EMPTY);
+        minimizedBarBackground = fill(theme.minimizedBarBackground(), CornerRadii.EMPTY);
+        minimizedItemBackground = fill(theme.headerBackground(), rounded);
+        minimizedItemHoverBackground = fill(theme.buttonHoverBackground(), rounded);
+    }
+
+    private static Background fill(Paint paint, CornerRadii radii) {
+        return new Background(new BackgroundFill(paint, radii, Insets.EMPTY));
+    }
+
+    /**
+     * Gets the shared styles for a theme, deriving them on first use.
+     *
+     * @param theme theme to derive styles from
+     * @return shared styles, or {@code null} for a {@code null} theme
+     */
+    public static synchronized DockThemeStyles of(Theme theme) {
+        if (theme == null) {
+            return null;
+        }
+        if (theme == lastTheme) {
+            return lastStyles;
+        }
+        DockThemeStyles styles = CACHE.computeIfAbsent(theme, DockThemeStyles::new);
+        lastTheme = theme;
+        lastStyles = styles;
+        return styles;
+    }
+
+    /**
+     * Gets the background of dock content areas and windows.
+     *
+     * @return content background
+     */
+    public Background contentBackground() {
+        return contentBackground;
+    }
+
+    /**
+     * Gets the background of tab bars and headers.
+     *
+     * @return header background
+     */
+    public Background headerBackground() {
+        return headerBackground;
+    }
+
+    /**
+     * Gets the background of the active tab header.
+     *
+     * @return active tab background with rounded top corners
+     */
+    public Background activeTabBackground() {
+        return activeTabBackground;
+    }
+
+    /**
+     * Gets the background of inactive tab headers.
+     *
+     * @return inactive tab background with rounded top corners
+     */
+    public Background inactiveTabBackground() {
+        return inactiveTabBackground;
+    }
+
+    /**
+     * Gets the border drawn around tab groups.
+     *
+     * @return tab group border
+     */
+    public Border groupBorder() {
+        return groupBorder;
+    }
+
+    /**
+     * Gets the background of split dividers.
+     *
+     * @return divider background
+     */
+    public Background dividerBackground() {
+        return dividerBackground;
+    }
+
+    /**
+     * Gets the background of drag hints such as the ghost divider.
+     *
+     * @return drop hint background
+     */
+    public Background dropHintBackground() {
+        return dropHintBackground;
+    }
+
+    /**
+     * Gets the background of the minimized bar.
+     *
+     * @return minimized bar background
+     */
+    public Background minimizedBarBackground() {
+        return minimizedBarBackground;
+    }
+
+    /**
+     * Gets the background of minimized bar items.
+     *
+     * @return minimized item background
+     */
+    public Background minimizedItemBackground() {
+        return minimizedItemBackground;
+    }
+
+    /**
+     * Gets the background of hovered minimized bar items.
+     *
+     * @return hovered minimized item background
+     */
+    public Background minimizedItemHoverBackground() {
+        return minimizedItemHoverBackground;
+    }
+}
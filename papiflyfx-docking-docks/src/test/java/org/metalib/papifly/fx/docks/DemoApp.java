@@ -491,8 +491,9 @@ public class DemoApp extends Application {
                 wirePanelCloseButton(leaf);
             }
         } else if (element instanceof DockSplitGroup splitGroup) {
-            wirePanelCloseButtons(splitGroup.getFirst());
-            wirePanelCloseButtons(splitGroup.getSecond());
+            for (DockElement child : splitGroup.getChildren()) {
+                wirePanelCloseButtons(child);
+            }
         }
     }
 
@@ -584,7 +585,9 @@ public class DemoApp extends Application {
                 }
             }
         } else if (element instanceof DockSplitGroup splitGroup) {
-            max = Math.max(findMaxPanelNumber(splitGroup.getFirst()), findMaxPanelNumber(splitGroup.getSecond()));
+            for (DockElement child : splitGroup.getChildren()) {
+                max = Math.max(max, findMaxPanelNumber(child));
+            }
         }
         return max;
     }
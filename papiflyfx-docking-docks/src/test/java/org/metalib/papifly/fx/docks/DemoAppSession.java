@@ -152,9 +152,10 @@ public class DemoAppSession extends Application {
                 }
             }
         } else if (element instanceof org.metalib.papifly.fx.docks.core.DockSplitGroup split) {
-            DockLeaf leaf = findLeafByTitle(split.getFirst(), title);
-            if (leaf != null) return leaf;
-            return findLeafByTitle(split.getSecond(), title);
+            for (org.metalib.papifly.fx.docks.core.DockElement child : split.getChildren()) {
+                DockLeaf leaf = findLeafByTitle(child, title);
+                if (leaf != null) return leaf;
+            }
         }
         return null;
     }
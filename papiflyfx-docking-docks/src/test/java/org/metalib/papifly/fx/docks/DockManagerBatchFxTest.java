@@ -0,0 +1,122 @@
+package org.metalib.papifly.fx.docks;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(ApplicationExtension.class)
+class DockManagerBatchFxTest {
+
+    private DockManager dockManager;
+    private DockTabGroup left;
+    private DockTabGroup right;
+    private DockLeaf editor;
+    private DockLeaf notes;
+    private DockLeaf console;
+
+    @Start
+    private void start(Stage stage) {
+        dockManager = new DockManager();
+        editor = dockManager.createLeaf("Editor", new Label("Editor"));
+        notes = dockManager.createLeaf("Notes", new Label("Notes"));
+        console = dockManager.createLeaf("Console", new Label("Console"));
+        left = dockManager.createTabGroup();
+        left.addLeaf(editor);
+        left.addLeaf(notes);
+        right = dockManager.createTabGroup();
+        right.addLeaf(console);
+        dockManager.setRoot(dockManager.createHorizontalSplit(left, right, 0.5));
+        stage.setScene(new Scene((Region) dockManager.getRootPane(), 800, 600));
+        stage.show();
+    }
+
+    @Test
+    void batch_runsRibbonSyncAndDirtyMarkOnceAtCommit(@TempDir Path tempDir) throws Exception {
+        FxTestUtil.runFx(() -> dockManager.enableSessionAutosave(tempDir.resolve("session.json")));
+        WaitForAsyncUtils.waitForFxEvents();
+        long syncsBefore = FxTestUtil.callFx(dockManager::ribbonSyncCount);
+
+        long syncs = FxTestUtil.callFx(() -> {
+            dockManager.batch(tx -> {
+                mutations().forEach(step -> step.accept(tx));
+                assertEquals(syncsBefore, dockManager.ribbonSyncCount());
+                assertEquals(0, dockManager.getSessionAutosave().stats().dirtyMarks());
+            });
+            return dockManager.ribbonSyncCount() - syncsBefore;
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertSame(left, FxTestUtil.callFx(dockManager::getRoot));
+        assertEquals(3, FxTestUtil.callFx(() -> left.getTabs().size()));
+        assertEquals(1, syncs);
+        assertEquals(1, FxTestUtil.callFx(() -> dockManager.getSessionAutosave().stats().dirtyMarks()));
+        FxTestUtil.callFx(dockManager::disableSessionAutosave).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void separateOperations_runRibbonSyncAndDirtyMarkPerOperation(@TempDir Path tempDir) throws Exception {
+        FxTestUtil.runFx(() -> dockManager.enableSessionAutosave(tempDir.resolve("session.json")));
+        WaitForAsyncUtils.waitForFxEvents();
+        long syncsBefore = FxTestUtil.callFx(dockManager::ribbonSyncCount);
+        List<Consumer<DockTransaction>> steps = mutations();
+
+        long syncs = FxTestUtil.callFx(() -> {
+            steps.forEach(dockManager::batch);
+            return dockManager.ribbonSyncCount() - syncsBefore;
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertSame(left, FxTestUtil.callFx(dockManager::getRoot));
+        assertEquals(3, FxTestUtil.callFx(() -> left.getTabs().size()));
+        assertTrue(syncs >= steps.size(), "ribbon syncs: " + syncs);
+        long dirtyMarks = FxTestUtil.callFx(() -> dockManager.getSessionAutosave().stats().dirtyMarks());
+        assertTrue(dirtyMarks >= steps.size(), "dirty marks: " + dirtyMarks);
+        FxTestUtil.callFx(dockManager::disableSessionAutosave).get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void nestedBatchThatThrows_stillCommitsOnce(@TempDir Path tempDir) throws Exception {
+        FxTestUtil.runFx(() -> dockManager.enableSessionAutosave(tempDir.resolve("session.json")));
+
+        FxTestUtil.runFx(() -> assertThrows(IllegalArgumentException.class, () -> dockManager.batch(tx -> {
+            tx.minimizeLeaf(console);
+            dockManager.batch(nested -> nested.minimizeLeaf(notes));
+            tx.moveLeaf(console, left, 0);
+        })));
+
+        assertTrue(FxTestUtil.callFx(() -> dockManager.getMinimizedStore().isMinimized(console)));
+        assertTrue(FxTestUtil.callFx(() -> dockManager.getMinimizedStore().isMinimized(notes)));
+        assertEquals(1, FxTestUtil.callFx(() -> dockManager.getSessionAutosave().stats().dirtyMarks()));
+        FxTestUtil.callFx(dockManager::disableSessionAutosave).get(5, TimeUnit.SECONDS);
+    }
+
+    private List<Consumer<DockTransaction>> mutations() {
+        return List.of(
+            tx -> tx.moveLeaf(console, left, 0),
+            tx -> tx.minimizeLeaf(notes),
+            tx -> tx.restoreLeaf(notes),
+            tx -> tx.maximizeLeaf(editor),
+            DockTransaction::restoreMaximized
+        );
+    }
+}
@@ -10,11 +10,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
 import org.metalib.papifly.fx.docks.core.DockState;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.floating.FloatingDockWindow;
+import org.metalib.papifly.fx.docks.floating.FloatingWindowManager;
 import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -61,6 +67,64 @@ class DockManagerFloatingStageResolutionFxTest {
         assertTrue(FxTestUtil.callFx(() -> dockManager.getFloatingWindowManager().isFloating(leaf)));
     }
 
+    @Test
+    void dockBack_recyclesFloatingWindowForNextFloat() {
+        DockLeaf first = FxTestUtil.callFx(() -> dockManager.createLeaf("First", new Label("First")));
+        DockLeaf second = FxTestUtil.callFx(() -> dockManager.createLeaf("Second", new Label("Second")));
+        DockTabGroup tabGroup = FxTestUtil.callFx(dockManager::createTabGroup);
+
+        FxTestUtil.runFx(() -> {
+            tabGroup.addLeaf(first);
+            tabGroup.addLeaf(second);
+            dockManager.setRoot(tabGroup);
+            dockManager.floatLeaf(first);
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        FloatingWindowManager manager = FxTestUtil.callFx(dockManager::getFloatingWindowManager);
+        assertEquals(FloatingWindowManager.DEFAULT_POOL_SIZE, (int) FxTestUtil.callFx(manager::getPooledCount));
+        FloatingDockWindow window = FxTestUtil.callFx(() -> manager.getWindow(first));
+
+        FxTestUtil.runFx(() -> {
+            manager.setPoolSize(FloatingWindowManager.DEFAULT_POOL_SIZE + 1);
+            dockManager.dockLeaf(first);
+            assertFalse(window.isShowing());
+            assertNull(window.getLeaf());
+            dockManager.floatLeaf(second);
+        });
+        FxTestUtil.waitForFxEvents();
+
+        assertSame(window, FxTestUtil.callFx(() -> manager.getWindow(second)));
+        assertTrue(FxTestUtil.callFx(window::isShowing));
+        assertEquals("Second", FxTestUtil.callFx(() -> window.getStage().getTitle()));
+        assertEquals(List.of(second), FxTestUtil.callFx(() -> List.copyOf(window.getTabGroup().getTabs())));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> first.getMetadata().state()));
+    }
+
+    @Test
+    void floatingWindowPool_staysEmptyUntilFirstFloat() {
+        DockLeaf leaf = FxTestUtil.callFx(() -> dockManager.createLeaf("Leaf", new Label("Content")));
+        DockTabGroup tabGroup = FxTestUtil.callFx(dockManager::createTabGroup);
+
+        FxTestUtil.runFx(() -> {
+            tabGroup.addLeaf(leaf);
+            dockManager.setRoot(tabGroup);
+            dockManager.setOwnerStage(stage);
+        });
+        FxTestUtil.waitForFxEvents();
+
+        FloatingWindowManager manager = FxTestUtil.callFx(dockManager::getFloatingWindowManager);
+        assertEquals(0, (int) FxTestUtil.callFx(manager::getPooledCount));
+
+        FxTestUtil.runFx(() -> manager.setPoolSize(FloatingWindowManager.DEFAULT_POOL_SIZE + 1));
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(0, (int) FxTestUtil.callFx(manager::getPooledCount));
+
+        FxTestUtil.runFx(() -> dockManager.floatLeaf(leaf));
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(FloatingWindowManager.DEFAULT_POOL_SIZE + 1, (int) FxTestUtil.callFx(manager::getPooledCount));
+    }
+
     @Test
     void floatLeaf_withoutOwnerStageAndWithoutAttachedScene_keepsLeafDocked() {
         DockManager detachedManager = FxTestUtil.callFx(DockManager::new);
@@ -0,0 +1,176 @@
+package org.metalib.papifly.fx.docks;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockState;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(ApplicationExtension.class)
+class DockManagerRegistryFxTest {
+
+    private DockManager dockManager;
+    private DockTabGroup left;
+    private DockLeaf editor;
+    private DockLeaf notes;
+    private DockLeaf console;
+
+    @Start
+    private void start(Stage stage) {
+        dockManager = new DockManager();
+        dockManager.setOwnerStage(stage);
+        editor = dockManager.createLeaf("Editor", new Label("Editor"));
+        notes = dockManager.createLeaf("Notes", new Label("Notes"));
+        console = dockManager.createLeaf("Console", new Label("Console"));
+        left = dockManager.createTabGroup();
+        left.addLeaf(editor);
+        left.addLeaf(notes);
+        DockTabGroup right = dockManager.createTabGroup();
+        right.addLeaf(console);
+        dockManager.setRoot(dockManager.createHorizontalSplit(left, right, 0.5));
+        stage.setScene(new Scene((Region) dockManager.getRootPane(), 800, 600));
+        stage.show();
+    }
+
+    @Test
+    void registry_tracksLeafLocationAcrossOperations() {
+        String notesId = FxTestUtil.callFx(() -> notes.getMetadata().id());
+        String consoleId = FxTestUtil.callFx(() -> console.getMetadata().id());
+
+        assertSame(notes, FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+
+        FxTestUtil.runFx(() -> dockManager.minimizeLeaf(notes));
+        assertSame(notes, FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+        assertEquals(DockState.MINIMIZED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+
+        FxTestUtil.runFx(() -> dockManager.floatLeaf(console));
+        assertSame(console, FxTestUtil.callFx(() -> dockManager.findLeaf(consoleId)));
+        assertEquals(DockState.FLOATING, FxTestUtil.callFx(() -> dockManager.getLeafState(console)));
+
+        FxTestUtil.runFx(() -> dockManager.maximizeLeaf(editor));
+        assertEquals(DockState.MAXIMIZED, FxTestUtil.callFx(() -> dockManager.getLeafState(editor)));
+
+        FxTestUtil.runFx(() -> {
+            dockManager.restoreMaximized();
+            dockManager.restoreLeaf(notes);
+            dockManager.dockLeaf(console);
+        });
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(editor)));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(console)));
+
+        FxTestUtil.runFx(notes::requestClose);
+        assertNull(FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+        assertNull(FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+    }
+
+    @Test
+    void registry_updatesInPlaceAcrossOperationsWithoutRebuilding() {
+        String notesId = FxTestUtil.callFx(() -> notes.getMetadata().id());
+        String consoleId = FxTestUtil.callFx(() -> console.getMetadata().id());
+        DockRegistry registry = FxTestUtil.callFx(dockManager::getRegistry);
+        assertSame(notes, FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+        long rebuilds = FxTestUtil.callFx(registry::rebuildCount);
+
+        FxTestUtil.runFx(() -> dockManager.minimizeLeaf(notes));
+        assertEquals(DockState.MINIMIZED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+        assertSame(notes, FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+
+        FxTestUtil.runFx(() -> dockManager.floatLeaf(console));
+        assertEquals(DockState.FLOATING, FxTestUtil.callFx(() -> dockManager.getLeafState(console)));
+        assertEquals(DockState.FLOATING, FxTestUtil.callFx(() -> registry.getGroupState(console.getParent())));
+
+        FxTestUtil.runFx(() -> dockManager.maximizeLeaf(editor));
+        assertEquals(DockState.MAXIMIZED, FxTestUtil.callFx(() -> dockManager.getLeafState(editor)));
+
+        FxTestUtil.runFx(dockManager::restoreMaximized);
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(editor)));
+
+        FxTestUtil.runFx(() -> dockManager.restoreLeaf(notes));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+
+        FxTestUtil.runFx(() -> dockManager.dockLeaf(console));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(console)));
+        assertSame(console, FxTestUtil.callFx(() -> dockManager.findLeaf(consoleId)));
+
+        FxTestUtil.runFx(() -> dockManager.moveLeaf(console, left, 0));
+        assertSame(left, FxTestUtil.callFx(() -> registry.getGroup(console)));
+
+        FxTestUtil.runFx(notes::requestClose);
+        assertNull(FxTestUtil.callFx(() -> dockManager.findLeaf(notesId)));
+
+        assertEquals(rebuilds, FxTestUtil.callFx(registry::rebuildCount));
+    }
+
+    @Test
+    void registry_seesTabsAddedDirectlyToTrackedGroups() {
+        DockLeaf output = FxTestUtil.callFx(() -> dockManager.createLeaf("Output", new Label("Output")));
+        String outputId = FxTestUtil.callFx(() -> output.getMetadata().id());
+        assertNull(FxTestUtil.callFx(() -> dockManager.findLeaf(outputId)));
+
+        FxTestUtil.runFx(() -> left.addLeaf(output));
+
+        assertSame(output, FxTestUtil.callFx(() -> dockManager.findLeaf(outputId)));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(output)));
+    }
+
+    @Test
+    void registry_dropsSubtreeRemovedThroughSplitAndIndexesItWhenReattached() {
+        DockLeaf output = FxTestUtil.callFx(() -> dockManager.createLeaf("Output", new Label("Output")));
+        DockSplitGroup rightColumn = FxTestUtil.callFx(() -> {
+            DockTabGroup top = console.getParent();
+            DockTabGroup bottom = dockManager.createTabGroup();
+            bottom.addLeaf(output);
+            DockSplitGroup root = (DockSplitGroup) dockManager.getRoot();
+            root.removeChild(top);
+            DockSplitGroup column = dockManager.createVerticalSplit(top, bottom, 0.5);
+            root.setSecond(column);
+            return column;
+        });
+        String consoleId = FxTestUtil.callFx(() -> console.getMetadata().id());
+        String outputId = FxTestUtil.callFx(() -> output.getMetadata().id());
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(output)));
+
+        FxTestUtil.runFx(() -> ((DockSplitGroup) dockManager.getRoot()).removeChild(rightColumn));
+
+        assertNull(FxTestUtil.callFx(() -> dockManager.findLeaf(consoleId)));
+        assertNull(FxTestUtil.callFx(() -> dockManager.findLeaf(outputId)));
+        assertNull(FxTestUtil.callFx(() -> dockManager.getLeafState(output)));
+        assertSame(editor, FxTestUtil.callFx(() -> dockManager.findLeaf(editor.getMetadata().id())));
+
+        FxTestUtil.runFx(() -> ((DockSplitGroup) dockManager.getRoot()).setSecond(rightColumn));
+
+        assertSame(console, FxTestUtil.callFx(() -> dockManager.findLeaf(consoleId)));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(output)));
+    }
+
+    @Test
+    void restore_doesNotTargetGroupDetachedThroughSplit() {
+        FxTestUtil.runFx(() -> dockManager.minimizeLeaf(notes));
+        assertEquals(DockState.MINIMIZED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+
+        FxTestUtil.runFx(() -> ((DockSplitGroup) dockManager.getRoot()).removeChild(left));
+        FxTestUtil.runFx(() -> dockManager.restoreLeaf(notes));
+
+        DockTabGroup restoredGroup = FxTestUtil.callFx(notes::getParent);
+        assertNotNull(restoredGroup);
+        assertNotSame(left, restoredGroup);
+        assertNotNull(FxTestUtil.callFx(() -> restoredGroup.getNode().getScene()));
+        assertEquals(DockState.DOCKED, FxTestUtil.callFx(() -> dockManager.getLeafState(notes)));
+    }
+}
@@ -2,23 +2,36 @@ package org.metalib.papifly.fx.docks;
 
 import javafx.geometry.Orientation;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.floating.FloatingDockWindow;
+import org.metalib.papifly.fx.docks.layout.data.BoundsData;
 import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.docks.layout.data.FloatingLeafData;
 import org.metalib.papifly.fx.docks.layout.data.LeafData;
 import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
+import org.metalib.papifly.fx.docks.layout.data.MinimizedLeafData;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
 import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
 import org.testfx.api.FxRobot;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(ApplicationExtension.class)
 class DockManagerSessionCaptureRestoreFxTest {
@@ -28,6 +41,7 @@ class DockManagerSessionCaptureRestoreFxTest {
     @Start
     private void start(Stage stage) {
         dockManager = new DockManager();
+        dockManager.setOwnerStage(stage);
         stage.setScene(new Scene((Region) dockManager.getRootPane(), 800, 600));
         stage.show();
     }
@@ -60,4 +74,38 @@ class DockManagerSessionCaptureRestoreFxTest {
 
         assertEquals(session, captured);
     }
+
+    @Test
+    void restore_defersContentOfMinimizedAndFloatingLeaves() throws TimeoutException {
+        List<String> created = new ArrayList<>();
+        FxTestUtil.runFx(() -> dockManager.setContentFactory(factoryId -> {
+            created.add(factoryId);
+            return new Label(factoryId);
+        }));
+        DockSessionData session = DockSessionData.of(
+            new TabGroupData("tabs-1", List.of(LeafData.of("main", "Main", "main")), 0),
+            List.of(new FloatingLeafData(LeafData.of("tool", "Tool", "tool"), new BoundsData(40, 40, 300, 200), null)),
+            List.of(new MinimizedLeafData(LeafData.of("parked", "Parked", "parked"), null)),
+            null
+        );
+
+        FxTestUtil.runFx(() -> {
+            dockManager.restoreSession(session);
+            assertEquals(List.of("main"), created);
+            FloatingDockWindow window = dockManager.getFloatingWindowManager().getWindow("tool");
+            assertNotNull(window);
+            assertFalse(window.isShowing(), "Floating windows must open after the first frame");
+        });
+
+        WaitForAsyncUtils.waitFor(5, TimeUnit.SECONDS,
+            () -> FxTestUtil.callFx(() -> dockManager.getFloatingWindowManager().getWindow("tool").isShowing()));
+        assertEquals(List.of("main", "tool"), FxTestUtil.callFx(() -> List.copyOf(created)));
+
+        DockLeaf parked = FxTestUtil.callFx(() -> dockManager.getMinimizedStore().getLeaf("parked"));
+        assertTrue(FxTestUtil.callFx(parked::isContentDeferred));
+        FxTestUtil.runFx(() -> dockManager.restoreLeaf(parked));
+
+        assertEquals(List.of("main", "tool", "parked"), FxTestUtil.callFx(() -> List.copyOf(created)));
+        assertFalse(FxTestUtil.callFx(parked::isContentDeferred));
+    }
 }
@@ -1,6 +1,7 @@
 package org.metalib.papifly.fx.docks;
 
 import javafx.application.Platform;
+import javafx.geometry.Orientation;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -11,6 +12,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.io.TempDir;
 import org.metalib.papifly.fx.docks.core.DockLeaf;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
 import org.metalib.papifly.fx.docks.floating.FloatingDockWindow;
 import org.metalib.papifly.fx.docking.api.ContentStateAdapter;
@@ -19,12 +21,15 @@ import org.metalib.papifly.fx.docking.api.ContentFactory;
 import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
 import org.metalib.papifly.fx.docking.api.LeafContentData;
 import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.MinimizedLeafData;
+import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 import org.testfx.util.WaitForAsyncUtils;
 
 import java.nio.file.Path;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
@@ -32,7 +37,9 @@ import java.util.concurrent.CountDownLatch;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -415,4 +422,83 @@ class DockManagerSessionFxTest {
 
         latch.await();
     }
+
+    @Test
+    void restoreSession_reusesMatchingLiveLeavesAndDisposesRemovedOnes() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+
+        Platform.runLater(() -> {
+            try {
+                Map<String, Integer> created = new HashMap<>();
+                dockManager.setContentFactory(id -> {
+                    created.merge(id, 1, Integer::sum);
+                    return new StackPane(new Label(id));
+                });
+
+                DockSessionData first = DockSessionData.of(
+                    new SplitData(
+                        "split-1",
+                        Orientation.HORIZONTAL,
+                        0.3,
+                        TabGroupData.of("group-files", List.of(LeafData.of("files", "Files", "files")), 0),
+                        TabGroupData.of("group-editors", List.of(
+                            LeafData.of("editor-1", "Editor 1", "editor:One"),
+                            LeafData.of("props", "Properties", "properties")
+                        ), 0)
+                    ),
+                    List.of(),
+                    List.of(),
+                    null
+                );
+                dockManager.restoreSession(first);
+                WaitForAsyncUtils.waitForFxEvents();
+
+                DockSplitGroup firstRoot = (DockSplitGroup) dockManager.getRoot();
+                DockLeaf files = ((DockTabGroup) firstRoot.getFirst()).getTabs().getFirst();
+                DockTabGroup editors = (DockTabGroup) firstRoot.getSecond();
+                DockLeaf editor = editors.getTabs().get(0);
+                DockLeaf props = editors.getTabs().get(1);
+                editors.setActiveTab(1);
+                Node editorContent = editor.getContent();
+                assertNotNull(editorContent);
+                assertNotNull(props.getContent());
+
+                DockSessionData second = DockSessionData.of(
+                    TabGroupData.of("group-main", List.of(
+                        LeafData.of("console", "Console", "console"),
+                        LeafData.of("editor-1", "Editor One", "editor:One"),
+                        LeafData.of("props", "Properties", "properties-v2")
+                    ), 1),
+                    List.of(),
+                    List.of(new MinimizedLeafData(LeafData.of("files", "Files", "files"), null)),
+                    null
+                );
+                dockManager.restoreSession(second);
+                WaitForAsyncUtils.waitForFxEvents();
+
+                DockTabGroup main = (DockTabGroup) dockManager.getRoot();
+                assertSame(editor, main.getTabs().get(1));
+                assertSame(editorContent, editor.getContent());
+                assertEquals("Editor One", editor.getMetadata().title());
+                assertSame(main, editor.getParent());
+                assertSame(files, dockManager.getMinimizedStore().getMinimizedLeaves().getFirst());
+                assertNotSame(props, main.getTabs().get(2));
+                assertNull(props.getContent());
+                assertEquals(Map.of("files", 1, "editor:One", 1, "properties", 1), Map.of(
+                    "files", created.get("files"),
+                    "editor:One", created.get("editor:One"),
+                    "properties", created.get("properties")
+                ));
+                assertNull(created.get("console"), "inactive new tab stays deferred");
+                assertNull(firstRoot.getFirst());
+
+                latch.countDown();
+            } catch (Exception e) {
+                e.printStackTrace();
+                fail(e.getMessage());
+            }
+        });
+
+        latch.await();
+    }
 }
@@ -0,0 +1,139 @@
+package org.metalib.papifly.fx.docks;
+
+import javafx.application.Platform;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
+import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.SplitData;
+import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Cost of switching between two saved perspectives that show the same 16
+ * leaves in a different arrangement, each leaf holding a few hundred nodes of
+ * content.
+ * <p>
+ * Compares a full rebuild through {@link DockManager#restore(LayoutNode)}
+ * against the reconciling {@link DockManager#restoreSession(DockSessionData)},
+ * which moves live leaves into the new structure.
+ * Tagged with "benchmark" so it is excluded from default test runs.
+ * Run explicitly via:
+ * {@code mvn -pl papiflyfx-docking-docks -am -Dgroups=benchmark -Dsurefire.excludedGroups= -Dsurefire.failIfNoSpecifiedTests=false -Dtest=DockSessionRestoreBenchmarkTest test}
+ */
+@Tag("benchmark")
+@ExtendWith(ApplicationExtension.class)
+class DockSessionRestoreBenchmarkTest {
+
+    private static final int LEAF_COUNT = 16;
+    private static final int LABELS_PER_LEAF = 300;
+    private static final int WARMUP_SWITCHES = 10;
+    private static final int MEASURED_SWITCHES = 40;
+
+    private final AtomicLong contentCreations = new AtomicLong();
+    private DockManager dockManager;
+
+    @Start
+    void start(Stage stage) {
+        dockManager = new DockManager();
+        dockManager.setContentFactory(id -> {
+            contentCreations.incrementAndGet();
+            VBox content = new VBox();
+            for (int i = 0; i < LABELS_PER_LEAF; i++) {
+                content.getChildren().add(new Label(id + " line " + i));
+            }
+            return content;
+        });
+        stage.setScene(new Scene(dockManager.getRootPane(), 1200, 800));
+        stage.show();
+    }
+
+    @Test
+    void perspectiveSwitch() {
+        DockSessionData first = DockSessionData.of(perspective(false), List.of(), List.of(), null);
+        DockSessionData second = DockSessionData.of(perspective(true), List.of(), List.of(), null);
+
+        double rebuild = measure("full rebuild", i -> dockManager.restore((i % 2 == 0 ? first : second).layout()));
+        long rebuildCreations = contentCreations.get();
+        double reconciled = measure("reconciled", i -> dockManager.restoreSession(i % 2 == 0 ? first : second));
+
+        System.out.printf("[Benchmark] perspective switch (%d leaves): full rebuild %.2f ms, reconciled %.2f ms%n",
+            LEAF_COUNT, rebuild, reconciled);
+        assertEquals((long) LEAF_COUNT * MEASURED_SWITCHES, rebuildCreations);
+        assertEquals(0, contentCreations.get(), "Reconciled switches should not recreate content");
+    }
+
+    private double measure(String label, Consumer<Integer> switchTo) {
+        for (int i = 0; i < WARMUP_SWITCHES; i++) {
+            int index = i;
+            runOnFx(() -> switchAndLayout(switchTo, index));
+        }
+        contentCreations.set(0);
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_SWITCHES; i++) {
+            int index = i;
+            runOnFx(() -> switchAndLayout(switchTo, index));
+        }
+        double millis = (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURED_SWITCHES;
+        System.out.printf("[Benchmark] perspective switch (%s): %.2f ms/switch, %.1f content creations/switch%n",
+            label, millis, (double) contentCreations.get() / MEASURED_SWITCHES);
+        return millis;
+    }
+
+    private void switchAndLayout(Consumer<Integer> switchTo, int index) {
+        switchTo.accept(index);
+        dockManager.getRootPane().applyCss();
+        dockManager.getRootPane().layout();
+    }
+
+    private static LayoutNode perspective(boolean mirrored) {
+        List<LayoutNode> groups = new ArrayList<>(LEAF_COUNT);
+        for (int i = 0; i < LEAF_COUNT; i++) {
+            int leaf = mirrored ? LEAF_COUNT - 1 - i : i;
+            groups.add(TabGroupData.of("group-" + i, List.of(LeafData.of("leaf-" + leaf, "Leaf " + leaf, "view-" + leaf)), 0));
+        }
+        while (groups.size() > 1) {
+            List<LayoutNode> next = new ArrayList<>(groups.size() / 2);
+            for (int i = 0; i < groups.size(); i += 2) {
+                Orientation orientation = (groups.size() % 4 == 0) != mirrored ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+                next.add(new SplitData("split-" + groups.size() + "-" + i, orientation, mirrored ? 0.4 : 0.6,
+                    groups.get(i), groups.get(i + 1)));
+            }
+            groups = next;
+        }
+        return groups.getFirst();
+    }
+
+    private static void runOnFx(Runnable action) {
+        CountDownLatch latch = new CountDownLatch(1);
+        Platform.runLater(() -> {
+            try {
+                action.run();
+            } finally {
+                latch.countDown();
+            }
+        });
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package org.metalib.papifly.fx.docks;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RibbonCapabilityTypesTest {
+
+    @Test
+    void listsClassThenInterfacesFromWholeHierarchy() {
+        List<Class<?>> types = RibbonCapabilityTypes.of(Child.class);
+
+        assertEquals(Child.class, types.getFirst());
+        assertTrue(types.contains(Saveable.class));
+        assertTrue(types.contains(Named.class));
+        assertFalse(types.contains(Base.class));
+        assertTrue(types.contains(Identified.class));
+        assertEquals(types.size(), types.stream().distinct().count());
+    }
+
+    @Test
+    void descriptorIsComputedOncePerClass() {
+        assertSame(RibbonCapabilityTypes.of(Child.class), RibbonCapabilityTypes.of(Child.class));
+    }
+
+    private interface Identified {
+    }
+
+    private interface Named extends Identified {
+    }
+
+    private interface Saveable {
+    }
+
+    private static class Base implements Named {
+    }
+
+    private static final class Child extends Base implements Saveable, Named {
+    }
+}
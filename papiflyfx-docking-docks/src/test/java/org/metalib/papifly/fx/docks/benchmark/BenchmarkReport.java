@@ -0,0 +1,165 @@
+package org.metalib.papifly.fx.docks.benchmark;
+
+import org.metalib.papifly.fx.json.JsonWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Collects benchmark samples and writes them as a JSON report so runs can be
+ * compared between commits.
+ * <p>
+ * Reports are written to {@code target/benchmarks/<name>.json}. Pass
+ * {@code -Dbenchmark.outputDir=<dir>} to write elsewhere and
+ * {@code -Dbenchmark.commit=<revision>} to record the revision under test.
+ */
+final class BenchmarkReport {
+
+    private final String name;
+    private final List<Result> results = new ArrayList<>();
+
+    BenchmarkReport(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Adds a benchmark result.
+     *
+     * @param benchmark benchmark name, e.g. {@code session.restore.full}
+     * @param samplesNanos duration of each measured iteration
+     * @param opsPerSample operations performed by each iteration
+     * @return the result, for adding parameters and metrics
+     */
+    synchronized Result add(String benchmark, long[] samplesNanos, int opsPerSample) {
+        Result result = new Result(benchmark, samplesNanos, opsPerSample);
+        results.add(result);
+        System.out.printf("[Benchmark] %s: mean %.1f ns/op, p95 %.1f ns/op (%d samples x %d ops)%n",
+            benchmark, result.mean, result.p95, samplesNanos.length, opsPerSample);
+        return result;
+    }
+
+    /**
+     * Writes the report, replacing a previous report of the same name.
+     *
+     * @return path of the written report
+     */
+    synchronized Path write() {
+        Path dir = Path.of(System.getProperty("benchmark.outputDir", "target/benchmarks"));
+        Path file = dir.resolve(name + ".json");
+        try {
+            Files.createDirectories(dir);
+            try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                JsonWriter json = JsonWriter.pretty(out);
+                json.beginObject();
+                json.name("suite").value(name);
+                json.name("timestamp").value(Instant.now().toString());
+                json.name("commit").value(System.getProperty("benchmark.commit", ""));
+                json.name("environment").beginObject()
+                    .name("java").value(System.getProperty("java.version"))
+                    .name("javafx").value(System.getProperty("javafx.runtime.version", ""))
+                    .name("os").value(System.getProperty("os.name") + " " + System.getProperty("os.arch"))
+                    .name("processors").value(Runtime.getRuntime().availableProcessors())
+                    .name("headless").value(Boolean.getBoolean("testfx.headless"))
+                    .endObject();
+                json.name("results").beginArray();
+                for (Result result : results) {
+                    result.write(json);
+                }
+                json.endArray();
+                json.endObject();
+                json.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return file;
+    }
+
+    /**
+     * Statistics of one benchmark, in nanoseconds per operation.
+     */
+    static final class Result {
+
+        private final String benchmark;
+        private final int samples;
+        private final int opsPerSample;
+        private final double mean;
+        private final double min;
+        private final double p50;
+        private final double p95;
+        private final double max;
+        private final Map<String, Object> params = new LinkedHashMap<>();
+        private final Map<String, Object> metrics = new LinkedHashMap<>();
+
+        private Result(String benchmark, long[] samplesNanos, int opsPerSample) {
+            this.benchmark = benchmark;
+            this.samples = samplesNanos.length;
+            this.opsPerSample = opsPerSample;
+            double[] perOp = Arrays.stream(samplesNanos).mapToDouble(nanos -> (double) nanos / opsPerSample).sorted().toArray();
+            this.mean = Arrays.stream(perOp).average().orElse(0);
+            this.min = perOp.length == 0 ? 0 : perOp[0];
+            this.p50 = percentile(perOp, 0.50);
+            this.p95 = percentile(perOp, 0.95);
+            this.max = perOp.length == 0 ? 0 : perOp[perOp.length - 1];
+        }
+
+        /**
+         * Records an input parameter of the benchmark, such as the leaf count.
+         *
+         * @param key parameter name
+         * @param value parameter value
+         * @return this result
+         */
+        Result param(String key, Object value) {
+            params.put(key, value);
+            return this;
+        }
+
+        /**
+         * Records a secondary measurement, such as a byte size or a counter.
+         *
+         * @param key metric name
+         * @param value metric value
+         * @return this result
+         */
+        Result metric(String key, Object value) {
+            metrics.put(key, value);
+            return this;
+        }
+
+        private void write(JsonWriter json) {
+            json.beginObject();
+            json.name("benchmark").value(benchmark);
+            json.name("unit").value("ns/op");
+            json.name("samples").value(samples);
+            json.name("opsPerSample").value(opsPerSample);
+            json.name("mean").value(mean);
+            json.name("min").value(min);
+            json.name("p50").value(p50);
+            json.name("p95").value(p95);
+            json.name("max").value(max);
+            json.name("opsPerSecond").value(mean == 0 ? 0 : 1_000_000_000.0 / mean);
+            json.name("params").writeValue(params);
+            json.name("metrics").writeValue(metrics);
+            json.endObject();
+        }
+
+        private static double percentile(double[] sorted, double fraction) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(fraction * sorted.length) - 1;
+            return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+        }
+    }
+}
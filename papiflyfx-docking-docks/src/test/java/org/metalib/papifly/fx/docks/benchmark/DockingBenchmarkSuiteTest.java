@@ -0,0 +1,324 @@
+package org.metalib.papifly.fx.docks.benchmark;
+
+import javafx.event.Event;
+import javafx.geometry.Bounds;
+import javafx.geometry.Orientation;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docking.api.Theme;
+import org.metalib.papifly.fx.docks.DockManager;
+import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockElementVisitor;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.drag.HitTestResult;
+import org.metalib.papifly.fx.docks.drag.HitTester;
+import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
+import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.SplitData;
+import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.docks.serial.DockSessionSerializer;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonWriter;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Headless performance suite for the docking runtime on a generated layout of
+ * 500 leaves in 125 tab groups, nested seven splits deep.
+ * <p>
+ * Measures session restore (full rebuild and reconciled), drag hit testing,
+ * tab switching, theme switching, ribbon-context churn and session
+ * serialization. Every benchmark runs warmup iterations before the measured
+ * ones and times each iteration on the FX thread. Results are written to
+ * {@code target/benchmarks/docks.json} (see {@link BenchmarkReport}) for
+ * comparison between commits.
+ * Tagged with "benchmark" so it is excluded from default test runs.
+ * Run explicitly via:
+ * {@code mvn -pl papiflyfx-docking-docks -am -Dtestfx.headless=true -Dgroups=benchmark -Dsurefire.excludedGroups= -Dsurefire.failIfNoSpecifiedTests=false -Dtest=DockingBenchmarkSuiteTest test}
+ */
+@Tag("benchmark")
+@ExtendWith(ApplicationExtension.class)
+class DockingBenchmarkSuiteTest {
+
+    private static final int LEAF_COUNT = 500;
+    private static final int LEAVES_PER_GROUP = 4;
+    private static final int GROUP_COUNT = LEAF_COUNT / LEAVES_PER_GROUP;
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASURED_ITERATIONS = 20;
+    private static final int HIT_TEST_GRID = 100;
+
+    private static final BenchmarkReport REPORT = new BenchmarkReport("docks");
+
+    private final AtomicLong contentCreations = new AtomicLong();
+    private DockManager dockManager;
+
+    @Start
+    void start(Stage stage) {
+        dockManager = new DockManager();
+        dockManager.setContentFactory(id -> {
+            contentCreations.incrementAndGet();
+            return new Label(id);
+        });
+        stage.setScene(new Scene(dockManager.getRootPane(), 1600, 1000));
+        stage.show();
+    }
+
+    @AfterAll
+    static void writeReport() {
+        Path report = REPORT.write();
+        System.out.println("[Benchmark] report written to " + report.toAbsolutePath());
+    }
+
+    @Test
+    void sessionRestore() {
+        DockSessionData first = session(false);
+        DockSessionData second = session(true);
+
+        contentCreations.set(0);
+        long[] full = sample(i -> {
+            dockManager.restore(first.layout());
+            layout();
+        });
+        REPORT.add("session.restore.full", full, 1)
+            .param("leaves", LEAF_COUNT)
+            .param("groups", GROUP_COUNT)
+            .param("splitDepth", splitDepth(GROUP_COUNT))
+            .metric("contentCreationsPerOp", (double) contentCreations.get() / (WARMUP_ITERATIONS + MEASURED_ITERATIONS));
+
+        contentCreations.set(0);
+        long[] reconciled = sample(i -> {
+            dockManager.restoreSession(i % 2 == 0 ? second : first);
+            layout();
+        });
+        REPORT.add("session.restore.reconciled", reconciled, 1)
+            .param("leaves", LEAF_COUNT)
+            .param("groups", GROUP_COUNT)
+            .metric("contentCreationsPerOp", (double) contentCreations.get() / (WARMUP_ITERATIONS + MEASURED_ITERATIONS));
+
+        assertEquals(GROUP_COUNT, FxTestUtil.callFx(() -> tabGroups(dockManager.getRoot()).size()));
+    }
+
+    @Test
+    void dragHitTest() {
+        restoreLayout();
+        HitTester hitTester = FxTestUtil.callFx(() -> new HitTester(dockManager.getRoot()));
+        Bounds bounds = FxTestUtil.callFx(() -> dockManager.getRoot().getNode()
+            .localToScene(dockManager.getRoot().getNode().getLayoutBounds()));
+        int points = HIT_TEST_GRID * HIT_TEST_GRID;
+        long[] hits = new long[1];
+
+        long[] cached = sample(i -> hits[0] = hitTestGrid(hitTester, bounds));
+        REPORT.add("drag.hitTest", cached, points)
+            .param("groups", GROUP_COUNT)
+            .metric("hitsPerSample", hits[0]);
+
+        long[] cold = sample(i -> {
+            hitTester.invalidate();
+            hitTester.hitTest(bounds.getCenterX(), bounds.getCenterY(), null);
+        });
+        REPORT.add("drag.hitTest.indexBuild", cold, 1)
+            .param("groups", GROUP_COUNT);
+
+        FxTestUtil.runFx(hitTester::dispose);
+        assertTrue(hits[0] > 0, "Hit tests over the layout should find drop targets");
+    }
+
+    @Test
+    void tabSwitch() {
+        restoreLayout();
+        List<DockTabGroup> groups = FxTestUtil.callFx(() -> tabGroups(dockManager.getRoot()));
+
+        long[] samples = sample(i -> {
+            for (DockTabGroup group : groups) {
+                group.setActiveTab((group.getActiveTabIndex() + 1) % group.getTabs().size());
+            }
+            layout();
+        });
+        REPORT.add("tabs.switch", samples, groups.size())
+            .param("groups", groups.size())
+            .param("tabsPerGroup", LEAVES_PER_GROUP);
+    }
+
+    @Test
+    void themeSwitch() {
+        restoreLayout();
+        Theme dark = Theme.dark();
+        Theme light = Theme.light();
+
+        long[] samples = sample(i -> {
+            dockManager.setTheme(i % 2 == 0 ? light : dark);
+            layout();
+        });
+        REPORT.add("theme.switch", samples, 1)
+            .param("groups", GROUP_COUNT);
+    }
+
+    @Test
+    void ribbonContextChurn() {
+        restoreLayout();
+        List<DockTabGroup> groups = FxTestUtil.callFx(() -> tabGroups(dockManager.getRoot()));
+        AtomicLong contextChanges = new AtomicLong();
+        FxTestUtil.runFx(() -> dockManager.ribbonContextProperty()
+            .addListener((obs, oldValue, newValue) -> contextChanges.incrementAndGet()));
+
+        long[] samples = sample(i -> {
+            for (DockTabGroup group : groups) {
+                Event.fireEvent(group.getNode(), new MouseEvent(MouseEvent.MOUSE_PRESSED, 0, 0, 0, 0,
+                    MouseButton.PRIMARY, 1, false, false, false, false, true, false, false, false, false, false, null));
+            }
+        });
+        REPORT.add("ribbon.contextChurn", samples, groups.size())
+            .param("groups", groups.size())
+            .metric("contextChangesPerOp", (double) contextChanges.get() / groups.size() / (WARMUP_ITERATIONS + MEASURED_ITERATIONS));
+    }
+
+    @Test
+    void sessionSerialization() {
+        restoreLayout();
+        DockSessionSerializer serializer = new DockSessionSerializer();
+        DockSessionData session = FxTestUtil.callFx(dockManager::captureSession);
+        String[] json = new String[1];
+
+        long[] write = sample(i -> {
+            StringBuilder out = new StringBuilder();
+            serializer.write(session, JsonWriter.pretty(out));
+            json[0] = out.toString();
+        });
+        REPORT.add("session.serialize", write, 1)
+            .param("leaves", LEAF_COUNT)
+            .metric("bytes", json[0].getBytes(StandardCharsets.UTF_8).length);
+
+        DockSessionData[] parsed = new DockSessionData[1];
+        long[] read = sample(i -> parsed[0] = serializer.read(new JsonReader(json[0])));
+        REPORT.add("session.parse", read, 1)
+            .param("leaves", LEAF_COUNT)
+            .metric("bytes", json[0].getBytes(StandardCharsets.UTF_8).length);
+
+        assertEquals(session, parsed[0]);
+    }
+
+    /**
+     * Runs warmup iterations, then times each measured iteration on the FX thread.
+     */
+    private static long[] sample(IntConsumer iteration) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            int index = i;
+            FxTestUtil.runFx(() -> iteration.accept(index));
+        }
+        long[] samples = new long[MEASURED_ITERATIONS];
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            int index = WARMUP_ITERATIONS + i;
+            samples[i] = FxTestUtil.callFx(() -> {
+                long startNanos = System.nanoTime();
+                iteration.accept(index);
+                return System.nanoTime() - startNanos;
+            });
+        }
+        return samples;
+    }
+
+    private void restoreLayout() {
+        DockSessionData session = session(false);
+        FxTestUtil.runFx(() -> {
+            dockManager.restoreSession(session);
+            layout();
+        });
+    }
+
+    private void layout() {
+        dockManager.getRootPane().applyCss();
+        dockManager.getRootPane().layout();
+    }
+
+    private static long hitTestGrid(HitTester hitTester, Bounds bounds) {
+        long hits = 0;
+        double stepX = bounds.getWidth() / HIT_TEST_GRID;
+        double stepY = bounds.getHeight() / HIT_TEST_GRID;
+        for (int row = 0; row < HIT_TEST_GRID; row++) {
+            for (int column = 0; column < HIT_TEST_GRID; column++) {
+                HitTestResult result = hitTester.hitTest(
+                    bounds.getMinX() + (column + 0.5) * stepX,
+                    bounds.getMinY() + (row + 0.5) * stepY,
+                    null
+                );
+                if (result.isHit()) {
+                    hits++;
+                }
+            }
+        }
+        return hits;
+    }
+
+    private static DockSessionData session(boolean shuffled) {
+        List<LayoutNode> groups = new ArrayList<>(GROUP_COUNT);
+        for (int group = 0; group < GROUP_COUNT; group++) {
+            List<LeafData> leaves = new ArrayList<>(LEAVES_PER_GROUP);
+            for (int tab = 0; tab < LEAVES_PER_GROUP; tab++) {
+                // The shuffled perspective deals every leaf into a different group
+                int leaf = shuffled ? tab * GROUP_COUNT + group : group * LEAVES_PER_GROUP + tab;
+                leaves.add(LeafData.of("leaf-" + leaf, "Leaf " + leaf, "view-" + leaf));
+            }
+            groups.add(TabGroupData.of("group-" + group, leaves, 0));
+        }
+        return DockSessionData.of(split(groups, 0), List.of(), List.of(), null);
+    }
+
+    private static LayoutNode split(List<LayoutNode> children, int depth) {
+        if (children.size() == 1) {
+            return children.getFirst();
+        }
+        int middle = children.size() / 2;
+        // Alternating orientation keeps the splits nested instead of flattened
+        Orientation orientation = depth % 2 == 0 ? Orientation.HORIZONTAL : Orientation.VERTICAL;
+        return new SplitData("split-" + depth + "-" + children.getFirst().id(), orientation, 0.5,
+            split(children.subList(0, middle), depth + 1),
+            split(children.subList(middle, children.size()), depth + 1));
+    }
+
+    private static int splitDepth(int groups) {
+        return 32 - Integer.numberOfLeadingZeros(groups - 1);
+    }
+
+    private static List<DockTabGroup> tabGroups(DockElement root) {
+        List<DockTabGroup> groups = new ArrayList<>();
+        if (root == null) {
+            return groups;
+        }
+        root.accept(new DockElementVisitor<Void>() {
+            @Override
+            public Void visitTabGroup(DockTabGroup tabGroup) {
+                groups.add(tabGroup);
+                return null;
+            }
+
+            @Override
+            public Void visitSplitGroup(DockSplitGroup splitGroup) {
+                for (DockElement child : splitGroup.getChildren()) {
+                    child.accept(this);
+                }
+                return null;
+            }
+        });
+        return groups;
+    }
+}
@@ -0,0 +1,143 @@
+package org.metalib.papifly.fx.docks.core;
+
+import javafx.beans.property.SimpleObjectProperty;
+import javafx.event.Event;
+import javafx.event.EventType;
+import javafx.geometry.Orientation;
+import javafx.scene.Cursor;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.StackPane;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docking.api.Theme;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(ApplicationExtension.class)
+class DockSplitGroupFxTest {
+
+    private SimpleObjectProperty<Theme> themeProperty;
+    private StackPane host;
+    private DockSplitGroup split;
+
+    @Start
+    void start(Stage stage) {
+        themeProperty = new SimpleObjectProperty<>(Theme.dark());
+        split = new DockSplitGroup("split", Orientation.HORIZONTAL, 0.5, themeProperty);
+        split.setFirst(tabGroup("left"));
+        split.setSecond(tabGroup("right"));
+        host = new StackPane(split.getNode());
+        stage.setScene(new Scene(host, 800, 400));
+        stage.show();
+    }
+
+    @Test
+    void liveDrag_commitsOncePerPulseWithLatestPosition() {
+        AtomicInteger changes = new AtomicInteger();
+        FxTestUtil.runFx(() -> split.dividerPositionProperty().addListener((obs, oldValue, newValue) -> changes.incrementAndGet()));
+
+        FxTestUtil.runFx(() -> {
+            Node divider = divider();
+            fire(divider, MouseEvent.MOUSE_PRESSED, 400);
+            for (int x = 410; x <= 480; x += 10) {
+                fire(divider, MouseEvent.MOUSE_DRAGGED, x);
+            }
+            assertEquals(0.5, split.getDividerPosition(), 1e-9, "Drag must not relayout before the pulse");
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(1, changes.get());
+        assertEquals(0.6, FxTestUtil.callFx(split::getDividerPosition), 1e-9);
+
+        FxTestUtil.runFx(() -> fire(divider(), MouseEvent.MOUSE_RELEASED, 480));
+        WaitForAsyncUtils.waitForFxEvents();
+        assertEquals(1, changes.get());
+    }
+
+    @Test
+    void ghostDrag_inheritedFromAncestor_commitsOnRelease() {
+        FxTestUtil.runFx(() -> host.getProperties().put(DockSplitGroup.DIVIDER_DRAG_MODE_PROPERTY, DividerDragMode.GHOST));
+
+        FxTestUtil.runFx(() -> {
+            Node divider = divider();
+            fire(divider, MouseEvent.MOUSE_PRESSED, 400);
+            fire(divider, MouseEvent.MOUSE_DRAGGED, 320);
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertEquals(0.5, FxTestUtil.callFx(split::getDividerPosition), 1e-9);
+        assertTrue(FxTestUtil.callFx(() -> split.getNode().getChildrenUnmodifiable().stream()
+            .anyMatch(node -> !node.isManaged() && node.isVisible() && Math.abs(node.getLayoutX() - (800 - 6) * 0.4) < 1e-6)));
+
+        FxTestUtil.runFx(() -> fire(divider(), MouseEvent.MOUSE_RELEASED, 320));
+
+        assertEquals(0.4, FxTestUtil.callFx(split::getDividerPosition), 1e-9);
+        assertTrue(FxTestUtil.callFx(() -> split.getNode().getChildrenUnmodifiable().stream()
+            .noneMatch(node -> !node.isManaged() && node.isVisible())));
+    }
+
+    @Test
+    void insertRemoveAndNormalize_keepNeighbourSpans() {
+        FxTestUtil.runFx(() -> {
+            DockTabGroup left = (DockTabGroup) split.getFirst();
+            DockTabGroup right = (DockTabGroup) split.getSecond();
+            DockTabGroup middle = tabGroup("middle");
+
+            split.insertChild(right, middle, true);
+            assertEquals(List.of(left, middle, right), split.getChildren());
+            assertArrayEquals(new double[] {0.5, 0.75}, split.getDividerPositions(), 1e-9);
+            assertSame(split, middle.getParent());
+
+            split.removeChild(middle);
+            assertEquals(List.of(left, right), split.getChildren());
+            assertArrayEquals(new double[] {0.5}, split.getDividerPositions(), 1e-9);
+            assertNull(middle.getParent());
+
+            DockTabGroup first = tabGroup("nested-first");
+            DockTabGroup second = tabGroup("nested-second");
+            DockSplitGroup nested = new DockSplitGroup("nested", Orientation.HORIZONTAL, 0.4, themeProperty);
+            nested.setFirst(first);
+            nested.setSecond(second);
+            split.replaceChild(right, nested);
+            split.normalize();
+
+            assertEquals(List.of(left, first, second), split.getChildren());
+            assertArrayEquals(new double[] {0.5, 0.7}, split.getDividerPositions(), 1e-9);
+            assertSame(split, second.getParent());
+        });
+    }
+
+    private DockTabGroup tabGroup(String id) {
+        DockTabGroup group = new DockTabGroup(id, themeProperty);
+        group.addLeaf(new DockLeaf(DockData.of(id + "-leaf", id)).content(new Label(id)));
+        return group;
+    }
+
+    private Node divider() {
+        return split.getNode().getChildrenUnmodifiable().stream()
+            .filter(node -> node.getCursor() == Cursor.H_RESIZE)
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static void fire(Node target, EventType<MouseEvent> type, double screenX) {
+        Event.fireEvent(target, new MouseEvent(type, 0, 0, screenX, 0, MouseButton.PRIMARY, 1,
+            false, false, false, false, true, false, false, false, false, false, null));
+    }
+}
@@ -1,16 +1,23 @@
 package org.metalib.papifly.fx.docks.core;
 
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Node;
 import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
 import javafx.stage.Stage;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.metalib.papifly.fx.docks.theme.DockThemeStyles;
 import org.metalib.papifly.fx.docking.api.Theme;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -105,6 +112,100 @@ class DockTabGroupFxTest {
         assertTrue(contentVisible, "Files content should be visible after removing Editor 2");
     }
 
+    @Test
+    void switchingTabs_restylesHeadersInPlace() {
+        DockTabGroup group = FxTestUtil.callFx(() -> new DockTabGroup("tabs", themeProperty));
+
+        FxTestUtil.runFx(() -> {
+            group.addLeaf(new DockLeaf(DockData.of("l1", "L1")));
+            group.addLeaf(new DockLeaf(DockData.of("l2", "L2")));
+            group.addLeaf(new DockLeaf(DockData.of("l3", "L3")));
+        });
+        List<Node> before = FxTestUtil.callFx(() -> new ArrayList<>(group.getTabsContainer().getChildren()));
+
+        FxTestUtil.runFx(() -> group.setActiveTab(0));
+        List<Node> afterSwitch = FxTestUtil.callFx(() -> new ArrayList<>(group.getTabsContainer().getChildren()));
+
+        assertEquals(before, afterSwitch);
+        assertNotEquals(
+            FxTestUtil.callFx(() -> ((HBox) afterSwitch.get(0)).getBackground()),
+            FxTestUtil.callFx(() -> ((HBox) afterSwitch.get(2)).getBackground())
+        );
+
+        FxTestUtil.runFx(() -> themeProperty.set(Theme.light()));
+        List<Node> afterTheme = FxTestUtil.callFx(() -> new ArrayList<>(group.getTabsContainer().getChildren()));
+        assertEquals(before, afterTheme);
+        FxTestUtil.runFx(() -> themeProperty.set(Theme.dark()));
+    }
+
+    @Test
+    void movingTab_reordersCachedHeaders() {
+        DockTabGroup group = FxTestUtil.callFx(() -> new DockTabGroup("tabs", themeProperty));
+        DockLeaf leaf1 = new DockLeaf(DockData.of("l1", "L1"));
+        DockLeaf leaf2 = new DockLeaf(DockData.of("l2", "L2"));
+
+        FxTestUtil.runFx(() -> {
+            group.addLeaf(leaf1);
+            group.addLeaf(leaf2);
+        });
+        List<Node> before = FxTestUtil.callFx(() -> new ArrayList<>(group.getTabsContainer().getChildren()));
+
+        FxTestUtil.runFx(() -> group.moveLeaf(1, 0));
+
+        List<Node> after = FxTestUtil.callFx(() -> new ArrayList<>(group.getTabsContainer().getChildren()));
+        assertSame(before.get(1), after.get(0));
+        assertSame(before.get(0), after.get(1));
+        assertSame(leaf2, after.get(0).getUserData());
+    }
+
+    @Test
+    void largeGroup_materializesHeaderWindowAroundActiveTab() {
+        DockTabGroup group = FxTestUtil.callFx(() -> new DockTabGroup("tabs", themeProperty));
+        List<DockLeaf> leaves = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            leaves.add(new DockLeaf(DockData.of("l" + i, "L" + i)));
+        }
+
+        FxTestUtil.runFx(() -> group.addLeaves(leaves, 0));
+
+        assertEquals(DockTabGroup.VIRTUAL_WINDOW_SIZE,
+            (int) FxTestUtil.callFx(() -> group.getTabsContainer().getChildren().size()));
+        assertEquals(0, (int) FxTestUtil.callFx(group::getFirstVisibleTabIndex));
+
+        FxTestUtil.runFx(() -> group.setActiveTab(120));
+
+        int first = FxTestUtil.callFx(group::getFirstVisibleTabIndex);
+        assertTrue(first <= 120 && 120 < first + DockTabGroup.VIRTUAL_WINDOW_SIZE);
+        boolean activeShown = FxTestUtil.callFx(() -> group.getTabsContainer().getChildren().stream()
+            .anyMatch(node -> node.getUserData() == leaves.get(120)));
+        assertTrue(activeShown);
+        assertEquals(DockTabGroup.VIRTUAL_WINDOW_SIZE,
+            (int) FxTestUtil.callFx(() -> group.getTabsContainer().getChildren().size()));
+    }
+
+    @Test
+    void themeSwitch_sharesStylesAcrossGroups() {
+        DockTabGroup first = FxTestUtil.callFx(() -> new DockTabGroup("first", themeProperty));
+        DockTabGroup second = FxTestUtil.callFx(() -> new DockTabGroup("second", themeProperty));
+        FxTestUtil.runFx(() -> {
+            first.addLeaf(new DockLeaf(DockData.of("a", "A")));
+            second.addLeaf(new DockLeaf(DockData.of("b", "B")));
+        });
+
+        FxTestUtil.runFx(() -> themeProperty.set(Theme.light()));
+
+        DockThemeStyles styles = DockThemeStyles.of(Theme.light());
+        assertSame(styles, FxTestUtil.callFx(() -> DockThemeStyles.of(themeProperty.get())));
+        assertSame(styles.activeTabBackground(),
+            FxTestUtil.callFx(() -> ((HBox) first.getTabsContainer().getChildren().getFirst()).getBackground()));
+        assertSame(styles.activeTabBackground(),
+            FxTestUtil.callFx(() -> ((HBox) second.getTabsContainer().getChildren().getFirst()).getBackground()));
+        assertSame(styles.groupBorder(), FxTestUtil.callFx(() -> first.getNode().getBorder()));
+        assertSame(styles.groupBorder(), FxTestUtil.callFx(() -> second.getNode().getBorder()));
+
+        FxTestUtil.runFx(() -> themeProperty.set(Theme.dark()));
+    }
+
     /**
      * Recursively checks if a node exists in the scene graph tree.
      */
@@ -3,6 +3,7 @@ package org.metalib.papifly.fx.docks.drag;
 import javafx.geometry.BoundingBox;
 import javafx.scene.Node;
 import javafx.scene.Scene;
+import javafx.scene.image.Image;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.PickResult;
@@ -37,6 +38,7 @@ import java.util.List;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -215,9 +217,10 @@ class DragManagerSplitMergeFxTest {
         }
 
         if (root instanceof DockSplitGroup split) {
-            DockTabGroup found = findTabGroupContaining(split.getFirst(), title);
-            if (found != null) return found;
-            return findTabGroupContaining(split.getSecond(), title);
+            for (DockElement child : split.getChildren()) {
+                DockTabGroup found = findTabGroupContaining(child, title);
+                if (found != null) return found;
+            }
         }
 
         return null;
@@ -375,6 +378,47 @@ class DragManagerSplitMergeFxTest {
         assertEquals(2, finalTitles.size(), "Final tab group should have exactly 2 tabs");
     }
 
+    @Test
+    void snapshotDragMode_showsPreviewAndHidesSourceContentUntilDrop(FxRobot fxRobot) {
+        fxRobot.interact(() -> {
+            dockManager.setRoot(DemoApp.createInitialLayout(dockManager));
+            dockManager.setLeafDragMode(LeafDragMode.SNAPSHOT);
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+
+        DragManager dragManager = FxTestUtil.callFx(() -> getDragManager(dockManager));
+        OverlayCanvas overlay = FxTestUtil.callFx(() -> getOverlayLayer(dockManager));
+        DockLeaf sourceLeaf = FxTestUtil.callFx(() -> findLeafByTitle(dockManager.getRoot(), "Editor 2"));
+        assertNotNull(sourceLeaf, "Source leaf should exist");
+        DockTabGroup sourceGroup = FxTestUtil.callFx(sourceLeaf::getParent);
+        FxTestUtil.runFx(() -> sourceGroup.setActiveTab(sourceLeaf));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        Node content = FxTestUtil.callFx(sourceLeaf::getContent);
+        Node sourceTab = FxTestUtil.callFx(() -> findTabForLeaf(sourceGroup, sourceLeaf));
+        Point2D startPoint = FxTestUtil.callFx(() -> centerOfInScene(sourceTab));
+        Point2D endPoint = FxTestUtil.callFx(() -> eastEdgePointInScene(sourceGroup));
+
+        FxTestUtil.runFx(() -> dragManager.startDrag(sourceLeaf,
+            createMouseEvent(MouseEvent.MOUSE_PRESSED, sourceTab, startPoint.getX(), startPoint.getY(), true)));
+        FxTestUtil.runFx(() -> dragManager.onDrag(
+            createMouseEvent(MouseEvent.MOUSE_DRAGGED, dockManager.getRootPane(), endPoint.getX(), endPoint.getY(), true)));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        Image preview = FxTestUtil.callFx(overlay::getDragPreview);
+        assertNotNull(preview, "Overlay should show the snapshot preview while dragging");
+        assertTrue(preview.getWidth() <= 240 && preview.getHeight() <= 240, "Preview should be scaled down");
+        assertFalse(FxTestUtil.callFx(content::isVisible), "Source content should be hidden while dragging");
+
+        FxTestUtil.runFx(() -> dragManager.endDrag(
+            createMouseEvent(MouseEvent.MOUSE_RELEASED, dockManager.getRootPane(), endPoint.getX(), endPoint.getY(), false)));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        assertNull(FxTestUtil.callFx(overlay::getDragPreview), "Preview should be cleared on drop");
+        assertTrue(FxTestUtil.callFx(content::isVisible), "Source content should be shown again after drop");
+        assertTrue(FxTestUtil.callFx(() -> sourceLeaf.getParent() != sourceGroup), "Leaf should be split into a new group");
+    }
+
     @Test
     void singleTab_dragSplitOnSelf_isNoOp(FxRobot fxRobot) {
         FxTestUtil.runFx(() -> {
@@ -472,9 +516,10 @@ class DragManagerSplitMergeFxTest {
                 .orElse(null);
         }
         if (root instanceof DockSplitGroup split) {
-            DockLeaf found = findLeafByTitle(split.getFirst(), title);
-            if (found != null) return found;
-            return findLeafByTitle(split.getSecond(), title);
+            for (DockElement child : split.getChildren()) {
+                DockLeaf found = findLeafByTitle(child, title);
+                if (found != null) return found;
+            }
         }
         return null;
     }
@@ -487,7 +532,7 @@ class DragManagerSplitMergeFxTest {
                 .count();
         }
         if (root instanceof DockSplitGroup split) {
-            return countLeavesWithTitle(split.getFirst(), title) + countLeavesWithTitle(split.getSecond(), title);
+            return split.getChildren().stream().mapToInt(child -> countLeavesWithTitle(child, title)).sum();
         }
         return 0;
     }
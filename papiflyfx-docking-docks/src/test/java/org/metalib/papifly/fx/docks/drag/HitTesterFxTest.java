@@ -0,0 +1,144 @@
+package org.metalib.papifly.fx.docks.drag;
+
+import javafx.geometry.Bounds;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.stage.Stage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.metalib.papifly.fx.docks.DemoApp;
+import org.metalib.papifly.fx.docks.DockManager;
+import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
+import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
+import org.metalib.papifly.fx.docking.api.Theme;
+import org.testfx.api.FxRobot;
+import org.testfx.framework.junit5.ApplicationExtension;
+import org.testfx.framework.junit5.Start;
+import org.testfx.util.WaitForAsyncUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Tests the indexed drop target lookup against scene geometry.
+ */
+@ExtendWith(ApplicationExtension.class)
+class HitTesterFxTest {
+
+    private DockManager dockManager;
+    private Stage stage;
+
+    @Start
+    private void start(Stage stage) {
+        this.stage = stage;
+        dockManager = new DockManager(Theme.dark());
+        stage.setScene(new Scene(dockManager.getRootPane(), 1200, 800));
+        stage.show();
+    }
+
+    @Test
+    void indexedHitTestMatchesTabGroupGeometry(FxRobot fxRobot) {
+        fxRobot.interact(() -> dockManager.setRoot(DemoApp.createInitialLayout(dockManager)));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        int mismatches = FxTestUtil.callFx(() -> {
+            HitTester hitTester = new HitTester(dockManager.getRoot());
+            List<DockTabGroup> groups = new ArrayList<>();
+            collectTabGroups(dockManager.getRoot(), groups);
+            int misses = 0;
+            for (double x = 5; x < 1200; x += 37) {
+                for (double y = 5; y < 800; y += 29) {
+                    DockTabGroup expected = groupAt(groups, x, y);
+                    HitTestResult result = hitTester.hitTest(x, y, null);
+                    if (expected != null && result.element() != expected) {
+                        misses++;
+                    }
+                }
+            }
+            hitTester.dispose();
+            return misses;
+        });
+
+        assertEquals(0, mismatches);
+    }
+
+    @Test
+    void tabBarHitResolvesInsertIndexFromHeaderMidpoints(FxRobot fxRobot) {
+        fxRobot.interact(() -> dockManager.setRoot(DemoApp.createInitialLayout(dockManager)));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        FxTestUtil.runFx(() -> {
+            List<DockTabGroup> groups = new ArrayList<>();
+            collectTabGroups(dockManager.getRoot(), groups);
+            DockTabGroup editors = groups.stream()
+                .filter(group -> group.getTabs().size() == 2)
+                .findFirst()
+                .orElseThrow();
+            HitTester hitTester = new HitTester(dockManager.getRoot());
+            List<Node> tabs = editors.getTabsContainer().getChildrenUnmodifiable();
+            Bounds first = tabs.get(0).localToScene(tabs.get(0).getBoundsInLocal());
+            Bounds second = tabs.get(1).localToScene(tabs.get(1).getBoundsInLocal());
+            double y = first.getCenterY();
+
+            HitTestResult beforeFirst = hitTester.hitTest(first.getMinX() + 1, y, null);
+            HitTestResult afterFirst = hitTester.hitTest(first.getMaxX() - 1, y, null);
+            HitTestResult afterLast = hitTester.hitTest(second.getMaxX() - 1, y, null);
+
+            assertEquals(DropZone.TAB_BAR, beforeFirst.zone());
+            assertEquals(0, beforeFirst.tabInsertIndex());
+            assertEquals(first.getMinX(), beforeFirst.tabInsertX(), 0.001);
+            assertEquals(1, afterFirst.tabInsertIndex());
+            assertEquals(2, afterLast.tabInsertIndex());
+            assertEquals(second.getMaxX(), afterLast.tabInsertX(), 0.001);
+            hitTester.dispose();
+        });
+    }
+
+    @Test
+    void indexIsRebuiltAfterLayoutChange(FxRobot fxRobot) {
+        fxRobot.interact(() -> dockManager.setRoot(DemoApp.createInitialLayout(dockManager)));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        HitTester hitTester = FxTestUtil.callFx(() -> new HitTester(dockManager.getRoot()));
+        FxTestUtil.runFx(() -> hitTester.hitTest(600, 400, null));
+
+        fxRobot.interact(() -> stage.setWidth(600));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        FxTestUtil.runFx(() -> {
+            DockElement root = dockManager.getRoot();
+            Bounds rootBounds = root.getNode().localToScene(root.getNode().getBoundsInLocal());
+            double x = rootBounds.getMaxX() - 5;
+            HitTestResult result = hitTester.hitTest(x, 400, null);
+            List<DockTabGroup> groups = new ArrayList<>();
+            collectTabGroups(root, groups);
+            assertSame(groupAt(groups, x, 400), result.element());
+            hitTester.dispose();
+        });
+    }
+
+    private static DockTabGroup groupAt(List<DockTabGroup> groups, double x, double y) {
+        for (DockTabGroup group : groups) {
+            Bounds bounds = group.getNode().localToScene(group.getNode().getBoundsInLocal());
+            if (bounds.contains(x, y)) {
+                return group;
+            }
+        }
+        return null;
+    }
+
+    private static void collectTabGroups(DockElement element, List<DockTabGroup> groups) {
+        if (element instanceof DockTabGroup tabGroup) {
+            groups.add(tabGroup);
+        } else if (element instanceof DockSplitGroup split) {
+            for (DockElement child : split.getChildren()) {
+                collectTabGroups(child, groups);
+            }
+        }
+    }
+}
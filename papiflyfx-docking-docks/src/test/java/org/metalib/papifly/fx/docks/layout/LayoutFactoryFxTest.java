@@ -11,16 +11,26 @@ import org.metalib.papifly.fx.docking.api.ContentStateAdapter;
 import org.metalib.papifly.fx.docking.api.LeafContentData;
 import org.metalib.papifly.fx.docking.api.Theme;
 import org.metalib.papifly.fx.docks.core.DockElement;
+import org.metalib.papifly.fx.docks.core.DockSplitGroup;
 import org.metalib.papifly.fx.docks.core.DockTabGroup;
+import org.metalib.papifly.fx.docks.core.DockLeaf;
 import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.SplitData;
+import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.docks.testutil.FxTestUtil;
 import org.testfx.framework.junit5.ApplicationExtension;
 import org.testfx.framework.junit5.Start;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(ApplicationExtension.class)
@@ -220,4 +230,108 @@ class LayoutFactoryFxTest {
         assertInstanceOf(Label.class, leaf.getContent());
         assertEquals("custom:leaf-custom", ((Label) leaf.getContent()).getText());
     }
+
+    @Test
+    void build_binarySplitChain_flattensIntoOneSplit() {
+        var themeProperty = new SimpleObjectProperty<>(Theme.dark());
+        LayoutFactory factory = new LayoutFactory(themeProperty, id -> new Label(id));
+        SplitData chain = SplitData.horizontal("outer", 0.5,
+            LeafData.of("a", "A", "a"),
+            SplitData.horizontal("inner", 0.5,
+                LeafData.of("b", "B", "b"),
+                SplitData.vertical("column", 0.4, LeafData.of("c", "C", "c"), LeafData.of("d", "D", "d"))
+            )
+        );
+
+        DockElement element = factory.build(chain);
+
+        DockSplitGroup split = assertInstanceOf(DockSplitGroup.class, element);
+        assertEquals(3, split.getChildren().size());
+        assertArrayEquals(new double[] {0.5, 0.75}, split.getDividerPositions(), 1e-9);
+        DockSplitGroup column = assertInstanceOf(DockSplitGroup.class, split.getChildren().get(2));
+        assertEquals(2, column.getChildren().size());
+        SplitData captured = assertInstanceOf(SplitData.class, split.serialize());
+        assertEquals("outer", captured.id());
+        assertEquals(List.of(0.5, 0.75), captured.dividerPositions());
+    }
+
+    @Test
+    void build_tabGroup_createsContentOnlyForActiveTabUntilActivated() {
+        var themeProperty = new SimpleObjectProperty<>(Theme.dark());
+        AtomicInteger created = new AtomicInteger();
+        ContentFactory contentFactory = id -> {
+            created.incrementAndGet();
+            return new Label("content:" + id);
+        };
+        LayoutFactory factory = new LayoutFactory(themeProperty, contentFactory);
+
+        DockTabGroup group = (DockTabGroup) factory.build(TabGroupData.of("group", List.of(
+            LeafData.of("leaf-a", "A", "a"),
+            LeafData.of("leaf-b", "B", "b"),
+            LeafData.of("leaf-c", "C", "c")
+        ), 1));
+
+        assertEquals(1, created.get());
+        assertEquals(1, group.getActiveTabIndex());
+        DockLeaf inactive = group.getTabs().get(2);
+        assertTrue(inactive.isContentDeferred());
+        assertNull(inactive.contentProperty().get());
+
+        group.setActiveTab(2);
+
+        assertEquals(2, created.get());
+        assertFalse(inactive.isContentDeferred());
+        assertEquals("content:c", ((Label) inactive.contentProperty().get()).getText());
+        assertTrue(group.getTabs().get(0).isContentDeferred());
+    }
+
+    @Test
+    void build_tabGroup_createsAllContentWhenDeferralDisabled() {
+        var themeProperty = new SimpleObjectProperty<>(Theme.dark());
+        AtomicInteger created = new AtomicInteger();
+        LayoutFactory factory = new LayoutFactory(themeProperty, id -> {
+            created.incrementAndGet();
+            return new Label(id);
+        });
+        factory.setDeferInactiveTabs(false);
+
+        DockTabGroup group = (DockTabGroup) factory.build(TabGroupData.of("group", List.of(
+            LeafData.of("leaf-a", "A", "a"),
+            LeafData.of("leaf-b", "B", "b")
+        )));
+
+        assertEquals(2, created.get());
+        assertEquals(0, group.getActiveTabIndex());
+    }
+
+    @Test
+    void prewarmQueue_hydratesDeferredLeavesAndSkipsActivatedOnes() {
+        FxTestUtil.runFx(() -> {
+            var themeProperty = new SimpleObjectProperty<>(Theme.dark());
+            AtomicInteger created = new AtomicInteger();
+            LayoutFactory factory = new LayoutFactory(themeProperty, id -> {
+                created.incrementAndGet();
+                return new Label(id);
+            });
+            ContentPrewarmQueue queue = new ContentPrewarmQueue(Long.MAX_VALUE, Long.MAX_VALUE);
+            factory.setPrewarmQueue(queue);
+
+            DockTabGroup group = (DockTabGroup) factory.build(TabGroupData.of("group", List.of(
+                LeafData.of("leaf-a", "A", "a"),
+                LeafData.of("leaf-b", "B", "b"),
+                LeafData.of("leaf-c", "C", "c")
+            ), 0));
+            assertEquals(2, queue.size());
+
+            group.setActiveTab(1);
+            assertEquals(2, created.get());
+
+            assertEquals(1, queue.drain(Long.MAX_VALUE));
+            assertEquals(3, created.get());
+            assertEquals(0, queue.size());
+            for (DockLeaf leaf : group.getTabs()) {
+                assertFalse(leaf.isContentDeferred());
+            }
+        });
+    }
 }
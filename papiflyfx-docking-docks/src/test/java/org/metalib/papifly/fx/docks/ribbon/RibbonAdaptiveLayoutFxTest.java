@@ -506,6 +506,37 @@ class RibbonAdaptiveLayoutFxTest {
         }
     }
 
+    @Test
+    void svgIconsAreParsedOncePerResourceAcrossSizes() throws IOException {
+        Path svg = Files.createTempFile("ribbon-icon", ".svg");
+        try {
+            Files.writeString(svg, "<svg xmlns=\"http://www.w3.org/2000/svg\" viewBox=\"0 0 16 16\">"
+                + "<path d=\"M2,2 L14,2 L14,14 Z\"/><path d=\"M4,8 L8,12\"/></svg>", StandardCharsets.UTF_8);
+            RibbonIconHandle icon = RibbonIconHandle.of(svg.toUri().toString());
+            ClassLoader loader = getClass().getClassLoader();
+            RibbonIconCache.Stats before = RibbonIconCache.stats();
+
+            List<Node> graphics = FxTestUtil.callFx(() -> List.of(
+                RibbonIconLoader.loadGraphic(icon, 16, loader),
+                RibbonIconLoader.loadGraphic(icon, 32, loader),
+                RibbonIconLoader.loadGraphic(icon, 16, loader)
+            ));
+
+            RibbonIconCache.Stats after = RibbonIconCache.stats();
+            assertEquals(1, after.misses() - before.misses());
+            assertEquals(2, after.hits() - before.hits());
+            assertEquals(3, graphics.stream().distinct().count());
+            for (Node graphic : graphics) {
+                assertInstanceOf(StackPane.class, graphic);
+                assertNotNull(findDescendant((Parent) graphic, SVGPath.class,
+                    path -> path.getStyleClass().contains("pf-ribbon-svg-path")));
+            }
+            assertEquals(32.0, ((Region) graphics.get(1)).getPrefWidth(), 0.001);
+        } finally {
+            Files.deleteIfExists(svg);
+        }
+    }
+
     private void assertPriorityOrder() {
         RibbonGroup alpha = group("alpha");
         RibbonGroup beta = group("beta");
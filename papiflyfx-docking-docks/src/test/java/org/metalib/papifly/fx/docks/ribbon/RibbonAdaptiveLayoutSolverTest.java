@@ -0,0 +1,150 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.function.IntPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+
+class RibbonAdaptiveLayoutSolverTest {
+
+    private static final int LARGE = RibbonGroupSizeMode.LARGE.ordinal();
+    private static final int SMALL = RibbonGroupSizeMode.SMALL.ordinal();
+    private static final int COLLAPSED = RibbonGroupSizeMode.COLLAPSED.ordinal();
+
+    private static final double[] EXTENTS = {300.0, 200.0, 150.0, 60.0};
+
+    @Test
+    void shrinksFirstGroupInCollapseOrderAllTheWayBeforeTheNext() {
+        double[][] extents = {EXTENTS, EXTENTS, EXTENTS};
+        int[] modes = RibbonAdaptiveLayoutSolver.solve(
+            extents,
+            new int[]{LARGE, LARGE, LARGE},
+            0.0,
+            700.0,
+            new int[]{2, 1, 0},
+            new int[]{0, 1, 2}
+        );
+
+        // 900 -> 800 -> 750 -> 660 fits after the last group collapses.
+        assertArrayEquals(new int[]{LARGE, LARGE, COLLAPSED}, modes);
+    }
+
+    @Test
+    void growsInRestoreOrderAndStopsAtFirstOverflowingStep() {
+        double[][] extents = {EXTENTS, EXTENTS, EXTENTS};
+        int[] modes = RibbonAdaptiveLayoutSolver.solve(
+            extents,
+            new int[]{COLLAPSED, COLLAPSED, COLLAPSED},
+            20.0,
+            560.0,
+            new int[]{2, 1, 0},
+            new int[]{0, 1, 2}
+        );
+
+        // 200 -> 290 (S) -> 340 (M) -> 440 (L) ; next step 530 (S) fits ; 580 (M) overflows.
+        assertArrayEquals(new int[]{LARGE, SMALL, COLLAPSED}, modes);
+    }
+
+    @Test
+    void matchesStepwisePolicyOnRandomLayouts() {
+        Random random = new Random(37);
+        for (int round = 0; round < 2_000; round++) {
+            int count = 1 + random.nextInt(12);
+            double[][] extents = new double[count][];
+            int[] current = new int[count];
+            for (int index = 0; index < count; index++) {
+                double large = 80 + random.nextInt(300);
+                double medium = large * (0.5 + random.nextDouble() * 0.5);
+                double small = medium * (0.5 + random.nextDouble() * 0.5);
+                extents[index] = new double[]{large, medium, small, 60.0};
+                current[index] = random.nextInt(4);
+            }
+            int[] collapseOrder = shuffledOrder(count, random);
+            int[] restoreOrder = reversed(collapseOrder);
+            double spacing = Math.max(0, count - 1) * 12.0;
+            double available = 100 + random.nextInt(3_000);
+
+            int[] expected = stepwise(extents, current, spacing, available, collapseOrder, restoreOrder);
+            int[] actual = RibbonAdaptiveLayoutSolver.solve(extents, current, spacing, available, collapseOrder, restoreOrder);
+
+            assertArrayEquals(expected, actual, "round " + round);
+        }
+    }
+
+    /**
+     * Reference implementation of the previous one-step-at-a-time layout loop.
+     */
+    private static int[] stepwise(
+        double[][] extents,
+        int[] current,
+        double spacing,
+        double available,
+        int[] collapseOrder,
+        int[] restoreOrder
+    ) {
+        int[] modes = current.clone();
+        double total = total(extents, modes, spacing);
+        while (total > available) {
+            int next = firstMatching(collapseOrder, modes, mode -> mode != COLLAPSED);
+            if (next < 0) {
+                break;
+            }
+            modes[next]++;
+            total = total(extents, modes, spacing);
+        }
+        while (total < available) {
+            int next = firstMatching(restoreOrder, modes, mode -> mode != LARGE);
+            if (next < 0) {
+                break;
+            }
+            double candidate = total - extents[next][modes[next]] + extents[next][modes[next] - 1];
+            if (candidate > available) {
+                break;
+            }
+            modes[next]--;
+            total = candidate;
+        }
+        return modes;
+    }
+
+    private static double total(double[][] extents, int[] modes, double spacing) {
+        double total = spacing;
+        for (int index = 0; index < modes.length; index++) {
+            total += extents[index][modes[index]];
+        }
+        return total;
+    }
+
+    private static int firstMatching(int[] order, int[] modes, IntPredicate predicate) {
+        for (int index : order) {
+            if (predicate.test(modes[index])) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static int[] shuffledOrder(int count, Random random) {
+        int[] order = new int[count];
+        for (int index = 0; index < count; index++) {
+            order[index] = index;
+        }
+        for (int index = count - 1; index > 0; index--) {
+            int swap = random.nextInt(index + 1);
+            int value = order[index];
+            order[index] = order[swap];
+            order[swap] = value;
+        }
+        return order;
+    }
+
+    private static int[] reversed(int[] order) {
+        int[] result = new int[order.length];
+        for (int index = 0; index < order.length; index++) {
+            result[index] = order[order.length - 1 - index];
+        }
+        return result;
+    }
+}
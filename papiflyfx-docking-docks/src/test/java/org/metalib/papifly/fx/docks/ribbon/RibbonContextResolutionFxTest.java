@@ -25,6 +25,7 @@ import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.metalib.papifly.fx.docks.ribbon.RibbonTestSupport.settleFx;
 
@@ -78,6 +79,21 @@ class RibbonContextResolutionFxTest {
         assertFalse(hasTab(robot, "Hugo Editor"));
     }
 
+    @Test
+    void repeatedClicksInsideSameContentKeepContextInstance(FxRobot robot) {
+        robot.clickOn("#editor-content");
+        settleFx();
+        RibbonContext first = dockManager.getRibbonContext();
+        assertEquals("sample.code", first.activeContentTypeKey());
+
+        robot.clickOn("#editor-content");
+        settleFx();
+        robot.clickOn("#editor-content");
+        settleFx();
+
+        assertSame(first, dockManager.getRibbonContext());
+    }
+
     private static StackPane content(String id, String text) {
         Label label = new Label(text);
         StackPane pane = new StackPane(label);
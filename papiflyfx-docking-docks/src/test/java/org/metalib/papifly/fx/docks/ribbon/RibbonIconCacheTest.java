@@ -0,0 +1,62 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.metalib.papifly.fx.docks.ribbon.RibbonIconCache.SvgGeometry;
+
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class RibbonIconCacheTest {
+
+    private static final SvgGeometry GEOMETRY = new SvgGeometry(List.of("M0 0L16 16"), 0, 0, 16, 16);
+
+    @AfterEach
+    void tearDown() {
+        RibbonIconCache.clear();
+    }
+
+    @Test
+    void cachesEachResourceOncePerClassLoader() {
+        ClassLoader first = new URLClassLoader(new URL[0], null);
+        ClassLoader second = new URLClassLoader(new URL[0], null);
+        AtomicInteger loads = new AtomicInteger();
+        Supplier<SvgGeometry> loader = () -> {
+            loads.incrementAndGet();
+            return GEOMETRY;
+        };
+
+        assertSame(GEOMETRY, RibbonIconCache.svgGeometry("icons/copy.svg", first, loader));
+        assertSame(GEOMETRY, RibbonIconCache.svgGeometry("icons/copy.svg", first, loader));
+        assertSame(GEOMETRY, RibbonIconCache.svgGeometry("icons/copy.svg", second, loader));
+
+        assertEquals(2, loads.get());
+        assertEquals(new RibbonIconCache.Stats(1, 2, 2, 0), RibbonIconCache.stats());
+    }
+
+    @Test
+    void releasesEntriesOfUnreachableClassLoaders() throws Exception {
+        ClassLoader classLoader = new URLClassLoader(new URL[0], null);
+        RibbonIconCache.svgGeometry("icons/copy.svg", classLoader, () -> GEOMETRY);
+        assertNull(RibbonIconCache.raster("icons/missing.png", 16, classLoader, () -> null));
+        WeakReference<ClassLoader> reference = new WeakReference<>(classLoader);
+        classLoader = null;
+
+        for (int attempt = 0; attempt < 50 && reference.get() != null; attempt++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertNull(reference.get());
+        assertEquals(0, RibbonIconCache.stats().svgEntries());
+        assertEquals(0, RibbonIconCache.stats().rasterEntries());
+    }
+}
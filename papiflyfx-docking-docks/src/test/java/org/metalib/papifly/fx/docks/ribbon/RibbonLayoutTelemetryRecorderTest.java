@@ -0,0 +1,107 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RibbonLayoutTelemetryRecorderTest {
+
+    @Test
+    void ringBufferKeepsNewestEventsAndCountsDropped() {
+        RibbonLayoutTelemetryRecorder recorder = new RibbonLayoutTelemetryRecorder(4);
+
+        for (int index = 0; index < 10; index++) {
+            recorder.controlRebuild("control-" + index, RibbonLayoutTelemetry.RebuildReason.STRUCTURAL);
+        }
+
+        List<String> retained = recorder.controlRebuilds().stream()
+            .map(RibbonLayoutTelemetryRecorder.ControlRebuildEvent::controlId)
+            .toList();
+        assertEquals(List.of("control-6", "control-7", "control-8", "control-9"), retained);
+        assertEquals(6, recorder.snapshot().droppedEvents());
+    }
+
+    @Test
+    void internedIdsAreBoundedByRetainedEventsAndResetByClear() {
+        RibbonLayoutTelemetryRecorder recorder = new RibbonLayoutTelemetryRecorder(8);
+
+        for (int index = 0; index < 10_000; index++) {
+            recorder.nodeCacheMiss(RibbonLayoutTelemetry.CacheKind.CONTROL, "control-" + index);
+            if (index % 3 == 0) {
+                recorder.tabRebuild("home", RibbonLayoutTelemetry.RebuildReason.STRUCTURAL);
+            }
+            recorder.layoutPass(index, 0);
+            assertTrue(recorder.internedIdCount() <= recorder.capacity());
+        }
+
+        List<String> retained = recorder.cacheMisses().stream()
+            .map(RibbonLayoutTelemetryRecorder.NodeCacheMissEvent::id)
+            .toList();
+        assertEquals(List.of("control-9997", "control-9998", "control-9999"), retained);
+        assertEquals(List.of(new RibbonLayoutTelemetryRecorder.TabRebuildEvent(
+            "home", RibbonLayoutTelemetry.RebuildReason.STRUCTURAL
+        )), recorder.tabRebuilds());
+        assertEquals(4, recorder.internedIdCount());
+
+        recorder.clear();
+
+        assertEquals(0, recorder.internedIdCount());
+        recorder.groupRebuild("clipboard", RibbonLayoutTelemetry.RebuildReason.INITIAL);
+        assertEquals(List.of(new RibbonLayoutTelemetryRecorder.GroupRebuildEvent(
+            "clipboard", RibbonLayoutTelemetry.RebuildReason.INITIAL
+        )), recorder.events());
+    }
+
+    @Test
+    void decodesPrimitiveEventsInRecordingOrder() {
+        RibbonLayoutTelemetryRecorder recorder = new RibbonLayoutTelemetryRecorder();
+        IllegalStateException failure = new IllegalStateException("boom");
+
+        recorder.tabRebuild("home", RibbonLayoutTelemetry.RebuildReason.INITIAL);
+        recorder.nodeCacheHit(RibbonLayoutTelemetry.CacheKind.GROUP, "home/clipboard");
+        recorder.collapseTransition("clipboard", RibbonGroupSizeMode.LARGE, RibbonGroupSizeMode.SMALL);
+        recorder.providerFailure("broken", failure);
+        recorder.layoutPass(1_500L, 2);
+
+        assertEquals(List.of(
+            new RibbonLayoutTelemetryRecorder.TabRebuildEvent("home", RibbonLayoutTelemetry.RebuildReason.INITIAL),
+            new RibbonLayoutTelemetryRecorder.NodeCacheHitEvent(RibbonLayoutTelemetry.CacheKind.GROUP, "home/clipboard"),
+            new RibbonLayoutTelemetryRecorder.CollapseTransitionEvent(
+                "clipboard",
+                RibbonGroupSizeMode.LARGE,
+                RibbonGroupSizeMode.SMALL
+            ),
+            new RibbonLayoutTelemetryRecorder.ProviderFailureEvent("broken", failure),
+            new RibbonLayoutTelemetryRecorder.LayoutPassEvent(1_500L, 2)
+        ), recorder.events());
+    }
+
+    @Test
+    void aggregatesSurviveEvictionAndSnapshotsAreIndependent() {
+        RibbonLayoutTelemetryRecorder recorder = new RibbonLayoutTelemetryRecorder(2);
+
+        recorder.collapseTransition("clipboard", RibbonGroupSizeMode.LARGE, RibbonGroupSizeMode.MEDIUM);
+        recorder.collapseTransition("clipboard", RibbonGroupSizeMode.MEDIUM, RibbonGroupSizeMode.COLLAPSED);
+        recorder.collapseTransition("clipboard", RibbonGroupSizeMode.COLLAPSED, RibbonGroupSizeMode.LARGE);
+        recorder.layoutPass(1_000L, 1);
+        recorder.layoutPass(3_000L, 0);
+        recorder.layoutPass(1_000_000L, 4);
+
+        RibbonLayoutTelemetryRecorder.Snapshot snapshot = recorder.snapshot();
+        recorder.layoutPass(5_000_000L, 1);
+
+        assertEquals(2, snapshot.events().size());
+        assertEquals(4, snapshot.droppedEvents());
+        assertEquals(new RibbonLayoutTelemetryRecorder.GroupTransitionCounts(2, 1), snapshot.groupTransitions().get("clipboard"));
+        RibbonLayoutTelemetryRecorder.DurationHistogram histogram = snapshot.layoutPasses();
+        assertEquals(3, histogram.count());
+        assertEquals(1_000_000L, histogram.maxNanos());
+        assertEquals(334_666.67, histogram.meanNanos(), 0.01);
+        assertTrue(histogram.percentileUpperBoundNanos(50) < 4_096L);
+        assertEquals(1_000_000L, histogram.percentileUpperBoundNanos(100));
+        assertEquals(4, recorder.snapshot().layoutPasses().count());
+    }
+}
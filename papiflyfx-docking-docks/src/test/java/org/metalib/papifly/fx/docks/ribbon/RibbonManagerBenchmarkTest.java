@@ -0,0 +1,132 @@
+package org.metalib.papifly.fx.docks.ribbon;
+
+import javafx.collections.ListChangeListener;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.metalib.papifly.fx.api.ribbon.RibbonButtonSpec;
+import org.metalib.papifly.fx.api.ribbon.RibbonCommand;
+import org.metalib.papifly.fx.api.ribbon.RibbonContext;
+import org.metalib.papifly.fx.api.ribbon.RibbonContextDependencies;
+import org.metalib.papifly.fx.api.ribbon.RibbonControlSpec;
+import org.metalib.papifly.fx.api.ribbon.RibbonGroupSpec;
+import org.metalib.papifly.fx.api.ribbon.RibbonProvider;
+import org.metalib.papifly.fx.api.ribbon.RibbonTabSpec;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.metalib.papifly.fx.docks.ribbon.RibbonTestSupport.provider;
+
+/**
+ * Focus-switch cost of {@link RibbonManager} with 15 providers registered while
+ * the active content cycles through 20 content types.
+ * <p>
+ * Compares providers that declare their context dependencies against the same
+ * providers left on the whole-context default.
+ * Tagged with "benchmark" so it is excluded from default test runs.
+ * Run explicitly via:
+ * {@code mvn -pl papiflyfx-docking-docks -am -Dgroups=benchmark -Dsurefire.excludedGroups= -Dsurefire.failIfNoSpecifiedTests=false -Dtest=RibbonManagerBenchmarkTest test}
+ */
+@Tag("benchmark")
+class RibbonManagerBenchmarkTest {
+
+    private static final int PROVIDER_COUNT = 15;
+    private static final int STATIC_PROVIDER_COUNT = 5;
+    private static final int CONTENT_TYPE_COUNT = 20;
+    private static final int GROUPS_PER_TAB = 4;
+    private static final int BUTTONS_PER_GROUP = 6;
+    private static final int WARMUP_SWITCHES = 2_000;
+    private static final int MEASURED_SWITCHES = 20_000;
+
+    @Test
+    void focusSwitchWithDeclaredDependencies() {
+        measure("declared dependencies", true);
+    }
+
+    @Test
+    void focusSwitchWithWholeContextDependencies() {
+        measure("whole-context dependencies", false);
+    }
+
+    private static void measure(String label, boolean declared) {
+        AtomicLong providerCalls = new AtomicLong();
+        AtomicLong tabChanges = new AtomicLong();
+        RibbonManager manager = new RibbonManager(providers(declared, providerCalls));
+        manager.getTabs().addListener((ListChangeListener<RibbonTabSpec>) change -> tabChanges.incrementAndGet());
+
+        for (int i = 0; i < WARMUP_SWITCHES; i++) {
+            manager.setContext(focus(i));
+        }
+        providerCalls.set(0);
+        tabChanges.set(0);
+
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_SWITCHES; i++) {
+            manager.setContext(focus(WARMUP_SWITCHES + i));
+        }
+        long elapsedNanos = System.nanoTime() - startNanos;
+
+        System.out.printf("[Benchmark] ribbon focus switch (%s): %.2f us/switch, %.2f provider calls/switch, %.2f tab list changes/switch%n",
+            label,
+            elapsedNanos / 1_000.0 / MEASURED_SWITCHES,
+            (double) providerCalls.get() / MEASURED_SWITCHES,
+            (double) tabChanges.get() / MEASURED_SWITCHES);
+        assertTrue(manager.hasTab("static-0"), "Static tabs should stay visible");
+    }
+
+    private static RibbonContext focus(int switchIndex) {
+        int type = switchIndex % CONTENT_TYPE_COUNT;
+        return new RibbonContext(
+            "dock-" + (switchIndex % 7),
+            "content-" + switchIndex,
+            "type-" + type,
+            Map.of()
+        );
+    }
+
+    private static List<RibbonProvider> providers(boolean declared, AtomicLong calls) {
+        List<RibbonProvider> providers = new ArrayList<>(PROVIDER_COUNT);
+        for (int index = 0; index < PROVIDER_COUNT; index++) {
+            boolean contextual = index >= STATIC_PROVIDER_COUNT;
+            String tabId = (contextual ? "contextual-" : "static-") + index;
+            int providerIndex = index;
+            RibbonContextDependencies dependencies = !declared
+                ? RibbonContextDependencies.all()
+                : contextual ? RibbonContextDependencies.activeContentTypeKeyOnly() : RibbonContextDependencies.none();
+            providers.add(provider(tabId + "-provider", dependencies, context -> {
+                calls.incrementAndGet();
+                return List.of(tab(tabId, providerIndex, contextual));
+            }));
+        }
+        return providers;
+    }
+
+    private static RibbonTabSpec tab(String tabId, int providerIndex, boolean contextual) {
+        List<RibbonGroupSpec> groups = new ArrayList<>(GROUPS_PER_TAB);
+        for (int group = 0; group < GROUPS_PER_TAB; group++) {
+            List<RibbonControlSpec> controls = new ArrayList<>(BUTTONS_PER_GROUP);
+            for (int button = 0; button < BUTTONS_PER_GROUP; button++) {
+                String commandId = tabId + ".g" + group + ".b" + button;
+                controls.add(new RibbonButtonSpec(RibbonCommand.of(commandId, commandId, () -> {
+                })));
+            }
+            groups.add(new RibbonGroupSpec(tabId + ".g" + group, "Group " + group, group, group, null, controls));
+        }
+        // Each contextual tab is shown for two of the twenty content types.
+        String first = "type-" + (providerIndex - STATIC_PROVIDER_COUNT);
+        String second = "type-" + (providerIndex - STATIC_PROVIDER_COUNT + CONTENT_TYPE_COUNT / 2);
+        return new RibbonTabSpec(
+            tabId,
+            tabId,
+            providerIndex,
+            contextual,
+            contextual
+                ? context -> first.equals(context.activeContentTypeKey()) || second.equals(context.activeContentTypeKey())
+                : context -> true,
+            groups
+        );
+    }
+}
@@ -1,5 +1,6 @@
 package org.metalib.papifly.fx.docks.ribbon;
 
+import javafx.collections.ListChangeListener;
 import org.junit.jupiter.api.Test;
 import org.metalib.papifly.fx.api.ribbon.MutableRibbonBooleanState;
 import org.metalib.papifly.fx.api.ribbon.RibbonBooleanState;
@@ -8,6 +9,7 @@ import org.metalib.papifly.fx.api.ribbon.RibbonAttributeKey;
 import org.metalib.papifly.fx.api.ribbon.RibbonButtonSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonContext;
 import org.metalib.papifly.fx.api.ribbon.RibbonContextAttributes;
+import org.metalib.papifly.fx.api.ribbon.RibbonContextDependencies;
 import org.metalib.papifly.fx.api.ribbon.RibbonControlKind;
 import org.metalib.papifly.fx.api.ribbon.RibbonControlSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonGroupSpec;
@@ -18,11 +20,14 @@ import org.metalib.papifly.fx.api.ribbon.RibbonTabSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonToggleCommand;
 import org.metalib.papifly.fx.api.ribbon.RibbonToggleSpec;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.metalib.papifly.fx.docks.ribbon.RibbonTestSupport.provider;
@@ -539,6 +544,86 @@ class RibbonManagerTest {
         assertEquals("unknown-control", telemetry.unknownControlKinds().getFirst().controlId());
     }
 
+    @Test
+    void providersWithDeclaredDependenciesAreOnlyRequeriedWhenTheirKeysChange() {
+        AtomicInteger homeCalls = new AtomicInteger();
+        AtomicInteger editorCalls = new AtomicInteger();
+        RibbonProvider home = provider("home-provider", RibbonContextDependencies.none(), context -> {
+            homeCalls.incrementAndGet();
+            return List.of(simpleButtonTab("home", "Home", "save", "Save"));
+        });
+        RibbonProvider editor = provider(
+            "editor-provider",
+            RibbonContextDependencies.activeContentTypeKeyOnly(),
+            context -> {
+                editorCalls.incrementAndGet();
+                return List.of(new RibbonTabSpec(
+                    "editor",
+                    "Editor",
+                    10,
+                    true,
+                    ribbonContext -> "editor".equals(ribbonContext.activeContentTypeKey()),
+                    List.of(new RibbonGroupSpec(
+                        "format",
+                        "Format",
+                        0,
+                        0,
+                        null,
+                        List.of(new RibbonButtonSpec(RibbonCommand.of("format", "Format", () -> {})))
+                    ))
+                ));
+            }
+        );
+        RibbonManager manager = new RibbonManager(List.of(home, editor));
+        homeCalls.set(0);
+        editorCalls.set(0);
+
+        manager.setContext(new RibbonContext("dock-1", "content-1", "editor", Map.of()));
+        assertEquals(List.of("home", "editor"), manager.getTabs().stream().map(RibbonTabSpec::id).toList());
+        RibbonTabSpec homeTab = manager.getTabs().getFirst();
+        RibbonTabSpec editorTab = manager.getTabs().get(1);
+
+        List<ListChangeListener.Change<? extends RibbonTabSpec>> changes = new ArrayList<>();
+        manager.getTabs().addListener((ListChangeListener<RibbonTabSpec>) changes::add);
+        manager.setContext(new RibbonContext("dock-2", "content-2", "editor", Map.of()));
+
+        assertEquals(0, homeCalls.get());
+        assertEquals(1, editorCalls.get());
+        assertTrue(changes.isEmpty());
+        assertSame(homeTab, manager.getTabs().getFirst());
+        assertSame(editorTab, manager.getTabs().get(1));
+
+        manager.setContext(new RibbonContext("dock-3", "content-3", "text", Map.of()));
+
+        assertEquals(0, homeCalls.get());
+        assertEquals(2, editorCalls.get());
+        assertEquals(List.of("home"), manager.getTabs().stream().map(RibbonTabSpec::id).toList());
+        assertSame(homeTab, manager.getTabs().getFirst());
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    void explicitRefreshRequeriesMemoizedProviders() {
+        AtomicInteger calls = new AtomicInteger();
+        RibbonProvider provider = provider("static-provider", RibbonContextDependencies.none(), context -> {
+            calls.incrementAndGet();
+            return List.of(simpleButtonTab("home", "Home " + calls.get(), "save", "Save"));
+        });
+        RibbonManager manager = new RibbonManager(List.of(provider));
+        RibbonTabSpec initial = manager.getTabs().getFirst();
+        int before = calls.get();
+
+        manager.setContext(new RibbonContext(null, null, "other", Map.of()));
+        assertEquals(before, calls.get());
+        assertSame(initial, manager.getTabs().getFirst());
+
+        manager.refresh();
+
+        assertEquals(before + 1, calls.get());
+        assertNotSame(initial, manager.getTabs().getFirst());
+        assertEquals("Home " + calls.get(), manager.getTabs().getFirst().label());
+    }
+
     private static RibbonCommand extractFirstButtonCommand(RibbonManager manager) {
         RibbonControlSpec control = manager.getTabs().getFirst().groups().getFirst().controls().getFirst();
         return ((RibbonButtonSpec) control).command();
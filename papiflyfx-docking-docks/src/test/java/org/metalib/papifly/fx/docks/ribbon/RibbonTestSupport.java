@@ -3,6 +3,7 @@ package org.metalib.papifly.fx.docks.ribbon;
 import org.metalib.papifly.fx.api.ribbon.RibbonCommand;
 import org.metalib.papifly.fx.api.ribbon.RibbonButtonSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonContext;
+import org.metalib.papifly.fx.api.ribbon.RibbonContextDependencies;
 import org.metalib.papifly.fx.api.ribbon.RibbonGroupSpec;
 import org.metalib.papifly.fx.api.ribbon.RibbonProvider;
 import org.metalib.papifly.fx.api.ribbon.RibbonTabSpec;
@@ -38,7 +39,15 @@ final class RibbonTestSupport {
         int providerOrder,
         Function<RibbonContext, List<RibbonTabSpec>> tabsFactory
     ) {
-        return new InMemoryProvider(providerId, providerOrder, tabsFactory);
+        return new InMemoryProvider(providerId, providerOrder, RibbonContextDependencies.all(), tabsFactory);
+    }
+
+    static RibbonProvider provider(
+        String providerId,
+        RibbonContextDependencies dependencies,
+        Function<RibbonContext, List<RibbonTabSpec>> tabsFactory
+    ) {
+        return new InMemoryProvider(providerId, 0, dependencies, tabsFactory);
     }
 
     static RibbonTabSpec simpleButtonTab(String tabId, String tabLabel, String commandId, String commandLabel) {
@@ -75,6 +84,7 @@ final class RibbonTestSupport {
     private record InMemoryProvider(
         String providerId,
         int providerOrder,
+        RibbonContextDependencies dependencies,
         Function<RibbonContext, List<RibbonTabSpec>> tabsFactory
     ) implements RibbonProvider {
 
@@ -88,6 +98,11 @@ final class RibbonTestSupport {
             return providerOrder;
         }
 
+        @Override
+        public RibbonContextDependencies contextDependencies() {
+            return dependencies;
+        }
+
         @Override
         public List<RibbonTabSpec> getTabs(RibbonContext context) {
             return tabsFactory.apply(context);
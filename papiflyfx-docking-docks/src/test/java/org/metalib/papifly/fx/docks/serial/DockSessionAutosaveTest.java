@@ -0,0 +1,165 @@
+package org.metalib.papifly.fx.docks.serial;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.json.JsonWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class DockSessionAutosaveTest {
+
+    private final DockSessionPersistence persistence = new DockSessionPersistence();
+
+    @Test
+    void markDirty_burstIsCoalescedIntoSingleWrite(@TempDir Path tempDir) {
+        Path file = tempDir.resolve("session.json");
+        DockSessionData session = session("leaf-1");
+        AtomicInteger captures = new AtomicInteger();
+
+        try (DockSessionAutosave autosave = new DockSessionAutosave(file, () -> {
+            captures.incrementAndGet();
+            return session;
+        }, Runnable::run, Duration.ofMillis(50), persistence)) {
+            for (int i = 0; i < 10; i++) {
+                autosave.markDirty();
+            }
+            awaitCondition(() -> autosave.stats().writes() == 1);
+
+            DockSessionAutosave.Stats stats = autosave.stats();
+            assertEquals(10, stats.dirtyMarks());
+            assertEquals(9, stats.coalesced());
+            assertEquals(1, captures.get());
+            assertTrue(stats.lastWriteNanos() > 0);
+            assertEquals(stats.lastWriteNanos(), stats.averageWriteNanos());
+            assertFalse(autosave.isDirty());
+        }
+        assertEquals(session, persistence.fromJsonFile(file));
+    }
+
+    @Test
+    void flush_unchangedSnapshotIsSkipped(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        AtomicReference<DockSessionData> current = new AtomicReference<>(session("leaf-1"));
+
+        try (DockSessionAutosave autosave = new DockSessionAutosave(
+            file, current::get, Runnable::run, Duration.ofHours(1), persistence
+        )) {
+            autosave.markDirty();
+            autosave.flush().get(5, TimeUnit.SECONDS);
+            autosave.markDirty();
+            autosave.flush().get(5, TimeUnit.SECONDS);
+            autosave.flush().get(5, TimeUnit.SECONDS);
+
+            assertEquals(1, autosave.stats().writes());
+            assertEquals(1, autosave.stats().skipped());
+
+            current.set(session("leaf-2"));
+            autosave.markDirty();
+            autosave.flush().get(5, TimeUnit.SECONDS);
+
+            assertEquals(2, autosave.stats().writes());
+        }
+        assertEquals(session("leaf-2"), persistence.fromJsonFile(file));
+        assertEquals(session("leaf-1"), persistence.fromJsonFile(DockSessionPersistence.backupPath(file)));
+    }
+
+    @Test
+    void close_writesOutstandingChangeBeforeQuietPeriod(@TempDir Path tempDir) {
+        Path file = tempDir.resolve("session.json");
+        DockSessionAutosave autosave = new DockSessionAutosave(
+            file, () -> session("leaf-1"), runnable -> fail("snapshot must be taken on the closing thread"),
+            Duration.ofHours(1), persistence
+        );
+
+        autosave.markDirty();
+        autosave.close();
+        autosave.markDirty();
+
+        assertEquals(1, autosave.stats().writes());
+        assertEquals(1, autosave.stats().dirtyMarks());
+        assertEquals(session("leaf-1"), persistence.fromJsonFile(file));
+    }
+
+    @Test
+    void closeAsync_capturesOnCallerAndCompletesAfterFinalWrite(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        DockSessionAutosave autosave = new DockSessionAutosave(
+            file, () -> session("leaf-1"), runnable -> fail("snapshot must be taken on the closing thread"),
+            Duration.ofHours(1), persistence
+        );
+
+        autosave.markDirty();
+        CompletableFuture<Void> closed = autosave.closeAsync();
+        closed.get(5, TimeUnit.SECONDS);
+
+        assertSame(closed, autosave.closeAsync());
+        assertEquals(1, autosave.stats().writes());
+        assertEquals(session("leaf-1"), persistence.fromJsonFile(file));
+    }
+
+    @Test
+    void writeFailure_isCountedAndLeavesPreviousFile(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        persistence.toJsonFile(session("leaf-1"), file);
+        String saved = Files.readString(file);
+        DockSessionPersistence failing = new DockSessionPersistence(new DockSessionSerializer() {
+            @Override
+            public void write(DockSessionData session, JsonWriter writer) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        try (DockSessionAutosave autosave = new DockSessionAutosave(
+            file, () -> session("leaf-2"), Runnable::run, Duration.ofHours(1), failing
+        )) {
+            autosave.markDirty();
+            autosave.flush().get(5, TimeUnit.SECONDS);
+
+            assertEquals(0, autosave.stats().writes());
+            assertEquals(1, autosave.stats().failures());
+        }
+        assertEquals(saved, Files.readString(file));
+        assertFalse(Files.exists(file.resolveSibling("session.json.tmp")));
+    }
+
+    private static DockSessionData session(String leafId) {
+        return DockSessionData.of(
+            new TabGroupData("tabs-1", List.of(LeafData.of(leafId, "Editor")), 0),
+            List.of(),
+            List.of(),
+            null
+        );
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                fail("Timed out waiting for autosave");
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for autosave");
+            }
+        }
+    }
+}
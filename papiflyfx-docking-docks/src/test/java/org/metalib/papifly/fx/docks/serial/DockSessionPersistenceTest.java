@@ -13,10 +13,14 @@ import org.metalib.papifly.fx.docks.layout.data.MinimizedLeafData;
 import org.metalib.papifly.fx.docks.layout.data.RestoreHintData;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.json.JsonReader;
 
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -114,6 +118,85 @@ class DockSessionPersistenceTest {
         assertThrows(DockSessionPersistence.SessionFileIOException.class, () -> persistence.fromJsonFile(file));
     }
 
+    @Test
+    void testToJsonFile_replacesAtomicallyAndKeepsBackup(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        DockSessionData first = buildSession();
+        DockSessionData second = DockSessionData.of(LeafData.of("leaf-9", "Only"), List.of(), List.of(), null);
+
+        persistence.toJsonFile(first, file);
+        String firstJson = Files.readString(file);
+        persistence.toJsonFile(second, file);
+
+        assertEquals(second, persistence.fromJsonFile(file));
+        assertEquals(firstJson, Files.readString(DockSessionPersistence.backupPath(file)));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(
+                List.of("session.json", "session.json.bak"),
+                files.map(path -> path.getFileName().toString()).sorted().toList()
+            );
+        }
+    }
+
+    @Test
+    void testFromJsonFile_corruptFileFallsBackToBackup(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        DockSessionData original = buildSession();
+        persistence.toJsonFile(original, file);
+        persistence.toJsonFile(original, file);
+
+        Files.writeString(file, "{\"type\": \"dockSession\", \"layo");
+
+        assertEquals(original, persistence.fromJsonFile(file));
+    }
+
+    @Test
+    void testToJsonFile_corruptFileDoesNotReplaceBackup(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        DockSessionData original = buildSession();
+        persistence.toJsonFile(original, file);
+        persistence.toJsonFile(original, file);
+        String backupJson = Files.readString(DockSessionPersistence.backupPath(file));
+
+        Files.writeString(file, "{\"type\": \"dockSession\", \"layo");
+        DockSessionData next = DockSessionData.of(LeafData.of("leaf-9", "Only"), List.of(), List.of(), null);
+        persistence.toJsonFile(next, file);
+
+        assertEquals(next, persistence.fromJsonFile(file));
+        assertEquals(backupJson, Files.readString(DockSessionPersistence.backupPath(file)));
+    }
+
+    @Test
+    void testToJsonFile_rotatesOwnFileWithoutReparsing(@TempDir Path tempDir) throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        DockSessionPersistence counting = new DockSessionPersistence(new DockSessionSerializer() {
+            @Override
+            public DockSessionData read(JsonReader reader) {
+                reads.incrementAndGet();
+                return super.read(reader);
+            }
+        });
+        Path file = tempDir.resolve("session.json");
+        DockSessionData first = buildSession();
+        DockSessionData second = DockSessionData.of(LeafData.of("leaf-9", "Only"), List.of(), List.of(), null);
+
+        counting.toJsonFile(first, file);
+        counting.toJsonFile(first, file);
+        counting.toJsonFile(second, file);
+
+        assertEquals(0, reads.get());
+        assertEquals(first, persistence.fromJsonFile(DockSessionPersistence.backupPath(file)));
+        assertEquals(second, persistence.fromJsonFile(file));
+    }
+
+    @Test
+    void testFromJsonFile_corruptFileWithoutBackup(@TempDir Path tempDir) throws Exception {
+        Path file = tempDir.resolve("session.json");
+        Files.writeString(file, "{\"type\": \"dockSession\", \"layo");
+
+        assertThrows(DockSessionPersistence.SessionSerializationException.class, () -> persistence.fromJsonFile(file));
+    }
+
     private DockSessionData buildSession() {
         LayoutNode layout = new SplitData(
             "split-1",
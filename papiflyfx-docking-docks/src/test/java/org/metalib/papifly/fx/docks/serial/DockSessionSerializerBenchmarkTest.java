@@ -0,0 +1,131 @@
+package org.metalib.papifly.fx.docks.serial;
+
+import javafx.geometry.Orientation;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.metalib.papifly.fx.docking.api.LeafContentData;
+import org.metalib.papifly.fx.docks.layout.data.DockSessionData;
+import org.metalib.papifly.fx.docks.layout.data.LayoutNode;
+import org.metalib.papifly.fx.docks.layout.data.LeafData;
+import org.metalib.papifly.fx.docks.layout.data.SplitData;
+import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.json.Json;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonWriter;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parse and write cost of a large dock session (about 2,000 leaves with
+ * content state). The baselines are the hand-rolled String-to-Map parsers and
+ * writer the modules used before the shared JSON module (see
+ * {@link LegacyJsonParsers}); they are measured on the same payload as the
+ * shared module's map tree and direct binding with {@link JsonReader} and
+ * {@link JsonWriter}.
+ * Tagged with "benchmark" so it is excluded from default test runs.
+ * Run explicitly via:
+ * {@code mvn -pl papiflyfx-docking-docks -am -Dgroups=benchmark -Dsurefire.excludedGroups= -Dsurefire.failIfNoSpecifiedTests=false -Dtest=DockSessionSerializerBenchmarkTest test}
+ */
+@Tag("benchmark")
+class DockSessionSerializerBenchmarkTest {
+
+    private static final int SPLIT_DEPTH = 8;
+    private static final int TABS_PER_GROUP = 8;
+    private static final int WARMUP_ITERATIONS = 30;
+    private static final int MEASURED_ITERATIONS = 100;
+
+    private final DockSessionSerializer serializer = new DockSessionSerializer();
+
+    @Test
+    void parseLargeSession() {
+        DockSessionData session = DockSessionData.of(split(SPLIT_DEPTH, "root"), List.of(), List.of(), null);
+        String json = serializer.toJson(serializer.serialize(session));
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+
+        double legacy = measure(() -> serializer.deserialize(LegacyJsonParsers.layoutFromJson(json)), session);
+        double mapTree = measure(() -> serializer.deserialize(serializer.fromJson(json)), session);
+        double direct = measure(() -> serializer.read(new JsonReader(json)), session);
+        double streamed = measure(
+            () -> serializer.read(new JsonReader(new InputStreamReader(new ByteArrayInputStream(bytes), StandardCharsets.UTF_8))),
+            session
+        );
+
+        System.out.printf("[Benchmark] session parse (%d KiB): legacy map tree %.2f ms, map tree %.2f ms, direct %.2f ms, streamed bytes %.2f ms%n",
+            bytes.length / 1024, legacy, mapTree, direct, streamed);
+    }
+
+    @Test
+    void parseLargeSessionWithReplacedModuleParsers() {
+        DockSessionData session = DockSessionData.of(split(SPLIT_DEPTH, "root"), List.of(), List.of(), null);
+        String json = serializer.toJson(serializer.serialize(session));
+        Map<String, Object> expected = Json.parseObject(json);
+
+        double settings = measure(() -> LegacyJsonParsers.settingsFromJson(json), expected);
+        double idapi = measure(() -> LegacyJsonParsers.idapiParse(json), expected);
+        double discovery = measure(() -> LegacyJsonParsers.discoveryParse(json), expected);
+        double shared = measure(() -> Json.parseObject(json), expected);
+
+        System.out.printf("[Benchmark] map parse (%d KiB): legacy settings %.2f ms, legacy login-idapi %.2f ms, "
+                + "legacy discovery %.2f ms, shared reader %.2f ms%n",
+            json.length() / 1024, settings, idapi, discovery, shared);
+    }
+
+    @Test
+    void writeLargeSession() {
+        DockSessionData session = DockSessionData.of(split(SPLIT_DEPTH, "root"), List.of(), List.of(), null);
+        String expected = serializer.toJson(serializer.serialize(session));
+
+        double legacy = measure(() -> LegacyJsonParsers.layoutToJson(serializer.serialize(session)), expected);
+        double mapTree = measure(() -> serializer.toJson(serializer.serialize(session)), expected);
+        double direct = measure(() -> {
+            StringBuilder out = new StringBuilder(expected.length());
+            serializer.write(session, JsonWriter.pretty(out));
+            return out.toString();
+        }, expected);
+
+        System.out.printf("[Benchmark] session write (%d KiB): legacy map tree %.2f ms, map tree %.2f ms, direct %.2f ms%n",
+            expected.length() / 1024, legacy, mapTree, direct);
+    }
+
+    private static double measure(Supplier<?> operation, Object expected) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            assertEquals(expected, operation.get());
+        }
+        long startNanos = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            operation.get();
+        }
+        return (System.nanoTime() - startNanos) / 1_000_000.0 / MEASURED_ITERATIONS;
+    }
+
+    private static LayoutNode split(int depth, String id) {
+        if (depth == 0) {
+            List<LeafData> tabs = new ArrayList<>(TABS_PER_GROUP);
+            for (int tab = 0; tab < TABS_PER_GROUP; tab++) {
+                String leafId = id + "-leaf-" + tab;
+                tabs.add(new LeafData(leafId, "Editor \"" + tab + "\"", "code", LeafContentData.of(
+                    "code",
+                    leafId,
+                    2,
+                    Map.of("path", "/src/main/java/" + leafId + ".java", "caretLine", (long) tab * 17, "zoom", 1.25)
+                )));
+            }
+            return new TabGroupData(id + "-tabs", tabs, 0);
+        }
+        return new SplitData(
+            id,
+            depth % 2 == 0 ? Orientation.HORIZONTAL : Orientation.VERTICAL,
+            0.5,
+            split(depth - 1, id + "a"),
+            split(depth - 1, id + "b")
+        );
+    }
+}
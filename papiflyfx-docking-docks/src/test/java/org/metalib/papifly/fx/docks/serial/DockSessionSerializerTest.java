@@ -13,6 +13,8 @@ import org.metalib.papifly.fx.docks.layout.data.MinimizedLeafData;
 import org.metalib.papifly.fx.docks.layout.data.RestoreHintData;
 import org.metalib.papifly.fx.docks.layout.data.SplitData;
 import org.metalib.papifly.fx.docks.layout.data.TabGroupData;
+import org.metalib.papifly.fx.json.JsonReader;
+import org.metalib.papifly.fx.json.JsonWriter;
 
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
@@ -154,6 +156,109 @@ class DockSessionSerializerTest {
         assertTrue(ex.getMessage().contains("expected number"));
     }
 
+    @Test
+    void writeRead_directBinding_matchesMapBasedJson() {
+        LeafContentData contentData = LeafContentData.of("chart", "chart-1", 2, Map.of("zoom", 1.5));
+        DockSessionData session = DockSessionData.of(
+            new TabGroupData("tabs-1", List.of(new LeafData("leaf-1", "Chart", "chart", contentData)), 0),
+            buildSession("Editor 2").floating(),
+            List.of(),
+            null,
+            Map.of("ribbon", Map.of("minimized", true))
+        );
+
+        StringBuilder direct = new StringBuilder();
+        serializer.write(session, JsonWriter.pretty(direct));
+
+        assertEquals(serializer.toJson(serializer.serialize(session)), direct.toString());
+        assertEquals(session, serializer.read(new JsonReader(direct.toString())));
+        assertEquals(buildSession("Editor 2"), serializer.read(new JsonReader(
+            serializer.toJson(serializer.serialize(buildSession("Editor 2")))
+        )));
+    }
+
+    @Test
+    void read_acceptsMembersInAnyOrderAndSkipsUnknownOnes() {
+        String json = """
+            {
+              "layout": {"dividerPosition": 0.25, "first": {"title": "A", "id": "a", "type": "leaf"},
+                         "second": {"type": "leaf", "id": "b", "title": "B", "extra": [1, {"x": null}]},
+                         "orientation": "VERTICAL", "id": "split", "type": "split"},
+              "future": {"ignored": true},
+              "type": "dockSession"
+            }""";
+
+        DockSessionData session = serializer.read(new JsonReader(json));
+
+        assertEquals(DockSessionData.CURRENT_VERSION, session.version());
+        assertEquals(SplitData.vertical("split", 0.25, LeafData.of("a", "A"), LeafData.of("b", "B")), session.layout());
+    }
+
+    @Test
+    void writeRead_narySplit_usesChildrenArrayInBothPaths() {
+        LayoutNode layout = new SplitData(
+            "row",
+            Orientation.HORIZONTAL,
+            List.of(LeafData.of("a", "A"), LeafData.of("b", "B"), LeafData.of("c", "C")),
+            List.of(0.2, 0.7)
+        );
+        DockSessionData session = DockSessionData.of(layout, List.of(), List.of(), null);
+
+        Map<String, Object> map = serializer.serialize(session);
+        @SuppressWarnings("unchecked")
+        Map<String, Object> layoutMap = (Map<String, Object>) map.get("layout");
+        StringBuilder direct = new StringBuilder();
+        serializer.write(session, JsonWriter.pretty(direct));
+
+        assertEquals(List.of(0.2, 0.7), layoutMap.get("dividerPositions"));
+        assertFalse(layoutMap.containsKey("first"));
+        assertEquals(serializer.toJson(map), direct.toString());
+        assertEquals(session, serializer.deserialize(serializer.fromJson(direct.toString())));
+        assertEquals(session, serializer.read(new JsonReader(direct.toString())));
+    }
+
+    @Test
+    void read_binarySplitChain_normalizesToSingleSplit() {
+        String json = """
+            {
+              "type": "dockSession",
+              "version": 3,
+              "layout": {"type": "split", "id": "outer", "orientation": "HORIZONTAL", "dividerPosition": 0.5,
+                         "first": {"type": "leaf", "id": "a", "title": "A"},
+                         "second": {"type": "split", "id": "inner", "orientation": "HORIZONTAL", "dividerPosition": 0.5,
+                                    "first": {"type": "leaf", "id": "b", "title": "B"},
+                                    "second": {"type": "split", "id": "column", "orientation": "VERTICAL",
+                                               "dividerPosition": 0.4,
+                                               "first": {"type": "leaf", "id": "c", "title": "C"},
+                                               "second": {"type": "leaf", "id": "d", "title": "D"}}}}
+            }""";
+
+        SplitData layout = (SplitData) serializer.read(new JsonReader(json)).layout();
+        SplitData column = SplitData.vertical("column", 0.4, LeafData.of("c", "C"), LeafData.of("d", "D"));
+
+        assertEquals(new SplitData(
+            "outer",
+            Orientation.HORIZONTAL,
+            List.of(LeafData.of("a", "A"), LeafData.of("b", "B"), column),
+            List.of(0.5, 0.75)
+        ), layout.normalized());
+        assertEquals(layout.normalized(), layout.normalized().normalized());
+    }
+
+    @Test
+    void read_invalidNestedCoreField_reportsExactPath() {
+        String json = serializer.toJson(serializer.serialize(buildSession("Editor 2")))
+            .replace("\"width\": 480.0", "\"width\": \"wide\"");
+
+        IllegalArgumentException ex = assertThrows(
+            IllegalArgumentException.class,
+            () -> serializer.read(new JsonReader(json))
+        );
+
+        assertTrue(ex.getMessage().contains("dockSession.floating[0].bounds.width"));
+        assertTrue(ex.getMessage().contains("expected number"));
+    }
+
     private DockSessionData buildSession(String floatingTitle) {
         LayoutNode layout = new SplitData(
             "split-1",
@@ -0,0 +1,701 @@
+package org.metalib.papifly.fx.docks.serial;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The String-to-Map JSON code each module carried before the shared
+ * {@code papiflyfx-docking-json} module, copied from history as baselines for
+ * {@link DockSessionSerializerBenchmarkTest}. Parser bodies are unchanged; only
+ * class names, and {@code static} on the layout writer methods, differ.
+ */
+final class LegacyJsonParsers {
+
+    private LegacyJsonParsers() {
+    }
+
+    /**
+     * {@code LayoutSerializer.fromJson}, which {@code DockSessionSerializer}
+     * delegated to.
+     */
+    static Map<String, Object> layoutFromJson(String json) {
+        return new LayoutParser(json).parseObject();
+    }
+
+    /**
+     * {@code LayoutSerializer.toJson}, which {@code DockSessionSerializer}
+     * delegated to.
+     */
+    static String layoutToJson(Map<String, Object> map) {
+        return toJsonValue(map, 0);
+    }
+
+    /**
+     * {@code SettingsJsonCodec.fromJson} from the settings module.
+     */
+    static Map<String, Object> settingsFromJson(String json) {
+        return new SettingsParser(json).parseObject();
+    }
+
+    /**
+     * {@code SimpleJsonParser.parse} from the login-idapi module.
+     */
+    static Map<String, Object> idapiParse(String json) {
+        return IdapiParser.parse(json);
+    }
+
+    /**
+     * The discovery-document parser in {@code ProviderSettingsResolver}.
+     */
+    static Map<String, Object> discoveryParse(String json) {
+        return DiscoveryParser.parseObject(json);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String toJsonValue(Object value, int indent) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof String s) {
+            return "\"" + escapeJson(s) + "\"";
+        }
+        if (value instanceof Number n) {
+            return n.toString();
+        }
+        if (value instanceof Boolean b) {
+            return b.toString();
+        }
+        if (value instanceof Map<?, ?> m) {
+            return toJsonObject((Map<String, Object>) m, indent);
+        }
+        if (value instanceof List<?> l) {
+            return toJsonArray((List<Object>) l, indent);
+        }
+        return "\"" + value.toString() + "\"";
+    }
+
+    private static String toJsonObject(Map<String, Object> map, int indent) {
+        if (map.isEmpty()) {
+            return "{}";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+
+        String indentStr = "  ".repeat(indent + 1);
+        String closingIndent = "  ".repeat(indent);
+
+        Iterator<Map.Entry<String, Object>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Object> entry = it.next();
+            sb.append(indentStr)
+              .append("\"").append(escapeJson(entry.getKey())).append("\": ")
+              .append(toJsonValue(entry.getValue(), indent + 1));
+            if (it.hasNext()) {
+                sb.append(",");
+            }
+            sb.append("\n");
+        }
+
+        sb.append(closingIndent).append("}");
+        return sb.toString();
+    }
+
+    private static String toJsonArray(List<Object> list, int indent) {
+        if (list.isEmpty()) {
+            return "[]";
+        }
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("[\n");
+
+        String indentStr = "  ".repeat(indent + 1);
+        String closingIndent = "  ".repeat(indent);
+
+        Iterator<Object> it = list.iterator();
+        while (it.hasNext()) {
+            sb.append(indentStr).append(toJsonValue(it.next(), indent + 1));
+            if (it.hasNext()) {
+                sb.append(",");
+            }
+            sb.append("\n");
+        }
+
+        sb.append(closingIndent).append("]");
+        return sb.toString();
+    }
+
+    private static String escapeJson(String s) {
+        return s.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+
+    private static final class LayoutParser {
+        private final String json;
+        private int pos;
+
+        LayoutParser(String json) {
+            this.json = json.trim();
+            this.pos = 0;
+        }
+
+        Map<String, Object> parseObject() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+
+            if (peek() != '}') {
+                do {
+                    skipWhitespace();
+                    String key = parseString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    Object value = parseValue();
+                    map.put(key, value);
+                    skipWhitespace();
+                } while (consumeIf(','));
+            }
+
+            expect('}');
+            return map;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            char c = peek();
+
+            if (c == '{') {
+                return parseObject();
+            }
+            if (c == '[') {
+                return parseArray();
+            }
+            if (c == '"') {
+                return parseString();
+            }
+            if (c == 't' || c == 'f') {
+                return parseBoolean();
+            }
+            if (c == 'n') {
+                return parseNull();
+            }
+            return parseNumber();
+        }
+
+        private List<Object> parseArray() {
+            List<Object> list = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+
+            if (peek() != ']') {
+                do {
+                    skipWhitespace();
+                    list.add(parseValue());
+                    skipWhitespace();
+                } while (consumeIf(','));
+            }
+
+            expect(']');
+            return list;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+
+            while (pos < json.length()) {
+                char c = json.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c == '\\') {
+                    c = json.charAt(pos++);
+                    switch (c) {
+                        case 'n' -> sb.append('\n');
+                        case 'r' -> sb.append('\r');
+                        case 't' -> sb.append('\t');
+                        case '"' -> sb.append('"');
+                        case '\\' -> sb.append('\\');
+                        default -> sb.append(c);
+                    }
+                } else {
+                    sb.append(c);
+                }
+            }
+
+            throw new IllegalStateException("Unterminated string");
+        }
+
+        private Number parseNumber() {
+            int start = pos;
+            while (pos < json.length() && isNumberChar(json.charAt(pos))) {
+                pos++;
+            }
+            String numStr = json.substring(start, pos);
+            if (numStr.contains(".")) {
+                return Double.parseDouble(numStr);
+            }
+            return Long.parseLong(numStr);
+        }
+
+        private boolean parseBoolean() {
+            if (json.startsWith("true", pos)) {
+                pos += 4;
+                return true;
+            }
+            if (json.startsWith("false", pos)) {
+                pos += 5;
+                return false;
+            }
+            throw new IllegalStateException("Expected boolean at position " + pos);
+        }
+
+        private Object parseNull() {
+            if (json.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            }
+            throw new IllegalStateException("Expected null at position " + pos);
+        }
+
+        private boolean isNumberChar(char c) {
+            return c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+        }
+
+        private void expect(char c) {
+            skipWhitespace();
+            if (pos >= json.length() || json.charAt(pos) != c) {
+                throw new IllegalStateException("Expected '" + c + "' at position " + pos);
+            }
+            pos++;
+        }
+
+        private boolean consumeIf(char c) {
+            skipWhitespace();
+            if (pos < json.length() && json.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return pos < json.length() ? json.charAt(pos) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) {
+                pos++;
+            }
+        }
+    }
+
+    private static final class SettingsParser {
+        private final String json;
+        private int position;
+
+        private SettingsParser(String json) {
+            this.json = json == null ? "" : json.trim();
+        }
+
+        private Map<String, Object> parseObject() {
+            Map<String, Object> result = new LinkedHashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() != '}') {
+                do {
+                    String key = parseString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    result.put(key, parseValue());
+                    skipWhitespace();
+                } while (consume(','));
+            }
+            expect('}');
+            return result;
+        }
+
+        private List<Object> parseArray() {
+            List<Object> result = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+            if (peek() != ']') {
+                do {
+                    result.add(parseValue());
+                    skipWhitespace();
+                } while (consume(','));
+            }
+            expect(']');
+            return result;
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            char next = peek();
+            return switch (next) {
+                case '{' -> parseObject();
+                case '[' -> parseArray();
+                case '"' -> parseString();
+                case 't', 'f' -> parseBoolean();
+                case 'n' -> parseNull();
+                default -> parseNumber();
+            };
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder builder = new StringBuilder();
+            while (position < json.length()) {
+                char ch = json.charAt(position++);
+                if (ch == '"') {
+                    return builder.toString();
+                }
+                if (ch == '\\') {
+                    char escaped = json.charAt(position++);
+                    switch (escaped) {
+                        case 'n' -> builder.append('\n');
+                        case 'r' -> builder.append('\r');
+                        case 't' -> builder.append('\t');
+                        case '"' -> builder.append('"');
+                        case '\\' -> builder.append('\\');
+                        default -> builder.append(escaped);
+                    }
+                } else {
+                    builder.append(ch);
+                }
+            }
+            throw new IllegalStateException("Unterminated JSON string");
+        }
+
+        private Boolean parseBoolean() {
+            if (json.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            }
+            if (json.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            throw new IllegalStateException("Invalid boolean at position " + position);
+        }
+
+        private Object parseNull() {
+            if (!json.startsWith("null", position)) {
+                throw new IllegalStateException("Invalid null at position " + position);
+            }
+            position += 4;
+            return null;
+        }
+
+        private Number parseNumber() {
+            int start = position;
+            while (position < json.length() && isNumberChar(json.charAt(position))) {
+                position++;
+            }
+            String token = json.substring(start, position);
+            if (token.contains(".") || token.contains("e") || token.contains("E")) {
+                return Double.parseDouble(token);
+            }
+            return Long.parseLong(token);
+        }
+
+        private boolean isNumberChar(char ch) {
+            return ch >= '0' && ch <= '9' || ch == '.' || ch == '-' || ch == '+' || ch == 'e' || ch == 'E';
+        }
+
+        private char peek() {
+            skipWhitespace();
+            return position < json.length() ? json.charAt(position) : '\0';
+        }
+
+        private boolean consume(char expected) {
+            skipWhitespace();
+            if (position < json.length() && json.charAt(position) == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(char expected) {
+            skipWhitespace();
+            if (position >= json.length() || json.charAt(position) != expected) {
+                throw new IllegalStateException("Expected '" + expected + "' at position " + position);
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < json.length() && Character.isWhitespace(json.charAt(position))) {
+                position++;
+            }
+        }
+    }
+
+    private static final class IdapiParser {
+
+        static Map<String, Object> parse(String json) {
+            if (json == null || json.isBlank()) {
+                return Map.of();
+            }
+            json = json.trim();
+            if (!json.startsWith("{")) {
+                return Map.of();
+            }
+            return parseObject(json, new int[]{0});
+        }
+
+        private static Map<String, Object> parseObject(String json, int[] pos) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            pos[0]++; // skip '{'
+            skipWhitespace(json, pos);
+            while (pos[0] < json.length() && json.charAt(pos[0]) != '}') {
+                skipWhitespace(json, pos);
+                if (pos[0] >= json.length() || json.charAt(pos[0]) == '}') break;
+                String key = parseString(json, pos);
+                skipWhitespace(json, pos);
+                if (pos[0] < json.length() && json.charAt(pos[0]) == ':') pos[0]++;
+                skipWhitespace(json, pos);
+                Object value = parseValue(json, pos);
+                map.put(key, value);
+                skipWhitespace(json, pos);
+                if (pos[0] < json.length() && json.charAt(pos[0]) == ',') pos[0]++;
+            }
+            if (pos[0] < json.length()) pos[0]++; // skip '}'
+            return map;
+        }
+
+        private static Object parseValue(String json, int[] pos) {
+            skipWhitespace(json, pos);
+            if (pos[0] >= json.length()) return null;
+            char c = json.charAt(pos[0]);
+            if (c == '"') return parseString(json, pos);
+            if (c == '{') return parseObject(json, pos);
+            if (c == '[') return parseArray(json, pos);
+            if (c == 't' || c == 'f') return parseBoolean(json, pos);
+            if (c == 'n') { pos[0] += 4; return null; }
+            return parseNumber(json, pos);
+        }
+
+        private static String parseString(String json, int[] pos) {
+            pos[0]++; // skip opening '"'
+            StringBuilder sb = new StringBuilder();
+            while (pos[0] < json.length()) {
+                char c = json.charAt(pos[0]);
+                if (c == '\\' && pos[0] + 1 < json.length()) {
+                    pos[0]++;
+                    char next = json.charAt(pos[0]);
+                    switch (next) {
+                        case '"', '\\', '/' -> sb.append(next);
+                        case 'n' -> sb.append('\n');
+                        case 't' -> sb.append('\t');
+                        case 'r' -> sb.append('\r');
+                        default -> { sb.append('\\'); sb.append(next); }
+                    }
+                } else if (c == '"') {
+                    pos[0]++;
+                    return sb.toString();
+                } else {
+                    sb.append(c);
+                }
+                pos[0]++;
+            }
+            return sb.toString();
+        }
+
+        private static List<Object> parseArray(String json, int[] pos) {
+            List<Object> list = new ArrayList<>();
+            pos[0]++; // skip '['
+            skipWhitespace(json, pos);
+            while (pos[0] < json.length() && json.charAt(pos[0]) != ']') {
+                list.add(parseValue(json, pos));
+                skipWhitespace(json, pos);
+                if (pos[0] < json.length() && json.charAt(pos[0]) == ',') pos[0]++;
+                skipWhitespace(json, pos);
+            }
+            if (pos[0] < json.length()) pos[0]++; // skip ']'
+            return list;
+        }
+
+        private static Boolean parseBoolean(String json, int[] pos) {
+            if (json.startsWith("true", pos[0])) {
+                pos[0] += 4;
+                return Boolean.TRUE;
+            }
+            pos[0] += 5;
+            return Boolean.FALSE;
+        }
+
+        private static Number parseNumber(String json, int[] pos) {
+            int start = pos[0];
+            boolean isFloat = false;
+            while (pos[0] < json.length()) {
+                char c = json.charAt(pos[0]);
+                if (c == '.' || c == 'e' || c == 'E') isFloat = true;
+                if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) break;
+                pos[0]++;
+            }
+            String num = json.substring(start, pos[0]);
+            if (isFloat) return Double.parseDouble(num);
+            try {
+                return Long.parseLong(num);
+            } catch (NumberFormatException e) {
+                return Double.parseDouble(num);
+            }
+        }
+
+        private static void skipWhitespace(String json, int[] pos) {
+            while (pos[0] < json.length() && Character.isWhitespace(json.charAt(pos[0]))) {
+                pos[0]++;
+            }
+        }
+    }
+
+    private static final class DiscoveryParser {
+
+        private final String json;
+        private int index;
+
+        private DiscoveryParser(String json) {
+            this.json = json == null ? "" : json.trim();
+        }
+
+        static Map<String, Object> parseObject(String json) {
+            DiscoveryParser parser = new DiscoveryParser(json);
+            return parser.object();
+        }
+
+        private Map<String, Object> object() {
+            if (peek() != '{') {
+                return Map.of();
+            }
+            index++;
+            java.util.Map<String, Object> values = new java.util.LinkedHashMap<>();
+            skipWhitespace();
+            while (peek() != '}' && peek() != '\0') {
+                String key = string();
+                skipWhitespace();
+                if (peek() == ':') {
+                    index++;
+                }
+                skipWhitespace();
+                values.put(key, value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    index++;
+                    skipWhitespace();
+                }
+            }
+            if (peek() == '}') {
+                index++;
+            }
+            return values;
+        }
+
+        private Object value() {
+            return switch (peek()) {
+                case '"' -> string();
+                case '{' -> object();
+                case '[' -> array();
+                case 't', 'f' -> bool();
+                case 'n' -> {
+                    index = Math.min(index + 4, json.length());
+                    yield null;
+                }
+                default -> number();
+            };
+        }
+
+        private List<Object> array() {
+            if (peek() != '[') {
+                return List.of();
+            }
+            index++;
+            java.util.List<Object> values = new java.util.ArrayList<>();
+            skipWhitespace();
+            while (peek() != ']' && peek() != '\0') {
+                values.add(value());
+                skipWhitespace();
+                if (peek() == ',') {
+                    index++;
+                    skipWhitespace();
+                }
+            }
+            if (peek() == ']') {
+                index++;
+            }
+            return values;
+        }
+
+        private String string() {
+            if (peek() != '"') {
+                return "";
+            }
+            index++;
+            StringBuilder builder = new StringBuilder();
+            while (peek() != '"' && peek() != '\0') {
+                char current = json.charAt(index++);
+                if (current == '\\' && peek() != '\0') {
+                    char escaped = json.charAt(index++);
+                    builder.append(switch (escaped) {
+                        case '"', '\\', '/' -> escaped;
+                        case 'n' -> '\n';
+                        case 'r' -> '\r';
+                        case 't' -> '\t';
+                        default -> escaped;
+                    });
+                } else {
+                    builder.append(current);
+                }
+            }
+            if (peek() == '"') {
+                index++;
+            }
+            return builder.toString();
+        }
+
+        private Boolean bool() {
+            if (json.regionMatches(true, index, "true", 0, 4)) {
+                index += 4;
+                return Boolean.TRUE;
+            }
+            index += 5;
+            return Boolean.FALSE;
+        }
+
+        private Number number() {
+            int start = index;
+            while (peek() != '\0') {
+                char current = peek();
+                if (current == ',' || current == '}' || current == ']' || Character.isWhitespace(current)) {
+                    break;
+                }
+                index++;
+            }
+            String token = json.substring(start, index);
+            if (token.contains(".") || token.contains("e") || token.contains("E")) {
+                return Double.parseDouble(token);
+            }
+            return Long.parseLong(token);
+        }
+
+        private void skipWhitespace() {
+            while (Character.isWhitespace(peek())) {
+                index++;
+            }
+        }
+
+        private char peek() {
+            return index >= json.length() ? '\0' : json.charAt(index);
+        }
+    }
+}
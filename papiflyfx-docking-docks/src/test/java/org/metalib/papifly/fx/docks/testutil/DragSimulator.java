@@ -225,9 +225,10 @@ public class DragSimulator {
         }
 
         if (root instanceof DockSplitGroup) {
-            DockLeaf found = findLeafByTitle(((DockSplitGroup) root).getFirst(), title);
-            if (found != null) return found;
-            return findLeafByTitle(((DockSplitGroup) root).getSecond(), title);
+            for (DockElement child : ((DockSplitGroup) root).getChildren()) {
+                DockLeaf found = findLeafByTitle(child, title);
+                if (found != null) return found;
+            }
         }
 
         return null;
@@ -254,9 +255,10 @@ public class DragSimulator {
 
         if (root instanceof DockSplitGroup) {
             DockSplitGroup split = (DockSplitGroup) root;
-            DockTabGroup found = findTabGroupContaining(split.getFirst(), title);
-            if (found != null) return found;
-            return findTabGroupContaining(split.getSecond(), title);
+            for (DockElement child : split.getChildren()) {
+                DockTabGroup found = findTabGroupContaining(child, title);
+                if (found != null) return found;
+            }
         }
 
         return null;
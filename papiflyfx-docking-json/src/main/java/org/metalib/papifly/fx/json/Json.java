@@ -0,0 +1,67 @@
+package org.metalib.papifly.fx.json;
+
+import java.io.Reader;
+import java.util.Map;
+
+/**
+ * Convenience entry points for callers that work with generic map trees.
+ * <p>
+ * Code that binds JSON into its own types should use {@link JsonReader} and
+ * {@link JsonWriter} directly instead of going through a map.
+ */
+public final class Json {
+
+    private Json() {
+    }
+
+    /**
+     * Parses a JSON object into an insertion-ordered map.
+     *
+     * @param json JSON text
+     * @return parsed object members
+     * @throws JsonException when the text is not a single well-formed object
+     */
+    public static Map<String, Object> parseObject(String json) {
+        JsonReader reader = new JsonReader(json);
+        Map<String, Object> result = reader.readObject();
+        reader.endDocument();
+        return result;
+    }
+
+    /**
+     * Streams a JSON object from {@code in} into an insertion-ordered map.
+     * The reader is not closed.
+     *
+     * @param in character source
+     * @return parsed object members
+     * @throws JsonException when the input is not a single well-formed object
+     */
+    public static Map<String, Object> parseObject(Reader in) {
+        JsonReader reader = new JsonReader(in);
+        Map<String, Object> result = reader.readObject();
+        reader.endDocument();
+        return result;
+    }
+
+    /**
+     * Writes a value tree in the two-space pretty format.
+     *
+     * @param value maps, lists, strings, numbers, booleans or {@code null}
+     * @return JSON text
+     */
+    public static String toJson(Object value) {
+        StringBuilder builder = new StringBuilder();
+        JsonWriter.pretty(builder).writeValue(value);
+        return builder.toString();
+    }
+
+    /**
+     * Writes a value tree in the two-space pretty format to {@code out}.
+     *
+     * @param value maps, lists, strings, numbers, booleans or {@code null}
+     * @param out output target; not closed
+     */
+    public static void write(Object value, Appendable out) {
+        JsonWriter.pretty(out).writeValue(value);
+    }
+}
@@ -0,0 +1,29 @@
+package org.metalib.papifly.fx.json;
+
+/**
+ * Thrown when JSON input is malformed or a reader/writer is used out of order.
+ * <p>
+ * Extends {@link IllegalStateException} so callers written against the
+ * hand-rolled parsers this module replaces keep catching the same type.
+ */
+public class JsonException extends IllegalStateException {
+
+    /**
+     * Creates an exception with a message.
+     *
+     * @param message error message
+     */
+    public JsonException(String message) {
+        super(message);
+    }
+
+    /**
+     * Creates an exception with a message and root cause.
+     *
+     * @param message error message
+     * @param cause root cause
+     */
+    public JsonException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,631 @@
+package org.metalib.papifly.fx.json;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pull tokenizer for JSON text.
+ * <p>
+ * Callers walk the document with {@link #peek()}, {@link #beginObject()},
+ * {@link #nextName()}, {@link #nextString()} and friends and bind values
+ * straight into their own types, so no intermediate {@code Map} tree is built.
+ * {@link #readValue()} is available for parts of a document that really are
+ * free-form maps (content state, extension payloads, settings).
+ * <p>
+ * Input is read through a fixed-size buffer, so large files can be parsed from
+ * a {@link Reader} without first loading them into a {@code String}. Numbers
+ * read through {@link #readValue()} become {@link Long} when integral and
+ * {@link Double} otherwise, matching what the previous per-module parsers
+ * produced. Syntax errors raise {@link JsonException}; I/O failures of the
+ * underlying reader are rethrown as {@link UncheckedIOException}.
+ * <p>
+ * Instances are not thread-safe.
+ */
+public final class JsonReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private final Reader in;
+    private final char[] buffer;
+    private int pos;
+    private int limit;
+    private long bufferOffset;
+
+    private int[] stack = new int[32];
+    private int depth;
+    private JsonToken peeked;
+
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * Creates a reader over a complete JSON text.
+     *
+     * @param json JSON text; {@code null} is treated as empty input
+     */
+    public JsonReader(String json) {
+        this.in = null;
+        this.buffer = json == null ? new char[0] : json.toCharArray();
+        this.limit = buffer.length;
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a reader that streams JSON text from {@code in}.
+     *
+     * @param in character source; closed by {@link #close()}
+     */
+    public JsonReader(Reader in) {
+        if (in == null) {
+            throw new NullPointerException("in");
+        }
+        this.in = in;
+        this.buffer = new char[BUFFER_SIZE];
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Returns the kind of the next element without consuming it.
+     *
+     * @return next token
+     */
+    public JsonToken peek() {
+        if (peeked != null) {
+            return peeked;
+        }
+        int scope = stack[depth - 1];
+        switch (scope) {
+            case EMPTY_ARRAY -> {
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = JsonToken.END_ARRAY;
+                }
+                pos--;
+                stack[depth - 1] = NONEMPTY_ARRAY;
+            }
+            case NONEMPTY_ARRAY -> {
+                int c = nextNonWhitespace();
+                if (c == ']') {
+                    return peeked = JsonToken.END_ARRAY;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or ']'");
+                }
+            }
+            case EMPTY_OBJECT, NONEMPTY_OBJECT -> {
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return peeked = JsonToken.END_OBJECT;
+                }
+                if (scope == NONEMPTY_OBJECT) {
+                    if (c != ',') {
+                        throw syntaxError("Expected ',' or '}'");
+                    }
+                    c = nextNonWhitespace();
+                }
+                if (c != '"') {
+                    throw syntaxError("Expected member name");
+                }
+                return peeked = JsonToken.NAME;
+            }
+            case DANGLING_NAME -> {
+                if (nextNonWhitespace() != ':') {
+                    throw syntaxError("Expected ':'");
+                }
+                stack[depth - 1] = NONEMPTY_OBJECT;
+            }
+            case EMPTY_DOCUMENT -> {
+                if (nextNonWhitespace() == -1) {
+                    return peeked = JsonToken.END_DOCUMENT;
+                }
+                pos--;
+                stack[depth - 1] = NONEMPTY_DOCUMENT;
+            }
+            case NONEMPTY_DOCUMENT -> {
+                if (nextNonWhitespace() != -1) {
+                    throw syntaxError("Unexpected content after top-level value");
+                }
+                return peeked = JsonToken.END_DOCUMENT;
+            }
+            default -> throw new JsonException("Reader is closed");
+        }
+        return peeked = peekValue();
+    }
+
+    private JsonToken peekValue() {
+        int c = nextNonWhitespace();
+        switch (c) {
+            case '{':
+                return JsonToken.BEGIN_OBJECT;
+            case '[':
+                return JsonToken.BEGIN_ARRAY;
+            case '"':
+                return JsonToken.STRING;
+            case 't':
+            case 'f':
+                pos--;
+                return JsonToken.BOOLEAN;
+            case 'n':
+                pos--;
+                return JsonToken.NULL;
+            case -1:
+                throw syntaxError("Unexpected end of input");
+            default:
+                if (c == '-' || c >= '0' && c <= '9') {
+                    pos--;
+                    return JsonToken.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /**
+     * Consumes the opening brace of an object.
+     */
+    public void beginObject() {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    /**
+     * Consumes the closing brace of the current object.
+     */
+    public void endObject() {
+        expect(JsonToken.END_OBJECT);
+        depth--;
+    }
+
+    /**
+     * Consumes the opening bracket of an array.
+     */
+    public void beginArray() {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    /**
+     * Consumes the closing bracket of the current array.
+     */
+    public void endArray() {
+        expect(JsonToken.END_ARRAY);
+        depth--;
+    }
+
+    /**
+     * Returns whether the current object or array has another element.
+     *
+     * @return {@code true} when another member or element follows
+     */
+    public boolean hasNext() {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    /**
+     * Consumes the next member name.
+     *
+     * @return member name
+     */
+    public String nextName() {
+        expect(JsonToken.NAME);
+        String name = readString();
+        stack[depth - 1] = DANGLING_NAME;
+        return name;
+    }
+
+    /**
+     * Consumes the next string value.
+     *
+     * @return string value
+     */
+    public String nextString() {
+        expect(JsonToken.STRING);
+        return readString();
+    }
+
+    /**
+     * Consumes the next string value, or a {@code null} literal.
+     *
+     * @return string value, or {@code null}
+     */
+    public String nextStringOrNull() {
+        if (peek() == JsonToken.NULL) {
+            nextNull();
+            return null;
+        }
+        return nextString();
+    }
+
+    /**
+     * Consumes the next boolean value.
+     *
+     * @return boolean value
+     */
+    public boolean nextBoolean() {
+        expect(JsonToken.BOOLEAN);
+        if (consumeLiteral("true")) {
+            return true;
+        }
+        if (consumeLiteral("false")) {
+            return false;
+        }
+        throw syntaxError("Expected boolean");
+    }
+
+    /**
+     * Consumes the next {@code null} literal.
+     */
+    public void nextNull() {
+        expect(JsonToken.NULL);
+        if (!consumeLiteral("null")) {
+            throw syntaxError("Expected null");
+        }
+    }
+
+    /**
+     * Consumes the next number value as a {@code double}.
+     *
+     * @return number value
+     */
+    public double nextDouble() {
+        expect(JsonToken.NUMBER);
+        String token = readNumberToken();
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException exception) {
+            throw syntaxError("Malformed number '" + token + "'");
+        }
+    }
+
+    /**
+     * Consumes the next number value as a {@code long}.
+     *
+     * @return number value
+     * @throws JsonException when the number is not integral or out of range
+     */
+    public long nextLong() {
+        expect(JsonToken.NUMBER);
+        Number number = parseNumber(readNumberToken());
+        if (number instanceof Long value) {
+            return value;
+        }
+        double value = number.doubleValue();
+        if (value != Math.rint(value) || value < Long.MIN_VALUE || value > Long.MAX_VALUE) {
+            throw syntaxError("Expected integral number but was " + number);
+        }
+        return (long) value;
+    }
+
+    /**
+     * Consumes the next number value as an {@code int}.
+     *
+     * @return number value
+     * @throws JsonException when the number is not integral or out of range
+     */
+    public int nextInt() {
+        long value = nextLong();
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw syntaxError("Number out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Consumes the next number value as a {@link Long} when integral and a
+     * {@link Double} otherwise.
+     *
+     * @return number value
+     */
+    public Number nextNumber() {
+        expect(JsonToken.NUMBER);
+        return parseNumber(readNumberToken());
+    }
+
+    /**
+     * Skips the next value, including nested objects and arrays.
+     */
+    public void skipValue() {
+        int nesting = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT -> {
+                    beginObject();
+                    nesting++;
+                }
+                case BEGIN_ARRAY -> {
+                    beginArray();
+                    nesting++;
+                }
+                case END_OBJECT -> {
+                    endObject();
+                    nesting--;
+                }
+                case END_ARRAY -> {
+                    endArray();
+                    nesting--;
+                }
+                case NAME -> {
+                    nextName();
+                    continue;
+                }
+                case STRING -> nextString();
+                case NUMBER -> {
+                    peeked = null;
+                    readNumberToken();
+                }
+                case BOOLEAN -> nextBoolean();
+                case NULL -> nextNull();
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of input");
+            }
+        } while (nesting > 0);
+    }
+
+    /**
+     * Reads the next value as a generic tree of {@link LinkedHashMap},
+     * {@link ArrayList}, {@link String}, {@link Number}, {@link Boolean} and
+     * {@code null}.
+     *
+     * @return value tree
+     */
+    public Object readValue() {
+        return switch (peek()) {
+            case BEGIN_OBJECT -> readObject();
+            case BEGIN_ARRAY -> readArray();
+            case STRING -> nextString();
+            case NUMBER -> nextNumber();
+            case BOOLEAN -> nextBoolean();
+            case NULL -> {
+                nextNull();
+                yield null;
+            }
+            default -> throw syntaxError("Expected a value but was " + peek());
+        };
+    }
+
+    /**
+     * Reads the next object as an insertion-ordered map.
+     *
+     * @return object members
+     */
+    public Map<String, Object> readObject() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        beginObject();
+        while (hasNext()) {
+            String name = nextName();
+            result.put(name, readValue());
+        }
+        endObject();
+        return result;
+    }
+
+    /**
+     * Reads the next array as a list.
+     *
+     * @return array elements
+     */
+    public List<Object> readArray() {
+        List<Object> result = new ArrayList<>();
+        beginArray();
+        while (hasNext()) {
+            result.add(readValue());
+        }
+        endArray();
+        return result;
+    }
+
+    /**
+     * Verifies that nothing but whitespace follows the top-level value.
+     */
+    public void endDocument() {
+        expect(JsonToken.END_DOCUMENT);
+    }
+
+    /**
+     * Describes the current position in the input, for error messages.
+     *
+     * @return character offset description
+     */
+    public String location() {
+        return "position " + (bufferOffset + pos);
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        stack[0] = -1;
+        depth = 1;
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    private void expect(JsonToken expected) {
+        JsonToken actual = peek();
+        if (actual != expected) {
+            throw syntaxError("Expected " + expected + " but was " + actual);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private String readString() {
+        StringBuilder builder = null;
+        while (true) {
+            int start = pos;
+            while (pos < limit) {
+                char c = buffer[pos++];
+                if (c == '"') {
+                    if (builder == null) {
+                        return new String(buffer, start, pos - start - 1);
+                    }
+                    builder.append(buffer, start, pos - start - 1);
+                    return builder.toString();
+                }
+                if (c == '\\') {
+                    if (builder == null) {
+                        builder = scratch;
+                        builder.setLength(0);
+                    }
+                    builder.append(buffer, start, pos - start - 1);
+                    builder.append(readEscape());
+                    start = pos;
+                }
+            }
+            if (builder == null) {
+                builder = scratch;
+                builder.setLength(0);
+            }
+            builder.append(buffer, start, pos - start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private char readEscape() {
+        int escaped = nextChar();
+        return switch (escaped) {
+            case '"', '\\', '/' -> (char) escaped;
+            case 'n' -> '\n';
+            case 'r' -> '\r';
+            case 't' -> '\t';
+            case 'b' -> '\b';
+            case 'f' -> '\f';
+            case 'u' -> {
+                int value = 0;
+                for (int index = 0; index < 4; index++) {
+                    int digit = Character.digit(nextChar(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Malformed unicode escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                yield (char) value;
+            }
+            case -1 -> throw syntaxError("Unterminated escape sequence");
+            default -> (char) escaped;
+        };
+    }
+
+    private String readNumberToken() {
+        StringBuilder builder = null;
+        while (true) {
+            int start = pos;
+            while (pos < limit && isNumberChar(buffer[pos])) {
+                pos++;
+            }
+            if (pos < limit) {
+                if (builder == null) {
+                    return new String(buffer, start, pos - start);
+                }
+                return builder.append(buffer, start, pos - start).toString();
+            }
+            if (builder == null) {
+                builder = scratch;
+                builder.setLength(0);
+            }
+            builder.append(buffer, start, pos - start);
+            if (!fill()) {
+                return builder.toString();
+            }
+        }
+    }
+
+    private Number parseNumber(String token) {
+        try {
+            if (token.indexOf('.') < 0 && token.indexOf('e') < 0 && token.indexOf('E') < 0) {
+                try {
+                    return Long.parseLong(token);
+                } catch (NumberFormatException overflow) {
+                    return Double.parseDouble(token);
+                }
+            }
+            return Double.parseDouble(token);
+        } catch (NumberFormatException exception) {
+            throw syntaxError("Malformed number '" + token + "'");
+        }
+    }
+
+    private static boolean isNumberChar(char c) {
+        return c >= '0' && c <= '9' || c == '.' || c == '-' || c == '+' || c == 'e' || c == 'E';
+    }
+
+    private boolean consumeLiteral(String literal) {
+        for (int index = 0; index < literal.length(); index++) {
+            if (pos == limit && !fill()) {
+                return false;
+            }
+            if (buffer[pos] != literal.charAt(index)) {
+                return false;
+            }
+            pos++;
+        }
+        if (pos == limit && !fill()) {
+            return true;
+        }
+        char next = buffer[pos];
+        return !Character.isLetterOrDigit(next);
+    }
+
+    private int nextNonWhitespace() {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[pos++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t' && !Character.isWhitespace(c)) {
+                return c;
+            }
+        }
+    }
+
+    private int nextChar() {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos++];
+    }
+
+    private boolean fill() {
+        if (in == null) {
+            return false;
+        }
+        try {
+            bufferOffset += limit;
+            pos = 0;
+            limit = 0;
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            limit = read;
+            return true;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private JsonException syntaxError(String message) {
+        return new JsonException(message + " at " + location());
+    }
+}
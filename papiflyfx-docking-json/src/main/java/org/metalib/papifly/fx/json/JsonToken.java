@@ -0,0 +1,27 @@
+package org.metalib.papifly.fx.json;
+
+/**
+ * Kind of the next element reported by {@link JsonReader#peek()}.
+ */
+public enum JsonToken {
+    /** Opening brace of an object. */
+    BEGIN_OBJECT,
+    /** Closing brace of an object. */
+    END_OBJECT,
+    /** Opening bracket of an array. */
+    BEGIN_ARRAY,
+    /** Closing bracket of an array. */
+    END_ARRAY,
+    /** Member name inside an object. */
+    NAME,
+    /** String value. */
+    STRING,
+    /** Number value. */
+    NUMBER,
+    /** {@code true} or {@code false}. */
+    BOOLEAN,
+    /** {@code null} literal. */
+    NULL,
+    /** End of the input after the top-level value. */
+    END_DOCUMENT
+}
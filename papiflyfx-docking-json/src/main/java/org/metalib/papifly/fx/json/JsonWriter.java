@@ -0,0 +1,392 @@
+package org.metalib.papifly.fx.json;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Streaming JSON writer that appends directly to an {@link Appendable}.
+ * <p>
+ * With an indent the output matches the two-space pretty format the docking
+ * session and settings files have always used: one member per line, empty
+ * objects and arrays written as {@code {}} and {@code []}. Without an indent
+ * the output is compact.
+ * <p>
+ * I/O failures of the underlying target are rethrown as
+ * {@link UncheckedIOException}; calls made out of order raise
+ * {@link JsonException}. Instances are not thread-safe.
+ */
+public final class JsonWriter implements Closeable, Flushable {
+
+    /**
+     * Indent used by the pretty format.
+     */
+    public static final String DEFAULT_INDENT = "  ";
+
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    private static final String[] CONTROL_ESCAPES = new String[0x20];
+
+    static {
+        for (int c = 0; c < CONTROL_ESCAPES.length; c++) {
+            CONTROL_ESCAPES[c] = String.format("\\u%04x", c);
+        }
+        CONTROL_ESCAPES['\n'] = "\\n";
+        CONTROL_ESCAPES['\r'] = "\\r";
+        CONTROL_ESCAPES['\t'] = "\\t";
+        CONTROL_ESCAPES['\b'] = "\\b";
+        CONTROL_ESCAPES['\f'] = "\\f";
+    }
+
+    private final Appendable out;
+    private final String indent;
+    private final String nameSeparator;
+
+    private int[] stack = new int[32];
+    private int depth;
+
+    /**
+     * Creates a compact writer.
+     *
+     * @param out output target
+     */
+    public JsonWriter(Appendable out) {
+        this(out, "");
+    }
+
+    /**
+     * Creates a writer that indents nested values with {@code indent}.
+     *
+     * @param out output target
+     * @param indent indent per nesting level; empty for compact output
+     */
+    public JsonWriter(Appendable out, String indent) {
+        if (out == null) {
+            throw new NullPointerException("out");
+        }
+        this.out = out;
+        this.indent = indent == null ? "" : indent;
+        this.nameSeparator = this.indent.isEmpty() ? ":" : ": ";
+        stack[depth++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Creates a writer using the two-space pretty format.
+     *
+     * @param out output target
+     * @return pretty-printing writer
+     */
+    public static JsonWriter pretty(Appendable out) {
+        return new JsonWriter(out, DEFAULT_INDENT);
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @return this writer
+     */
+    public JsonWriter beginObject() {
+        beforeValue();
+        append('{');
+        push(EMPTY_OBJECT);
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this writer
+     */
+    public JsonWriter endObject() {
+        return close(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    /**
+     * Starts an array.
+     *
+     * @return this writer
+     */
+    public JsonWriter beginArray() {
+        beforeValue();
+        append('[');
+        push(EMPTY_ARRAY);
+        return this;
+    }
+
+    /**
+     * Ends the current array.
+     *
+     * @return this writer
+     */
+    public JsonWriter endArray() {
+        return close(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    /**
+     * Writes a member name; the next call must write its value.
+     *
+     * @param name member name
+     * @return this writer
+     */
+    public JsonWriter name(String name) {
+        if (name == null) {
+            throw new NullPointerException("name");
+        }
+        int scope = stack[depth - 1];
+        if (scope == NONEMPTY_OBJECT) {
+            append(',');
+        } else if (scope != EMPTY_OBJECT) {
+            throw new JsonException("Member name outside of an object");
+        }
+        newline(depth - 1);
+        string(name);
+        append(nameSeparator);
+        stack[depth - 1] = DANGLING_NAME;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or {@code null}.
+     *
+     * @param value string value
+     * @return this writer
+     */
+    public JsonWriter value(String value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value boolean value
+     * @return this writer
+     */
+    public JsonWriter value(boolean value) {
+        beforeValue();
+        append(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes an integral value.
+     *
+     * @param value number value
+     * @return this writer
+     */
+    public JsonWriter value(long value) {
+        beforeValue();
+        append(Long.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a floating-point value using {@link Double#toString(double)}.
+     *
+     * @param value number value
+     * @return this writer
+     */
+    public JsonWriter value(double value) {
+        beforeValue();
+        append(Double.toString(value));
+        return this;
+    }
+
+    /**
+     * Writes a number value, or {@code null}.
+     *
+     * @param value number value
+     * @return this writer
+     */
+    public JsonWriter value(Number value) {
+        if (value == null) {
+            return nullValue();
+        }
+        beforeValue();
+        append(value.toString());
+        return this;
+    }
+
+    /**
+     * Writes a {@code null} literal.
+     *
+     * @return this writer
+     */
+    public JsonWriter nullValue() {
+        beforeValue();
+        append("null");
+        return this;
+    }
+
+    /**
+     * Writes a generic value tree made of maps, lists, strings, numbers,
+     * booleans and {@code null}. Any other object is written as the string
+     * form of {@link Object#toString()}.
+     *
+     * @param value value tree
+     * @return this writer
+     */
+    public JsonWriter writeValue(Object value) {
+        if (value == null) {
+            return nullValue();
+        }
+        if (value instanceof String string) {
+            return value(string);
+        }
+        if (value instanceof Number number) {
+            return value(number);
+        }
+        if (value instanceof Boolean bool) {
+            return value(bool.booleanValue());
+        }
+        if (value instanceof Map<?, ?> map) {
+            beginObject();
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                name(String.valueOf(entry.getKey()));
+                writeValue(entry.getValue());
+            }
+            return endObject();
+        }
+        if (value instanceof List<?> list) {
+            beginArray();
+            for (Object element : list) {
+                writeValue(element);
+            }
+            return endArray();
+        }
+        return value(value.toString());
+    }
+
+    @Override
+    public void flush() {
+        if (out instanceof Flushable flushable) {
+            try {
+                flushable.flush();
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        }
+    }
+
+    /**
+     * Closes the target when it is {@link Closeable}.
+     *
+     * @throws IOException when closing the target fails
+     */
+    @Override
+    public void close() throws IOException {
+        if (out instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private JsonWriter close(int emptyScope, int nonEmptyScope, char bracket) {
+        int scope = stack[depth - 1];
+        if (scope != emptyScope && scope != nonEmptyScope) {
+            throw new JsonException("Nesting problem: unexpected '" + bracket + "'");
+        }
+        depth--;
+        if (scope == nonEmptyScope) {
+            newline(depth - 1);
+        }
+        append(bracket);
+        return this;
+    }
+
+    private void beforeValue() {
+        int scope = stack[depth - 1];
+        switch (scope) {
+            case EMPTY_DOCUMENT -> stack[depth - 1] = NONEMPTY_DOCUMENT;
+            case NONEMPTY_DOCUMENT -> throw new JsonException("JSON must have only one top-level value");
+            case DANGLING_NAME -> stack[depth - 1] = NONEMPTY_OBJECT;
+            case EMPTY_ARRAY -> {
+                stack[depth - 1] = NONEMPTY_ARRAY;
+                newline(depth - 1);
+            }
+            case NONEMPTY_ARRAY -> {
+                append(',');
+                newline(depth - 1);
+            }
+            default -> throw new JsonException("Expected a member name before the value");
+        }
+    }
+
+    private void push(int scope) {
+        if (depth == stack.length) {
+            stack = Arrays.copyOf(stack, depth * 2);
+        }
+        stack[depth++] = scope;
+    }
+
+    private void newline(int level) {
+        if (indent.isEmpty()) {
+            return;
+        }
+        append('\n');
+        for (int index = 0; index < level; index++) {
+            append(indent);
+        }
+    }
+
+    private void string(String value) {
+        try {
+            out.append('"');
+            int start = 0;
+            int length = value.length();
+            for (int index = 0; index < length; index++) {
+                char c = value.charAt(index);
+                String replacement;
+                if (c < CONTROL_ESCAPES.length) {
+                    replacement = CONTROL_ESCAPES[c];
+                } else if (c == '"') {
+                    replacement = "\\\"";
+                } else if (c == '\\') {
+                    replacement = "\\\\";
+                } else {
+                    continue;
+                }
+                if (start < index) {
+                    out.append(value, start, index);
+                }
+                out.append(replacement);
+                start = index + 1;
+            }
+            if (start < length) {
+                out.append(value, start, length);
+            }
+            out.append('"');
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void append(char c) {
+        try {
+            out.append(c);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void append(CharSequence text) {
+        try {
+            out.append(text);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+}
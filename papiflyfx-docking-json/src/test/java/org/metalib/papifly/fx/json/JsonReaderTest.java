@@ -0,0 +1,115 @@
+package org.metalib.papifly.fx.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonReaderTest {
+
+    @Test
+    void pullsTokensInDocumentOrder() {
+        JsonReader reader = new JsonReader("{\"id\": \"a\", \"ratio\": 0.25, \"count\": 3, \"open\": true, \"tags\": [\"x\", null]}");
+
+        reader.beginObject();
+        assertEquals("id", reader.nextName());
+        assertEquals("a", reader.nextString());
+        assertEquals("ratio", reader.nextName());
+        assertEquals(0.25, reader.nextDouble());
+        assertEquals("count", reader.nextName());
+        assertEquals(3, reader.nextInt());
+        assertEquals("open", reader.nextName());
+        assertTrue(reader.nextBoolean());
+        assertEquals("tags", reader.nextName());
+        reader.beginArray();
+        assertEquals("x", reader.nextString());
+        assertEquals(JsonToken.NULL, reader.peek());
+        assertNull(reader.nextStringOrNull());
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        reader.endObject();
+        reader.endDocument();
+    }
+
+    @Test
+    void readValueBuildsOrderedTreesWithLegacyNumberTypes() {
+        Map<String, Object> map = Json.parseObject("{\"b\": 1, \"a\": 1.5, \"e\": 2e3, \"big\": 99999999999999999999, \"nested\": {\"list\": [1, {}]}}");
+
+        assertEquals(List.of("b", "a", "e", "big", "nested"), List.copyOf(map.keySet()));
+        assertEquals(1L, map.get("b"));
+        assertEquals(1.5, map.get("a"));
+        assertEquals(2000.0, map.get("e"));
+        assertEquals(1.0E20, map.get("big"));
+        assertEquals(Map.of("list", List.of(1L, new LinkedHashMap<>())), map.get("nested"));
+    }
+
+    @Test
+    void decodesEscapesIncludingUnicode() {
+        JsonReader reader = new JsonReader("\"q\\\" b\\\\ n\\n t\\t u\\u00e9 s\\/\"");
+
+        assertEquals("q\" b\\ n\n t\t ué s/", reader.nextString());
+    }
+
+    @Test
+    void streamsValuesThatSpanBufferBoundaries() {
+        String longText = "x".repeat(20_000) + "\\n" + "y".repeat(9_000);
+        String json = "{\"text\": \"" + longText + "\", \"number\": 12345678.5, \"items\": [" + "1,".repeat(5_000) + "2]}";
+
+        Map<String, Object> map = Json.parseObject(new OneCharAtATimeReader(json));
+
+        assertEquals("x".repeat(20_000) + "\n" + "y".repeat(9_000), map.get("text"));
+        assertEquals(12345678.5, map.get("number"));
+        assertEquals(5_001, ((List<?>) map.get("items")).size());
+    }
+
+    @Test
+    void skipValueSkipsNestedStructures() {
+        JsonReader reader = new JsonReader("{\"skip\": {\"a\": [1, 2, {\"b\": \"c\"}]}, \"keep\": 7}");
+
+        reader.beginObject();
+        assertEquals("skip", reader.nextName());
+        reader.skipValue();
+        assertEquals("keep", reader.nextName());
+        assertEquals(7L, reader.nextLong());
+        reader.endObject();
+    }
+
+    @Test
+    void malformedInputReportsPosition() {
+        JsonException missingColon = assertThrows(JsonException.class, () -> Json.parseObject("{\"a\" 1}"));
+        assertTrue(missingColon.getMessage().contains("Expected ':'"));
+        assertTrue(missingColon.getMessage().contains("position"));
+
+        assertThrows(JsonException.class, () -> Json.parseObject("{\"a\": \"unterminated"));
+        assertThrows(JsonException.class, () -> Json.parseObject("{\"a\": 1} trailing"));
+        assertThrows(JsonException.class, () -> Json.parseObject("[1]"));
+        assertThrows(JsonException.class, () -> new JsonReader("1.5").nextInt());
+    }
+
+    private static final class OneCharAtATimeReader extends Reader {
+        private final StringReader delegate;
+
+        private OneCharAtATimeReader(String text) {
+            this.delegate = new StringReader(text);
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) throws java.io.IOException {
+            return delegate.read(buffer, offset, Math.min(length, 7));
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
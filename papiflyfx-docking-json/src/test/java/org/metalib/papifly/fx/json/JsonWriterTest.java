@@ -0,0 +1,74 @@
+package org.metalib.papifly.fx.json;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JsonWriterTest {
+
+    @Test
+    void prettyFormatMatchesPersistedFileLayout() {
+        Map<String, Object> nested = new LinkedHashMap<>();
+        nested.put("empty", new LinkedHashMap<>());
+        nested.put("none", new ArrayList<>());
+        Map<String, Object> root = new LinkedHashMap<>();
+        root.put("type", "leaf");
+        root.put("ratio", 0.5);
+        root.put("version", 1);
+        root.put("flag", false);
+        root.put("missing", null);
+        root.put("items", List.of(1L, "two"));
+        root.put("nested", nested);
+
+        assertEquals("""
+            {
+              "type": "leaf",
+              "ratio": 0.5,
+              "version": 1,
+              "flag": false,
+              "missing": null,
+              "items": [
+                1,
+                "two"
+              ],
+              "nested": {
+                "empty": {},
+                "none": []
+              }
+            }""", Json.toJson(root));
+    }
+
+    @Test
+    void compactWriterStreamsWithoutWhitespace() {
+        StringBuilder out = new StringBuilder();
+        new JsonWriter(out)
+            .beginObject()
+            .name("a").value(1L)
+            .name("b").beginArray().value(true).nullValue().endArray()
+            .endObject();
+
+        assertEquals("{\"a\":1,\"b\":[true,null]}", out.toString());
+    }
+
+    @Test
+    void escapesQuotesBackslashesAndControlCharacters() {
+        String text = "q\" b\\ n\n r\r t\t bell\u0007";
+        String json = Json.toJson(text);
+
+        assertEquals("\"q\\\" b\\\\ n\\n r\\r t\\t bell\\u0007\"", json);
+        assertEquals(text, new JsonReader(json).nextString());
+    }
+
+    @Test
+    void outOfOrderCallsAreRejected() {
+        assertThrows(JsonException.class, () -> new JsonWriter(new StringBuilder()).beginObject().value("x"));
+        assertThrows(JsonException.class, () -> new JsonWriter(new StringBuilder()).beginArray().endObject());
+        assertThrows(JsonException.class, () -> new JsonWriter(new StringBuilder()).value(1L).value(2L));
+    }
+}
@@ -1,8 +1,8 @@
 package org.metalib.papifly.fx.login.idapi.providers;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
+import org.metalib.papifly.fx.json.Json;
+import org.metalib.papifly.fx.json.JsonException;
+
 import java.util.Map;
 
 final class SimpleJsonParser {
@@ -10,6 +10,11 @@ final class SimpleJsonParser {
     private SimpleJsonParser() {
     }
 
+    /**
+     * Parses a provider response body. Responses that are blank, not an
+     * object, or malformed yield an empty map so callers report the missing
+     * fields instead of a parser error.
+     */
     static Map<String, Object> parse(String json) {
         if (json == null || json.isBlank()) {
             return Map.of();
@@ -18,111 +23,10 @@ final class SimpleJsonParser {
         if (!json.startsWith("{")) {
             return Map.of();
         }
-        return parseObject(json, new int[]{0});
-    }
-
-    private static Map<String, Object> parseObject(String json, int[] pos) {
-        Map<String, Object> map = new LinkedHashMap<>();
-        pos[0]++; // skip '{'
-        skipWhitespace(json, pos);
-        while (pos[0] < json.length() && json.charAt(pos[0]) != '}') {
-            skipWhitespace(json, pos);
-            if (pos[0] >= json.length() || json.charAt(pos[0]) == '}') break;
-            String key = parseString(json, pos);
-            skipWhitespace(json, pos);
-            if (pos[0] < json.length() && json.charAt(pos[0]) == ':') pos[0]++;
-            skipWhitespace(json, pos);
-            Object value = parseValue(json, pos);
-            map.put(key, value);
-            skipWhitespace(json, pos);
-            if (pos[0] < json.length() && json.charAt(pos[0]) == ',') pos[0]++;
-        }
-        if (pos[0] < json.length()) pos[0]++; // skip '}'
-        return map;
-    }
-
-    private static Object parseValue(String json, int[] pos) {
-        skipWhitespace(json, pos);
-        if (pos[0] >= json.length()) return null;
-        char c = json.charAt(pos[0]);
-        if (c == '"') return parseString(json, pos);
-        if (c == '{') return parseObject(json, pos);
-        if (c == '[') return parseArray(json, pos);
-        if (c == 't' || c == 'f') return parseBoolean(json, pos);
-        if (c == 'n') { pos[0] += 4; return null; }
-        return parseNumber(json, pos);
-    }
-
-    private static String parseString(String json, int[] pos) {
-        pos[0]++; // skip opening '"'
-        StringBuilder sb = new StringBuilder();
-        while (pos[0] < json.length()) {
-            char c = json.charAt(pos[0]);
-            if (c == '\\' && pos[0] + 1 < json.length()) {
-                pos[0]++;
-                char next = json.charAt(pos[0]);
-                switch (next) {
-                    case '"', '\\', '/' -> sb.append(next);
-                    case 'n' -> sb.append('\n');
-                    case 't' -> sb.append('\t');
-                    case 'r' -> sb.append('\r');
-                    default -> { sb.append('\\'); sb.append(next); }
-                }
-            } else if (c == '"') {
-                pos[0]++;
-                return sb.toString();
-            } else {
-                sb.append(c);
-            }
-            pos[0]++;
-        }
-        return sb.toString();
-    }
-
-    private static List<Object> parseArray(String json, int[] pos) {
-        List<Object> list = new ArrayList<>();
-        pos[0]++; // skip '['
-        skipWhitespace(json, pos);
-        while (pos[0] < json.length() && json.charAt(pos[0]) != ']') {
-            list.add(parseValue(json, pos));
-            skipWhitespace(json, pos);
-            if (pos[0] < json.length() && json.charAt(pos[0]) == ',') pos[0]++;
-            skipWhitespace(json, pos);
-        }
-        if (pos[0] < json.length()) pos[0]++; // skip ']'
-        return list;
-    }
-
-    private static Boolean parseBoolean(String json, int[] pos) {
-        if (json.startsWith("true", pos[0])) {
-            pos[0] += 4;
-            return Boolean.TRUE;
-        }
-        pos[0] += 5;
-        return Boolean.FALSE;
-    }
-
-    private static Number parseNumber(String json, int[] pos) {
-        int start = pos[0];
-        boolean isFloat = false;
-        while (pos[0] < json.length()) {
-            char c = json.charAt(pos[0]);
-            if (c == '.' || c == 'e' || c == 'E') isFloat = true;
-            if (c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) break;
-            pos[0]++;
-        }
-        String num = json.substring(start, pos[0]);
-        if (isFloat) return Double.parseDouble(num);
         try {
-            return Long.parseLong(num);
-        } catch (NumberFormatException e) {
-            return Double.parseDouble(num);
-        }
-    }
-
-    private static void skipWhitespace(String json, int[] pos) {
-        while (pos[0] < json.length() && Character.isWhitespace(json.charAt(pos[0]))) {
-            pos[0]++;
+            return Json.parseObject(json);
+        } catch (JsonException exception) {
+            return Map.of();
         }
     }
 }
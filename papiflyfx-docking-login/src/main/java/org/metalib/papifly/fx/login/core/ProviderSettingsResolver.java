@@ -1,5 +1,7 @@
 package org.metalib.papifly.fx.login.core;
 
+import org.metalib.papifly.fx.json.Json;
+import org.metalib.papifly.fx.json.JsonException;
 import org.metalib.papifly.fx.login.config.LoginProviderSettings;
 import org.metalib.papifly.fx.login.idapi.ProviderConfig;
 import org.metalib.papifly.fx.login.idapi.ProviderDescriptor;
@@ -156,7 +158,7 @@ final class ProviderSettingsResolver {
             if (response.statusCode() >= 400) {
                 throw new IllegalStateException("OIDC discovery failed with HTTP " + response.statusCode() + '.');
             }
-            Map<String, Object> json = JsonMapParser.parse(response.body());
+            Map<String, Object> json = parseDiscoveryDocument(response.body());
             String authorizationEndpoint = stringValue(json, "authorization_endpoint");
             String tokenEndpoint = stringValue(json, "token_endpoint");
             String userInfoEndpoint = stringValue(json, "userinfo_endpoint");
@@ -172,6 +174,14 @@ final class ProviderSettingsResolver {
         }
     }
 
+    private static Map<String, Object> parseDiscoveryDocument(String body) {
+        try {
+            return Json.parseObject(body);
+        } catch (JsonException exception) {
+            return Map.of();
+        }
+    }
+
     private IllegalStateException missingClientId(String providerId, String displayName) {
         return new IllegalStateException(
             displayName + " sign-in requires a client ID. Configure it in Settings > Authentication or pass -D"
@@ -286,153 +296,4 @@ final class ProviderSettingsResolver {
         String userInfoEndpoint
     ) {
     }
-
-    private static final class JsonMapParser {
-
-        private JsonMapParser() {
-        }
-
-        static Map<String, Object> parse(String json) {
-            return JsonParser.parseObject(json);
-        }
-    }
-
-    private static final class JsonParser {
-
-        private final String json;
-        private int index;
-
-        private JsonParser(String json) {
-            this.json = json == null ? "" : json.trim();
-        }
-
-        static Map<String, Object> parseObject(String json) {
-            JsonParser parser = new JsonParser(json);
-            return parser.object();
-        }
-
-        private Map<String, Object> object() {
-            if (peek() != '{') {
-                return Map.of();
-            }
-            index++;
-            java.util.Map<String, Object> values = new java.util.LinkedHashMap<>();
-            skipWhitespace();
-            while (peek() != '}' && peek() != '\0') {
-                String key = string();
-                skipWhitespace();
-                if (peek() == ':') {
-                    index++;
-                }
-                skipWhitespace();
-                values.put(key, value());
-                skipWhitespace();
-                if (peek() == ',') {
-                    index++;
-                    skipWhitespace();
-                }
-            }
-            if (peek() == '}') {
-                index++;
-            }
-            return values;
-        }
-
-        private Object value() {
-            return switch (peek()) {
-                case '"' -> string();
-                case '{' -> object();
-                case '[' -> array();
-                case 't', 'f' -> bool();
-                case 'n' -> {
-                    index = Math.min(index + 4, json.length());
-                    yield null;
-                }
-                default -> number();
-            };
-        }
-
-        private List<Object> array() {
-            if (peek() != '[') {
-                return List.of();
-            }
-            index++;
-            java.util.List<Object> values = new java.util.ArrayList<>();
-            skipWhitespace();
-            while (peek() != ']' && peek() != '\0') {
-                values.add(value());
-                skipWhitespace();
-                if (peek() == ',') {
-                    index++;
-                    skipWhitespace();
-                }
-            }
-            if (peek() == ']') {
-                index++;
-            }
-            return values;
-        }
-
-        private String string() {
-            if (peek() != '"') {
-                return "";
-            }
-            index++;
-            StringBuilder builder = new StringBuilder();
-            while (peek() != '"' && peek() != '\0') {
-                char current = json.charAt(index++);
-                if (current == '\\' && peek() != '\0') {
-                    char escaped = json.charAt(index++);
-                    builder.append(switch (escaped) {
-                        case '"', '\\', '/' -> escaped;
-                        case 'n' -> '\n';
-                        case 'r' -> '\r';
-                        case 't' -> '\t';
-                        default -> escaped;
-                    });
-                } else {
-                    builder.append(current);
-                }
-            }
-            if (peek() == '"') {
-                index++;
-            }
-            return builder.toString();
-        }
-
-        private Boolean bool() {
-            if (json.regionMatches(true, index, "true", 0, 4)) {
-                index += 4;
-                return Boolean.TRUE;
-            }
-            index += 5;
-            return Boolean.FALSE;
-        }
-
-        private Number number() {
-            int start = index;
-            while (peek() != '\0') {
-                char current = peek();
-                if (current == ',' || current == '}' || current == ']' || Character.isWhitespace(current)) {
-                    break;
-                }
-                index++;
-            }
-            String token = json.substring(start, index);
-            if (token.contains(".") || token.contains("e") || token.contains("E")) {
-                return Double.parseDouble(token);
-            }
-            return Long.parseLong(token);
-        }
-
-        private void skipWhitespace() {
-            while (Character.isWhitespace(peek())) {
-                index++;
-            }
-        }
-
-        private char peek() {
-            return index >= json.length() ? '\0' : json.charAt(index);
-        }
-    }
 }
@@ -7,6 +7,7 @@ import org.metalib.papifly.fx.settings.internal.AtomicFileWriter;
 import org.metalib.papifly.fx.settings.internal.SettingsJsonCodec;
 
 import java.io.IOException;
+import java.io.Reader;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -218,8 +219,10 @@ public class JsonSettingsStorage implements SettingsStorage {
     }
 
     private Map<String, Object> parseSettingsFile(Path path) throws IOException {
-        String json = Files.readString(path, StandardCharsets.UTF_8);
-        Map<String, Object> fileData = codec.fromJson(json);
+        Map<String, Object> fileData;
+        try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            fileData = codec.read(reader);
+        }
         int version = 1;
         Object versionValue = fileData.remove(VERSION_KEY);
         if (versionValue instanceof Number number) {